@@ -0,0 +1,113 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the status checks of IssueWorkflow with the switch that IssueService used before:
+ * the switch built a new list of available statuses for every check and a new HashMap for every dropdown.
+ * Every invocation checks all 25 pairs of statuses, or builds names for all 5 statuses.
+ * Run by: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=IssueWorkflowBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class IssueWorkflowBenchmark {
+
+    private final IssueStatus[] statuses = IssueStatus.values();
+
+    private final IssueWorkflow workflow = IssueWorkflow.DEFAULT;
+
+    @Benchmark
+    public int switchTransitionCheck() {
+        int allowed = 0;
+        for (IssueStatus from : statuses) {
+            for (IssueStatus to : statuses) {
+                if (getAvailableStatusesForStatus(from).contains(to)) {
+                    allowed++;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    public int workflowTransitionCheck() {
+        int allowed = 0;
+        for (IssueStatus from : statuses) {
+            for (IssueStatus to : statuses) {
+                if (workflow.isTransitionAllowed(from, to)) {
+                    allowed++;
+                }
+            }
+        }
+        return allowed;
+    }
+
+    @Benchmark
+    public void switchStatusNames(Blackhole blackhole) {
+        for (IssueStatus from : statuses) {
+            Map<IssueStatus, String> result = new HashMap<>();
+            for (IssueStatus status : getAvailableStatusesForStatus(from)) {
+                result.put(status, status.toString());
+            }
+            blackhole.consume(result);
+        }
+    }
+
+    @Benchmark
+    public void workflowStatusNames(Blackhole blackhole) {
+        for (IssueStatus from : statuses) {
+            blackhole.consume(workflow.getAvailableStatusNames(from));
+        }
+    }
+
+    /**
+     * Copy of the former IssueService#getAvailableStatusesForStatus
+     */
+    private static List<IssueStatus> getAvailableStatusesForStatus(IssueStatus status) {
+        List<IssueStatus> result = new ArrayList<>();
+        switch (status) {
+            case OPEN:
+                result.add(IssueStatus.IN_PROGRESS);
+                result.add(IssueStatus.INVALID);
+                return result;
+            case IN_PROGRESS:
+                result.add(IssueStatus.OPEN);
+                result.add(IssueStatus.QA_VALIDATION);
+                result.add(IssueStatus.INVALID);
+                return result;
+            case INVALID:
+                result.add(IssueStatus.OPEN);
+                return result;
+            case QA_VALIDATION:
+                result.add(IssueStatus.OPEN);
+                result.add(IssueStatus.RESOLVED);
+                return result;
+            case RESOLVED:
+                result.add(IssueStatus.OPEN);
+                result.add(IssueStatus.INVALID);
+                return result;
+            default:
+                return result;
+        }
+    }
+}
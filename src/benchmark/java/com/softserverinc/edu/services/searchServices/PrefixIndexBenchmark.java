@@ -0,0 +1,70 @@
+package com.softserverinc.edu.services.searchServices;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups and changes of PrefixIndex filled with generated issue titles of four words.
+ * A lookup by short prefix matches many keys but scans only the first 10 of them.
+ * Run by: mvn -Pbenchmark test-compile exec:exec -Dbenchmark=PrefixIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PrefixIndexBenchmark {
+
+    private static final String[] WORDS = {"login", "page", "error", "button", "report", "user", "release",
+            "crash", "slow", "search", "form", "export", "import", "email", "layout", "filter"};
+
+    @Param({"10000", "100000"})
+    private int entries;
+
+    private PrefixIndex index;
+
+    private long nextId;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(7);
+        Map<Long, String[]> titles = new HashMap<>();
+        for (long id = 1; id <= entries; id++) {
+            titles.put(id, new String[]{WORDS[random.nextInt(WORDS.length)] + " "
+                    + WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id});
+        }
+        index = new PrefixIndex(() -> titles);
+        index.find("", 1, id -> true);
+        nextId = entries;
+    }
+
+    @Benchmark
+    public Object findByShortPrefix() {
+        return index.find("se", 10, id -> true);
+    }
+
+    @Benchmark
+    public Object findByLongPrefix() {
+        return index.find("search form exp", 10, id -> true);
+    }
+
+    @Benchmark
+    public void putTitle() {
+        index.put(++nextId % entries + 1, "slow search page " + nextId);
+    }
+}
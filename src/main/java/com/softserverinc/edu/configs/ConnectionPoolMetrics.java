@@ -0,0 +1,77 @@
+package com.softserverinc.edu.configs;
+
+import com.zaxxer.hikari.metrics.MetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Collects statistics of JDBC connection pool: state of connections (active, idle, pending threads)
+ * and time spent by threads waiting for connection
+ */
+public class ConnectionPoolMetrics implements MetricsTrackerFactory {
+
+    private volatile PoolStats poolStats;
+
+    private final AtomicLong acquiredConnections = new AtomicLong();
+
+    private final AtomicLong totalWaitNanos = new AtomicLong();
+
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+
+    private final AtomicLong totalUsageMillis = new AtomicLong();
+
+    private final AtomicLong connectionTimeouts = new AtomicLong();
+
+    @Override
+    public MetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new MetricsTracker() {
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquiredConnections.incrementAndGet();
+                totalWaitNanos.addAndGet(elapsedAcquiredNanos);
+                maxWaitNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                totalUsageMillis.addAndGet(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                connectionTimeouts.incrementAndGet();
+            }
+        };
+    }
+
+    /**
+     * Returns current statistics of connection pool
+     *
+     * @return map with amounts of connections and wait times, connection amounts are 0 until pool is started
+     */
+    public Map<String, Object> getStatistics() {
+        PoolStats currentPoolStats = poolStats;
+        long acquired = acquiredConnections.get();
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("totalConnections", currentPoolStats == null ? 0 : currentPoolStats.getTotalConnections());
+        statistics.put("activeConnections", currentPoolStats == null ? 0 : currentPoolStats.getActiveConnections());
+        statistics.put("idleConnections", currentPoolStats == null ? 0 : currentPoolStats.getIdleConnections());
+        statistics.put("pendingThreads", currentPoolStats == null ? 0 : currentPoolStats.getPendingThreads());
+        statistics.put("acquiredConnections", acquired);
+        statistics.put("connectionTimeouts", connectionTimeouts.get());
+        statistics.put("averageWaitMillis", acquired == 0 ? 0.0 : nanosToMillis(totalWaitNanos.get()) / acquired);
+        statistics.put("maxWaitMillis", nanosToMillis(maxWaitNanos.get()));
+        statistics.put("averageUsageMillis", acquired == 0 ? 0.0 : (double) totalUsageMillis.get() / acquired);
+        return statistics;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return (double) nanos / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
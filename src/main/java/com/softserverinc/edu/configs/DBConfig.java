@@ -1,6 +1,8 @@
 package com.softserverinc.edu.configs;
 
 import com.softserverinc.edu.services.UserService;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,7 +12,7 @@ import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.core.env.Environment;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.JpaVendorAdapter;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
@@ -39,19 +41,42 @@ public class DBConfig extends WebMvcConfigurerAdapter {
     private Environment environment;
 
     /**
-     * Configures data source for database that will be used by other frameworks
+     * Configures pooled data source for database that will be used by other frameworks.
+     * Connections are reused instead of opening new one for every borrow,
+     * prepared statements are cached by MySQL driver.
      *
-     * @return a driver instance that is connected with a database
+     * @return a connection pool that is connected with a database
      */
-    @Bean
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        // Simple implementation of the standard JDBC DataSource interface
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(environment.getProperty("jdbc.driverClass"));
-        dataSource.setUrl(environment.getProperty("jdbc.url"));
-        dataSource.setUsername(environment.getProperty("jdbc.username"));
-        dataSource.setPassword(environment.getProperty("jdbc.password"));
-        return dataSource;
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("bugtrckr-pool");
+        config.setDriverClassName(environment.getProperty("jdbc.driverClass"));
+        config.setJdbcUrl(environment.getProperty("jdbc.url"));
+        config.setUsername(environment.getProperty("jdbc.username"));
+        config.setPassword(environment.getProperty("jdbc.password"));
+        config.setMaximumPoolSize(environment.getProperty("jdbc.pool.maximumPoolSize", Integer.class));
+        config.setMinimumIdle(environment.getProperty("jdbc.pool.minimumIdle", Integer.class));
+        config.setConnectionTimeout(environment.getProperty("jdbc.pool.connectionTimeoutMillis", Long.class));
+        config.setIdleTimeout(environment.getProperty("jdbc.pool.idleTimeoutMillis", Long.class));
+        config.setMaxLifetime(environment.getProperty("jdbc.pool.maxLifetimeMillis", Long.class));
+        config.setLeakDetectionThreshold(environment.getProperty("jdbc.pool.leakDetectionThresholdMillis", Long.class));
+        // prepared statement cache of MySQL driver, the pool itself doesn't cache statements
+        config.addDataSourceProperty("cachePrepStmts", "true");
+        config.addDataSourceProperty("prepStmtCacheSize", environment.getProperty("jdbc.pool.prepStmtCacheSize"));
+        config.addDataSourceProperty("prepStmtCacheSqlLimit", environment.getProperty("jdbc.pool.prepStmtCacheSqlLimit"));
+        config.setMetricsTrackerFactory(connectionPoolMetrics());
+        return new HikariDataSource(config);
+    }
+
+    /**
+     * Statistics of connection pool, which are shown on diagnostics endpoint
+     *
+     * @return connectionPoolMetrics
+     */
+    @Bean
+    public ConnectionPoolMetrics connectionPoolMetrics() {
+        return new ConnectionPoolMetrics();
     }
 
     /**
@@ -98,6 +123,17 @@ public class DBConfig extends WebMvcConfigurerAdapter {
         return entityManagerFactory;
     }
 
+    /**
+     * Plain JDBC access for bulk operations that Hibernate can't batch (inserts of entities with identity ids).
+     * Works in the same transactions as JPA repositories.
+     *
+     * @return jdbcTemplate
+     */
+    @Bean
+    public JdbcTemplate jdbcTemplate() {
+        return new JdbcTemplate(dataSource());
+    }
+
     /**
      * User service bean
      *
@@ -109,7 +145,7 @@ public class DBConfig extends WebMvcConfigurerAdapter {
     }
 
     /**
-     * Hibernate search properties
+     * Hibernate and Hibernate search properties
      * @return hibernateProperties
      */
     private Properties hibernateSearchProperties() {
@@ -118,6 +154,25 @@ public class DBConfig extends WebMvcConfigurerAdapter {
                 environment.getProperty("hibernate.search.default.directory_provider"));
         hibernateProperties.setProperty("hibernate.search.default.indexBase",
                 environment.getProperty("hibernate.search.default.indexBase"));
+        // group inserts and updates of the same entity into JDBC batches
+        hibernateProperties.setProperty("hibernate.jdbc.batch_size",
+                environment.getProperty("hibernate.jdbc.batch_size"));
+        hibernateProperties.setProperty("hibernate.order_inserts", "true");
+        hibernateProperties.setProperty("hibernate.order_updates", "true");
+        // index is updated by SearchIndexService from entity change events, not on every flush
+        hibernateProperties.setProperty("hibernate.search.indexing_strategy",
+                environment.getProperty("hibernate.search.indexing_strategy"));
+        // second-level and query cache for entities marked as @Cacheable, regions are configured in ehcache.xml
+        hibernateProperties.setProperty("javax.persistence.sharedCache.mode", "ENABLE_SELECTIVE");
+        hibernateProperties.setProperty("hibernate.cache.use_second_level_cache",
+                environment.getProperty("hibernate.cache.use_second_level_cache"));
+        hibernateProperties.setProperty("hibernate.cache.use_query_cache",
+                environment.getProperty("hibernate.cache.use_query_cache"));
+        hibernateProperties.setProperty("hibernate.cache.region.factory_class",
+                "org.hibernate.cache.ehcache.SingletonEhCacheRegionFactory");
+        hibernateProperties.setProperty("net.sf.ehcache.configurationResourceName", "/ehcache.xml");
+        hibernateProperties.setProperty("hibernate.generate_statistics",
+                environment.getProperty("hibernate.generate_statistics"));
         return hibernateProperties;
     }
 }
@@ -0,0 +1,38 @@
+package com.softserverinc.edu.configs;
+
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.web.util.UrlPathHelper;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Keeps entity manager open while views which still render entities are processed: issue, project, release
+ * and user pages, edit forms and the rest, which would fail with LazyInitializationException without it.
+ * List pages of issues, projects and users are rendered from DTO projections only, so they are not filtered
+ * and release their database connection as soon as the controller returns.
+ */
+public class EntityViewsOpenEntityManagerFilter extends OpenEntityManagerInViewFilter {
+
+    /**
+     * Paths of list pages and their searches, whose models contain DTOs and enums only
+     */
+    static final Set<String> DTO_VIEW_PATHS = Collections.unmodifiableSet(new HashSet<>(Arrays.asList(
+            "/issue", "/issue/search",
+            "/projects", "/projects/search",
+            "/users", "/users/search")));
+
+    private final UrlPathHelper urlPathHelper = new UrlPathHelper();
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        String path = urlPathHelper.getPathWithinApplication(request);
+        if (path.length() > 1 && path.endsWith("/")) {
+            path = path.substring(0, path.length() - 1);
+        }
+        return DTO_VIEW_PATHS.contains(path);
+    }
+}
@@ -1,5 +1,6 @@
 package com.softserverinc.edu.configs;
 
+import com.softserverinc.edu.services.securityServices.DatabaseUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,8 +12,6 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.annotation.web.configuration.WebSecurityConfigurerAdapter;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 
-import javax.sql.DataSource;
-
 /**
  * Security configuration with Spring Security library
  */
@@ -23,23 +22,19 @@ import javax.sql.DataSource;
 public class SecurityConfig extends WebSecurityConfigurerAdapter {
 
     @Autowired
-    private DataSource dataSource;
+    private DatabaseUserDetailsService userDetailsService;
 
     /**
      * By extending WebSecurityConfigurerAdapter we can use
      * Autowired annotation for authentication manager.
+     * Users are loaded through {@link DatabaseUserDetailsService}, which caches them.
      *
      * @param auth Manager authentication
      */
     @Autowired
     public void configAuthentication(AuthenticationManagerBuilder auth) throws Exception {
-        auth.jdbcAuthentication().
-                dataSource(dataSource)
-                .passwordEncoder(passwordEncoder())
-                .usersByUsernameQuery(
-                        "select email,password, enabled from User where email=?")
-                .authoritiesByUsernameQuery(
-                        "select email, role from User where email=?");
+        auth.userDetailsService(userDetailsService)
+                .passwordEncoder(passwordEncoder());
     }
 
     /**
@@ -57,6 +52,7 @@ public class SecurityConfig extends WebSecurityConfigurerAdapter {
                 .antMatchers("/project/**").permitAll()
                 .antMatchers("/about").permitAll()
                 .antMatchers("/search/*").permitAll()
+                .antMatchers("/autocomplete/*").permitAll()
                 .anyRequest().authenticated()
                 .and()
                 .formLogin()
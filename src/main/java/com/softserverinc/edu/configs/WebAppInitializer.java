@@ -2,7 +2,6 @@ package com.softserverinc.edu.configs;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
 import org.springframework.web.WebApplicationInitializer;
 import org.springframework.web.context.ContextLoaderListener;
 import org.springframework.web.context.support.AnnotationConfigWebApplicationContext;
@@ -44,9 +43,14 @@ public class WebAppInitializer implements WebApplicationInitializer {
         //adding a filter to container that handles all requests
         container.addFilter("springSecurityFilterChain", filter).addMappingForUrlPatterns(null, false, "/*");
 
-        // allow lazy loading in web views despite the original transactions already being completed
-        container.addFilter("OpenEntityManagerInViewFilter", OpenEntityManagerInViewFilter.class)
-                .addMappingForUrlPatterns(null, false, "*");
+        // allow lazy loading in web views despite the original transactions already being completed,
+        // except list pages, which are rendered from DTO projections
+        container.addFilter("OpenEntityManagerInViewFilter", EntityViewsOpenEntityManagerFilter.class)
+                .addMappingForUrlPatterns(null, false, "/*");
+
+        // keeps logged user loaded once per request, after security and entity manager filters
+        container.addFilter("activeUserFilter", new DelegatingFilterProxy("activeUserFilter"))
+                .addMappingForUrlPatterns(null, false, "/*");
 
         //filter for encoding all request parameters to unicode
         CharacterEncodingFilter characterEncodingFilter = new CharacterEncodingFilter();
@@ -60,4 +64,4 @@ public class WebAppInitializer implements WebApplicationInitializer {
         // add mapping this servlet to all requests
         registration.addMapping("/");
     }
-}
\ No newline at end of file
+}
@@ -9,6 +9,7 @@ import org.springframework.context.annotation.Import;
 import org.springframework.context.support.PropertySourcesPlaceholderConfigurer;
 import org.springframework.context.support.ResourceBundleMessageSource;
 import org.springframework.data.web.config.EnableSpringDataWebSupport;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.multipart.commons.CommonsMultipartResolver;
 import org.springframework.web.servlet.ViewResolver;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
@@ -25,6 +26,7 @@ import org.springframework.web.servlet.view.UrlBasedViewResolver;
 @EnableWebMvc
 @Configuration
 @EnableSpringDataWebSupport
+@EnableScheduling
 @ComponentScan(basePackages = {"com.softserverinc.edu"})
 @Import({SecurityConfig.class, DBConfig.class, TilesConfig.class})
 public class WebConfig extends WebMvcConfigurerAdapter {
@@ -0,0 +1,75 @@
+package com.softserverinc.edu.controllers;
+
+import com.softserverinc.edu.entities.AutocompleteDto;
+import com.softserverinc.edu.services.searchServices.AutocompleteService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import java.util.List;
+
+/**
+ * Serve for loading options of dropdowns by prefix of their names, instead of rendering all of them on pages
+ */
+@Controller
+public class AutocompleteController {
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
+    /**
+     * @param q beginning of issue title or of any word of it
+     * @return ids and titles of issues as JSON
+     */
+    @GetMapping("/autocomplete/issues")
+    @ResponseBody
+    public List<AutocompleteDto> issues(@RequestParam(defaultValue = "") String q) {
+        return autocompleteService.findIssues(q);
+    }
+
+    /**
+     * @param q beginning of project title or of any word of it
+     * @return ids and titles of projects as JSON
+     */
+    @GetMapping("/autocomplete/projects")
+    @ResponseBody
+    public List<AutocompleteDto> projects(@RequestParam(defaultValue = "") String q) {
+        return autocompleteService.findProjects(q);
+    }
+
+    /**
+     * @param q         beginning of full name, last name or email of user
+     * @param projectId id of project which users must be members of, may be null
+     * @return ids and full names of users as JSON
+     */
+    @GetMapping("/autocomplete/users")
+    @ResponseBody
+    public List<AutocompleteDto> users(@RequestParam(defaultValue = "") String q,
+                                       @RequestParam(required = false) Long projectId) {
+        return autocompleteService.findUsers(q, projectId);
+    }
+
+    /**
+     * @param q beginning of label title or of any word of it
+     * @return ids and titles of labels as JSON
+     */
+    @GetMapping("/autocomplete/labels")
+    @ResponseBody
+    public List<AutocompleteDto> labels(@RequestParam(defaultValue = "") String q) {
+        return autocompleteService.findLabels(q);
+    }
+
+    /**
+     * @param q         beginning of release version
+     * @param projectId id of project of releases, may be null
+     * @return ids and versions of releases as JSON
+     */
+    @GetMapping("/autocomplete/releases")
+    @ResponseBody
+    public List<AutocompleteDto> releases(@RequestParam(defaultValue = "") String q,
+                                          @RequestParam(required = false) Long projectId) {
+        return autocompleteService.findReleases(q, projectId);
+    }
+}
@@ -0,0 +1,93 @@
+package com.softserverinc.edu.controllers;
+
+import com.softserverinc.edu.configs.ConnectionPoolMetrics;
+import com.softserverinc.edu.services.CacheStatisticsService;
+import com.softserverinc.edu.services.HistoryWriter;
+import com.softserverinc.edu.services.securityServices.ActiveUserHolder;
+import com.softserverinc.edu.services.securityServices.DatabaseUserDetailsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+/**
+ * Runtime statistics of application components for administrator
+ */
+@RestController
+@RequestMapping("/admin/diagnostics")
+public class DiagnosticsController {
+
+    @Autowired
+    private HistoryWriter historyWriter;
+
+    @Autowired
+    private ConnectionPoolMetrics connectionPoolMetrics;
+
+    @Autowired
+    private CacheStatisticsService cacheStatisticsService;
+
+    @Autowired
+    private ActiveUserHolder activeUserHolder;
+
+    @Autowired
+    private DatabaseUserDetailsService userDetailsService;
+
+    /**
+     * Shows state of history writer queue
+     *
+     * @return history writer statistics as JSON
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/history-writer")
+    public Map<String, Object> historyWriter() {
+        return historyWriter.getStatistics();
+    }
+
+    /**
+     * Shows state of JDBC connection pool
+     *
+     * @return amounts of active, idle connections, waiting threads and wait times as JSON
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/datasource")
+    public Map<String, Object> dataSource() {
+        return connectionPoolMetrics.getStatistics();
+    }
+
+    /**
+     * Shows hits and misses of Hibernate second-level and query caches
+     *
+     * @return cache statistics for every cache region as JSON
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/cache")
+    public Map<String, Object> cache() {
+        return cacheStatisticsService.getSecondLevelCacheStatistics();
+    }
+
+    /**
+     * Shows how many lookups of logged user were served from request scope instead of database
+     *
+     * @return active user lookup statistics as JSON
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/active-user")
+    public Map<String, Object> activeUser() {
+        return activeUserHolder.getStatistics();
+    }
+
+    /**
+     * Shows hits and misses of the cache of users loaded for authentication
+     *
+     * @return user details cache statistics as JSON
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/user-details")
+    public Map<String, Object> userDetails() {
+        return userDetailsService.getStatistics();
+    }
+
+}
@@ -2,6 +2,9 @@ package com.softserverinc.edu.controllers;
 
 import com.softserverinc.edu.constants.PageConstant;
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueBulkResultDto;
+import com.softserverinc.edu.entities.IssueListDto;
+import com.softserverinc.edu.entities.enums.IssueBulkAction;
 import com.softserverinc.edu.entities.enums.IssuePriority;
 import com.softserverinc.edu.entities.enums.IssueStatus;
 import com.softserverinc.edu.entities.enums.IssueType;
@@ -10,8 +13,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.method.P;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -21,9 +27,11 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 import java.security.Principal;
 import java.util.Date;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -37,6 +45,9 @@ public class IssueController {
     @Autowired
     private IssueService issueService;
 
+    @Autowired
+    private IssueBulkService issueBulkService;
+
     @Autowired
     private HistoryService historyService;
 
@@ -46,33 +57,25 @@ public class IssueController {
     @Autowired
     private WorkLogService workLogService;
 
-    @Autowired
-    private ProjectService projectService;
-
-    @Autowired
-    private LabelService labelService;
-
-    @Autowired
-    private ProjectReleaseService projectReleaseService;
 
     /**
      * Shows all possible issues
      *
      * @param model         holder for model attributes
      * @param principal     represents the user, who is authenticated
-     * @param pageableIssue represents the total number of pages in the set of allIssues
+     * @param issueCursor   represents the cursor of the page in the set of allIssues, null for the first page
      * @param pageableUser  represents the total number of pages in the set of myIssues
      * @return list of issues
      */
     @GetMapping("/issue")
     public String listOfIssues(Model model, Principal principal,
-                               @Qualifier("issue")
-                               @PageableDefault(PageConstant.AMOUNT_ISSUE_ELEMENTS) Pageable pageableIssue,
+                               @RequestParam(value = "issue_cursor", required = false) String issueCursor,
                                @Qualifier("user")
                                @PageableDefault(PageConstant.AMOUNT_ISSUE_ELEMENTS) Pageable pageableUser) {
-        model.addAttribute("listOfIssues", issueService.findAll(pageableIssue));
+        model.addAttribute("listOfIssues", issueService.findList(issueCursor, PageConstant.AMOUNT_ISSUE_ELEMENTS));
+        model.addAttribute("seekPagination", true);
         if (principal != null) {
-            model.addAttribute("userIssues", issueService.findByUser(principal, pageableUser));
+            model.addAttribute("userIssues", issueService.findListByUser(principal, pageableUser));
         }
         return "issue";
     }
@@ -80,7 +83,7 @@ public class IssueController {
     @PostMapping("/issue/search")
     public String issueSearchByTitle(@RequestParam(value = "title") String title, Model model,
                                      @PageableDefault(PageConstant.AMOUNT_ISSUE_ELEMENTS) Pageable pageable) {
-        model.addAttribute("listOfIssues", issueService.findByTitleContaining(title, pageable));
+        model.addAttribute("listOfIssues", issueService.findListByTitleContaining(title, pageable));
         populateDefaultModel(model);
         return "issue";
     }
@@ -91,22 +94,22 @@ public class IssueController {
      *
      * @param issueId         represents issue by this id
      * @param model           holder for model attributes
-     * @param workLogPageable represents the total number of pages in the set of worklog
-     * @param historyPageable represents the total number of pages in the set of history
+     * @param workLogCursor   represents the cursor of the page in the set of worklog, null for the first page
+     * @param historyCursor   represents the cursor of the page in the set of history, null for the first page
      * @return specific issue by id
      */
     @GetMapping("issue/{issueId}")
     public String issueById(@PathVariable Long issueId, ModelMap model,
-                            @Qualifier("worklog")
-                            @PageableDefault(PageConstant.AMOUNT_PROJECT_ELEMENTS) Pageable workLogPageable,
-                            @Qualifier("history") Pageable historyPageable) {
-        Issue issue = issueService.findById(issueId);
+                            @RequestParam(value = "worklog_cursor", required = false) String workLogCursor,
+                            @RequestParam(value = "history_cursor", required = false) String historyCursor) {
+        Issue issue = issueService.findViewById(issueId);
         model.addAttribute("issue", issue);
-        model.addAttribute("issueCommentsList", issueCommentService.findByIssueId(issueId));
+        model.addAttribute("issueCommentsList", issueCommentService.findWithUsersByIssue(issue));
         model.addAttribute("commentsAction", issueId + "/comment/save");
-        model.addAttribute("allHistory", historyService.findAllHistoryForIssue(issue, historyPageable));
-        model.addAttribute("issueComment", issueCommentService.getNewIssueComment(issueId));
-        workLogService.forNewWorkLogModel(model, issueId, workLogPageable);
+        model.addAttribute("allHistory", historyService.findAllHistoryForIssue(issue, historyCursor,
+                PageConstant.AMOUNT_ISSUE_ELEMENTS));
+        model.addAttribute("issueComment", issueCommentService.getNewIssueComment(issue));
+        workLogService.forNewWorkLogModel(model, issue, workLogCursor);
         return "issue_view";
     }
 
@@ -116,19 +119,19 @@ public class IssueController {
      * @param issueId         represents issue by this id
      * @param workLogId       represents worklog id on this issue page
      * @param model           holder for model attributes
-     * @param workLogPageable represents the total number of pages in the set of worklog
+     * @param workLogCursor   represents the cursor of the page in the set of worklog, null for the first page
      * @return specific issue page by id
      */
     @PreAuthorize("@workLogSecurityService.hasPermissionToEditWorkLog(#workLogId)")
     @GetMapping("issue/{issueId}/worklog/{workLogId}/edit")
     public String issueByIdEditWorklog(@PathVariable Long issueId,
                                        @PathVariable Long workLogId, ModelMap model,
-                                       @Qualifier("worklog")
-                                       @PageableDefault(PageConstant.AMOUNT_PROJECT_ELEMENTS) Pageable workLogPageable) {
-        model.addAttribute("issue", issueService.findById(issueId));
-        model.addAttribute("issueCommentsList", issueCommentService.findByIssueId(issueId));
-        model.addAttribute("issueComment", issueCommentService.getNewIssueComment(issueId));
-        workLogService.forEditWorkLogModel(model, workLogId, issueId, workLogPageable);
+                                       @RequestParam(value = "worklog_cursor", required = false) String workLogCursor) {
+        Issue issue = issueService.findViewById(issueId);
+        model.addAttribute("issue", issue);
+        model.addAttribute("issueCommentsList", issueCommentService.findWithUsersByIssue(issue));
+        model.addAttribute("issueComment", issueCommentService.getNewIssueComment(issue));
+        workLogService.forEditWorkLogModel(model, workLogId, issue, workLogCursor);
         return "issue_view";
     }
 
@@ -138,7 +141,7 @@ public class IssueController {
      * @param issueId         represents issue by this id
      * @param issueCommentId  represents comment id on this issue page
      * @param model           holder for model attributes
-     * @param workLogPageable represents the total number of pages in the set of worklog
+     * @param workLogCursor   represents the cursor of the page in the set of worklog, null for the first page
      * @return specific issue page by id
      */
     @PreAuthorize("@issueCommentSecurityService.hasPermissionToEditIssueComment(#issueCommentId)")
@@ -146,12 +149,13 @@ public class IssueController {
     public String issueByIdEditComment(@PathVariable Long issueId,
                                        @PathVariable Long issueCommentId,
                                        ModelMap model,
-                                       @Qualifier("worklog") Pageable workLogPageable) {
-        model.addAttribute("issue", issueService.findById(issueId));
-        model.addAttribute("issueCommentsList", issueCommentService.findByIssueId(issueId));
+                                       @RequestParam(value = "worklog_cursor", required = false) String workLogCursor) {
+        Issue issue = issueService.findViewById(issueId);
+        model.addAttribute("issue", issue);
+        model.addAttribute("issueCommentsList", issueCommentService.findWithUsersByIssue(issue));
         model.addAttribute("issueComment", issueCommentService.getEditedCommentById(issueCommentId));
         model.addAttribute("commentsAction", "../save");
-        workLogService.forNewWorkLogModel(model, issueId, workLogPageable);
+        workLogService.forNewWorkLogModel(model, issue, workLogCursor);
         return "issue_view";
     }
 
@@ -179,7 +183,7 @@ public class IssueController {
         Issue issue = issueService.findById(id);
         model.addAttribute("issue", issue);
         model.addAttribute("formAction", "edit");
-        model.addAttribute("statuses", issueService.getAvailableStatusesForStatus(issue.getStatus()));
+        model.addAttribute("statuses", issueService.getAvailableStatuses(issue));
         populateDefaultModel(model);
         return "issue_form";
     }
@@ -195,14 +199,26 @@ public class IssueController {
 
     @PostMapping("/issue/add")
     public String addIssuePost(@ModelAttribute("issue") @Valid Issue issue, BindingResult result, Model model,
-                               RedirectAttributes redirectAttributes) {
+                               RedirectAttributes redirectAttributes, HttpServletResponse response) {
         populateDefaultModel(model);
         if (result.hasErrors()) {
             model.addAttribute("formAction", "new");
             return "issue_form";
         }
+        try {
+            issueService.saveIssueChanges(issue);
+        } catch (IssueConflictException | OptimisticLockingFailureException e) {
+            // shows current state of the issue, so user can apply the changes again
+            LOGGER.debug("Issue was changed by another user " + issue.getId());
+            Issue currentIssue = issueService.findById(issue.getId());
+            response.setStatus(HttpStatus.CONFLICT.value());
+            model.addAttribute("issue", currentIssue);
+            model.addAttribute("formAction", "edit");
+            model.addAttribute("statuses", issueService.getAvailableStatuses(currentIssue));
+            model.addAttribute("msg", "The issue was changed by another user. Please review it and save again.");
+            return "issue_form";
+        }
         addAttributes(issue, redirectAttributes);
-        issueService.saveIssueChanges(issue);
         LOGGER.debug("Issue is updated or saved " + issue.getId());
         return "redirect:/issue";
     }
@@ -210,44 +226,75 @@ public class IssueController {
     /**
      * This method is invoking when somebody is changing issue (status
      * or assignee) from release page (by ajax). It checks if data is valid and saves changed issue.
+     * If the field was changed by another user meanwhile, responds with 409 (Conflict).
      *
-     * @param issueId   represents id of modified issue
-     * @param action    represents the action (what's changed)
-     * @param inputData represents the input data (selected status or assignee)
+     * @param issueId      represents id of modified issue
+     * @param action       represents the action (what's changed)
+     * @param inputData    represents the input data (selected status or assignee)
+     * @param previousData represents the value of the field shown to user before the change
+     * @return current state of the issue
      */
     @PostMapping("/issue/changeIssue")
     @ResponseBody
-    public void changeIssueFromAjax(@RequestParam Long issueId, @RequestParam String action,
-                                    @RequestParam String inputData) {
-        issueService.saveIssueChangesFromAjax(issueId, inputData, action);
+    public ResponseEntity<IssueListDto> changeIssueFromAjax(@RequestParam Long issueId, @RequestParam String action,
+                                                            @RequestParam String inputData,
+                                                            @RequestParam(required = false) String previousData) {
+        try {
+            issueService.saveIssueChangesFromAjax(issueId, inputData, action, previousData);
+        } catch (IssueConflictException e) {
+            LOGGER.debug("Issue was changed by another user " + issueId);
+            return new ResponseEntity<>(issueService.findListById(issueId), HttpStatus.CONFLICT);
+        }
+        return new ResponseEntity<>(issueService.findListById(issueId), HttpStatus.OK);
+    }
+
+    /**
+     * Applies one change (status, assignee, release or label) to many issues at once,
+     * e.g. when release is triaged. Responds with 400 (Bad Request) if the change can't be applied at all.
+     *
+     * @param issueIds  represents ids of modified issues
+     * @param action    represents the action (what's changed)
+     * @param inputData represents the input data (status, id of assignee, release or label)
+     * @return ids of updated, unchanged and rejected issues
+     */
+    @PostMapping("/issue/bulk")
+    @ResponseBody
+    public ResponseEntity<IssueBulkResultDto> changeIssuesInBulk(@RequestParam List<Long> issueIds,
+                                                                 @RequestParam IssueBulkAction action,
+                                                                 @RequestParam String inputData) {
+        try {
+            return new ResponseEntity<>(issueBulkService.applyChange(issueIds, action, inputData), HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Bulk change of issues is rejected: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
     /**
      * Returns all available issue statuses (as map of status constatnts and their string representations)
-     * for current selected status.
-     * Invokes {@see com.softserverinc.edu.services.UserService#getMapOfIssueStatuses(String selectedStatus)}
+     * for current selected status by workflow of issue's project.
+     * Invokes {@see com.softserverinc.edu.services.IssueService#getMapOfIssueStatuses(String, Long)}
      *
      * @param selectedStatus represents selected status
+     * @param issueId        represents id of issue, the default workflow is used without it
      * @return               Map with issue statuses and their string representation (it's simpler for JSon parsing)
      */
     @PostMapping("/getAvailableIssueStatuses")
     @ResponseBody
-    public Map<IssueStatus, String> getAvailableIssueStatuses(@RequestParam String selectedStatus) {
-        return issueService.getMapOfIssueStatuses(selectedStatus);
+    public Map<IssueStatus, String> getAvailableIssueStatuses(@RequestParam String selectedStatus,
+                                                              @RequestParam(required = false) Long issueId) {
+        return issueService.getMapOfIssueStatuses(selectedStatus, issueId);
     }
 
     /**
-     * Method for adding attributes into model
+     * Method for adding attributes into model. Projects, releases, assignees and labels aren't added,
+     * the form loads them from autocomplete endpoints
      *
      * @param model holder for model attributes
      */
     private void populateDefaultModel(Model model) {
-        model.addAttribute("projects", projectService.findAll());
         model.addAttribute("types", IssueType.values());
         model.addAttribute("priority", IssuePriority.values());
-        model.addAttribute("allLabels", labelService.findAll());
-        model.addAttribute("users", issueService.checkAuthentication());
-        model.addAttribute("projectReleases", projectReleaseService.findAll());
     }
 
     /**
@@ -1,14 +1,18 @@
 package com.softserverinc.edu.controllers;
 
 import com.softserverinc.edu.constants.PageConstant;
+import com.softserverinc.edu.entities.IssueWorkflow;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.IssueStatus;
 import com.softserverinc.edu.entities.enums.UserRole;
 import com.softserverinc.edu.services.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.method.P;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -19,6 +23,9 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Controller
 public class ProjectController {
@@ -35,17 +42,20 @@ public class ProjectController {
     @Autowired
     private IssueService issueService;
 
+    @Autowired
+    private IssueWorkflowService issueWorkflowService;
+
     @GetMapping("/projects")
     public String listOfProjects(@PageableDefault(PageConstant.AMOUNT_PROJECT_ELEMENTS) Pageable pageable,
                                  ModelMap model) {
-        model.addAttribute("listOfProjects", projectService.findAll(pageable));
+        model.addAttribute("listOfProjects", projectService.findList(pageable));
         return "projects";
     }
 
     @PostMapping("projects/search")
     public String projectSearchByTitle(@RequestParam String title, Model model,
                                        @PageableDefault(PageConstant.AMOUNT_PROJECT_ELEMENTS) Pageable pageable) {
-        model.addAttribute("listOfProjects", projectService.findProjectByTitle(title, pageable));
+        model.addAttribute("listOfProjects", projectService.findListByTitle(title, pageable));
         return "projects";
     }
 
@@ -96,7 +106,7 @@ public class ProjectController {
         model.addAttribute("projectManager", userService.getProjectManagerOfProject(projectId));
         model.addAttribute("usersList", userService.findUsersByProjectPageable(project, pageableUser));
         model.addAttribute("releaseList", releaseService.findByProject(project, pageableRelease));
-        model.addAttribute("listOfIssues", issueService.findByProject(project, pageableIssue));
+        model.addAttribute("listOfIssues", issueService.findListByProject(project, pageableIssue));
         return "project";
     }
 
@@ -113,7 +123,7 @@ public class ProjectController {
         model.addAttribute("usersList",
                 userService.searchByUsers(project, searchedParam, role, searchedString, pageableUser));
         model.addAttribute("releaseList", releaseService.findByProject(project, pageableRelease));
-        model.addAttribute("listOfIssues", issueService.findByProject(project, pageableIssue));
+        model.addAttribute("listOfIssues", issueService.findListByProject(project, pageableIssue));
         return "project";
     }
 
@@ -127,7 +137,7 @@ public class ProjectController {
         model.addAttribute("projectManager", userService.getProjectManagerOfProject(projectId));
         model.addAttribute("usersList", userService.findUsersByProjectPageable(project, pageableUser));
         model.addAttribute("releaseList", releaseService.searchByTitle(project, searchedString, pageableRelease));
-        model.addAttribute("listOfIssues", issueService.findByProject(project, pageableIssue));
+        model.addAttribute("listOfIssues", issueService.findListByProject(project, pageableIssue));
         return "project";
     }
 
@@ -141,7 +151,7 @@ public class ProjectController {
         model.addAttribute("projectManager", userService.getProjectManagerOfProject(projectId));
         model.addAttribute("usersList", userService.findUsersByProjectPageable(project, pageableUser));
         model.addAttribute("releaseList", releaseService.findByProject(project, pageableRelease));
-        model.addAttribute("listOfIssues", issueService.findIssuesByProject(project, searchedString, pageableIssue));
+        model.addAttribute("listOfIssues", issueService.findListByProject(project, searchedString, pageableIssue));
         return "project";
     }
 
@@ -248,6 +258,58 @@ public class ProjectController {
         return "redirect:/projects/project/" + projectId;
     }
 
+    /**
+     * Returns issue status workflow of project: statuses and statuses which issue may be moved to from them
+     *
+     * @param projectId id of project
+     * @return table of allowed transitions
+     */
+    @PreAuthorize("@projectSecurityService.hasPermissionToViewProject(#projectId)")
+    @GetMapping("/projects/project/{projectId}/workflow")
+    @ResponseBody
+    public Map<IssueStatus, Set<IssueStatus>> getWorkflow(@PathVariable @P("projectId") Long projectId) {
+        return issueWorkflowService.getWorkflow(projectId).getTransitions();
+    }
+
+    /**
+     * Replaces issue status workflow of project. Transitions are sent as "FROM:TO" pairs of status names,
+     * project without transitions uses the default workflow again.
+     *
+     * @param projectId   id of project
+     * @param transitions allowed transitions
+     * @return saved table of allowed transitions or bad request if some status doesn't exist
+     *         or no transition is left, as a status can't be moved to itself
+     */
+    @PreAuthorize("@projectSecurityService.hasPermissionToProjectManagement(#projectId)")
+    @PostMapping("/projects/project/{projectId}/workflow")
+    @ResponseBody
+    public ResponseEntity<Map<IssueStatus, Set<IssueStatus>>> saveWorkflow(@PathVariable @P("projectId") Long projectId,
+            @RequestParam(required = false) List<String> transitions) {
+        Project project = projectService.findById(projectId);
+        if (transitions == null || transitions.isEmpty()) {
+            issueWorkflowService.resetWorkflow(project);
+            return new ResponseEntity<>(IssueWorkflow.DEFAULT.getTransitions(), HttpStatus.OK);
+        }
+        IssueWorkflow.Builder builder = IssueWorkflow.newBuilder();
+        try {
+            for (String transition : transitions) {
+                String[] statuses = transition.split(":");
+                if (statuses.length != 2) {
+                    return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+                }
+                builder.allow(IssueStatus.valueOf(statuses[0].trim()), IssueStatus.valueOf(statuses[1].trim()));
+            }
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        IssueWorkflow workflow = builder.build();
+        if (!workflow.hasTransitions()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        issueWorkflowService.saveWorkflow(project, workflow);
+        return new ResponseEntity<>(workflow.getTransitions(), HttpStatus.OK);
+    }
+
     private void usersRolesInProject(Model model) {
         model.addAttribute("DEV", UserRole.ROLE_DEVELOPER);
         model.addAttribute("QA", UserRole.ROLE_QA);
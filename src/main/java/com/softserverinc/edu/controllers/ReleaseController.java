@@ -1,16 +1,25 @@
 package com.softserverinc.edu.controllers;
 
 import com.softserverinc.edu.constants.PageConstant;
+import com.softserverinc.edu.entities.BurndownPointDto;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.ReleaseProgressDto;
 import com.softserverinc.edu.entities.enums.ReleaseStatus;
 import com.softserverinc.edu.services.IssueService;
 import com.softserverinc.edu.services.ProjectReleaseService;
 import com.softserverinc.edu.services.ProjectService;
+import com.softserverinc.edu.services.ReleaseBurndownService;
+import com.softserverinc.edu.services.ReleaseProgressService;
 import com.softserverinc.edu.services.UserService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.method.P;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
@@ -20,10 +29,14 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
+import java.time.LocalDate;
+import java.util.List;
 
 @Controller
 public class ReleaseController {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReleaseController.class);
+
     @Autowired
     private ProjectService projectService;
 
@@ -36,6 +49,12 @@ public class ReleaseController {
     @Autowired
     private ProjectReleaseService releaseService;
 
+    @Autowired
+    private ReleaseProgressService releaseProgressService;
+
+    @Autowired
+    private ReleaseBurndownService releaseBurndownService;
+
     /**
      * This method receives release id and put the corresponding release object to the model.
      * It also retrieves issues and users list (of all available users of project)
@@ -53,11 +72,82 @@ public class ReleaseController {
                               @PageableDefault(PageConstant.AMOUNT_PROJECT_ELEMENTS) Pageable pageable) {
         ProjectRelease release = releaseService.findById(releaseId);
         model.addAttribute("release", release);
-        model.addAttribute("issueList", issueService.findIssuesForRelease(release, pageable));
+        model.addAttribute("issueList", issueService.findListForRelease(release, pageable));
         model.addAttribute("users",userService.findUsersForRelease(release));
+        model.addAttribute("progress", releaseProgressService.getProgress(release));
         return "release";
     }
 
+    /**
+     * This method returns progress of release: amount of issues per status, total estimated,
+     * spent and remaining time. Progress is read from the rollup table, issues aren't loaded.
+     * Validates if current user has permission to view release.
+     *
+     * @param releaseId id of release
+     * @return          progress of release as JSON, not found if there is no such release
+     */
+    @PreAuthorize("@releaseSecurityService.hasPermissionToViewRelease(#releaseId)")
+    @GetMapping("/project/{projectId}/release/{releaseId}/progress")
+    @ResponseBody
+    public ResponseEntity<ReleaseProgressDto> getReleaseProgress(@PathVariable @P("releaseId") Long releaseId) {
+        ProjectRelease release = releaseService.findById(releaseId);
+        if (release == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(releaseProgressService.getProgress(release), HttpStatus.OK);
+    }
+
+    /**
+     * This method returns burndown of release: one point per day with amount of open issues,
+     * remaining estimate and spent time. Points are read from stored daily snapshots.
+     * Validates if current user has permission to view release.
+     *
+     * @param releaseId id of release
+     * @param from      first day (yyyy-MM-dd), optional
+     * @param to        last day (yyyy-MM-dd), today if not specified
+     * @return          burndown points ordered by day as JSON, not found if there is no such release
+     */
+    @PreAuthorize("@releaseSecurityService.hasPermissionToViewRelease(#releaseId)")
+    @GetMapping("/project/{projectId}/release/{releaseId}/burndown")
+    @ResponseBody
+    public ResponseEntity<List<BurndownPointDto>> getReleaseBurndown(
+            @PathVariable @P("releaseId") Long releaseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        ProjectRelease release = releaseService.findById(releaseId);
+        if (release == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(releaseBurndownService.getBurndown(release, from, to), HttpStatus.OK);
+    }
+
+    /**
+     * This method reconstructs burndown of release for past days from history of issue statuses
+     * and logged time, and stores it. It's used for releases created before daily snapshots.
+     * Validates if current user has permission to edit release.
+     *
+     * @param releaseId id of release
+     * @param from      first day (yyyy-MM-dd), optional
+     * @param to        last day (yyyy-MM-dd), today if not specified
+     * @return          reconstructed points of days which had no point as JSON,
+     *                  bad request if the range is reversed or too long
+     */
+    @PreAuthorize("@releaseSecurityService.hasPermissionToEditRelease(#releaseId)")
+    @PostMapping("/project/{projectId}/release/{releaseId}/burndown/backfill")
+    @ResponseBody
+    public ResponseEntity<List<BurndownPointDto>> backfillReleaseBurndown(
+            @PathVariable @P("releaseId") Long releaseId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            return new ResponseEntity<>(releaseBurndownService.backfill(releaseService.findById(releaseId), from, to),
+                    HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            LOGGER.debug("Burndown backfill is rejected: " + e.getMessage());
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * This method searches issues by name for current release. As result this method returns release.jsp,
      * so besides searched list of issues it returns users list of all available users of project.
@@ -75,8 +165,9 @@ public class ReleaseController {
         ProjectRelease release = releaseService.findById(releaseId);
         model.addAttribute("release", release);
         model.addAttribute("issueList",
-                issueService.findByReleaseAndIssueTitle(release, searchedString, pageable));
+                issueService.findListByReleaseAndIssueTitle(release, searchedString, pageable));
         model.addAttribute("users", userService.findUsersForRelease(release));
+        model.addAttribute("progress", releaseProgressService.getProgress(release));
         return "release";
     }
 
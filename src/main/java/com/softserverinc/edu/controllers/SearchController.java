@@ -1,19 +1,31 @@
 package com.softserverinc.edu.controllers;
 
-import com.softserverinc.edu.entities.Issue;
-import com.softserverinc.edu.entities.Project;
-import com.softserverinc.edu.entities.ProjectRelease;
-import com.softserverinc.edu.repositories.SearchRepository;
+import com.softserverinc.edu.constants.PageConstant;
+import com.softserverinc.edu.entities.SearchResultDto;
+import com.softserverinc.edu.entities.enums.SearchMatch;
+import com.softserverinc.edu.entities.enums.SearchType;
+import com.softserverinc.edu.services.searchServices.SearchIndexHealth;
+import com.softserverinc.edu.services.searchServices.SearchIndexService;
+import com.softserverinc.edu.services.searchServices.SearchService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 /**
  * Serve for working with search requests
@@ -24,37 +36,105 @@ public class SearchController {
     private final static Logger LOGGER = LoggerFactory.getLogger(SearchController.class);
 
     @Autowired
-    private SearchRepository searchRepository;
+    private SearchService searchService;
+
+    @Autowired
+    private SearchIndexService searchIndexService;
 
     /**
+     * Shows one page of hits of selected type, with amount of hits of every type and facets of issues
+     *
      * @param searchText request text to searching information in entities
+     * @param searchType type of entities shown
+     * @param match      how words of the text are matched: any words, exact phrase or similar words
+     * @param status     status of issues, may be null
+     * @param priority   priority of issues, may be null
+     * @param type       type of issues, may be null
+     * @param projectId  id of project of issues, may be null
+     * @param pageable   page of hits
      * @param model      holder for model attributes
-     * @return search_result page with list of find information
+     * @return search_result page with found information
      */
-    @PostMapping("/search_text")
-    public String search(@RequestParam("searchText") String searchText, Model model) {
-
-        searchRepository.indexEntity();
-
-        List searchResult = searchRepository.search(searchText);
-
-        List<Project> projects = new ArrayList<>();
-        List<Issue> issues = new ArrayList<>();
-        List<ProjectRelease> releases = new ArrayList<>();
-
-        for (Object object : searchResult) {
-            if (object instanceof Project) {
-                projects.add((Project) object);
-            } else if (object instanceof Issue) {
-                issues.add((Issue) object);
-            } else {
-                releases.add((ProjectRelease) object);
-            }
-        }
-        model.addAttribute("issues", issues);
-        model.addAttribute("projects", projects);
-        model.addAttribute("releases", releases);
+    @RequestMapping(value = "/search_text", method = {RequestMethod.GET, RequestMethod.POST})
+    public String search(@RequestParam("searchText") String searchText,
+                         @RequestParam(defaultValue = "ISSUE") SearchType searchType,
+                         @RequestParam(defaultValue = "WORDS") SearchMatch match,
+                         @RequestParam(required = false) String status,
+                         @RequestParam(required = false) String priority,
+                         @RequestParam(required = false) String type,
+                         @RequestParam(required = false) String projectId,
+                         @PageableDefault(PageConstant.AMOUNT_ISSUE_ELEMENTS) Pageable pageable, Model model) {
+        Map<String, String> filters = getFilters(status, priority, type, projectId);
+        model.addAttribute("result", searchService.search(searchText, searchType, match, filters, pageable));
+        model.addAttribute("searchText", searchText);
+        model.addAttribute("searchType", searchType);
+        model.addAttribute("match", match);
+        model.addAttribute("searchMatches", SearchMatch.values());
+        model.addAttribute("filters", filters);
+        model.addAttribute("searchTypes", SearchType.values());
         return "search_result";
     }
 
+    /**
+     * Returns one page of hits of selected type, with total amount of hits, amount of hits of every type
+     * and facets of issues (status, priority, type, project). Hits are read from the search index only.
+     *
+     * @param searchText request text to searching information in entities
+     * @param searchType type of entities returned
+     * @param match      how words of the text are matched: any words, exact phrase or similar words
+     * @param status     status of issues, may be null
+     * @param priority   priority of issues, may be null
+     * @param type       type of issues, may be null
+     * @param projectId  id of project of issues, may be null
+     * @param pageable   page of hits
+     * @return search result as JSON
+     */
+    @GetMapping("/search")
+    @ResponseBody
+    public SearchResultDto searchApi(@RequestParam("searchText") String searchText,
+                                     @RequestParam(defaultValue = "ISSUE") SearchType searchType,
+                                     @RequestParam(defaultValue = "WORDS") SearchMatch match,
+                                     @RequestParam(required = false) String status,
+                                     @RequestParam(required = false) String priority,
+                                     @RequestParam(required = false) String type,
+                                     @RequestParam(required = false) String projectId,
+                                     @PageableDefault(PageConstant.AMOUNT_ISSUE_ELEMENTS) Pageable pageable) {
+        return searchService.search(searchText, searchType, match,
+                getFilters(status, priority, type, projectId), pageable);
+    }
+
+    /**
+     * Shows state of the search index: mass indexing status, amount of not yet indexed changes,
+     * indexing lag and amount of documents for every indexed entity
+     *
+     * @return search index state as JSON
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @GetMapping("/search/index/health")
+    @ResponseBody
+    public SearchIndexHealth indexHealth() {
+        return searchIndexService.getHealth();
+    }
+
+    /**
+     * Starts backfilling of the index of comments in background, progress is shown on index-health endpoint
+     *
+     * @return 202 if indexing is started, 409 if mass indexing is running already
+     */
+    @PreAuthorize("hasRole('ADMIN')")
+    @PostMapping("/search/index/comments")
+    public ResponseEntity<Void> indexComments() {
+        return new ResponseEntity<>(searchIndexService.startCommentIndexing() ? HttpStatus.ACCEPTED
+                : HttpStatus.CONFLICT);
+    }
+
+    private Map<String, String> getFilters(String status, String priority, String type, String projectId) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put("status", status);
+        filters.put("priority", priority);
+        filters.put("type", type);
+        filters.put("projectId", projectId);
+        filters.values().removeIf(value -> value == null || value.isEmpty());
+        return filters;
+    }
 }
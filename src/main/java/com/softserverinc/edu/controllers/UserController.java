@@ -42,7 +42,7 @@ public class UserController {
     @GetMapping("/users")
     public String userForm(Model model, Pageable pageable) {
         populateDefaultModel(model);
-        model.addAttribute("userList", userService.findAllUsers(pageable));
+        model.addAttribute("userList", userService.findUserList(pageable));
         return "users";
     }
 
@@ -128,7 +128,7 @@ public class UserController {
     public String userSearch(@RequestParam String firstName, @RequestParam String lastName,
                                    @RequestParam String email, @RequestParam String role,
                                    Model model, Pageable pageable) {
-        model.addAttribute("userList", userService.search(firstName, lastName,
+        model.addAttribute("userList", userService.searchUserList(firstName, lastName,
                 email, UserRole.valueOf(role), pageable));
         populateDefaultModel(model);
         return "users";
@@ -1,7 +1,10 @@
 package com.softserverinc.edu.controllers;
 
+import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.WorkLog;
 import com.softserverinc.edu.forms.WorkLogFormValidator;
+import com.softserverinc.edu.services.WorkLogImportReport;
+import com.softserverinc.edu.services.WorkLogImportService;
 import com.softserverinc.edu.services.WorkLogService;
 import com.softserverinc.edu.services.securityServices.WorkLogSecurityService;
 import org.slf4j.Logger;
@@ -15,9 +18,14 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.multipart.MultipartFile;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import javax.validation.Valid;
+import java.io.IOException;
+import java.io.InputStream;
 
 /**
  * Serve requests used for working with WorkLog entity
@@ -36,6 +44,9 @@ public class WorkLogController {
     @Autowired
     private WorkLogSecurityService workLogSecurityService;
 
+    @Autowired
+    private WorkLogImportService workLogImportService;
+
     /**
      * Serve WorkLog saving requests
      *
@@ -52,7 +63,7 @@ public class WorkLogController {
                                  BindingResult result,
                                  RedirectAttributes redirectAttributes) {
         if (result.hasErrors() || !workLogFormValidator.validateWorklogUI(workLog,
-                workLogSecurityService.getActiveUser(), issueId)) {
+                workLogSecurityService.getActiveUser())) {
             redirectAttributes.addFlashAttribute("msg", "Unable to save work log. Please fix your data.");
             return "redirect:/issue/" + issueId;
         }
@@ -78,4 +89,28 @@ public class WorkLogController {
         redirectAttributes.addFlashAttribute("msg", "Work log entry has been deleted.");
         return "redirect:/issue/{issueId}";
     }
-}
\ No newline at end of file
+
+    /**
+     * Serve timesheet import requests. Entries of the file are logged on behalf of current user.
+     *
+     * @param file CSV or JSON timesheet, format is detected by file extension or content type
+     * @return amounts of imported and rejected rows with reasons of rejection as JSON
+     * @throws IOException if uploaded file can't be read
+     */
+    @PreAuthorize("isAuthenticated()")
+    @RequestMapping(value = "worklog/import", method = RequestMethod.POST)
+    @ResponseBody
+    public WorkLogImportReport importWorkLogs(@RequestParam("file") MultipartFile file) throws IOException {
+        User user = workLogSecurityService.getActiveUser();
+        String fileName = file.getOriginalFilename() == null ? "" : file.getOriginalFilename().toLowerCase();
+        boolean json = fileName.endsWith(".json")
+                || (file.getContentType() != null && file.getContentType().contains("json"));
+        WorkLogImportReport report;
+        try (InputStream input = file.getInputStream()) {
+            report = json ? workLogImportService.importJson(input, user) : workLogImportService.importCsv(input, user);
+        }
+        LOGGER.info("Timesheet " + file.getOriginalFilename() + " imported by " + user.getEmail() + ": "
+                + report.getImportedRows() + " of " + report.getTotalRows() + " rows");
+        return report;
+    }
+}
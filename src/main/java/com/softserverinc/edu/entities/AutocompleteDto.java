@@ -0,0 +1,24 @@
+package com.softserverinc.edu.entities;
+
+/**
+ * One option of autocomplete: id of entity and its text shown to user, as select2 dropdown expects them
+ */
+public class AutocompleteDto {
+
+    private long id;
+
+    private String text;
+
+    public AutocompleteDto(long id, String text) {
+        this.id = id;
+        this.text = text;
+    }
+
+    public long getId() {
+        return id;
+    }
+
+    public String getText() {
+        return text;
+    }
+}
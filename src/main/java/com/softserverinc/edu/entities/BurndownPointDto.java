@@ -0,0 +1,58 @@
+package com.softserverinc.edu.entities;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.LocalDate;
+
+/**
+ * One day of release burndown: amount of not closed issues, their remaining estimate
+ * and time spent on release issues till the end of the day
+ */
+public class BurndownPointDto {
+
+    private LocalDate day;
+
+    private long openIssues;
+
+    private long remainingEstimate;
+
+    private long spentTime;
+
+    public BurndownPointDto(LocalDate day, long openIssues, long remainingEstimate, long spentTime) {
+        this.day = day;
+        this.openIssues = openIssues;
+        this.remainingEstimate = remainingEstimate;
+        this.spentTime = spentTime;
+    }
+
+    /**
+     * Returns day in ISO format (yyyy-MM-dd), which is used as a key of the series in JSON
+     *
+     * @return day of the point
+     */
+    public String getDay() {
+        return day.toString();
+    }
+
+    /**
+     * Returns day of the point for storing it, not serialized: JSON has the day as {@link #getDay()}
+     *
+     * @return day of the point
+     */
+    @JsonIgnore
+    public LocalDate getDate() {
+        return day;
+    }
+
+    public long getOpenIssues() {
+        return openIssues;
+    }
+
+    public long getRemainingEstimate() {
+        return remainingEstimate;
+    }
+
+    public long getSpentTime() {
+        return spentTime;
+    }
+}
@@ -5,6 +5,10 @@ import com.softserverinc.edu.entities.enums.IssuePriority;
 import com.softserverinc.edu.entities.enums.IssueStatus;
 import com.softserverinc.edu.entities.enums.IssueType;
 import org.apache.commons.lang3.builder.EqualsBuilder;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilterFactory;
+import org.apache.lucene.analysis.core.LowerCaseFilterFactory;
+import org.apache.lucene.analysis.core.StopFilterFactory;
+import org.apache.lucene.analysis.standard.StandardTokenizerFactory;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.hibernate.search.annotations.*;
@@ -18,10 +22,33 @@ import javax.validation.constraints.Size;
 import java.util.Date;
 import java.util.Set;
 
+/**
+ * "Issue.view" graph loads everything shown on the issue page together with the issue:
+ * project, release, assignee and creator with their projects, and labels.
+ * "htmlText" analyzer indexes descriptions written in the rich text editor without their HTML tags.
+ */
 @Entity
 @Indexed
+@AnalyzerDef(name = Issue.HTML_TEXT_ANALYZER,
+        charFilters = @CharFilterDef(factory = HTMLStripCharFilterFactory.class),
+        tokenizer = @TokenizerDef(factory = StandardTokenizerFactory.class),
+        filters = {
+                @TokenFilterDef(factory = LowerCaseFilterFactory.class),
+                @TokenFilterDef(factory = StopFilterFactory.class)})
+@NamedEntityGraph(name = Issue.VIEW_GRAPH,
+        attributeNodes = {
+                @NamedAttributeNode("project"),
+                @NamedAttributeNode("projectRelease"),
+                @NamedAttributeNode(value = "assignee", subgraph = "user"),
+                @NamedAttributeNode(value = "createdBy", subgraph = "user"),
+                @NamedAttributeNode("labels")},
+        subgraphs = @NamedSubgraph(name = "user", attributeNodes = @NamedAttributeNode("project")))
 public class Issue {
 
+    public static final String VIEW_GRAPH = "Issue.view";
+
+    public static final String HTML_TEXT_ANALYZER = "htmlText";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(unique = true, nullable = false)
@@ -30,7 +57,7 @@ public class Issue {
     @NotEmpty(message = "Please enter the issue title")
     @Size(max = 32, message = "Issue title must be no longer than 32 characters")
     @Column(nullable = false, length = 32)
-    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.NO)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES)
     private String title;
 
     @NotNull(message = "Please select issue type")
@@ -92,13 +119,31 @@ public class Issue {
     @Column(nullable = false)
     private Long estimateTime;
 
+    /**
+     * Denormalized sum of amountOfTime of issue's WorkLog entries.
+     * Changed only by {@code IssueRepository#addSpentTime} when WorkLog entry is saved or removed,
+     * so saving of the issue from UI form doesn't overwrite it.
+     */
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "bigint default 0")
+    private Long spentTime = 0L;
+
+    /**
+     * Version for optimistic locking: saving of the issue from UI form is rejected if the issue was changed
+     * after the form had been opened. Single-field changes from release page increment it as well
+     * (see {@code IssueRepository#updateStatus}).
+     */
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
     @Column
     private Long parentId;
 
     @NotEmpty(message = "Please enter description")
     @Size(max = 10000, message = "Issue description must be no longer than 10000 characters")
     @Column(nullable = false, length = 10000)
-    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.NO)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES,
+            analyzer = @Analyzer(definition = Issue.HTML_TEXT_ANALYZER))
     private String description;
 
     public Issue() {
@@ -172,6 +217,34 @@ public class Issue {
         return project;
     }
 
+    /**
+     * Type, status, priority and id of project as indexed string fields, search results are faceted
+     * and filtered by them (facets don't support enum and numeric ids) and shown without loading issues
+     */
+    @Field(name = "type", analyze = Analyze.NO, store = Store.YES)
+    @Facet(forField = "type")
+    public String getIndexedType() {
+        return type == null ? null : type.name();
+    }
+
+    @Field(name = "status", analyze = Analyze.NO, store = Store.YES)
+    @Facet(forField = "status")
+    public String getIndexedStatus() {
+        return status == null ? null : status.name();
+    }
+
+    @Field(name = "priority", analyze = Analyze.NO, store = Store.YES)
+    @Facet(forField = "priority")
+    public String getIndexedPriority() {
+        return priority == null ? null : priority.name();
+    }
+
+    @Field(name = "projectId", analyze = Analyze.NO, store = Store.YES)
+    @Facet(forField = "projectId")
+    public String getIndexedProjectId() {
+        return project == null ? null : String.valueOf(project.getId());
+    }
+
     public void setProject(Project project) {
         this.project = project;
     }
@@ -216,6 +289,22 @@ public class Issue {
         this.estimateTime = estimateTime;
     }
 
+    public Long getSpentTime() {
+        return spentTime;
+    }
+
+    public void setSpentTime(Long spentTime) {
+        this.spentTime = spentTime;
+    }
+
+    public Long getVersion() {
+        return version;
+    }
+
+    public void setVersion(Long version) {
+        this.version = version;
+    }
+
     public Long getParentId() {
         return parentId;
     }
@@ -0,0 +1,29 @@
+package com.softserverinc.edu.entities;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of bulk issue operation: ids of changed issues, of issues which already were in
+ * the requested state and of issues which were rejected (no permission, invalid change or not found)
+ */
+public class IssueBulkResultDto {
+
+    private final List<Long> updatedIssueIds = new ArrayList<>();
+
+    private final List<Long> unchangedIssueIds = new ArrayList<>();
+
+    private final List<Long> rejectedIssueIds = new ArrayList<>();
+
+    public List<Long> getUpdatedIssueIds() {
+        return updatedIssueIds;
+    }
+
+    public List<Long> getUnchangedIssueIds() {
+        return unchangedIssueIds;
+    }
+
+    public List<Long> getRejectedIssueIds() {
+        return rejectedIssueIds;
+    }
+}
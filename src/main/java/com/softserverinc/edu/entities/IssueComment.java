@@ -3,6 +3,8 @@ package com.softserverinc.edu.entities;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.search.annotations.*;
+import org.hibernate.search.annotations.Index;
 
 import javax.persistence.*;
 import javax.validation.constraints.NotNull;
@@ -13,6 +15,7 @@ import java.util.Date;
  * Describe IssueComment entity's fields
  */
 @Entity
+@Indexed
 public class IssueComment {
 
     @Id
@@ -23,6 +26,7 @@ public class IssueComment {
     @NotNull
     @Size(min = 1)
     @Column(nullable = false)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES)
     private String text;
 
     @Column
@@ -104,6 +108,19 @@ public class IssueComment {
         this.anonymousName = anonymousName;
     }
 
+    /**
+     * Id and title of issue as stored fields, so search results link to the issue without loading comments
+     */
+    @Field(name = "issueId", analyze = Analyze.NO, store = Store.YES)
+    public String getIndexedIssueId() {
+        return issue == null ? null : String.valueOf(issue.getId());
+    }
+
+    @Field(name = "issueTitle", index = Index.NO, store = Store.YES)
+    public String getIndexedIssueTitle() {
+        return issue == null ? null : issue.getTitle();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,117 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.IssuePriority;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.entities.enums.IssueType;
+
+import java.util.Date;
+
+/**
+ * Row of issue lists: issue columns together with titles of its project, release and assignee,
+ * selected by one query without loading entities
+ */
+public class IssueListDto {
+
+    private Long id;
+
+    private String title;
+
+    private IssueType type;
+
+    private IssuePriority priority;
+
+    private IssueStatus status;
+
+    private Long estimateTime;
+
+    private Date createTime;
+
+    private Long projectId;
+
+    private String projectTitle;
+
+    private Long releaseId;
+
+    private String releaseVersion;
+
+    private Long assigneeId;
+
+    private String assigneeFirstName;
+
+    private String assigneeLastName;
+
+    public IssueListDto(Long id, String title, IssueType type, IssuePriority priority, IssueStatus status,
+                        Long estimateTime, Date createTime, Long projectId, String projectTitle, Long releaseId,
+                        String releaseVersion, Long assigneeId, String assigneeFirstName, String assigneeLastName) {
+        this.id = id;
+        this.title = title;
+        this.type = type;
+        this.priority = priority;
+        this.status = status;
+        this.estimateTime = estimateTime;
+        this.createTime = createTime;
+        this.projectId = projectId;
+        this.projectTitle = projectTitle;
+        this.releaseId = releaseId;
+        this.releaseVersion = releaseVersion;
+        this.assigneeId = assigneeId;
+        this.assigneeFirstName = assigneeFirstName;
+        this.assigneeLastName = assigneeLastName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public IssueType getType() {
+        return type;
+    }
+
+    public IssuePriority getPriority() {
+        return priority;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public Long getEstimateTime() {
+        return estimateTime;
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public Long getReleaseId() {
+        return releaseId;
+    }
+
+    public String getReleaseVersion() {
+        return releaseVersion;
+    }
+
+    public Long getAssigneeId() {
+        return assigneeId;
+    }
+
+    public String getAssigneeFirstName() {
+        return assigneeFirstName;
+    }
+
+    public String getAssigneeLastName() {
+        return assigneeLastName;
+    }
+}
@@ -0,0 +1,146 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.IssueStatus;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable table of issue status transitions: which statuses an issue may be moved to from its status.
+ * The table and the status names shown in dropdowns are computed once when the workflow is built,
+ * so checking a transition is an EnumMap lookup and an EnumSet bit test without allocations.
+ */
+public class IssueWorkflow {
+
+    /**
+     * Workflow of projects which haven't configured their own one
+     */
+    public static final IssueWorkflow DEFAULT = newBuilder()
+            .allow(IssueStatus.OPEN, IssueStatus.IN_PROGRESS, IssueStatus.INVALID)
+            .allow(IssueStatus.IN_PROGRESS, IssueStatus.OPEN, IssueStatus.QA_VALIDATION, IssueStatus.INVALID)
+            .allow(IssueStatus.INVALID, IssueStatus.OPEN)
+            .allow(IssueStatus.QA_VALIDATION, IssueStatus.OPEN, IssueStatus.RESOLVED)
+            .allow(IssueStatus.RESOLVED, IssueStatus.OPEN, IssueStatus.INVALID)
+            .build();
+
+    private final Map<IssueStatus, Set<IssueStatus>> transitions;
+
+    private final Map<IssueStatus, Map<IssueStatus, String>> statusNames;
+
+    private IssueWorkflow(Map<IssueStatus, EnumSet<IssueStatus>> allowed) {
+        Map<IssueStatus, Set<IssueStatus>> transitions = new EnumMap<>(IssueStatus.class);
+        Map<IssueStatus, Map<IssueStatus, String>> statusNames = new EnumMap<>(IssueStatus.class);
+        for (IssueStatus from : IssueStatus.values()) {
+            EnumSet<IssueStatus> to = EnumSet.copyOf(allowed.getOrDefault(from, EnumSet.noneOf(IssueStatus.class)));
+            Map<IssueStatus, String> names = new LinkedHashMap<>();
+            for (IssueStatus status : to) {
+                names.put(status, status.toString());
+            }
+            transitions.put(from, Collections.unmodifiableSet(to));
+            statusNames.put(from, Collections.unmodifiableMap(names));
+        }
+        this.transitions = Collections.unmodifiableMap(transitions);
+        this.statusNames = Collections.unmodifiableMap(statusNames);
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks if issue may be moved from one status to another
+     *
+     * @param from current status of issue
+     * @param to   new status of issue
+     * @return true if transition is allowed, false otherwise
+     */
+    public boolean isTransitionAllowed(IssueStatus from, IssueStatus to) {
+        return from != null && to != null && transitions.get(from).contains(to);
+    }
+
+    /**
+     * Returns statuses which issue may be moved to from its status
+     *
+     * @param from current status of issue
+     * @return unmodifiable set of statuses
+     */
+    public Set<IssueStatus> getAvailableStatuses(IssueStatus from) {
+        return transitions.get(from);
+    }
+
+    /**
+     * Returns statuses which issue may be moved to from its status together with their names
+     * (it's simpler for JSon parsing)
+     *
+     * @param from current status of issue
+     * @return unmodifiable map of statuses and their string representations
+     */
+    public Map<IssueStatus, String> getAvailableStatusNames(IssueStatus from) {
+        return statusNames.get(from);
+    }
+
+    /**
+     * Returns the whole table of allowed transitions
+     *
+     * @return unmodifiable map of statuses and statuses which issue may be moved to from them
+     */
+    public Map<IssueStatus, Set<IssueStatus>> getTransitions() {
+        return transitions;
+    }
+
+    /**
+     * Checks if issue may be moved from any status, workflow without transitions would lock all issues
+     *
+     * @return true if at least one transition is allowed
+     */
+    public boolean hasTransitions() {
+        for (Set<IssueStatus> statuses : transitions.values()) {
+            if (!statuses.isEmpty()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return transitions.equals(((IssueWorkflow) o).transitions);
+    }
+
+    @Override
+    public int hashCode() {
+        return transitions.hashCode();
+    }
+
+    public static class Builder {
+
+        private final Map<IssueStatus, EnumSet<IssueStatus>> allowed = new EnumMap<>(IssueStatus.class);
+
+        private Builder() {
+        }
+
+        public Builder allow(IssueStatus from, IssueStatus... to) {
+            EnumSet<IssueStatus> statuses = allowed.computeIfAbsent(from, status -> EnumSet.noneOf(IssueStatus.class));
+            for (IssueStatus status : to) {
+                if (status != from) {
+                    statuses.add(status);
+                }
+            }
+            return this;
+        }
+
+        public IssueWorkflow build() {
+            return new IssueWorkflow(allowed);
+        }
+    }
+}
@@ -3,6 +3,8 @@ package com.softserverinc.edu.entities;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.annotations.*;
 import org.hibernate.search.annotations.Index;
 import org.hibernate.validator.constraints.NotEmpty;
@@ -13,6 +15,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Indexed
 public class Project {
 
@@ -24,7 +28,7 @@ public class Project {
     @NotEmpty(message = "Please enter project title")
     @Size(max = 20, message = "Project title must be no longer than 20 characters")
     @Column(nullable = false, length = 20)
-    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.NO)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES)
     private String title;
 
     @OneToMany(mappedBy = "project")
@@ -57,7 +61,8 @@ public class Project {
     @NotEmpty(message = "Please enter project description")
     @Size(max = 10000, message = "Project description must be no longer than 10000 characters")
     @Column(length = 10000, nullable = false)
-    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.NO)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES,
+            analyzer = @Analyzer(definition = Issue.HTML_TEXT_ANALYZER))
     private String description;
 
     public Project() {
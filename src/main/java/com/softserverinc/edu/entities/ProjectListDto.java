@@ -0,0 +1,68 @@
+package com.softserverinc.edu.entities;
+
+/**
+ * Row of project list: project columns and amounts of its issues, releases and users,
+ * counted by the database instead of loading collections
+ */
+public class ProjectListDto {
+
+    private Long id;
+
+    private String title;
+
+    private Boolean guestView;
+
+    private Boolean guestCreateIssues;
+
+    private Boolean guestAddComment;
+
+    private Long issueCount;
+
+    private Long releaseCount;
+
+    private Long userCount;
+
+    public ProjectListDto(Long id, String title, Boolean guestView, Boolean guestCreateIssues,
+                          Boolean guestAddComment, Long issueCount, Long releaseCount, Long userCount) {
+        this.id = id;
+        this.title = title;
+        this.guestView = guestView;
+        this.guestCreateIssues = guestCreateIssues;
+        this.guestAddComment = guestAddComment;
+        this.issueCount = issueCount;
+        this.releaseCount = releaseCount;
+        this.userCount = userCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public Boolean getGuestView() {
+        return guestView;
+    }
+
+    public Boolean getGuestCreateIssues() {
+        return guestCreateIssues;
+    }
+
+    public Boolean getGuestAddComment() {
+        return guestAddComment;
+    }
+
+    public Long getIssueCount() {
+        return issueCount;
+    }
+
+    public Long getReleaseCount() {
+        return releaseCount;
+    }
+
+    public Long getUserCount() {
+        return userCount;
+    }
+}
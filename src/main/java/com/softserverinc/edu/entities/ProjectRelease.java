@@ -4,6 +4,8 @@ import com.softserverinc.edu.entities.enums.ReleaseStatus;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.hibernate.search.annotations.*;
 import org.hibernate.search.annotations.Index;
 import org.hibernate.validator.constraints.NotEmpty;
@@ -14,6 +16,8 @@ import java.util.HashSet;
 import java.util.Set;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
 @Indexed
 public class ProjectRelease {
 
@@ -29,15 +33,17 @@ public class ProjectRelease {
     @NotEmpty(message = "")
     @Size(max = 32, message = "")
     @Column(nullable = false, length = 32)
-    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.NO)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES)
     private String version;
 
     @Column(nullable = false, length = 11)
     @Enumerated(EnumType.STRING)
+    @Field(analyze = Analyze.NO, store = Store.YES)
     private ReleaseStatus releaseStatus = ReleaseStatus.OPEN;
 
     @Column(length = 10000)
-    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.NO)
+    @Field(index = Index.YES, analyze = Analyze.YES, store = Store.YES,
+            analyzer = @Analyzer(definition = Issue.HTML_TEXT_ANALYZER))
     private String description;
 
     @OneToMany(mappedBy = "projectRelease")
@@ -58,6 +64,19 @@ public class ProjectRelease {
         return project;
     }
 
+    /**
+     * Id and title of project as stored fields, so search results are shown without loading releases
+     */
+    @Field(name = "projectId", analyze = Analyze.NO, store = Store.YES)
+    public String getIndexedProjectId() {
+        return project == null ? null : String.valueOf(project.getId());
+    }
+
+    @Field(name = "projectTitle", index = Index.NO, store = Store.YES)
+    public String getIndexedProjectTitle() {
+        return project == null ? null : project.getTitle();
+    }
+
     public void setProject(Project project) {
         this.project = project;
     }
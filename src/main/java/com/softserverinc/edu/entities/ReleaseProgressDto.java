@@ -0,0 +1,74 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.IssueStatus;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Progress of a release read from the rollup table: amount of issues per status,
+ * total estimated and spent time of its issues
+ */
+public class ReleaseProgressDto {
+
+    private Long releaseId;
+
+    private Map<IssueStatus, Long> issueCounts = new EnumMap<>(IssueStatus.class);
+
+    private long totalIssues;
+
+    private long estimateTime;
+
+    private long spentTime;
+
+    public ReleaseProgressDto(Long releaseId) {
+        this.releaseId = releaseId;
+        for (IssueStatus status : IssueStatus.values()) {
+            issueCounts.put(status, 0L);
+        }
+    }
+
+    /**
+     * Adds totals of issues with one status
+     *
+     * @param status       status of issues
+     * @param issueCount   amount of issues
+     * @param estimateTime total estimated time of issues
+     * @param spentTime    total spent time of issues
+     */
+    public void add(IssueStatus status, long issueCount, long estimateTime, long spentTime) {
+        issueCounts.merge(status, issueCount, Long::sum);
+        this.totalIssues += issueCount;
+        this.estimateTime += estimateTime;
+        this.spentTime += spentTime;
+    }
+
+    public Long getReleaseId() {
+        return releaseId;
+    }
+
+    public Map<IssueStatus, Long> getIssueCounts() {
+        return issueCounts;
+    }
+
+    public long getTotalIssues() {
+        return totalIssues;
+    }
+
+    public long getEstimateTime() {
+        return estimateTime;
+    }
+
+    public long getSpentTime() {
+        return spentTime;
+    }
+
+    /**
+     * Returns estimated time which is not spent yet, zero if spent time exceeds estimate
+     *
+     * @return remaining time
+     */
+    public long getRemainingTime() {
+        return Math.max(0L, estimateTime - spentTime);
+    }
+}
@@ -0,0 +1,35 @@
+package com.softserverinc.edu.entities;
+
+/**
+ * One value of search facet: indexed value, its name shown to user and amount of hits having the value
+ */
+public class SearchFacetDto {
+
+    private String value;
+
+    private String label;
+
+    private int count;
+
+    public SearchFacetDto(String value, String label, int count) {
+        this.value = value;
+        this.label = label;
+        this.count = count;
+    }
+
+    public String getValue() {
+        return value;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public void setLabel(String label) {
+        this.label = label;
+    }
+
+    public int getCount() {
+        return count;
+    }
+}
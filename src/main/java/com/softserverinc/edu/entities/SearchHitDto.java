@@ -0,0 +1,130 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.IssuePriority;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.entities.enums.IssueType;
+import com.softserverinc.edu.entities.enums.ReleaseStatus;
+import com.softserverinc.edu.entities.enums.SearchType;
+
+/**
+ * Row of search results, projected from fields stored in the search index without loading entities.
+ * Title is title of issue or project, version of release or title of commented issue,
+ * fields which the entity doesn't have are null. Highlighted title and snippet are escaped HTML
+ * with searched words wrapped into mark tags, snippet is a fragment of description or of text of comment.
+ */
+public class SearchHitDto {
+
+    private SearchType searchType;
+
+    private Long id;
+
+    private String title;
+
+    private String highlightedTitle;
+
+    private String snippet;
+
+    private IssueType type;
+
+    private IssueStatus status;
+
+    private IssuePriority priority;
+
+    private ReleaseStatus releaseStatus;
+
+    private Long projectId;
+
+    private String projectTitle;
+
+    private Long issueId;
+
+    public SearchHitDto(SearchType searchType, Long id, String title) {
+        this.searchType = searchType;
+        this.id = id;
+        this.title = title;
+    }
+
+    public SearchType getSearchType() {
+        return searchType;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public String getHighlightedTitle() {
+        return highlightedTitle;
+    }
+
+    public void setHighlightedTitle(String highlightedTitle) {
+        this.highlightedTitle = highlightedTitle;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public IssueType getType() {
+        return type;
+    }
+
+    public void setType(IssueType type) {
+        this.type = type;
+    }
+
+    public IssueStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(IssueStatus status) {
+        this.status = status;
+    }
+
+    public IssuePriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(IssuePriority priority) {
+        this.priority = priority;
+    }
+
+    public ReleaseStatus getReleaseStatus() {
+        return releaseStatus;
+    }
+
+    public void setReleaseStatus(ReleaseStatus releaseStatus) {
+        this.releaseStatus = releaseStatus;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public void setProjectId(Long projectId) {
+        this.projectId = projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+
+    public void setProjectTitle(String projectTitle) {
+        this.projectTitle = projectTitle;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(Long issueId) {
+        this.issueId = issueId;
+    }
+}
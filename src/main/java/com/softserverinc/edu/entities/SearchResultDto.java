@@ -0,0 +1,49 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.SearchType;
+import org.springframework.data.domain.Page;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Page of search results of one entity type together with amount of hits of every type
+ * and facets of issue hits (status, priority, type and project)
+ */
+public class SearchResultDto {
+
+    private final Page<SearchHitDto> hits;
+
+    private final Map<SearchType, Integer> typeCounts = new EnumMap<>(SearchType.class);
+
+    private final Map<String, List<SearchFacetDto>> facets = new LinkedHashMap<>();
+
+    public SearchResultDto(Page<SearchHitDto> hits) {
+        this.hits = hits;
+    }
+
+    public Page<SearchHitDto> getHits() {
+        return hits;
+    }
+
+    public Map<SearchType, Integer> getTypeCounts() {
+        return typeCounts;
+    }
+
+    /**
+     * @return amount of hits of all types
+     */
+    public int getTotalHits() {
+        int total = 0;
+        for (Integer count : typeCounts.values()) {
+            total += count;
+        }
+        return total;
+    }
+
+    public Map<String, List<SearchFacetDto>> getFacets() {
+        return facets;
+    }
+}
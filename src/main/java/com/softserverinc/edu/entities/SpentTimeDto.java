@@ -0,0 +1,39 @@
+package com.softserverinc.edu.entities;
+
+/**
+ * Result of aggregate WorkLog queries: total spent time and amount of WorkLog entries
+ * of an issue, user or release, without loading WorkLog entities
+ */
+public class SpentTimeDto {
+
+    /**
+     * id of the group (issue, user or release), null for a total of one group
+     */
+    private Long id;
+
+    private Long totalTime;
+
+    private Long workLogCount;
+
+    public SpentTimeDto(Long totalTime, Long workLogCount) {
+        this(null, totalTime, workLogCount);
+    }
+
+    public SpentTimeDto(Long id, Long totalTime, Long workLogCount) {
+        this.id = id;
+        this.totalTime = totalTime == null ? 0L : totalTime;
+        this.workLogCount = workLogCount == null ? 0L : workLogCount;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public Long getTotalTime() {
+        return totalTime;
+    }
+
+    public Long getWorkLogCount() {
+        return workLogCount;
+    }
+}
@@ -0,0 +1,73 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.UserRole;
+
+/**
+ * Row of user list: user columns and title of user's project, selected by one query
+ */
+public class UserListDto {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private UserRole role;
+
+    private boolean isDeleted;
+
+    private Long projectId;
+
+    private String projectTitle;
+
+    public UserListDto(Long id, String firstName, String lastName, String email, UserRole role,
+                       boolean isDeleted, Long projectId, String projectTitle) {
+        this.id = id;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.email = email;
+        this.role = role;
+        this.isDeleted = isDeleted;
+        this.projectId = projectId;
+        this.projectTitle = projectTitle;
+    }
+
+    public String getFullName() {
+        return firstName + " " + lastName;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String getFirstName() {
+        return firstName;
+    }
+
+    public String getLastName() {
+        return lastName;
+    }
+
+    public String getEmail() {
+        return email;
+    }
+
+    public UserRole getRole() {
+        return role;
+    }
+
+    public boolean isDeleted() {
+        return isDeleted;
+    }
+
+    public Long getProjectId() {
+        return projectId;
+    }
+
+    public String getProjectTitle() {
+        return projectTitle;
+    }
+}
@@ -0,0 +1,9 @@
+package com.softserverinc.edu.entities.enums;
+
+public enum IssueBulkAction {
+    CHANGE_STATUS,
+    CHANGE_ASSIGNEE,
+    CHANGE_RELEASE,
+    ADD_LABEL,
+    REMOVE_LABEL;
+}
@@ -0,0 +1,20 @@
+package com.softserverinc.edu.entities.enums;
+
+/**
+ * How words of search text are matched: any of the words (hits with the whole phrase are ranked higher),
+ * the exact phrase only, or words which differ from the searched ones by one letter
+ */
+public enum SearchMatch {
+    WORDS("Any words"), PHRASE("Exact phrase"), FUZZY("Similar words");
+
+    private String match;
+
+    SearchMatch(String match) {
+        this.match = match;
+    }
+
+    @Override
+    public String toString() {
+        return match;
+    }
+}
@@ -0,0 +1,29 @@
+package com.softserverinc.edu.entities.enums;
+
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueComment;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectRelease;
+
+public enum SearchType {
+    ISSUE("Issues", Issue.class), PROJECT("Projects", Project.class), RELEASE("Releases", ProjectRelease.class),
+    COMMENT("Comments", IssueComment.class);
+
+    private String type;
+
+    private Class<?> entityClass;
+
+    SearchType(String type, Class<?> entityClass) {
+        this.type = type;
+        this.entityClass = entityClass;
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    @Override
+    public String toString() {
+        return type;
+    }
+}
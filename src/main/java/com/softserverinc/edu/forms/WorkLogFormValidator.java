@@ -3,12 +3,11 @@ package com.softserverinc.edu.forms;
 import com.softserverinc.edu.constants.PageConstant;
 import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.WorkLog;
-import com.softserverinc.edu.services.IssueService;
 import com.softserverinc.edu.services.WorkLogService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
-import java.util.List;
+import java.util.Date;
 
 /**
  * Define  methods for accepted from UI WorkLog instance
@@ -19,21 +18,17 @@ public class WorkLogFormValidator {
     @Autowired
     private WorkLogService workLogService;
 
-    @Autowired
-    private IssueService issueService;
-
     /**
      * Invoke more specific validation methods
      *
-     * <p>invoke {@link #validateWorkingOnIssueDates(WorkLog, User, Long)}</p>
+     * <p>invoke {@link #validateWorkingOnIssueDates(WorkLog, User)}</p>
      * <p>/invoke {@link #validateAmountOfTime(WorkLog)}</p>
      * @param workLog WorkLog instance accepted from UI
      * @param user current user
-     * @param issueId issue's id
      * @return Boolean representation of validation
      */
-    public boolean validateWorklogUI(WorkLog workLog, User user, Long issueId) {
-        return validateAmountOfTime(workLog) && validateWorkingOnIssueDates(workLog, user, issueId);
+    public boolean validateWorklogUI(WorkLog workLog, User user) {
+        return validateAmountOfTime(workLog) && validateWorkingOnIssueDates(workLog, user);
     }
 
     /**
@@ -56,38 +51,49 @@ public class WorkLogFormValidator {
     }
 
     /**
-     * Validate working on issue dates
-     * Prevents same periods repetitive work logging by current user and logging periods outside issue's lifecycle
+     * Validate WorkLog entry of bulk import against periods already logged by the user.
+     * Valid entry is added to the tree, so following entries of the import are checked against it too.
      *
-     * @param workLog WorkLog instance accepted from UI
-     * @param user current user
-     * @param issueId issue's id
+     * <p>invoke {@link #validateAmountOfTime(WorkLog)}</p>
+     * <p>invoke {@link #validateIssueLifecycleDates(WorkLog)}</p>
+     * @param workLog imported WorkLog instance
+     * @param loggedIntervals periods logged by the entry's user, see {@link WorkLogService#getLoggedIntervals}
      * @return Boolean representation of validation
      */
-    private boolean validateWorkingOnIssueDates(WorkLog workLog, User user, Long issueId) {
-        Long startTimeUI = workLog.getStartDate().getTime();
-        Long endTimeUI = workLog.getEndDate().getTime();
-        Long issueDueDateTime = workLog.getIssue().getDueDate().getTime();
-        Long issueCreateDateTime = workLog.getIssue().getCreateTime().getTime();
-
-        if (endTimeUI < startTimeUI || issueDueDateTime < endTimeUI || issueCreateDateTime > startTimeUI) {
+    public boolean validateImportedWorklog(WorkLog workLog, WorkLogIntervalTree loggedIntervals) {
+        if (!validateAmountOfTime(workLog) || !validateIssueLifecycleDates(workLog)
+                || loggedIntervals.overlaps(workLog)) {
             return false;
         }
+        loggedIntervals.add(workLog);
+        return true;
+    }
 
-        if (workLog.getId() == null) {
-            List<WorkLog> workLoglist = workLogService.findByUserAndIssue(user, issueService.findById(issueId));
-            for (WorkLog workLogIterator : workLoglist) {
-                Long startTimeDB = workLogIterator.getStartDate().getTime();
-                Long endTimeDB = workLogIterator.getEndDate().getTime();
-                Boolean wasStartTimeLogged = startTimeUI >=  startTimeDB && startTimeUI <= endTimeDB;
-                Boolean wasEndTimeLogged = endTimeUI >= startTimeDB && endTimeUI <= endTimeDB;
-                Boolean wasPeriodLogged = startTimeUI <= startTimeDB && endTimeUI >= endTimeDB;
+    /**
+     * Validate working on issue dates
+     * Prevents same periods repetitive work logging by current user (on any issue, both for new and edited
+     * entries) and logging periods outside issue's lifecycle
+     *
+     * @param workLog WorkLog instance accepted from UI
+     * @param user current user
+     * @return Boolean representation of validation
+     */
+    private boolean validateWorkingOnIssueDates(WorkLog workLog, User user) {
+        return validateIssueLifecycleDates(workLog) && !workLogService.hasOverlappingWorkLogs(workLog, user);
+    }
 
-                if (wasStartTimeLogged || wasEndTimeLogged || wasPeriodLogged) {
-                    return false;
-                }
-            }
-        }
-        return true;
+    /**
+     * Validate that logged period is inside issue's lifecycle, issue without due date has no upper bound
+     *
+     * @param workLog WorkLog instance
+     * @return Boolean representation of validation
+     */
+    private boolean validateIssueLifecycleDates(WorkLog workLog) {
+        Long startTime = workLog.getStartDate().getTime();
+        Long endTime = workLog.getEndDate().getTime();
+        Date issueDueDate = workLog.getIssue().getDueDate();
+        Long issueCreateDateTime = workLog.getIssue().getCreateTime().getTime();
+        return endTime >= startTime && (issueDueDate == null || issueDueDate.getTime() >= endTime)
+                && issueCreateDateTime <= startTime;
     }
-}
\ No newline at end of file
+}
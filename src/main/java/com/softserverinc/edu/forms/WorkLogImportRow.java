@@ -0,0 +1,47 @@
+package com.softserverinc.edu.forms;
+
+/**
+ * One entry of imported timesheet, as it is written in CSV line or JSON object
+ */
+public class WorkLogImportRow {
+
+    private Long issueId;
+
+    private String startDate;
+
+    private String endDate;
+
+    private Long amountOfTime;
+
+    public Long getIssueId() {
+        return issueId;
+    }
+
+    public void setIssueId(Long issueId) {
+        this.issueId = issueId;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getEndDate() {
+        return endDate;
+    }
+
+    public void setEndDate(String endDate) {
+        this.endDate = endDate;
+    }
+
+    public Long getAmountOfTime() {
+        return amountOfTime;
+    }
+
+    public void setAmountOfTime(Long amountOfTime) {
+        this.amountOfTime = amountOfTime;
+    }
+}
@@ -0,0 +1,83 @@
+package com.softserverinc.edu.forms;
+
+import com.softserverinc.edu.entities.WorkLog;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * In-memory set of periods logged by one user, used to validate many WorkLog entries (bulk import)
+ * without a database query per entry.
+ * Periods are kept in a red-black tree (TreeMap) as disjoint intervals keyed by start time:
+ * overlapping periods are merged when added. So any period can overlap only the interval
+ * with the greatest start not after its end, and both checking and adding take O(log n).
+ * Bounds are inclusive, the same as in the database overlap query.
+ */
+public class WorkLogIntervalTree {
+
+    private final TreeMap<Long, Long> intervals = new TreeMap<>();
+
+    /**
+     * Adds period of WorkLog entry
+     *
+     * @param workLog WorkLog entry with start and end dates
+     */
+    public void add(WorkLog workLog) {
+        add(workLog.getStartDate(), workLog.getEndDate());
+    }
+
+    /**
+     * Adds period, merging it with overlapping periods
+     *
+     * @param startDate start of period
+     * @param endDate end of period
+     */
+    public void add(Date startDate, Date endDate) {
+        long start = startDate.getTime();
+        long end = endDate.getTime();
+        Map.Entry<Long, Long> previous = intervals.floorEntry(start);
+        if (previous != null && previous.getValue() >= start) {
+            start = previous.getKey();
+            end = Math.max(end, previous.getValue());
+        }
+        Map.Entry<Long, Long> next = intervals.ceilingEntry(start);
+        while (next != null && next.getKey() <= end) {
+            end = Math.max(end, next.getValue());
+            intervals.remove(next.getKey());
+            next = intervals.higherEntry(next.getKey());
+        }
+        intervals.put(start, end);
+    }
+
+    /**
+     * Checks whether period of WorkLog entry overlaps any added period
+     *
+     * @param workLog WorkLog entry with start and end dates
+     * @return true if entry overlaps already logged time
+     */
+    public boolean overlaps(WorkLog workLog) {
+        return overlaps(workLog.getStartDate(), workLog.getEndDate());
+    }
+
+    /**
+     * Checks whether period overlaps any added period
+     *
+     * @param startDate start of period
+     * @param endDate end of period
+     * @return true if period overlaps already logged time
+     */
+    public boolean overlaps(Date startDate, Date endDate) {
+        Map.Entry<Long, Long> candidate = intervals.floorEntry(endDate.getTime());
+        return candidate != null && candidate.getValue() >= startDate.getTime();
+    }
+
+    /**
+     * Returns amount of disjoint intervals
+     *
+     * @return size of the tree
+     */
+    public int size() {
+        return intervals.size();
+    }
+}
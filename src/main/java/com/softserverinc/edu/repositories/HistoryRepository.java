@@ -5,12 +5,14 @@ import com.softserverinc.edu.entities.Issue;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
 @Repository
-public interface HistoryRepository extends JpaRepository<History, Long> {
+public interface HistoryRepository extends JpaRepository<History, Long>, HistoryRepositoryCustom {
 
     List<History> findByIssue(Issue issue);
 
@@ -20,4 +22,32 @@ public interface HistoryRepository extends JpaRepository<History, Long> {
 
     Page<History> findByIssueOrderByCreateTimeDesc(Issue issue, Pageable pageable);
 
+    /**
+     * Seek page of issue history older than cursor, newest first.
+     * Creation time is mapped as string, it is compared by database as timestamp.
+     *
+     * @param issue      issue which history is loaded
+     * @param createTime creation time of the last record on the previous page
+     * @param id         id of the last record on the previous page
+     * @param pageable   page size, page number must be 0
+     * @return history records following the cursor
+     */
+    @Query("select h from History h where h.issue = :issue and h.createTime <= :createTime"
+            + " and (h.createTime < :createTime or h.id < :id) order by h.createTime desc, h.id desc")
+    List<History> findPageByIssueAfter(@Param("issue") Issue issue, @Param("createTime") String createTime,
+                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Seek page of issue history newer than cursor, oldest first
+     *
+     * @param issue      issue which history is loaded
+     * @param createTime creation time of the first record on the next page
+     * @param id         id of the first record on the next page
+     * @param pageable   page size, page number must be 0
+     * @return history records preceding the cursor
+     */
+    @Query("select h from History h where h.issue = :issue and h.createTime >= :createTime"
+            + " and (h.createTime > :createTime or h.id > :id) order by h.createTime asc, h.id asc")
+    List<History> findPageByIssueBefore(@Param("issue") Issue issue, @Param("createTime") String createTime,
+                                        @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,18 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.History;
+
+import java.util.List;
+
+/**
+ * History operations that are not covered by Spring Data JPA derived queries
+ */
+public interface HistoryRepositoryCustom {
+
+    /**
+     * Inserts all history records by one JDBC batch
+     *
+     * @param histories new history records
+     */
+    void insertInBatch(List<History> histories);
+}
@@ -0,0 +1,52 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.History;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of custom History operations.
+ * History has identity generated ids, so Hibernate can't group its inserts into JDBC batch,
+ * that's why records are inserted by plain JDBC. Enums are written as ordinals, the same as
+ * they are mapped in {@link History}, createTime is filled by database.
+ */
+public class HistoryRepositoryImpl implements HistoryRepositoryCustom {
+
+    private static final String INSERT_HISTORY = "INSERT INTO History (issueId, changedByUserId, action, " +
+            "assignedToUserId, title, type, priority, status, description, issueComment, anonymName) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertInBatch(List<History> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (History history : histories) {
+            rows.add(new Object[]{
+                    history.getIssue().getId(),
+                    history.getChangedByUserId(),
+                    ordinal(history.getAction()),
+                    history.getAssignedToUserId(),
+                    history.getTitle(),
+                    ordinal(history.getType()),
+                    ordinal(history.getPriority()),
+                    ordinal(history.getStatus()),
+                    history.getDescription(),
+                    history.getIssueComment(),
+                    history.getAnonymName()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_HISTORY, rows);
+    }
+
+    private Integer ordinal(Enum<?> value) {
+        return value == null ? null : value.ordinal();
+    }
+}
@@ -3,6 +3,8 @@ package com.softserverinc.edu.repositories;
 import com.softserverinc.edu.entities.Issue;
 import com.softserverinc.edu.entities.IssueComment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -19,4 +21,13 @@ public interface IssueCommentRepository extends JpaRepository<IssueComment, Long
      * @return List of IssueComment entries by specified issue
      */
     List<IssueComment> findByIssue(Issue issue);
+
+    /**
+     * List of IssueComment entries by specified issue together with their authors, oldest first
+     * @param issue
+     * @return List of IssueComment entries by specified issue
+     */
+    @Query("select c from IssueComment c left join fetch c.user u left join fetch u.project"
+            + " where c.issue = :issue order by c.timeStamp")
+    List<IssueComment> findWithUsersByIssue(@Param("issue") Issue issue);
 }
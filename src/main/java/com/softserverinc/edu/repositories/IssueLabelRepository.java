@@ -0,0 +1,82 @@
+package com.softserverinc.edu.repositories;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Serve for the Label_Issue join table when labels of many issues are changed at once.
+ * Plain JDBC is used, so issues and their label collections aren't loaded.
+ */
+@Repository
+public class IssueLabelRepository {
+
+    private static final String INSERT_LABEL = "INSERT IGNORE INTO Label_Issue (labelId, issueId) VALUES (?, ?)";
+
+    private static final String DELETE_LABEL = "DELETE FROM Label_Issue WHERE labelId = ? AND issueId IN (%s)";
+
+    private static final String SELECT_ISSUES_WITH_LABEL =
+            "SELECT issueId FROM Label_Issue WHERE labelId = ? AND issueId IN (%s)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads which of the issues have label by one statement
+     *
+     * @param labelId  id of label
+     * @param issueIds ids of issues
+     * @return ids of issues which have the label
+     */
+    public Set<Long> findIssueIdsWithLabel(Long labelId, Collection<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(labelId);
+        parameters.addAll(issueIds);
+        String placeholders = String.join(", ", Collections.nCopies(issueIds.size(), "?"));
+        return new HashSet<>(jdbcTemplate.queryForList(String.format(SELECT_ISSUES_WITH_LABEL, placeholders),
+                Long.class, parameters.toArray()));
+    }
+
+    /**
+     * Adds label to issues by one JDBC batch, issues which already have the label are skipped
+     *
+     * @param labelId  id of label
+     * @param issueIds ids of issues
+     */
+    public void addLabel(Long labelId, Collection<Long> issueIds) {
+        List<Object[]> rows = new ArrayList<>();
+        for (Long issueId : issueIds) {
+            rows.add(new Object[]{labelId, issueId});
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_LABEL, rows);
+        }
+    }
+
+    /**
+     * Removes label from issues by one statement
+     *
+     * @param labelId  id of label
+     * @param issueIds ids of issues
+     */
+    public void removeLabel(Long labelId, Collection<Long> issueIds) {
+        if (issueIds.isEmpty()) {
+            return;
+        }
+        List<Object> parameters = new ArrayList<>();
+        parameters.add(labelId);
+        parameters.addAll(issueIds);
+        String placeholders = String.join(", ", Collections.nCopies(issueIds.size(), "?"));
+        jdbcTemplate.update(String.format(DELETE_LABEL, placeholders), parameters.toArray());
+    }
+}
@@ -1,20 +1,37 @@
 package com.softserverinc.edu.repositories;
 
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueListDto;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
 import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.IssueStatus;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.Date;
+import java.util.List;
+
 /**
  * Contain custom Spring Data JPA methods wor working with DB
  */
 @Repository
 public interface IssueRepository extends JpaRepository<Issue, Long> {
 
+    /**
+     * Selects rows of issue lists (see {@link IssueListDto}), project, release and assignee are joined
+     */
+    String SELECT_LIST = "select new com.softserverinc.edu.entities.IssueListDto(i.id, i.title, i.type,"
+            + " i.priority, i.status, i.estimateTime, i.createTime, p.id, p.title, r.id, r.version, a.id,"
+            + " a.firstName, a.lastName) from Issue i join i.project p join i.projectRelease r join i.assignee a";
+
     Page<Issue> findByTitleContaining(String title, Pageable pageable);
 
     Page<Issue> findByProjectRelease(ProjectRelease projectRelease, Pageable pageable);
@@ -28,4 +45,245 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
     Page<Issue> findByProject(Project project, Pageable pageable);
 
     Page<Issue> findByProjectAndTitleContaining(Project project, String searchedString, Pageable pageable);
+
+    /**
+     * Issue with everything shown on the issue page, loaded by one query with joins
+     *
+     * @param id id of issue
+     * @return issue or null if there is no issue with such id
+     */
+    @EntityGraph(Issue.VIEW_GRAPH)
+    @Query("select i from Issue i where i.id = :id")
+    Issue findViewById(@Param("id") Long id);
+
+    /**
+     * Seek page of issues older than cursor, newest first
+     *
+     * @param createTime creation time of the last issue on the previous page
+     * @param id         id of the last issue on the previous page
+     * @param pageable   page size, page number must be 0
+     * @return issues following the cursor
+     */
+    @Query("select i from Issue i where i.createTime <= :createTime"
+            + " and (i.createTime < :createTime or i.id < :id) order by i.createTime desc, i.id desc")
+    List<Issue> findPageAfter(@Param("createTime") Date createTime, @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Seek page of issues newer than cursor, oldest first
+     *
+     * @param createTime creation time of the first issue on the next page
+     * @param id         id of the first issue on the next page
+     * @param pageable   page size, page number must be 0
+     * @return issues preceding the cursor
+     */
+    @Query("select i from Issue i where i.createTime >= :createTime"
+            + " and (i.createTime > :createTime or i.id > :id) order by i.createTime asc, i.id asc")
+    List<Issue> findPageBefore(@Param("createTime") Date createTime, @Param("id") Long id, Pageable pageable);
+
+    @Query(SELECT_LIST + " where i.id = :id")
+    IssueListDto findListById(@Param("id") Long id);
+
+    @Query(value = SELECT_LIST + " where i.projectRelease = :projectRelease",
+            countQuery = "select count(i) from Issue i where i.projectRelease = :projectRelease")
+    Page<IssueListDto> findListByProjectRelease(@Param("projectRelease") ProjectRelease projectRelease,
+                                                Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where i.projectRelease = :projectRelease and i.title like concat('%', :title, '%')",
+            countQuery = "select count(i) from Issue i where i.projectRelease = :projectRelease"
+                    + " and i.title like concat('%', :title, '%')")
+    Page<IssueListDto> findListByProjectReleaseAndTitleContaining(
+            @Param("projectRelease") ProjectRelease projectRelease, @Param("title") String title, Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where i.assignee = :assignee",
+            countQuery = "select count(i) from Issue i where i.assignee = :assignee")
+    Page<IssueListDto> findListByAssignee(@Param("assignee") User assignee, Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where i.project = :project",
+            countQuery = "select count(i) from Issue i where i.project = :project")
+    Page<IssueListDto> findListByProject(@Param("project") Project project, Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where i.project = :project and i.title like concat('%', :title, '%')",
+            countQuery = "select count(i) from Issue i where i.project = :project"
+                    + " and i.title like concat('%', :title, '%')")
+    Page<IssueListDto> findListByProjectAndTitleContaining(@Param("project") Project project,
+                                                           @Param("title") String title, Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where i.title like concat('%', :title, '%')",
+            countQuery = "select count(i) from Issue i where i.title like concat('%', :title, '%')")
+    Page<IssueListDto> findListByTitleContaining(@Param("title") String title, Pageable pageable);
+
+    /**
+     * Seek page of issue list rows older than cursor, newest first (see {@link #findPageAfter})
+     *
+     * @param createTime creation time of the last issue on the previous page
+     * @param id         id of the last issue on the previous page
+     * @param pageable   page size, page number must be 0
+     * @return issue list rows following the cursor
+     */
+    @Query(SELECT_LIST + " where i.createTime <= :createTime"
+            + " and (i.createTime < :createTime or i.id < :id) order by i.createTime desc, i.id desc")
+    List<IssueListDto> findListPageAfter(@Param("createTime") Date createTime, @Param("id") Long id,
+                                         Pageable pageable);
+
+    /**
+     * Seek page of issue list rows newer than cursor, oldest first (see {@link #findPageBefore})
+     *
+     * @param createTime creation time of the first issue on the next page
+     * @param id         id of the first issue on the next page
+     * @param pageable   page size, page number must be 0
+     * @return issue list rows preceding the cursor
+     */
+    @Query(SELECT_LIST + " where i.createTime >= :createTime"
+            + " and (i.createTime > :createTime or i.id > :id) order by i.createTime asc, i.id asc")
+    List<IssueListDto> findListPageBefore(@Param("createTime") Date createTime, @Param("id") Long id,
+                                          Pageable pageable);
+
+    /**
+     * Changes denormalized total spent time of issue without loading it.
+     * Must be called in the same transaction which saves or removes WorkLog entry.
+     *
+     * @param id    issue's id
+     * @param delta added (or subtracted, if negative) amount of time
+     * @return amount of updated issues
+     */
+    @Modifying
+    @Query("update Issue i set i.spentTime = i.spentTime + :delta where i.id = :id")
+    int addSpentTime(@Param("id") Long id, @Param("delta") Long delta);
+
+    /**
+     * Returns current version of issue without loading it
+     *
+     * @param id issue's id
+     * @return version or null if there is no issue with such id
+     */
+    @Query("select i.version from Issue i where i.id = :id")
+    Long findVersionById(@Param("id") Long id);
+
+    /**
+     * Returns id of issue's project without loading issue or project
+     *
+     * @param id issue's id
+     * @return id of project or null if there is no issue with such id
+     */
+    @Query("select i.project.id from Issue i where i.id = :id")
+    Long findProjectIdById(@Param("id") Long id);
+
+    /**
+     * Returns title of issue without loading issue
+     *
+     * @param id issue's id
+     * @return title or null if there is no issue with such id
+     */
+    @Query("select i.title from Issue i where i.id = :id")
+    String findTitleById(@Param("id") Long id);
+
+    /**
+     * Ids and titles of all issues, without loading issues
+     *
+     * @return pairs of id and title
+     */
+    @Query("select i.id, i.title from Issue i")
+    List<Object[]> findAllIdsAndTitles();
+
+    /**
+     * Returns title of issue of project which guests may view, without loading issue
+     *
+     * @param id issue's id
+     * @return title or null if there is no such issue or its project is hidden from guests
+     */
+    @Query("select i.title from Issue i where i.id = :id and i.project.guestView = true")
+    String findGuestTitleById(@Param("id") Long id);
+
+    /**
+     * Ids and titles of issues of projects which guests may view, without loading issues
+     *
+     * @return pairs of id and title
+     */
+    @Query("select i.id, i.title from Issue i where i.project.guestView = true")
+    List<Object[]> findAllGuestIdsAndTitles();
+
+    /**
+     * Changes status of issue only if it still has expected status (compare-and-set), other fields
+     * are not written, so concurrent change of another field isn't overwritten. Increments version.
+     * Persistence context is cleared, because loaded issue is stale after the update.
+     *
+     * @param id       issue's id
+     * @param expected status which the change is based on
+     * @param status   new status
+     * @return 1 if status was changed, 0 if issue has another status now
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Issue i set i.status = :status, i.version = i.version + 1"
+            + " where i.id = :id and i.status = :expected")
+    int updateStatus(@Param("id") Long id, @Param("expected") IssueStatus expected,
+                     @Param("status") IssueStatus status);
+
+    /**
+     * Changes assignee of issue only if it still has expected assignee (see {@link #updateStatus})
+     *
+     * @param id       issue's id
+     * @param expected assignee which the change is based on
+     * @param assignee new assignee
+     * @return 1 if assignee was changed, 0 if issue has another assignee now
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Issue i set i.assignee = :assignee, i.version = i.version + 1"
+            + " where i.id = :id and i.assignee = :expected")
+    int updateAssignee(@Param("id") Long id, @Param("expected") User expected, @Param("assignee") User assignee);
+
+    /**
+     * Loads issues with their project, release and users by one query
+     *
+     * @param ids ids of issues
+     * @return found issues
+     */
+    @Query("select i from Issue i join fetch i.project join fetch i.projectRelease join fetch i.assignee"
+            + " left join fetch i.createdBy where i.id in :ids")
+    List<Issue> findWithRelationsByIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Changes status of many issues by one statement, increments their versions.
+     * Rows of the issues must be locked by the caller, so they aren't changed since validation.
+     *
+     * @param ids    ids of issues
+     * @param status new status
+     * @return amount of updated issues
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Issue i set i.status = :status, i.version = i.version + 1 where i.id in :ids")
+    int updateStatusOfIssues(@Param("ids") Collection<Long> ids, @Param("status") IssueStatus status);
+
+    /**
+     * Changes assignee of many issues by one statement (see {@link #updateStatusOfIssues})
+     *
+     * @param ids      ids of issues
+     * @param assignee new assignee
+     * @return amount of updated issues
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Issue i set i.assignee = :assignee, i.version = i.version + 1 where i.id in :ids")
+    int updateAssigneeOfIssues(@Param("ids") Collection<Long> ids, @Param("assignee") User assignee);
+
+    /**
+     * Moves many issues to another release by one statement (see {@link #updateStatusOfIssues})
+     *
+     * @param ids            ids of issues
+     * @param projectRelease new release, must belong to project of the issues
+     * @return amount of updated issues
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Issue i set i.projectRelease = :projectRelease, i.version = i.version + 1 where i.id in :ids")
+    int updateReleaseOfIssues(@Param("ids") Collection<Long> ids,
+                              @Param("projectRelease") ProjectRelease projectRelease);
+
+    /**
+     * Increments versions of issues changed without this repository (e.g. labels changed by JDBC),
+     * so forms opened before the change can't overwrite it
+     *
+     * @param ids ids of issues
+     * @return amount of updated issues
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("update Issue i set i.version = i.version + 1 where i.id in :ids")
+    int incrementVersionOfIssues(@Param("ids") Collection<Long> ids);
 }
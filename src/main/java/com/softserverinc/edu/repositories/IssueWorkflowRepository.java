@@ -0,0 +1,75 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.IssueWorkflow;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Serve for the IssueStatusTransition table, which holds one row per allowed transition of project.
+ * Transitions of project are read by one range scan of the primary key (projectId, fromStatus, toStatus).
+ */
+@Repository
+public class IssueWorkflowRepository {
+
+    private static final String SELECT_TRANSITIONS = "SELECT fromStatus, toStatus FROM IssueStatusTransition " +
+            "WHERE projectId = ?";
+
+    private static final String DELETE_TRANSITIONS = "DELETE FROM IssueStatusTransition WHERE projectId = ?";
+
+    private static final String INSERT_TRANSITION = "INSERT INTO IssueStatusTransition (projectId, fromStatus, " +
+            "toStatus) VALUES (?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads workflow of project
+     *
+     * @param projectId id of project
+     * @return workflow of project or null if project hasn't configured its own one
+     */
+    public IssueWorkflow findWorkflow(Long projectId) {
+        IssueWorkflow.Builder builder = IssueWorkflow.newBuilder();
+        List<Boolean> found = jdbcTemplate.query(SELECT_TRANSITIONS, (resultSet, rowNum) -> {
+            builder.allow(IssueStatus.valueOf(resultSet.getString("fromStatus")),
+                    IssueStatus.valueOf(resultSet.getString("toStatus")));
+            return Boolean.TRUE;
+        }, projectId);
+        return found.isEmpty() ? null : builder.build();
+    }
+
+    /**
+     * Replaces workflow of project, transitions are written by one JDBC batch
+     *
+     * @param projectId id of project
+     * @param workflow  new workflow
+     */
+    public void saveWorkflow(Long projectId, IssueWorkflow workflow) {
+        jdbcTemplate.update(DELETE_TRANSITIONS, projectId);
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<IssueStatus, Set<IssueStatus>> transition : workflow.getTransitions().entrySet()) {
+            for (IssueStatus to : transition.getValue()) {
+                rows.add(new Object[]{projectId, transition.getKey().name(), to.name()});
+            }
+        }
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(INSERT_TRANSITION, rows);
+        }
+    }
+
+    /**
+     * Removes workflow of project, so it uses the default one
+     *
+     * @param projectId id of project
+     */
+    public void deleteWorkflow(Long projectId) {
+        jdbcTemplate.update(DELETE_TRANSITIONS, projectId);
+    }
+}
@@ -0,0 +1,90 @@
+package com.softserverinc.edu.repositories;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Page of keyset pagination. Knows only cursors of the next and previous pages,
+ * so it doesn't need count query.
+ *
+ * @param <T> type of page elements
+ */
+public class KeysetPage<T> {
+
+    private final List<T> content;
+
+    private final String nextCursor;
+
+    private final String previousCursor;
+
+    private KeysetPage(List<T> content, String nextCursor, String previousCursor) {
+        this.content = content;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+    }
+
+    /**
+     * Builds page from rows loaded by seek query. Query must load one row more than page size,
+     * so it is known whether there are more rows in the direction of the cursor.
+     *
+     * @param rows       loaded rows, in order of the query (ascending for backward cursor)
+     * @param cursor     cursor, which rows were loaded for
+     * @param size       size of page
+     * @param createTime returns creation time of row
+     * @param id         returns id of row
+     * @param <T>        type of rows
+     * @return page with rows in descending order
+     */
+    public static <T> KeysetPage<T> of(List<T> rows, SeekCursor cursor, int size,
+                                       Function<T, Date> createTime, Function<T, Long> id) {
+        boolean hasMoreRows = rows.size() > size;
+        List<T> content = new ArrayList<>(hasMoreRows ? rows.subList(0, size) : rows);
+        if (cursor.isBackward()) {
+            Collections.reverse(content);
+        }
+        if (content.isEmpty()) {
+            return new KeysetPage<>(content, null, null);
+        }
+        boolean hasNext = cursor.isBackward() || hasMoreRows;
+        boolean hasPrevious = cursor.isBackward() ? hasMoreRows : !cursor.isFirst();
+        T first = content.get(0);
+        T last = content.get(content.size() - 1);
+        return new KeysetPage<>(content,
+                hasNext ? SeekCursor.after(createTime.apply(last), id.apply(last)).encode() : null,
+                hasPrevious ? SeekCursor.before(createTime.apply(first), id.apply(first)).encode() : null);
+    }
+
+    /**
+     * Converts elements of the page keeping its cursors
+     *
+     * @param converter converts list of elements
+     * @param <R>       type of converted elements
+     * @return page with converted elements
+     */
+    public <R> KeysetPage<R> map(Function<List<T>, List<R>> converter) {
+        return new KeysetPage<>(converter.apply(content), nextCursor, previousCursor);
+    }
+
+    public List<T> getContent() {
+        return content;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public boolean hasNext() {
+        return nextCursor != null;
+    }
+
+    public boolean hasPrevious() {
+        return previousCursor != null;
+    }
+}
@@ -3,10 +3,15 @@ package com.softserverinc.edu.repositories;
 import com.softserverinc.edu.entities.Issue;
 import com.softserverinc.edu.entities.Label;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface LabelRepository extends JpaRepository<Label, Long> {
+
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Label> findAll();
 }
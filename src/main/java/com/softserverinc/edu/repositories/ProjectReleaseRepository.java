@@ -6,14 +6,19 @@ import com.softserverinc.edu.entities.ProjectRelease;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.PagingAndSortingRepository;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface ProjectReleaseRepository extends JpaRepository<ProjectRelease, Long>, PagingAndSortingRepository<ProjectRelease, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<ProjectRelease> findAll();
+
     List<ProjectRelease> findByProject(Project project);
 
     Page<ProjectRelease> findByProject(Project project, Pageable pageable);
@@ -1,18 +1,44 @@
 package com.softserverinc.edu.repositories;
 
 import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectListDto;
 import com.softserverinc.edu.entities.ProjectRelease;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
+import java.util.List;
+
 @Repository
 public interface ProjectRepository extends JpaRepository<Project, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<Project> findAll();
+
     Page<Project> findByTitleContaining(String title, Pageable pageable);
 
     Project findByProjectReleases(ProjectRelease projectRelease);
 
     Page<Project> findAll(Pageable pageable);
+
+    /**
+     * Selects rows of project list (see {@link ProjectListDto}), amounts are counted by subqueries
+     */
+    String SELECT_LIST = "select new com.softserverinc.edu.entities.ProjectListDto(p.id, p.title, p.guestView,"
+            + " p.guestCreateIssues, p.guestAddComment,"
+            + " (select count(i) from Issue i where i.project = p),"
+            + " (select count(r) from ProjectRelease r where r.project = p),"
+            + " (select count(u) from User u where u.project = p)) from Project p";
+
+    @Query(value = SELECT_LIST, countQuery = "select count(p) from Project p")
+    Page<ProjectListDto> findList(Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where p.title like concat('%', :title, '%')",
+            countQuery = "select count(p) from Project p where p.title like concat('%', :title, '%')")
+    Page<ProjectListDto> findListByTitleContaining(@Param("title") String title, Pageable pageable);
 }
\ No newline at end of file
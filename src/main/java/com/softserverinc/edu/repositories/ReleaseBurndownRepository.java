@@ -0,0 +1,213 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.BurndownPointDto;
+import com.softserverinc.edu.entities.enums.HistoryAction;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Serve for the ReleaseBurndown table, which holds one row per release and day.
+ * Rows of release are read by one range scan of the primary key (releaseId, day).
+ * Also reads issues, their status changes and logged time of release, which are replayed
+ * to reconstruct days before snapshots were taken.
+ */
+@Repository
+public class ReleaseBurndownRepository {
+
+    private static final String INSERT_MISSING_POINT = "INSERT IGNORE INTO ReleaseBurndown (releaseId, day, " +
+            "openIssues, remainingEstimate, spentTime) VALUES (?, ?, ?, ?, ?)";
+
+    private static final String SNAPSHOT_FROM_PROGRESS = "INSERT INTO ReleaseBurndown (releaseId, day, " +
+            "openIssues, remainingEstimate, spentTime) " +
+            "SELECT releaseId, ?, SUM(CASE WHEN status IN (%1$s) THEN 0 ELSE issueCount END), " +
+            "SUM(CASE WHEN status IN (%1$s) THEN 0 ELSE estimateTime END), SUM(spentTime) " +
+            "FROM ReleaseProgress GROUP BY releaseId ON DUPLICATE KEY UPDATE " +
+            "openIssues = VALUES(openIssues), remainingEstimate = VALUES(remainingEstimate), " +
+            "spentTime = VALUES(spentTime)";
+
+    private static final String SELECT_POINTS = "SELECT day, openIssues, remainingEstimate, spentTime " +
+            "FROM ReleaseBurndown WHERE releaseId = ? AND day BETWEEN ? AND ? ORDER BY day";
+
+    private static final String SELECT_ISSUES = "SELECT id, createTime, estimateTime, status " +
+            "FROM Issue WHERE projectReleaseId = ? ORDER BY createTime, id";
+
+    private static final String SELECT_STATUS_CHANGES = "SELECT h.issueId, h.createTime, h.status " +
+            "FROM History h JOIN Issue i ON i.id = h.issueId " +
+            "WHERE i.projectReleaseId = ? AND h.action = ? ORDER BY h.createTime, h.id";
+
+    private static final String SELECT_DAILY_SPENT_TIME = "SELECT DATE(w.endDate) AS day, SUM(w.amountOfTime) " +
+            "AS spentTime FROM WorkLog w JOIN Issue i ON i.id = w.issueId " +
+            "WHERE i.projectReleaseId = ? GROUP BY DATE(w.endDate)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Writes progress of every release from the rollup table as point of the day, by one statement
+     *
+     * @param day            day of snapshot
+     * @param closedStatuses statuses of issues which aren't counted as open
+     * @return amount of written points
+     */
+    public int snapshotProgress(LocalDate day, Set<IssueStatus> closedStatuses) {
+        String placeholders = String.join(", ", Collections.nCopies(closedStatuses.size(), "?"));
+        List<Object> args = new ArrayList<>();
+        args.add(Date.valueOf(day));
+        for (int i = 0; i < 2; i++) {
+            for (IssueStatus status : closedStatuses) {
+                args.add(status.name());
+            }
+        }
+        return jdbcTemplate.update(String.format(SNAPSHOT_FROM_PROGRESS, placeholders), args.toArray());
+    }
+
+    /**
+     * Writes points of release for days which don't have a point yet, existing points are kept
+     *
+     * @param releaseId id of release
+     * @param points    burndown points
+     */
+    public void savePoints(Long releaseId, List<BurndownPointDto> points) {
+        List<Object[]> rows = new ArrayList<>();
+        for (BurndownPointDto point : points) {
+            rows.add(new Object[]{releaseId, Date.valueOf(point.getDate()), point.getOpenIssues(),
+                    point.getRemainingEstimate(), point.getSpentTime()});
+        }
+        jdbcTemplate.batchUpdate(INSERT_MISSING_POINT, rows);
+    }
+
+    /**
+     * Reads points of release in range of days
+     *
+     * @param releaseId id of release
+     * @param from      first day, inclusive
+     * @param to        last day, inclusive
+     * @return points ordered by day, days without snapshot are missing
+     */
+    public List<BurndownPointDto> findPoints(Long releaseId, LocalDate from, LocalDate to) {
+        return jdbcTemplate.query(SELECT_POINTS, (resultSet, row) -> new BurndownPointDto(
+                resultSet.getDate("day").toLocalDate(), resultSet.getLong("openIssues"),
+                resultSet.getLong("remainingEstimate"), resultSet.getLong("spentTime")),
+                releaseId, Date.valueOf(from), Date.valueOf(to));
+    }
+
+    /**
+     * Reads issues of release, oldest first
+     *
+     * @param releaseId id of release
+     * @return creation time, estimate and current status of issues
+     */
+    public List<IssueRecord> findIssues(Long releaseId) {
+        return jdbcTemplate.query(SELECT_ISSUES, (resultSet, row) -> new IssueRecord(
+                resultSet.getLong("id"), resultSet.getTimestamp("createTime").toLocalDateTime(),
+                resultSet.getLong("estimateTime"), IssueStatus.valueOf(resultSet.getString("status"))),
+                releaseId);
+    }
+
+    /**
+     * Reads status changes of release issues from history, oldest first.
+     * Enums are stored in history as ordinals.
+     *
+     * @param releaseId id of release
+     * @return status changes
+     */
+    public List<StatusChange> findStatusChanges(Long releaseId) {
+        return jdbcTemplate.query(SELECT_STATUS_CHANGES, (resultSet, row) -> new StatusChange(
+                resultSet.getLong("issueId"), resultSet.getTimestamp("createTime").toLocalDateTime(),
+                IssueStatus.values()[resultSet.getInt("status")]),
+                releaseId, HistoryAction.CHANGE_ISSUE_STATUS.ordinal());
+    }
+
+    /**
+     * Sums time logged for release issues by days when WorkLog entries end
+     *
+     * @param releaseId id of release
+     * @return logged time by days, ordered by day
+     */
+    public Map<LocalDate, Long> findDailySpentTime(Long releaseId) {
+        Map<LocalDate, Long> spentTime = new TreeMap<>();
+        jdbcTemplate.query(SELECT_DAILY_SPENT_TIME, resultSet -> {
+            spentTime.put(resultSet.getDate("day").toLocalDate(), resultSet.getLong("spentTime"));
+        }, releaseId);
+        return spentTime;
+    }
+
+    /**
+     * Issue of release as it's needed for replay
+     */
+    public static class IssueRecord {
+
+        private final Long id;
+
+        private final LocalDateTime createTime;
+
+        private final long estimateTime;
+
+        private final IssueStatus status;
+
+        public IssueRecord(Long id, LocalDateTime createTime, long estimateTime, IssueStatus status) {
+            this.id = id;
+            this.createTime = createTime;
+            this.estimateTime = estimateTime;
+            this.status = status;
+        }
+
+        public Long getId() {
+            return id;
+        }
+
+        public LocalDateTime getCreateTime() {
+            return createTime;
+        }
+
+        public long getEstimateTime() {
+            return estimateTime;
+        }
+
+        public IssueStatus getStatus() {
+            return status;
+        }
+    }
+
+    /**
+     * Status change of issue recorded in history
+     */
+    public static class StatusChange {
+
+        private final Long issueId;
+
+        private final LocalDateTime time;
+
+        private final IssueStatus status;
+
+        public StatusChange(Long issueId, LocalDateTime time, IssueStatus status) {
+            this.issueId = issueId;
+            this.time = time;
+            this.status = status;
+        }
+
+        public Long getIssueId() {
+            return issueId;
+        }
+
+        public LocalDateTime getTime() {
+            return time;
+        }
+
+        public IssueStatus getStatus() {
+            return status;
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.ReleaseProgressDto;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Serve for the ReleaseProgress rollup table, which holds amount of issues, total estimated
+ * and spent time per release and issue status.
+ * Rows are changed only by adding deltas, so concurrent changes of different issues don't
+ * lose updates and reading progress of release never scans its issues.
+ * Plain JDBC is used, because state of issue has to be read from database, not from
+ * persistence context where the issue may be already changed.
+ */
+@Repository
+public class ReleaseProgressRepository {
+
+    private static final String SELECT_ISSUE_STATE = "SELECT projectReleaseId, status, estimateTime, spentTime " +
+            "FROM Issue WHERE id = ? FOR UPDATE";
+
+    private static final String SELECT_ISSUE_STATES = "SELECT id, projectReleaseId, status, estimateTime, spentTime " +
+            "FROM Issue WHERE id IN (%s) FOR UPDATE";
+
+    private static final String ADD_TO_PROGRESS = "INSERT INTO ReleaseProgress (releaseId, status, issueCount, " +
+            "estimateTime, spentTime) VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE " +
+            "issueCount = issueCount + VALUES(issueCount), estimateTime = estimateTime + VALUES(estimateTime), " +
+            "spentTime = spentTime + VALUES(spentTime)";
+
+    private static final String ADD_SPENT_TIME = "UPDATE ReleaseProgress p JOIN Issue i " +
+            "ON p.releaseId = i.projectReleaseId AND p.status = i.status " +
+            "SET p.spentTime = p.spentTime + ? WHERE i.id = ?";
+
+    private static final String SELECT_PROGRESS = "SELECT status, issueCount, estimateTime, spentTime " +
+            "FROM ReleaseProgress WHERE releaseId = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    /**
+     * Reads the state of issue which is counted in release progress and locks issue row
+     * till the end of transaction, so concurrent changes of the issue are applied one by one
+     *
+     * @param issueId id of issue
+     * @return state of issue, null if issue doesn't exist
+     */
+    public IssueState findIssueState(Long issueId) {
+        List<IssueState> states = jdbcTemplate.query(SELECT_ISSUE_STATE, (resultSet, row) -> new IssueState(
+                resultSet.getLong("projectReleaseId"),
+                IssueStatus.valueOf(resultSet.getString("status")),
+                resultSet.getLong("estimateTime"),
+                resultSet.getLong("spentTime")), issueId);
+        return states.isEmpty() ? null : states.get(0);
+    }
+
+    /**
+     * Reads the states of issues by one query and locks their rows (see {@link #findIssueState})
+     *
+     * @param issueIds ids of issues
+     * @return states of existing issues by their ids
+     */
+    public Map<Long, IssueState> findIssueStates(Collection<Long> issueIds) {
+        Map<Long, IssueState> states = new HashMap<>();
+        if (issueIds.isEmpty()) {
+            return states;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(issueIds.size(), "?"));
+        jdbcTemplate.query(String.format(SELECT_ISSUE_STATES, placeholders), resultSet -> {
+            states.put(resultSet.getLong("id"), new IssueState(
+                    resultSet.getLong("projectReleaseId"),
+                    IssueStatus.valueOf(resultSet.getString("status")),
+                    resultSet.getLong("estimateTime"),
+                    resultSet.getLong("spentTime")));
+        }, issueIds.toArray());
+        return states;
+    }
+
+    /**
+     * Adds issues to progress of their releases or removes them from there by one JDBC batch
+     *
+     * @param counts amounts of added (positive) or removed (negative) issues by their states
+     */
+    public void addIssues(Map<IssueState, Integer> counts) {
+        if (counts.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (Map.Entry<IssueState, Integer> count : counts.entrySet()) {
+            IssueState state = count.getKey();
+            int amount = count.getValue();
+            rows.add(new Object[]{state.getReleaseId(), state.getStatus().name(), amount,
+                    amount * state.getEstimateTime(), amount * state.getSpentTime()});
+        }
+        jdbcTemplate.batchUpdate(ADD_TO_PROGRESS, rows);
+    }
+
+    /**
+     * Adds issue to progress of its release (sign 1) or removes it from there (sign -1)
+     *
+     * @param state state of issue
+     * @param sign  1 to add the issue, -1 to remove it
+     */
+    public void addIssue(IssueState state, int sign) {
+        jdbcTemplate.update(ADD_TO_PROGRESS, state.getReleaseId(), state.getStatus().name(), sign,
+                sign * state.getEstimateTime(), sign * state.getSpentTime());
+    }
+
+    /**
+     * Adds spent time to progress of release and status of issue
+     *
+     * @param issueId id of issue
+     * @param delta   added time, negative when time is removed
+     */
+    public void addSpentTime(Long issueId, long delta) {
+        jdbcTemplate.update(ADD_SPENT_TIME, delta, issueId);
+    }
+
+    /**
+     * Reads progress of release, at most one row per issue status
+     *
+     * @param releaseId id of release
+     * @return progress of release, with zero totals if release has no issues
+     */
+    public ReleaseProgressDto findProgress(Long releaseId) {
+        ReleaseProgressDto progress = new ReleaseProgressDto(releaseId);
+        jdbcTemplate.query(SELECT_PROGRESS, resultSet -> {
+            progress.add(IssueStatus.valueOf(resultSet.getString("status")), resultSet.getLong("issueCount"),
+                    resultSet.getLong("estimateTime"), resultSet.getLong("spentTime"));
+        }, releaseId);
+        return progress;
+    }
+
+    /**
+     * State of issue counted in release progress
+     */
+    public static class IssueState {
+
+        private final Long releaseId;
+
+        private final IssueStatus status;
+
+        private final long estimateTime;
+
+        private final long spentTime;
+
+        public IssueState(Long releaseId, IssueStatus status, long estimateTime, long spentTime) {
+            this.releaseId = releaseId;
+            this.status = status;
+            this.estimateTime = estimateTime;
+            this.spentTime = spentTime;
+        }
+
+        public Long getReleaseId() {
+            return releaseId;
+        }
+
+        public IssueStatus getStatus() {
+            return status;
+        }
+
+        public long getEstimateTime() {
+            return estimateTime;
+        }
+
+        public long getSpentTime() {
+            return spentTime;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+
+            if (o == null || getClass() != o.getClass()) return false;
+
+            IssueState that = (IssueState) o;
+
+            return Objects.equals(releaseId, that.releaseId) && status == that.status
+                    && estimateTime == that.estimateTime && spentTime == that.spentTime;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(releaseId, status, estimateTime, spentTime);
+        }
+    }
+}
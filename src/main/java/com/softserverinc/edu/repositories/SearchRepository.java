@@ -1,26 +1,59 @@
 package com.softserverinc.edu.repositories;
 
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueComment;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.SearchFacetDto;
+import com.softserverinc.edu.entities.SearchHitDto;
+import com.softserverinc.edu.entities.SearchResultDto;
+import com.softserverinc.edu.entities.enums.IssuePriority;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.entities.enums.IssueType;
+import com.softserverinc.edu.entities.enums.ReleaseStatus;
+import com.softserverinc.edu.entities.enums.SearchMatch;
+import com.softserverinc.edu.entities.enums.SearchType;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.TermQuery;
+import org.hibernate.CacheMode;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.exception.EmptyQueryException;
 import org.hibernate.search.jpa.FullTextEntityManager;
+import org.hibernate.search.jpa.FullTextQuery;
 import org.hibernate.search.jpa.Search;
+import org.hibernate.search.query.dsl.BooleanJunction;
 import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.query.facet.Facet;
+import org.hibernate.search.query.facet.FacetSortOrder;
+import org.hibernate.search.stat.Statistics;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.util.HtmlUtils;
 
 import javax.persistence.EntityManager;
 import javax.persistence.EntityManagerFactory;
-import javax.persistence.Query;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Future;
 
 
 /**
- * Serve fot searching in Issue, Project, ProjectRelease entities
+ * Serve fot searching in Issue, Project, ProjectRelease, IssueComment entities
  */
 @Repository
 public class SearchRepository {
@@ -31,53 +64,327 @@ public class SearchRepository {
     private final static Logger LOGGER = LoggerFactory.getLogger(SearchRepository.class);
 
     /**
-     * indexed Issue, Project, ProjectRelease entities
+     * Facets of issue hits, named as the indexed fields
      */
-    @Transactional
-    public void indexEntity() {
+    public static final List<String> ISSUE_FACETS =
+            Collections.unmodifiableList(Arrays.asList("status", "priority", "type", "projectId"));
+
+    private static final int MAX_FACET_COUNT = 20;
+
+    /**
+     * Maximal length of snippets of descriptions and comments in characters
+     */
+    private static final int SNIPPET_SIZE = 200;
+
+    /**
+     * Cache region of queries built from search text, its size and time to live are configured in ehcache.xml
+     */
+    private static final String QUERY_CACHE_NAME = "searchQueries";
+
+    /**
+     * Classes of all indexed entities
+     */
+    private static final Class<?>[] INDEXED_CLASSES =
+            {Issue.class, Project.class, ProjectRelease.class, IssueComment.class};
+
+    /**
+     * Stored fields of hits of every type: id, title (version of release), description, then own fields
+     */
+    private static final Map<SearchType, String[]> PROJECTIONS = new EnumMap<>(SearchType.class);
+
+    static {
+        PROJECTIONS.put(SearchType.ISSUE, new String[]{ProjectionConstants.ID, "title", "description",
+                "type", "status", "priority", "projectId"});
+        PROJECTIONS.put(SearchType.PROJECT, new String[]{ProjectionConstants.ID, "title", "description"});
+        PROJECTIONS.put(SearchType.RELEASE, new String[]{ProjectionConstants.ID, "version", "description",
+                "releaseStatus", "projectId", "projectTitle"});
+        PROJECTIONS.put(SearchType.COMMENT, new String[]{ProjectionConstants.ID, "issueTitle", "text",
+                "issueId"});
+    }
+
+    /**
+     * Starts rebuilding of the whole index of all indexed entities in background threads
+     *
+     * @param batchSizeToLoadObjects amount of entities loaded from database in one batch
+     * @param threadsToLoadObjects   amount of threads used to load entities
+     * @param idFetchSize            fetch size of the query which scrolls over ids of entities
+     * @return future which is completed when all entities are indexed
+     */
+    public Future<?> startMassIndexing(int batchSizeToLoadObjects, int threadsToLoadObjects, int idFetchSize) {
+        return startMassIndexing(batchSizeToLoadObjects, threadsToLoadObjects, idFetchSize, INDEXED_CLASSES);
+    }
+
+    /**
+     * Starts rebuilding of the index of given entities in background threads. Ids are scrolled
+     * by one query and handed over in batches to loading threads, every batch is loaded, indexed
+     * and released by its own session, so amount of entities in memory doesn't depend on size of the table.
+     *
+     * @param batchSizeToLoadObjects amount of entities loaded from database in one batch
+     * @param threadsToLoadObjects   amount of threads used to load entities
+     * @param idFetchSize            fetch size of the query which scrolls over ids of entities,
+     *                               Integer.MIN_VALUE makes MySQL driver stream ids instead of reading them all
+     * @param entityClasses          classes of reindexed entities
+     * @return future which is completed when all entities are indexed
+     */
+    public Future<?> startMassIndexing(int batchSizeToLoadObjects, int threadsToLoadObjects, int idFetchSize,
+                                       Class<?>... entityClasses) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return Search.getFullTextEntityManager(entityManager)
+                    .createIndexer(entityClasses)
+                    .batchSizeToLoadObjects(batchSizeToLoadObjects)
+                    .threadsToLoadObjects(threadsToLoadObjects)
+                    .idFetchSize(idFetchSize)
+                    .cacheMode(CacheMode.IGNORE)
+                    .start();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Applies changes of saved or removed entities to the index in one transaction.
+     * Saved entity which doesn't exist anymore is removed from the index.
+     * Comments of saved issue are reindexed if its title was changed, comments of removed issue are removed.
+     * Releases of saved or removed project are handled the same way, by the project title.
+     *
+     * @param events list of entity changes
+     */
+    public void applyIndexChanges(List<SearchIndexEvent> events) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
         try {
-            EntityManager entityManager = entityManagerFactory.createEntityManager();
             FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
-            fullTextEntityManager.createIndexer().startAndWait();
-        } catch (Exception e) {
-            LOGGER.error("indexEntity", e);
+            fullTextEntityManager.getTransaction().begin();
+            for (SearchIndexEvent event : events) {
+                Object entity = event.isRemoved() ? null :
+                        fullTextEntityManager.find(event.getEntityClass(), event.getEntityId());
+                if (entity == null) {
+                    fullTextEntityManager.purge(event.getEntityClass(), event.getEntityId());
+                } else {
+                    fullTextEntityManager.index(entity);
+                }
+                if (event.getEntityClass() == Issue.class) {
+                    applyIssueCommentChanges(fullTextEntityManager, event.getEntityId(), (Issue) entity);
+                } else if (event.getEntityClass() == Project.class) {
+                    applyProjectReleaseChanges(fullTextEntityManager, event.getEntityId(), (Project) entity);
+                }
+            }
+            fullTextEntityManager.getTransaction().commit();
+        } finally {
+            entityManager.close();
         }
     }
 
     /**
-     * @param searchText text to search information in Issue, Project, ProjectRelease
-     * @return result list of Issue, Project, ProjectRelease entity
+     * Returns amount of documents in the index for every indexed entity
+     *
+     * @return map with simple name of entity class and amount of indexed documents
      */
-    @Transactional
-    public List search(String searchText) {
-        List resultList = new ArrayList<>();
+    public Map<String, Integer> countIndexedDocuments() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
         try {
-            EntityManager entityManager = entityManagerFactory.createEntityManager();
-            FullTextEntityManager fullTextEntityManager =
-                    Search.getFullTextEntityManager(entityManager);
-
-            QueryBuilder qb = fullTextEntityManager.getSearchFactory()
-                    .buildQueryBuilder()
-                    .forEntity(Issue.class)
-                    .get();
-
-            org.apache.lucene.search.Query query = qb
-                    .keyword().onFields("title", "description")
-                    .matching(searchText)
-                    .createQuery();
-
-            Query jpaQuery =
-                    fullTextEntityManager.createFullTextQuery(query,
-                            Issue.class,
-                            Project.class,
-                            ProjectRelease.class);
-
-            resultList = jpaQuery.getResultList();
-            return resultList;
-        } catch (Exception e) {
-            LOGGER.error("search", e);
+            Statistics statistics = Search.getFullTextEntityManager(entityManager).getSearchFactory().getStatistics();
+            Map<String, Integer> result = new LinkedHashMap<>();
+            for (Class<?> entityClass : INDEXED_CLASSES) {
+                result.put(entityClass.getSimpleName(), statistics.getNumberOfIndexedEntities(entityClass.getName()));
+            }
+            return result;
+        } finally {
+            entityManager.close();
         }
-        return resultList;
+    }
+
+    /**
+     * Searches text in title (version of release) and description of issues, projects and releases
+     * and in text of comments, matches in title weigh more. Returns one page of hits
+     * of selected type projected from stored index fields, so no entity is loaded from database,
+     * with searched words highlighted in titles and in snippets of descriptions.
+     * Amount of hits of every type is counted, issue hits are faceted by status, priority, type and project
+     * and may be filtered by their values.
+     *
+     * @param searchText text to search
+     * @param searchType type of entities to return
+     * @param match      how words of the text are matched
+     * @param filters    values of issue facets which issue hits must have, by facet names
+     * @param pageable   page of hits
+     * @return page of hits with counts and facets, empty if text consists of stop words only
+     */
+    public SearchResultDto search(String searchText, SearchType searchType, SearchMatch match,
+                                  Map<String, String> filters, Pageable pageable) {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            FullTextEntityManager fullTextEntityManager = Search.getFullTextEntityManager(entityManager);
+            QueryBuilder qb = getQueryBuilder(fullTextEntityManager, searchType);
+            SearchTextQuery textQuery;
+            try {
+                textQuery = getTextQuery(fullTextEntityManager, searchType, searchText, match);
+            } catch (EmptyQueryException e) {
+                LOGGER.debug("Search text has no words to search: " + searchText);
+                return new SearchResultDto(new PageImpl<>(Collections.emptyList(), pageable, 0));
+            }
+
+            FullTextQuery fullTextQuery = fullTextEntityManager.createFullTextQuery(
+                    withFilters(qb, textQuery.getQuery(), searchType, filters), searchType.getEntityClass());
+            fullTextQuery.setProjection(PROJECTIONS.get(searchType));
+            fullTextQuery.setFirstResult(pageable.getOffset());
+            fullTextQuery.setMaxResults(pageable.getPageSize());
+            if (searchType == SearchType.ISSUE) {
+                for (String facet : ISSUE_FACETS) {
+                    fullTextQuery.getFacetManager().enableFaceting(qb.facet()
+                            .name(facet)
+                            .onField(facet)
+                            .discrete()
+                            .orderedBy(FacetSortOrder.COUNT_DESC)
+                            .includeZeroCounts(false)
+                            .maxFacetCount(MAX_FACET_COUNT)
+                            .createFacetingRequest());
+                }
+            }
+            List<SearchHitDto> hits = new ArrayList<>();
+            for (Object row : fullTextQuery.getResultList()) {
+                hits.add(toHit(searchType, (Object[]) row, textQuery));
+            }
+            SearchResultDto result = new SearchResultDto(new PageImpl<>(hits, pageable,
+                    fullTextQuery.getResultSize()));
+            if (searchType == SearchType.ISSUE) {
+                for (String facet : ISSUE_FACETS) {
+                    List<SearchFacetDto> values = new ArrayList<>();
+                    for (Facet value : fullTextQuery.getFacetManager().getFacets(facet)) {
+                        values.add(new SearchFacetDto(value.getValue(), value.getValue(), value.getCount()));
+                    }
+                    result.getFacets().put(facet, values);
+                }
+            }
+            // counting reads no documents, only matches of the text query
+            for (SearchType type : SearchType.values()) {
+                result.getTypeCounts().put(type, type == searchType && filters.isEmpty()
+                        ? fullTextQuery.getResultSize()
+                        : fullTextEntityManager.createFullTextQuery(
+                        getTextQuery(fullTextEntityManager, type, searchText, match).getQuery(),
+                        type.getEntityClass()).getResultSize());
+            }
+            return result;
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    /**
+     * Returns query of search text from cache, or builds it and puts into cache.
+     * Text which consists of stop words only isn't cached.
+     */
+    private SearchTextQuery getTextQuery(FullTextEntityManager fullTextEntityManager, SearchType searchType,
+                                         String searchText, SearchMatch match) {
+        String normalizedText = searchText.trim().toLowerCase(Locale.ROOT);
+        String key = searchType.name() + ":" + match.name() + ":" + normalizedText;
+        Cache cache = CacheManager.create().getCache(QUERY_CACHE_NAME);
+        Element element = cache.get(key);
+        if (element != null) {
+            return (SearchTextQuery) element.getObjectValue();
+        }
+        SearchTextQuery textQuery = SearchTextQuery.create(getQueryBuilder(fullTextEntityManager, searchType),
+                fullTextEntityManager.getSearchFactory().getAnalyzer(searchType.getEntityClass()),
+                searchType, normalizedText, match);
+        cache.put(new Element(key, textQuery));
+        return textQuery;
+    }
+
+    private QueryBuilder getQueryBuilder(FullTextEntityManager fullTextEntityManager, SearchType searchType) {
+        return fullTextEntityManager.getSearchFactory()
+                .buildQueryBuilder()
+                .forEntity(searchType.getEntityClass())
+                .get();
+    }
+
+    /**
+     * Reindexes comments of issue whose stored issue title differs from the actual one, or removes
+     * comments of removed issue, which were removed from database by cascade and are found in the index only.
+     * Comments are looked up in the index, so nothing is loaded from database while the title is the same.
+     */
+    private void applyIssueCommentChanges(FullTextEntityManager fullTextEntityManager, Long issueId, Issue issue) {
+        FullTextQuery commentQuery = fullTextEntityManager.createFullTextQuery(
+                new TermQuery(new Term("issueId", String.valueOf(issueId))), IssueComment.class);
+        commentQuery.setProjection(ProjectionConstants.ID, "issueTitle");
+        for (Object row : commentQuery.getResultList()) {
+            Long commentId = (Long) ((Object[]) row)[0];
+            if (issue != null && Objects.equals(issue.getTitle(), ((Object[]) row)[1])) {
+                continue;
+            }
+            IssueComment comment = issue == null ? null : fullTextEntityManager.find(IssueComment.class, commentId);
+            if (comment == null) {
+                fullTextEntityManager.purge(IssueComment.class, commentId);
+            } else {
+                fullTextEntityManager.index(comment);
+            }
+        }
+    }
+
+    /**
+     * Reindexes releases of project whose stored project title differs from the actual one, or removes
+     * releases of removed project. Releases are looked up in the index, as comments of issue are.
+     */
+    private void applyProjectReleaseChanges(FullTextEntityManager fullTextEntityManager, Long projectId,
+                                            Project project) {
+        FullTextQuery releaseQuery = fullTextEntityManager.createFullTextQuery(
+                new TermQuery(new Term("projectId", String.valueOf(projectId))), ProjectRelease.class);
+        releaseQuery.setProjection(ProjectionConstants.ID, "projectTitle");
+        for (Object row : releaseQuery.getResultList()) {
+            Long releaseId = (Long) ((Object[]) row)[0];
+            if (project != null && Objects.equals(project.getTitle(), ((Object[]) row)[1])) {
+                continue;
+            }
+            ProjectRelease release = project == null ? null
+                    : fullTextEntityManager.find(ProjectRelease.class, releaseId);
+            if (release == null) {
+                fullTextEntityManager.purge(ProjectRelease.class, releaseId);
+            } else {
+                fullTextEntityManager.index(release);
+            }
+        }
+    }
+
+    /**
+     * Adds term queries on not analyzed facet fields to the text query, filters are applied to issues only
+     */
+    private org.apache.lucene.search.Query withFilters(QueryBuilder qb, org.apache.lucene.search.Query textQuery,
+                                                     SearchType searchType, Map<String, String> filters) {
+        if (searchType != SearchType.ISSUE || filters.isEmpty()) {
+            return textQuery;
+        }
+        BooleanJunction<?> junction = qb.bool().must(textQuery);
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            junction.must(new TermQuery(new Term(filter.getKey(), filter.getValue())));
+        }
+        return junction.createQuery();
+    }
+
+    private SearchHitDto toHit(SearchType searchType, Object[] row, SearchTextQuery textQuery) {
+        SearchHitDto hit = new SearchHitDto(searchType, (Long) row[0], (String) row[1]);
+        String[] projections = PROJECTIONS.get(searchType);
+        // title of commented issue isn't searched, so it is shown as is
+        hit.setHighlightedTitle(searchType == SearchType.COMMENT ? HtmlUtils.htmlEscape(hit.getTitle())
+                : textQuery.highlight(projections[1], hit.getTitle()));
+        hit.setSnippet(textQuery.highlight(projections[2], (String) row[2], SNIPPET_SIZE));
+        switch (searchType) {
+            case ISSUE:
+                hit.setType(row[3] == null ? null : IssueType.valueOf((String) row[3]));
+                hit.setStatus(row[4] == null ? null : IssueStatus.valueOf((String) row[4]));
+                hit.setPriority(row[5] == null ? null : IssuePriority.valueOf((String) row[5]));
+                hit.setProjectId(toLong(row[6]));
+                break;
+            case RELEASE:
+                hit.setReleaseStatus((ReleaseStatus) row[3]);
+                hit.setProjectId(toLong(row[4]));
+                hit.setProjectTitle((String) row[5]);
+                break;
+            case COMMENT:
+                hit.setIssueId(toLong(row[3]));
+                break;
+        }
+        return hit;
+    }
 
+    private Long toLong(Object value) {
+        return value == null ? null : Long.valueOf((String) value);
     }
 }
@@ -0,0 +1,322 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.enums.SearchMatch;
+import com.softserverinc.edu.entities.enums.SearchType;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.charfilter.HTMLStripCharFilter;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.analysis.tokenattributes.OffsetAttribute;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.util.automaton.CharacterRunAutomaton;
+import org.apache.lucene.util.automaton.LevenshteinAutomata;
+import org.hibernate.search.exception.EmptyQueryException;
+import org.hibernate.search.exception.SearchException;
+import org.hibernate.search.query.dsl.PhraseMatchingContext;
+import org.hibernate.search.query.dsl.QueryBuilder;
+import org.hibernate.search.query.dsl.TermMatchingContext;
+import org.springframework.web.util.HtmlUtils;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Lucene query built from search text for one type of entities, with analyzed words of the text
+ * which are marked in highlighted titles and snippets of hits. Fields are boosted, so hits with
+ * the words in title rank above hits with the words in description only.
+ * Query and words don't depend on the index, so one instance is reused for repeated searches.
+ */
+final class SearchTextQuery {
+
+    /**
+     * Analyzed fields which search text is matched against with their boosts, for every type
+     */
+    static final Map<SearchType, Map<String, Float>> TEXT_FIELDS = new EnumMap<>(SearchType.class);
+
+    private static final float TITLE_BOOST = 3f;
+
+    private static final int FUZZY_EDIT_DISTANCE = 1;
+
+    private static final int FUZZY_PREFIX_LENGTH = 1;
+
+    private static final String ELLIPSIS = "…";
+
+    static {
+        TEXT_FIELDS.put(SearchType.ISSUE, fields("title", TITLE_BOOST, "description", 1f));
+        TEXT_FIELDS.put(SearchType.PROJECT, fields("title", TITLE_BOOST, "description", 1f));
+        TEXT_FIELDS.put(SearchType.RELEASE, fields("version", TITLE_BOOST, "description", 1f));
+        TEXT_FIELDS.put(SearchType.COMMENT, fields("text", 1f));
+    }
+
+    private final Query query;
+
+    private final Analyzer analyzer;
+
+    private final Map<String, Set<String>> words = new LinkedHashMap<>();
+
+    private final Map<String, Map<String, CharacterRunAutomaton>> fuzzyWords = new LinkedHashMap<>();
+
+    private SearchTextQuery(Query query, Analyzer analyzer) {
+        this.query = query;
+        this.analyzer = analyzer;
+    }
+
+    /**
+     * Builds query of search text on text fields of the type
+     *
+     * @param qb         query builder of entity class of the type
+     * @param analyzer   analyzer of entity class of the type, the same which indexes its fields
+     * @param searchType type of searched entities
+     * @param searchText text to search
+     * @param match      how words of the text are matched
+     * @return query with analyzed words of the text
+     * @throws EmptyQueryException if the text consists of stop words only
+     */
+    static SearchTextQuery create(QueryBuilder qb, Analyzer analyzer, SearchType searchType, String searchText,
+                                  SearchMatch match) {
+        Map<String, Float> fields = TEXT_FIELDS.get(searchType);
+        Query query;
+        switch (match) {
+            case PHRASE:
+                query = phrase(qb, fields, searchText);
+                break;
+            case FUZZY:
+                query = onFields(qb.keyword().fuzzy()
+                        .withEditDistanceUpTo(FUZZY_EDIT_DISTANCE)
+                        .withPrefixLength(FUZZY_PREFIX_LENGTH)
+                        .onField(first(fields)), fields).matching(searchText).createQuery();
+                break;
+            default:
+                // the whole phrase is optional and only raises score of hits which contain it
+                query = qb.bool()
+                        .must(onFields(qb.keyword().onField(first(fields)), fields).matching(searchText)
+                                .createQuery())
+                        .should(phrase(qb, fields, searchText))
+                        .createQuery();
+        }
+        SearchTextQuery result = new SearchTextQuery(query, analyzer);
+        for (String field : fields.keySet()) {
+            Set<String> fieldWords = new LinkedHashSet<>();
+            Map<String, CharacterRunAutomaton> automata = new LinkedHashMap<>();
+            for (Token token : analyze(analyzer, field, searchText)) {
+                if (fieldWords.add(token.term) && match == SearchMatch.FUZZY) {
+                    automata.put(token.term, new CharacterRunAutomaton(
+                            new LevenshteinAutomata(token.term, false).toAutomaton(FUZZY_EDIT_DISTANCE)));
+                }
+            }
+            result.words.put(field, fieldWords);
+            result.fuzzyWords.put(field, automata);
+        }
+        // phrase query of stop words only is built, but matches nothing
+        if (result.words.values().stream().allMatch(Set::isEmpty)) {
+            throw new EmptyQueryException("Search text has no words to search: " + searchText);
+        }
+        return result;
+    }
+
+    Query getQuery() {
+        return query;
+    }
+
+    /**
+     * Returns escaped text with searched words wrapped into mark tags
+     *
+     * @param field name of the field the text is stored in
+     * @param text  stored text of the field, may be null
+     * @return HTML, empty if the text is null
+     */
+    String highlight(String field, String text) {
+        return highlight(field, text, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns escaped fragment of text, which contains most of searched words, with the words wrapped
+     * into mark tags. HTML tags of the text are removed. The fragment begins and ends at whitespace,
+     * ellipsis is shown where the text is cut.
+     *
+     * @param field        name of the field the text is stored in
+     * @param text         stored text of the field, may be null
+     * @param fragmentSize maximal length of the fragment in characters
+     * @return HTML, empty if the text is null
+     */
+    String highlight(String field, String text, int fragmentSize) {
+        if (text == null) {
+            return "";
+        }
+        String plainText = stripHtml(text);
+        List<Token> matches = new ArrayList<>();
+        for (Token token : analyze(analyzer, field, plainText)) {
+            if (isSearched(field, token.term)) {
+                matches.add(token);
+            }
+        }
+        int start = 0;
+        int end = plainText.length();
+        if (end > fragmentSize) {
+            start = matches.isEmpty() ? 0 : getFragmentStart(matches, fragmentSize);
+            // keep some text before the first word, then move to beginning of a word
+            start = Math.max(0, Math.min(start - fragmentSize / 4, end - fragmentSize));
+            if (start > 0) {
+                int space = indexOfWhitespace(plainText, start - 1, end);
+                start = space < 0 ? start : space + 1;
+            }
+            end = Math.min(end, start + fragmentSize);
+            if (end < plainText.length()) {
+                int space = lastIndexOfWhitespace(plainText, end, start);
+                end = space <= start ? end : space;
+            }
+        }
+        StringBuilder result = new StringBuilder();
+        if (start > 0) {
+            result.append(ELLIPSIS);
+        }
+        int position = start;
+        for (Token token : matches) {
+            if (token.start >= position && token.end <= end) {
+                result.append(HtmlUtils.htmlEscape(plainText.substring(position, token.start)))
+                        .append("<mark>")
+                        .append(HtmlUtils.htmlEscape(plainText.substring(token.start, token.end)))
+                        .append("</mark>");
+                position = token.end;
+            }
+        }
+        result.append(HtmlUtils.htmlEscape(plainText.substring(position, end)));
+        if (end < plainText.length()) {
+            result.append(ELLIPSIS);
+        }
+        return result.toString().trim();
+    }
+
+    /**
+     * Fuzzy query matches words which differ from searched ones by edit distance, except their first letters
+     */
+    private boolean isSearched(String field, String term) {
+        if (words.get(field).contains(term)) {
+            return true;
+        }
+        for (Map.Entry<String, CharacterRunAutomaton> word : fuzzyWords.get(field).entrySet()) {
+            if (term.regionMatches(0, word.getKey(), 0, FUZZY_PREFIX_LENGTH) && word.getValue().run(term)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns offset of the matched word which starts the window with most of matched words
+     */
+    private static int getFragmentStart(List<Token> matches, int fragmentSize) {
+        int best = 0;
+        int bestCount = 0;
+        int last = 0;
+        for (int first = 0; first < matches.size(); first++) {
+            while (last < matches.size() && matches.get(last).end - matches.get(first).start <= fragmentSize) {
+                last++;
+            }
+            if (last - first > bestCount) {
+                bestCount = last - first;
+                best = first;
+            }
+        }
+        return matches.get(best).start;
+    }
+
+    private static int indexOfWhitespace(String text, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOfWhitespace(String text, int from, int to) {
+        for (int i = from; i > to; i--) {
+            if (Character.isWhitespace(text.charAt(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static Query phrase(QueryBuilder qb, Map<String, Float> fields, String searchText) {
+        PhraseMatchingContext context = null;
+        for (Map.Entry<String, Float> field : fields.entrySet()) {
+            context = (context == null ? qb.phrase().onField(field.getKey()) : context.andField(field.getKey()))
+                    .boostedTo(field.getValue());
+        }
+        return context.sentence(searchText).createQuery();
+    }
+
+    private static TermMatchingContext onFields(TermMatchingContext firstField, Map<String, Float> fields) {
+        TermMatchingContext context = null;
+        for (Map.Entry<String, Float> field : fields.entrySet()) {
+            context = (context == null ? firstField : context.andField(field.getKey())).boostedTo(field.getValue());
+        }
+        return context;
+    }
+
+    private static String first(Map<String, Float> fields) {
+        return fields.keySet().iterator().next();
+    }
+
+    private static Map<String, Float> fields(Object... namesAndBoosts) {
+        Map<String, Float> result = new LinkedHashMap<>();
+        for (int i = 0; i < namesAndBoosts.length; i += 2) {
+            result.put((String) namesAndBoosts[i], (Float) namesAndBoosts[i + 1]);
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    private static String stripHtml(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        char[] buffer = new char[1024];
+        try (HTMLStripCharFilter filter = new HTMLStripCharFilter(new StringReader(text))) {
+            for (int read = filter.read(buffer); read != -1; read = filter.read(buffer)) {
+                result.append(buffer, 0, read);
+            }
+        } catch (IOException e) {
+            throw new SearchException("Unable to read text", e);
+        }
+        return result.toString();
+    }
+
+    private static List<Token> analyze(Analyzer analyzer, String field, String text) {
+        List<Token> result = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(field, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            OffsetAttribute offset = stream.addAttribute(OffsetAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                result.add(new Token(term.toString(), offset.startOffset(), offset.endOffset()));
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new SearchException("Unable to analyze text of field " + field, e);
+        }
+        return result;
+    }
+
+    private static final class Token {
+
+        private final String term;
+
+        private final int start;
+
+        private final int end;
+
+        private Token(String term, int start, int end) {
+            this.term = term;
+            this.start = start;
+            this.end = end;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.softserverinc.edu.repositories;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Date;
+
+/**
+ * Position in a list sorted by (createTime, id) in descending order, used for keyset ("seek") pagination.
+ * Unlike page number, cursor doesn't require database to skip all previous rows.
+ * Cursor is passed to UI as opaque token (see {@link #encode()}).
+ */
+public final class SeekCursor {
+
+    /**
+     * Greater than any real creation time, so the first page is loaded by the same query as the next ones
+     */
+    private static final Date MAX_CREATE_TIME = new Date(253402214400000L);
+
+    private final Date createTime;
+
+    private final Long id;
+
+    private final boolean backward;
+
+    private SeekCursor(Date createTime, Long id, boolean backward) {
+        this.createTime = createTime;
+        this.id = id;
+        this.backward = backward;
+    }
+
+    /**
+     * Returns cursor of the first page
+     *
+     * @return cursor before the newest row
+     */
+    public static SeekCursor first() {
+        return new SeekCursor(MAX_CREATE_TIME, Long.MAX_VALUE, false);
+    }
+
+    /**
+     * Returns cursor of the page that follows given row (older rows)
+     *
+     * @param createTime creation time of the last row on the current page
+     * @param id         id of the last row on the current page
+     * @return cursor of the next page
+     */
+    public static SeekCursor after(Date createTime, Long id) {
+        return new SeekCursor(createTime, id, false);
+    }
+
+    /**
+     * Returns cursor of the page that precedes given row (newer rows)
+     *
+     * @param createTime creation time of the first row on the current page
+     * @param id         id of the first row on the current page
+     * @return cursor of the previous page
+     */
+    public static SeekCursor before(Date createTime, Long id) {
+        return new SeekCursor(createTime, id, true);
+    }
+
+    /**
+     * Restores cursor from token. Missing or damaged token means the first page.
+     *
+     * @param token token from {@link #encode()}, may be null
+     * @return decoded cursor
+     */
+    public static SeekCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return first();
+        }
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            return new SeekCursor(new Date(Long.parseLong(parts[1])), Long.valueOf(parts[2]), "B".equals(parts[0]));
+        } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException e) {
+            return first();
+        }
+    }
+
+    /**
+     * Converts cursor into opaque URL-safe token
+     *
+     * @return token
+     */
+    public String encode() {
+        String value = (backward ? "B" : "A") + ":" + createTime.getTime() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Date getCreateTime() {
+        return createTime;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public boolean isBackward() {
+        return backward;
+    }
+
+    public boolean isFirst() {
+        return !backward && id == Long.MAX_VALUE;
+    }
+}
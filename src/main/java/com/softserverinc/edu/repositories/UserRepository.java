@@ -2,17 +2,25 @@ package com.softserverinc.edu.repositories;
 
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.UserListDto;
 import com.softserverinc.edu.entities.enums.UserRole;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
 
+    @QueryHints(@QueryHint(name = "org.hibernate.cacheable", value = "true"))
+    List<User> findAll();
+
     List<User> findByEmailContaining(String email);
 
     List<User> findByEmail(String email);
@@ -56,4 +64,45 @@ public interface UserRepository extends JpaRepository<User, Long> {
                                                    Pageable pageable);
 
     Page<User> findByRoleNot(UserRole notRole, Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Selects rows of user list (see {@link UserListDto}), project is joined
+     */
+    String SELECT_LIST = "select new com.softserverinc.edu.entities.UserListDto(u.id, u.firstName, u.lastName,"
+            + " u.email, u.role, u.isDeleted, p.id, p.title) from User u left join u.project p";
+
+    @Query(value = SELECT_LIST + " where u.role <> :notRole",
+            countQuery = "select count(u) from User u where u.role <> :notRole")
+    Page<UserListDto> findListByRoleNot(@Param("notRole") UserRole notRole, Pageable pageable);
+
+    @Query(value = SELECT_LIST + " where u.firstName like concat('%', :firstName, '%')"
+            + " and u.lastName like concat('%', :lastName, '%') and u.email like concat('%', :email, '%')"
+            + " and u.role = :role",
+            countQuery = "select count(u) from User u where u.firstName like concat('%', :firstName, '%')"
+                    + " and u.lastName like concat('%', :lastName, '%') and u.email like concat('%', :email, '%')"
+                    + " and u.role = :role")
+    Page<UserListDto> findListByFirstNameContainingAndLastNameContainingAndEmailContainingAndRoleIs(
+            @Param("firstName") String firstName, @Param("lastName") String lastName, @Param("email") String email,
+            @Param("role") UserRole role, Pageable pageable);
+
+    /**
+     * Checks by primary key if user is active (not deleted and enabled) member of project,
+     * without loading the user or other members of project
+     *
+     * @param id        user's id
+     * @param projectId project's id
+     * @return 1 if user is active member of project, 0 otherwise
+     */
+    @Query("select count(u) from User u where u.id = :id and u.project.id = :projectId"
+            + " and u.isDeleted = false and u.enabled = 1")
+    long countActiveByIdAndProjectId(@Param("id") Long id, @Param("projectId") Long projectId);
+
+    /**
+     * Returns ids of active (not deleted and enabled) members of project, read from the index only
+     *
+     * @param projectId project's id
+     * @return ids of users
+     */
+    @Query("select u.id from User u where u.project.id = :projectId and u.isDeleted = false and u.enabled = 1")
+    List<Long> findActiveIdsByProjectId(@Param("projectId") Long projectId);
+}
@@ -1,18 +1,23 @@
 package com.softserverinc.edu.repositories;
 
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.SpentTimeDto;
 import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.WorkLog;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Date;
 import java.util.List;
 
 /**
  * Contain custom Spring Data JPA methods wor working with DB
  */
-public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
+public interface WorkLogRepository extends JpaRepository<WorkLog, Long>, WorkLogRepositoryCustom {
 
     /**
      * List of WorkLog entries by specified issue and user
@@ -47,4 +52,113 @@ public interface WorkLogRepository extends JpaRepository<WorkLog, Long> {
      * @return Pageable list of all WorkLog entries
      */
     Page<WorkLog> findAll(Pageable pageable);
-}
\ No newline at end of file
+
+    /**
+     * Seek page of WorkLog entries of issue older than cursor, newest first.
+     * WorkLog has no creation time, entries are ordered by start date.
+     * Authors of entries are loaded by the same query.
+     *
+     * @param issue     Issue instance
+     * @param startDate start date of the last entry on the previous page
+     * @param id        id of the last entry on the previous page
+     * @param pageable  page size, page number must be 0
+     * @return WorkLog entries following the cursor
+     */
+    @Query("select w from WorkLog w join fetch w.user u left join fetch u.project"
+            + " where w.issue = :issue and w.startDate <= :startDate"
+            + " and (w.startDate < :startDate or w.id < :id) order by w.startDate desc, w.id desc")
+    List<WorkLog> findPageByIssueAfter(@Param("issue") Issue issue, @Param("startDate") Date startDate,
+                                       @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Seek page of WorkLog entries of issue newer than cursor, oldest first
+     *
+     * @param issue     Issue instance
+     * @param startDate start date of the first entry on the next page
+     * @param id        id of the first entry on the next page
+     * @param pageable  page size, page number must be 0
+     * @return WorkLog entries preceding the cursor
+     */
+    @Query("select w from WorkLog w join fetch w.user u left join fetch u.project"
+            + " where w.issue = :issue and w.startDate >= :startDate"
+            + " and (w.startDate > :startDate or w.id > :id) order by w.startDate asc, w.id asc")
+    List<WorkLog> findPageByIssueBefore(@Param("issue") Issue issue, @Param("startDate") Date startDate,
+                                        @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Amount of WorkLog entries of user which period overlaps specified period (bounds are inclusive)
+     *
+     * @param user       User instance
+     * @param startDate  start of period
+     * @param endDate    end of period
+     * @param excludedId id of WorkLog entry which is edited, so it doesn't overlap itself
+     * @return amount of overlapping entries on all issues of the user
+     */
+    @Query("select count(w) from WorkLog w where w.user = :user and w.startDate <= :endDate"
+            + " and w.endDate >= :startDate and w.id <> :excludedId")
+    long countOverlapping(@Param("user") User user, @Param("startDate") Date startDate,
+                          @Param("endDate") Date endDate, @Param("excludedId") Long excludedId);
+
+    /**
+     * Periods of WorkLog entries of user which overlap specified period (bounds are inclusive).
+     * Entries are not loaded into persistence context, so long imports don't accumulate them.
+     *
+     * @param user      User instance
+     * @param startDate start of period
+     * @param endDate   end of period
+     * @return pairs of start and end dates of overlapping entries on all issues of the user
+     */
+    @Query("select w.startDate, w.endDate from WorkLog w where w.user = :user and w.startDate <= :endDate"
+            + " and w.endDate >= :startDate")
+    List<Object[]> findOverlappingPeriods(@Param("user") User user, @Param("startDate") Date startDate,
+                                          @Param("endDate") Date endDate);
+
+    /**
+     * Amount of time of WorkLog entry, without loading the entry
+     *
+     * @param id WorkLog entry's id
+     * @return amount of time or null if there is no such entry
+     */
+    @Query("select w.amountOfTime from WorkLog w where w.id = :id")
+    Long findAmountOfTimeById(@Param("id") Long id);
+
+    /**
+     * Total spent time and amount of WorkLog entries of issue
+     *
+     * @param issue Issue instance
+     * @return totals of the issue, zero if there are no entries
+     */
+    @Query("select new com.softserverinc.edu.entities.SpentTimeDto(sum(w.amountOfTime), count(w))"
+            + " from WorkLog w where w.issue = :issue")
+    SpentTimeDto findTotalByIssue(@Param("issue") Issue issue);
+
+    /**
+     * Total spent time and amount of WorkLog entries of issue for each user who worked on it
+     *
+     * @param issue Issue instance
+     * @return totals with user's id
+     */
+    @Query("select new com.softserverinc.edu.entities.SpentTimeDto(w.user.id, sum(w.amountOfTime), count(w))"
+            + " from WorkLog w where w.issue = :issue group by w.user.id")
+    List<SpentTimeDto> findTotalsByIssueGroupByUser(@Param("issue") Issue issue);
+
+    /**
+     * Total spent time and amount of WorkLog entries of user on all issues
+     *
+     * @param user User instance
+     * @return totals of the user, zero if there are no entries
+     */
+    @Query("select new com.softserverinc.edu.entities.SpentTimeDto(sum(w.amountOfTime), count(w))"
+            + " from WorkLog w where w.user = :user")
+    SpentTimeDto findTotalByUser(@Param("user") User user);
+
+    /**
+     * Total spent time and amount of WorkLog entries of all issues of release
+     *
+     * @param projectRelease ProjectRelease instance
+     * @return totals of the release, zero if there are no entries
+     */
+    @Query("select new com.softserverinc.edu.entities.SpentTimeDto(sum(w.amountOfTime), count(w))"
+            + " from WorkLog w where w.issue.projectRelease = :projectRelease")
+    SpentTimeDto findTotalByProjectRelease(@Param("projectRelease") ProjectRelease projectRelease);
+}
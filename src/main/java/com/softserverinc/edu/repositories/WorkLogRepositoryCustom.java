@@ -0,0 +1,18 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.WorkLog;
+
+import java.util.List;
+
+/**
+ * WorkLog operations which are not supported by Spring Data JPA
+ */
+public interface WorkLogRepositoryCustom {
+
+    /**
+     * Inserts new WorkLog entries by one JDBC batch
+     *
+     * @param workLogs new WorkLog entries with issue and user
+     */
+    void insertInBatch(List<WorkLog> workLogs);
+}
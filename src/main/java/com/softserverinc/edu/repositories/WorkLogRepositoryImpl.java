@@ -0,0 +1,41 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.WorkLog;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Implementation of custom WorkLog operations.
+ * WorkLog has identity generated ids, so Hibernate can't group its inserts into JDBC batch,
+ * that's why imported entries are inserted by plain JDBC.
+ */
+public class WorkLogRepositoryImpl implements WorkLogRepositoryCustom {
+
+    private static final String INSERT_WORKLOG = "INSERT INTO WorkLog (issueId, userId, startDate, endDate, " +
+            "amountOfTime) VALUES (?, ?, ?, ?, ?)";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertInBatch(List<WorkLog> workLogs) {
+        if (workLogs.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>();
+        for (WorkLog workLog : workLogs) {
+            rows.add(new Object[]{
+                    workLog.getIssue().getId(),
+                    workLog.getUser().getId(),
+                    new Timestamp(workLog.getStartDate().getTime()),
+                    new Timestamp(workLog.getEndDate().getTime()),
+                    workLog.getAmountOfTime()
+            });
+        }
+        jdbcTemplate.batchUpdate(INSERT_WORKLOG, rows);
+    }
+}
@@ -4,15 +4,23 @@ import com.softserverinc.edu.entities.*;
 import com.softserverinc.edu.entities.enums.HistoryAction;
 import com.softserverinc.edu.entities.enums.IssueStatus;
 import com.softserverinc.edu.repositories.HistoryRepository;
+import com.softserverinc.edu.repositories.KeysetPage;
+import com.softserverinc.edu.repositories.SeekCursor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.sql.Timestamp;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 public class HistoryService {
@@ -29,6 +37,9 @@ public class HistoryService {
     @Autowired
     private IssueCommentService issueCommentService;
 
+    @Autowired
+    private HistoryWriter historyWriter;
+
     @Transactional
     public History save(History history) {
         return historyRepository.saveAndFlush(history);
@@ -87,10 +98,31 @@ public class HistoryService {
         return convertToHistoryDto(historyRepository.findByIssueOrderByCreateTimeDesc(issue, pageable), pageable);
     }
 
+    /**
+     * Returns converted page of issue history, newest first, by keyset pagination (without count query)
+     *
+     * @param issue         represents current issue
+     * @param cursorToken   token of the page cursor, null for the first page
+     * @param size          amount of history records on the page
+     * @return              page of historyDto objects with cursors of the next and previous pages
+     */
+    public KeysetPage<HistoryDto> findAllHistoryForIssue(Issue issue, String cursorToken, int size) {
+        SeekCursor cursor = SeekCursor.decode(cursorToken);
+        String createTime = new Timestamp(cursor.getCreateTime().getTime()).toString();
+        Pageable limit = new PageRequest(0, size + 1);
+        List<History> histories = cursor.isBackward()
+                ? historyRepository.findPageByIssueBefore(issue, createTime, cursor.getId(), limit)
+                : historyRepository.findPageByIssueAfter(issue, createTime, cursor.getId(), limit);
+        return KeysetPage.of(histories, cursor, size, history -> Timestamp.valueOf(history.getCreateTime()),
+                History::getId).map(this::convertToHistoryDto);
+    }
+
     /**
      * Writes issue changes, which are received from issue-form, into history.
-     * Checks every issue field is it was changed, one by one. Then writes
-     * these changes into history as separate record.
+     * Checks every issue field is it was changed, one by one (invokes
+     * {@see #collectIssueChanges(Issue updatedIssue, Issue previousIssue, Long changeByUserId)}).
+     * Then writes all changes into history as separate records by one batch.
+     * History records are written by {@link HistoryWriter}, asynchronously if it is enabled.
      *
      * @param updatedIssue  modified issue from issue-form
      * @param changeBy      user that modified issue
@@ -100,7 +132,7 @@ public class HistoryService {
         Long assignedToUserId = updatedIssue.getAssignee().getId();
         // checks if issue is new and write this action into history
         if (issueService.isNewIssue(updatedIssue)) {
-            save(History.newBuilder()
+            historyWriter.write(History.newBuilder()
                     .setIssue(issueService.save(updatedIssue)).setChangedByUserId(changeByUserId)
                     .setAssignedToUserId(assignedToUserId).setAction(HistoryAction.CREATE_ISSUE).build()
             );
@@ -108,48 +140,65 @@ public class HistoryService {
         }
         // not yet modified issue
         Issue previousIssue = issueService.findById(updatedIssue.getId());
+        historyWriter.write(collectIssueChanges(updatedIssue, previousIssue, changeByUserId));
+    }
+
+    /**
+     * Compares modified issue with its previous state and builds change set:
+     * one history record for every changed field.
+     *
+     * @param updatedIssue      modified issue from issue-form
+     * @param previousIssue     not yet modified issue
+     * @param changeByUserId    id of user that modified issue
+     * @return                  list of history records, empty if nothing was changed
+     */
+    private List<History> collectIssueChanges(Issue updatedIssue, Issue previousIssue, Long changeByUserId) {
+        List<History> changes = new ArrayList<>();
+        Long assignedToUserId = updatedIssue.getAssignee().getId();
         // checks if status was modified
         if (!updatedIssue.getStatus().equals(previousIssue.getStatus())) {
-            save(History.newBuilder()
+            changes.add(History.newBuilder()
                     .setIssue(updatedIssue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                     .setAction(HistoryAction.CHANGE_ISSUE_STATUS).setStatus(updatedIssue.getStatus()).build()
             );
         }
         // checks if title was modified
         if (!updatedIssue.getTitle().equals(previousIssue.getTitle())) {
-            save(History.newBuilder()
+            changes.add(History.newBuilder()
                     .setIssue(updatedIssue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                     .setAction(HistoryAction.CHANGE_ISSUE_TITLE).setTitle(updatedIssue.getTitle()).build()
             );
         }
         // checks if type was modified
         if (!updatedIssue.getType().equals(previousIssue.getType())) {
-            save(History.newBuilder()
+            changes.add(History.newBuilder()
                     .setIssue(updatedIssue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                     .setAction(HistoryAction.CHANGE_ISSUE_TYPE).setType(updatedIssue.getType()).build()
             );
         }
         // checks if priority was modified
         if (!updatedIssue.getPriority().equals(previousIssue.getPriority())) {
-            save(History.newBuilder()
+            changes.add(History.newBuilder()
                     .setIssue(updatedIssue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                     .setAction(HistoryAction.CHANGE_ISSUE_PRIORITY).setPriority(updatedIssue.getPriority()).build()
             );
         }
         // checks if assignee was modified
         if (!updatedIssue.getAssignee().equals(previousIssue.getAssignee())) {
-            save(History.newBuilder()
+            changes.add(History.newBuilder()
                     .setIssue(updatedIssue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                     .setAction(HistoryAction.CHANGE_ISSUE_ASSIGNEE).build()
             );
         }
         // checks if description was modified
         if (!updatedIssue.getDescription().equals(previousIssue.getDescription())) {
-            save(History.newBuilder()
+            changes.add(History.newBuilder()
                     .setIssue(updatedIssue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
-                    .setAction(HistoryAction.CHANGE_ISSUE_DESCRIPTION).setDescription(updatedIssue.getDescription()).build()
+                    .setAction(HistoryAction.CHANGE_ISSUE_DESCRIPTION).setDescription(updatedIssue.getDescription())
+                    .build()
             );
         }
+        return changes;
     }
 
     /**
@@ -172,14 +221,14 @@ public class HistoryService {
         Long assignedToUserId = issue.getAssignee().getId();
         // checks if comment is new
         if (issueCommentService.isCommentNew(comment)) {
-            save(History.newBuilder()
+            historyWriter.write(History.newBuilder()
                     .setIssue(issue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                     .setAction(HistoryAction.ADD_ISSUE_COMMENT).setIssueComment(comment.getText())
                     .setAnonymName(anonymName).build()
             );
             return;
         }
-        save(History.newBuilder()
+        historyWriter.write(History.newBuilder()
                 .setIssue(issue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                 .setAction(HistoryAction.EDIT_ISSUE_COMMENT).setIssueComment(comment.getText())
                 .setAnonymName(anonymName).build()
@@ -201,7 +250,7 @@ public class HistoryService {
             case CHANGE_ISSUE_ASSIGNEE:
                 Long assignedToUserId = Long.valueOf(inputData);
                 issue.setAssignee(userService.findOne(assignedToUserId));
-                save(History.newBuilder()
+                historyWriter.write(History.newBuilder()
                         .setIssue(issue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                         .setAction(action).build()
                 );
@@ -210,26 +259,66 @@ public class HistoryService {
                 IssueStatus updatedStatus = IssueStatus.valueOf(inputData);
                 assignedToUserId = issue.getAssignee().getId();
                 issue.setStatus(updatedStatus);
-                save(History.newBuilder()
+                historyWriter.write(History.newBuilder()
                         .setIssue(issue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
                         .setStatus(updatedStatus).setAction(action).build()
                 );
         }
     }
 
+    /**
+     * Writes changes of many issues made by bulk operation into history by one batch:
+     * one record per issue with the new status or assignee.
+     *
+     * @param issues    changed issues with their previous assignees
+     * @param changeBy  user that modified issues
+     * @param status    new status, null if status wasn't changed
+     * @param assignee  new assignee, null if assignee wasn't changed
+     */
+    public void writeToHistory(Collection<Issue> issues, User changeBy, IssueStatus status, User assignee) {
+        Long changeByUserId = (changeBy == null) ? null : changeBy.getId();
+        HistoryAction action = (status != null) ? HistoryAction.CHANGE_ISSUE_STATUS : HistoryAction.CHANGE_ISSUE_ASSIGNEE;
+        List<History> histories = new ArrayList<>();
+        for (Issue issue : issues) {
+            Long assignedToUserId = (assignee != null) ? assignee.getId() : issue.getAssignee().getId();
+            histories.add(History.newBuilder()
+                    .setIssue(issue).setChangedByUserId(changeByUserId).setAssignedToUserId(assignedToUserId)
+                    .setStatus(status).setAction(action).build()
+            );
+        }
+        historyWriter.write(histories);
+    }
+
     /**
      * This method converts history list to historyDto list. It's necessary because
      * "History" table in a database doesn't consist foreign keys to table "Users"
      * (it keeps only user id). So on the jsp page we won't be able to get user object
      * from history object. That's why this method converts history to historyDto, that
      * can hold "User" object.
+     * All users mentioned on the page are loaded by one query
+     * (invokes {@see #findUsersOfHistory(Page historyList)}).
      *
      * @param historyList   list that must be converted
      * @param pageable      represents total number of pages
      * @return              converted list of historyDto objects
      */
     private Page<HistoryDto> convertToHistoryDto(Page<History> historyList, Pageable pageable) {
+        List<HistoryDto> result = convertToHistoryDto(historyList.getContent());
+        // convert pageable list of histories to pageable list of historyDto objects
+        Page<HistoryDto> historiesPage = new PageImpl<>(result, pageable, historyList.getTotalElements());
+        return historiesPage;
+    }
+
+    /**
+     * Converts list of history records to list of historyDto objects
+     * (see {@link #convertToHistoryDto(Page, Pageable)}).
+     *
+     * @param historyList   list that must be converted
+     * @return              converted list of historyDto objects
+     */
+    private List<HistoryDto> convertToHistoryDto(List<History> historyList) {
         List<HistoryDto> result = new ArrayList<>();
+        Map<Long, User> users = findUsersOfHistory(historyList);
         for (History history : historyList) {
             HistoryDto historyDto = new HistoryDto();
             historyDto.setAction(history.getAction());
@@ -238,10 +327,8 @@ public class HistoryService {
             historyDto.setTitle(history.getTitle());
             // if history.getChangedByUserId() returns null we must save
             // into historyDto mock "User" object with replaced data
-            historyDto.setChangedByUser(userService.getAvailableUser(
-                    userService.findOne(history.getChangedByUserId())));
-            historyDto.setAssignedToUser(userService.getAvailableUser(
-                    userService.findOne(history.getAssignedToUserId())));
+            historyDto.setChangedByUser(userService.getAvailableUser(users.get(history.getChangedByUserId())));
+            historyDto.setAssignedToUser(userService.getAvailableUser(users.get(history.getAssignedToUserId())));
             historyDto.setCreateTime(history.getCreateTime());
             historyDto.setDescription(history.getDescription());
             historyDto.setIssueComment(history.getIssueComment());
@@ -250,9 +337,27 @@ public class HistoryService {
             historyDto.setAnonymName(history.getAnonymName());
             result.add(historyDto);
         }
-        // convert pageable list of histories to pageable list of historyDto objects
-        Page<HistoryDto> historiesPage = new PageImpl<>(result, pageable, historyList.getTotalElements());
-        return historiesPage;
+        return result;
+    }
+
+    /**
+     * Collects ids of users that changed issues or were assigned to them on the current page
+     * and loads these users by one query.
+     *
+     * @param historyList   history records on the page
+     * @return              map of users by their ids
+     */
+    private Map<Long, User> findUsersOfHistory(List<History> historyList) {
+        Set<Long> userIds = new HashSet<>();
+        for (History history : historyList) {
+            if (history.getChangedByUserId() != null) {
+                userIds.add(history.getChangedByUserId());
+            }
+            if (history.getAssignedToUserId() != null) {
+                userIds.add(history.getAssignedToUserId());
+            }
+        }
+        return userService.findUsersByIds(userIds);
     }
 
 }
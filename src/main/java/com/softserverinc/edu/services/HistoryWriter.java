@@ -0,0 +1,247 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.History;
+import com.softserverinc.edu.repositories.HistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes history records to database out of the request thread.
+ * Records are passed on only after the caller's transaction is committed, so rolled back changes leave no history,
+ * or right away if there is no transaction. Then they are put into bounded queue, which is drained by writer thread that inserts them by batches.
+ * When the queue is full, caller waits for free space (backpressure) and if there is still no space
+ * after timeout the records are written synchronously, so history is never lost because of overflow.
+ * With disabled async mode all records are written synchronously (used by tests).
+ */
+@Service
+public class HistoryWriter {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(HistoryWriter.class);
+
+    @Autowired
+    private HistoryRepository historyRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${history.writer.async}")
+    private boolean async;
+
+    @Value("${history.writer.queueCapacity}")
+    private int queueCapacity;
+
+    @Value("${history.writer.batchSize}")
+    private int batchSize;
+
+    @Value("${history.writer.offerTimeoutMillis}")
+    private long offerTimeoutMillis;
+
+    private BlockingQueue<History> queue;
+
+    private final ExecutorService writerThread = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "history-writer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean running;
+
+    private final AtomicLong writtenRecords = new AtomicLong();
+
+    private final AtomicLong writtenBatches = new AtomicLong();
+
+    private final AtomicLong backpressureWaits = new AtomicLong();
+
+    private final AtomicLong overflowWrites = new AtomicLong();
+
+    private final AtomicLong droppedRecords = new AtomicLong();
+
+    /**
+     * Starts writer thread when application context is ready
+     *
+     * @param event context refreshed event
+     */
+    @EventListener
+    public void onApplicationStarted(ContextRefreshedEvent event) {
+        if (async && started.compareAndSet(false, true)) {
+            queue = new ArrayBlockingQueue<>(queueCapacity);
+            running = true;
+            writerThread.submit(this::writeQueuedRecords);
+        }
+    }
+
+    /**
+     * Stops writer thread and writes the rest of queued records before application is stopped
+     *
+     * @param event context closed event
+     */
+    @EventListener
+    public void onApplicationStopped(ContextClosedEvent event) throws InterruptedException {
+        if (!started.get()) {
+            return;
+        }
+        // the batch which is being written is completed, not interrupted
+        running = false;
+        writerThread.shutdown();
+        writerThread.awaitTermination(5, TimeUnit.SECONDS);
+        List<History> histories = new ArrayList<>();
+        queue.drainTo(histories);
+        while (!histories.isEmpty()) {
+            List<History> batch = histories.subList(0, Math.min(batchSize, histories.size()));
+            insert(new ArrayList<>(batch));
+            batch.clear();
+        }
+    }
+
+    /**
+     * Writes single history record
+     *
+     * @param history new history record
+     */
+    public void write(History history) {
+        write(Collections.singletonList(history));
+    }
+
+    /**
+     * Writes history records after the current transaction is committed, asynchronously
+     * if async mode is enabled and writer is started. Records of rolled back transaction are discarded.
+     *
+     * @param histories new history records
+     */
+    public void write(List<History> histories) {
+        if (histories.isEmpty()) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dispatch(histories);
+            return;
+        }
+        List<History> committedHistories = new ArrayList<>(histories);
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                dispatch(committedHistories);
+            }
+        });
+    }
+
+    /**
+     * Puts records into the queue, or inserts them if writer isn't started or the queue stays full
+     */
+    private void dispatch(List<History> histories) {
+        if (!started.get()) {
+            insert(histories);
+            return;
+        }
+        List<History> overflow = new ArrayList<>();
+        for (History history : histories) {
+            if (!enqueue(history)) {
+                overflow.add(history);
+            }
+        }
+        if (!overflow.isEmpty()) {
+            overflowWrites.addAndGet(overflow.size());
+            insert(overflow);
+        }
+    }
+
+    /**
+     * Returns statistics of history writer
+     *
+     * @return map with queue depth and amounts of written, delayed and lost records
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("async", started.get());
+        statistics.put("queueDepth", started.get() ? queue.size() : 0);
+        statistics.put("queueCapacity", queueCapacity);
+        statistics.put("writtenRecords", writtenRecords.get());
+        statistics.put("writtenBatches", writtenBatches.get());
+        statistics.put("backpressureWaits", backpressureWaits.get());
+        statistics.put("overflowWrites", overflowWrites.get());
+        statistics.put("droppedRecords", droppedRecords.get());
+        return statistics;
+    }
+
+    private boolean enqueue(History history) {
+        if (queue.offer(history)) {
+            return true;
+        }
+        backpressureWaits.incrementAndGet();
+        try {
+            return queue.offer(history, offerTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    /**
+     * Writer loop: waits for queued records and inserts them by batches until writer is stopped
+     */
+    private void writeQueuedRecords() {
+        List<History> batch = new ArrayList<>();
+        while (running) {
+            try {
+                History history = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (history == null) {
+                    continue;
+                }
+                batch.add(history);
+                queue.drainTo(batch, batchSize - 1);
+                insert(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    /**
+     * Inserts records in their own transaction: after commit the caller's connection is still bound
+     * to the thread, but whatever is written through it is not committed anymore
+     */
+    private void insert(List<History> histories) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        try {
+            transactionTemplate.execute(status -> {
+                historyRepository.insertInBatch(histories);
+                return null;
+            });
+            writtenRecords.addAndGet(histories.size());
+            writtenBatches.incrementAndGet();
+        } catch (RuntimeException e) {
+            droppedRecords.addAndGet(histories.size());
+            LOGGER.error("Unable to write " + histories.size() + " history records", e);
+        }
+    }
+}
@@ -0,0 +1,249 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueBulkResultDto;
+import com.softserverinc.edu.entities.Label;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.IssueBulkAction;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.IssueLabelRepository;
+import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository.IssueState;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
+import com.softserverinc.edu.services.securityServices.IssueSecurityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Applies one change (status, assignee, release or label) to many issues in one transaction.
+ * Rows of the issues are locked and read by one query. The change is validated against the cached
+ * workflow, or against users loaded once per distinct project, instead of running queries per issue.
+ * Then it is written by one statement or JDBC batch together with release progress and history records.
+ */
+@Service
+public class IssueBulkService {
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private IssueLabelRepository issueLabelRepository;
+
+    @Autowired
+    private IssueWorkflowService issueWorkflowService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private ProjectReleaseService projectReleaseService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private HistoryService historyService;
+
+    @Autowired
+    private ReleaseProgressService releaseProgressService;
+
+    @Autowired
+    private IssueSecurityService issueSecurityService;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${issue.bulk.maxIssues}")
+    private int maxIssues;
+
+    /**
+     * Applies change to issues. Issues which user can't edit, which don't exist or for which
+     * the change isn't valid are rejected, the others are changed.
+     * Read committed isolation lets the issues be read after their rows are locked with changes
+     * committed by others.
+     *
+     * @param issueIds  ids of issues
+     * @param action    what's changed
+     * @param inputData new status, id of assignee, id of release or id of label
+     * @return ids of updated, unchanged and rejected issues
+     * @throws IllegalArgumentException if there are too many issues or input data doesn't exist
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public IssueBulkResultDto applyChange(List<Long> issueIds, IssueBulkAction action, String inputData) {
+        Set<Long> ids = new LinkedHashSet<>(issueIds);
+        if (ids.size() > maxIssues) {
+            throw new IllegalArgumentException("At most " + maxIssues + " issues can be changed at once");
+        }
+        IssueBulkResultDto result = new IssueBulkResultDto();
+        Map<Long, IssueState> previousStates = releaseProgressService.getIssueStates(ids);
+        List<Issue> issues = new ArrayList<>();
+        for (Issue issue : issueRepository.findWithRelationsByIds(previousStates.keySet())) {
+            if (issueSecurityService.hasPermissionToEditIssuesOfProject(issue.getProject())) {
+                issues.add(issue);
+            } else {
+                result.getRejectedIssueIds().add(issue.getId());
+            }
+        }
+        for (Long id : ids) {
+            if (!previousStates.containsKey(id)) {
+                result.getRejectedIssueIds().add(id);
+            }
+        }
+        switch (action) {
+            case CHANGE_STATUS:
+                changeStatus(issues, IssueStatus.valueOf(inputData), previousStates, result);
+                break;
+            case CHANGE_ASSIGNEE:
+                changeAssignee(issues, userService.findOne(Long.valueOf(inputData)), result);
+                break;
+            case CHANGE_RELEASE:
+                changeRelease(issues, projectReleaseService.findById(Long.valueOf(inputData)), previousStates,
+                        result);
+                break;
+            case ADD_LABEL:
+            case REMOVE_LABEL:
+                changeLabel(issues, labelService.findOne(Long.valueOf(inputData)), action, result);
+                break;
+        }
+        for (Long id : result.getUpdatedIssueIds()) {
+            eventPublisher.publishEvent(SearchIndexEvent.saved(Issue.class, id));
+        }
+        return result;
+    }
+
+    private void changeStatus(List<Issue> issues, IssueStatus status, Map<Long, IssueState> previousStates,
+                              IssueBulkResultDto result) {
+        List<Issue> changedIssues = new ArrayList<>();
+        for (Issue issue : issues) {
+            if (issue.getStatus() == status) {
+                result.getUnchangedIssueIds().add(issue.getId());
+            } else if (issueWorkflowService.getWorkflow(issue.getProject())
+                    .isTransitionAllowed(issue.getStatus(), status)) {
+                changedIssues.add(issue);
+                result.getUpdatedIssueIds().add(issue.getId());
+            } else {
+                result.getRejectedIssueIds().add(issue.getId());
+            }
+        }
+        if (changedIssues.isEmpty()) {
+            return;
+        }
+        issueRepository.updateStatusOfIssues(result.getUpdatedIssueIds(), status);
+        Map<Long, IssueState> currentStates = new HashMap<>();
+        for (Long id : result.getUpdatedIssueIds()) {
+            IssueState state = previousStates.get(id);
+            currentStates.put(id, new IssueState(state.getReleaseId(), status, state.getEstimateTime(),
+                    state.getSpentTime()));
+        }
+        releaseProgressService.updateProgressOfIssues(previousStates, withUnchanged(previousStates, currentStates));
+        historyService.writeToHistory(changedIssues, issueSecurityService.getActiveUser(), status, null);
+    }
+
+    private void changeAssignee(List<Issue> issues, User assignee, IssueBulkResultDto result) {
+        if (assignee == null) {
+            throw new IllegalArgumentException("There is no such user");
+        }
+        // ids of members are read once per project, not per issue
+        Map<Long, long[]> projectUserIds = new HashMap<>();
+        List<Issue> changedIssues = new ArrayList<>();
+        for (Issue issue : issues) {
+            if (assignee.equals(issue.getAssignee())) {
+                result.getUnchangedIssueIds().add(issue.getId());
+            } else if (Arrays.binarySearch(projectUserIds.computeIfAbsent(issue.getProject().getId(),
+                    userService::getActiveUserIdsOfProject), assignee.getId()) >= 0) {
+                changedIssues.add(issue);
+                result.getUpdatedIssueIds().add(issue.getId());
+            } else {
+                result.getRejectedIssueIds().add(issue.getId());
+            }
+        }
+        if (changedIssues.isEmpty()) {
+            return;
+        }
+        issueRepository.updateAssigneeOfIssues(result.getUpdatedIssueIds(), assignee);
+        historyService.writeToHistory(changedIssues, issueSecurityService.getActiveUser(), null, assignee);
+    }
+
+    private void changeRelease(List<Issue> issues, ProjectRelease release, Map<Long, IssueState> previousStates,
+                               IssueBulkResultDto result) {
+        if (release == null) {
+            throw new IllegalArgumentException("There is no such release");
+        }
+        for (Issue issue : issues) {
+            if (release.equals(issue.getProjectRelease())) {
+                result.getUnchangedIssueIds().add(issue.getId());
+            } else if (release.getProject().equals(issue.getProject())) {
+                result.getUpdatedIssueIds().add(issue.getId());
+            } else {
+                result.getRejectedIssueIds().add(issue.getId());
+            }
+        }
+        if (result.getUpdatedIssueIds().isEmpty()) {
+            return;
+        }
+        issueRepository.updateReleaseOfIssues(result.getUpdatedIssueIds(), release);
+        Map<Long, IssueState> currentStates = new HashMap<>();
+        for (Long id : result.getUpdatedIssueIds()) {
+            IssueState state = previousStates.get(id);
+            currentStates.put(id, new IssueState(release.getId(), state.getStatus(), state.getEstimateTime(),
+                    state.getSpentTime()));
+        }
+        releaseProgressService.updateProgressOfIssues(previousStates, withUnchanged(previousStates, currentStates));
+    }
+
+    private void changeLabel(List<Issue> issues, Label label, IssueBulkAction action, IssueBulkResultDto result) {
+        if (label == null) {
+            throw new IllegalArgumentException("There is no such label");
+        }
+        if (issues.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>();
+        for (Issue issue : issues) {
+            ids.add(issue.getId());
+        }
+        Set<Long> labeledIds = issueLabelRepository.findIssueIdsWithLabel(label.getId(), ids);
+        boolean add = action == IssueBulkAction.ADD_LABEL;
+        for (Long id : ids) {
+            // issues which already have the label, or don't have it, aren't changed and keep their version
+            if (labeledIds.contains(id) != add) {
+                result.getUpdatedIssueIds().add(id);
+            } else {
+                result.getUnchangedIssueIds().add(id);
+            }
+        }
+        if (result.getUpdatedIssueIds().isEmpty()) {
+            return;
+        }
+        issueRepository.incrementVersionOfIssues(result.getUpdatedIssueIds());
+        if (add) {
+            issueLabelRepository.addLabel(label.getId(), result.getUpdatedIssueIds());
+        } else {
+            issueLabelRepository.removeLabel(label.getId(), result.getUpdatedIssueIds());
+        }
+    }
+
+    /**
+     * Completes current states with states of issues which weren't changed,
+     * so only changed issues are moved in release progress
+     */
+    private Map<Long, IssueState> withUnchanged(Map<Long, IssueState> previousStates,
+                                                Map<Long, IssueState> changedStates) {
+        Map<Long, IssueState> currentStates = new HashMap<>(previousStates);
+        currentStates.putAll(changedStates);
+        return currentStates;
+    }
+}
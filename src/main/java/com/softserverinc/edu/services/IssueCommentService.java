@@ -4,8 +4,10 @@ import com.softserverinc.edu.constants.PageConstant;
 import com.softserverinc.edu.entities.Issue;
 import com.softserverinc.edu.entities.IssueComment;
 import com.softserverinc.edu.repositories.IssueCommentRepository;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
 import com.softserverinc.edu.services.securityServices.BasicSecurityService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -30,6 +32,9 @@ public class IssueCommentService {
     @Autowired
     private IssueCommentRepository issueCommentRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     /**
      * Find issueComment entry by id
      *
@@ -51,23 +56,36 @@ public class IssueCommentService {
     }
 
     /**
-     * Save issueComment entry
+     * Save issueComment entry, the comment is indexed for search after the transaction is committed
      * @param issueComment IssueComment instance
      * @return saved IssueComment instance
      */
     @Transactional
     public IssueComment save(IssueComment issueComment) {
-        return issueCommentRepository.saveAndFlush(issueComment);
+        IssueComment savedIssueComment = issueCommentRepository.saveAndFlush(issueComment);
+        eventPublisher.publishEvent(SearchIndexEvent.saved(IssueComment.class, savedIssueComment.getId()));
+        return savedIssueComment;
     }
 
     /**
-     * Remove issueComment entry by specified id
+     * Remove issueComment entry by specified id, it is removed from the search index as well
      *
      * @param id issueComment entry's id
      */
     @Transactional
     public void delete(Long id) {
         issueCommentRepository.delete(id);
+        eventPublisher.publishEvent(SearchIndexEvent.removed(IssueComment.class, id));
+    }
+
+    /**
+     * Find issueComment entries of issue together with their authors by one query, oldest first
+     *
+     * @param issue issue instance
+     * @return List of issueComment entries with specified issue or empty list if there is no such entries
+     */
+    public List<IssueComment> findWithUsersByIssue(Issue issue) {
+        return issueCommentRepository.findWithUsersByIssue(issue);
     }
 
     /**
@@ -107,12 +125,12 @@ public class IssueCommentService {
     /**
      * Prepare IssueComment instance ready to be used in form
      *
-     * @param issueId issue's id
+     * @param issue current issue
      * @return IssueComment instance with specified issue, user and isEdited fields
      */
-    public IssueComment getNewIssueComment(Long issueId) {
+    public IssueComment getNewIssueComment(Issue issue) {
         IssueComment issueComment = new IssueComment();
-        issueComment.setIssue(issueService.findById(issueId));
+        issueComment.setIssue(issue);
         issueComment.setIsEdited(false);
         if (basicSecurityService.isAuthenticated()){
             issueComment.setUser(userService.findOne(basicSecurityService.getActiveUser().getId()));
@@ -0,0 +1,19 @@
+package com.softserverinc.edu.services;
+
+/**
+ * Thrown when issue change is based on stale state: the issue (or the changed field)
+ * was changed by another user after the change had been started
+ */
+public class IssueConflictException extends RuntimeException {
+
+    private final Long issueId;
+
+    public IssueConflictException(Long issueId) {
+        super("Issue " + issueId + " was changed by another user");
+        this.issueId = issueId;
+    }
+
+    public Long getIssueId() {
+        return issueId;
+    }
+}
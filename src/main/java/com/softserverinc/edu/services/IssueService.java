@@ -1,26 +1,33 @@
 package com.softserverinc.edu.services;
 
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueListDto;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
 import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.enums.HistoryAction;
 import com.softserverinc.edu.entities.enums.IssueStatus;
-import com.softserverinc.edu.entities.enums.UserRole;
 import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.repositories.KeysetPage;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository.IssueState;
+import com.softserverinc.edu.repositories.SeekCursor;
 import com.softserverinc.edu.services.securityServices.BasicSecurityService;
-import com.softserverinc.edu.services.securityServices.IssueSecurityService;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.security.Principal;
-import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 /**
  * Contain methods for working with issue database table and auxiliary methods
@@ -44,95 +51,180 @@ public class IssueService {
     private BasicSecurityService basicSecurityService;
 
     @Autowired
-    private IssueSecurityService issueSecurityService;
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ReleaseProgressService releaseProgressService;
+
+    @Autowired
+    private IssueWorkflowService issueWorkflowService;
 
     public Issue findById(Long id) {
         return issueRepository.findOne(id);
     }
 
     /**
-     * Saves issue changes, that come from ajax, into database.
+     * Loads issue for the issue page together with its project, release, assignee, creator
+     * and labels by one query (see {@link Issue#VIEW_GRAPH})
+     *
+     * @param id the id of issue
+     * @return issue or null if there is no issue with such id
+     */
+    public Issue findViewById(Long id) {
+        return issueRepository.findViewById(id);
+    }
+
+    /**
+     * Loads all issues with specified ids by one query.
+     *
+     * @param ids the ids of issues, must not contain null
+     * @return map of found issues by their ids
+     */
+    public Map<Long, Issue> findIssuesByIds(Collection<Long> ids) {
+        Map<Long, Issue> result = new HashMap<>();
+        for (Issue issue : issueRepository.findAll(ids)) {
+            result.put(issue.getId(), issue);
+        }
+        return result;
+    }
+
+    /**
+     * Saves issue change, that comes from ajax, into database.
+     * Only the changed field is written, by conditional update which succeeds only if the field still has
+     * the value which the user saw (previousData). So concurrent changes of different fields of the issue
+     * are both applied without locks, and change of a field which was changed by somebody else meanwhile
+     * is rejected instead of overwriting it. Read committed isolation lets the field be read again
+     * after failed update, so the same change made by somebody else isn't reported as conflict.
      * Before that checks if input data is valid (for this it invokes
      * {@see #isIssueInputDataValid(Issue issue, String inputData, HistoryAction action)}).
      * Writes changes to the history.
      *
-     * @param issueId   Represents id of current issue
-     * @param inputData Represents changed data (updated status, assignee etc.)
-     * @param action    Represents action (what's changed)
+     * @param issueId      Represents id of current issue
+     * @param inputData    Represents changed data (updated status, assignee etc.)
+     * @param action       Represents action (what's changed)
+     * @param previousData Represents value of the field which the change is based on, null to use current value
+     * @throws IssueConflictException if the field was changed by another user
      */
-    public void saveIssueChangesFromAjax(Long issueId, String inputData, String action) {
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void saveIssueChangesFromAjax(Long issueId, String inputData, String action, String previousData) {
         Issue issue = findById(issueId);
         HistoryAction historyAction = HistoryAction.valueOf(action);
-        User changedByUser = basicSecurityService.getActiveUser();
-        if (isIssueInputDataValid(issue, inputData, historyAction)) {
-            historyService.writeToHistory(issue, changedByUser, inputData, historyAction);
-            save(issue);
+        String currentData = getFieldValue(issue, historyAction);
+        if (previousData != null && !previousData.equals(currentData)) {
+            if (inputData.equals(currentData)) {
+                // the same change is already made by somebody else
+                return;
+            }
+            throw new IssueConflictException(issueId);
+        }
+        if (!isIssueInputDataValid(issue, inputData, historyAction)) {
+            return;
+        }
+        IssueStatus previousStatus = issue.getStatus();
+        if (!updateField(issue, inputData, historyAction)) {
+            // the field was changed after it had been read, it's read again with committed changes
+            if (inputData.equals(getFieldValue(findById(issueId), historyAction))) {
+                return;
+            }
+            throw new IssueConflictException(issueId);
+        }
+        if (historyAction == HistoryAction.CHANGE_ISSUE_STATUS) {
+            IssueState state = releaseProgressService.getIssueState(issueId);
+            releaseProgressService.updateProgress(new IssueState(state.getReleaseId(), previousStatus,
+                    state.getEstimateTime(), state.getSpentTime()), state);
         }
+        historyService.writeToHistory(issue, basicSecurityService.getActiveUser(), inputData, historyAction);
+        eventPublisher.publishEvent(SearchIndexEvent.saved(Issue.class, issueId));
     }
 
     /**
-     * Returns all available issue statuses for selected status
+     * Returns all statuses which issue may be moved to from its status by workflow of its project
      *
-     * @param status current issue status
-     * @return list of issue statuses
+     * @param issue current issue
+     * @return unmodifiable set of issue statuses
      */
-    public List<IssueStatus> getAvailableStatusesForStatus(IssueStatus status) {
-        List<IssueStatus> result = new ArrayList<>();
-        switch (status) {
-            case OPEN:
-                result.add(IssueStatus.IN_PROGRESS);
-                result.add(IssueStatus.INVALID);
-                return result;
-            case IN_PROGRESS:
-                result.add(IssueStatus.OPEN);
-                result.add(IssueStatus.QA_VALIDATION);
-                result.add(IssueStatus.INVALID);
-                return result;
-            case INVALID:
-                result.add(IssueStatus.OPEN);
-                return result;
-            case QA_VALIDATION:
-                result.add(IssueStatus.OPEN);
-                result.add(IssueStatus.RESOLVED);
-                return result;
-            case RESOLVED:
-                result.add(IssueStatus.OPEN);
-                result.add(IssueStatus.INVALID);
-                return result;
-            default:
-                return result;
-        }
+    public Set<IssueStatus> getAvailableStatuses(Issue issue) {
+        return issueWorkflowService.getWorkflow(issue.getProject()).getAvailableStatuses(issue.getStatus());
     }
 
     /**
-     * Returns statuses from {@see #getAvailableStatusesForStatus(IssueStatus status)}
-     * and wrap them into map (it's simpler for JSon parsing)
+     * Returns statuses which issue may be moved to from selected status together with their names
+     * (it's simpler for JSon parsing). Maps are computed once per workflow, so nothing is allocated here.
      *
      * @param selectedStatus represents selected status
+     * @param issueId        id of issue, statuses of the default workflow are returned if it's null
      * @return Map with issue statuses and their string representation
      */
-    public Map<IssueStatus, String> getMapOfIssueStatuses(String selectedStatus) {
-        Map<IssueStatus, String> result = new HashMap<>();
-        for (IssueStatus status : getAvailableStatusesForStatus(IssueStatus.valueOf(selectedStatus))) {
-            result.put(status, status.toString());
-        }
-        return result;
+    public Map<IssueStatus, String> getMapOfIssueStatuses(String selectedStatus, Long issueId) {
+        Long projectId = issueId == null ? null : issueRepository.findProjectIdById(issueId);
+        return issueWorkflowService.getWorkflow(projectId).getAvailableStatusNames(IssueStatus.valueOf(selectedStatus));
     }
 
     /**
-     * Saves issue changes and write them to the history.
+     * Saves issue changes and write them to the history in one transaction.
+     * Changed issue must have version which it had when the form was opened. History is written
+     * after the transaction is committed, so it isn't written if saving fails on the version check.
      *
      * @param issue represents the current issue
+     * @throws IssueConflictException if the issue was changed by another user after the form had been opened
+     *                                or the changed issue has no version
+     * @throws org.springframework.dao.OptimisticLockingFailureException if the issue was changed by another user
+     *                                                                   while it was being saved
      */
+    @Transactional
     public void saveIssueChanges(Issue issue) {
         User changedByUser = basicSecurityService.getActiveUser();
         if (issueService.isNewIssue(issue)) {
             issue.setCreatedBy(changedByUser);
+        } else {
+            // issue without version can't be checked, so it isn't saved over the current one;
+            // stale form fails fast here, saving checks the version once more
+            Long currentVersion = issueRepository.findVersionById(issue.getId());
+            if (issue.getVersion() == null || !issue.getVersion().equals(currentVersion)) {
+                throw new IssueConflictException(issue.getId());
+            }
         }
         historyService.writeToHistory(issue, changedByUser);
         save(issue);
     }
 
+    /**
+     * Returns value of the field which is changed by action, as it's sent from release page
+     *
+     * @param issue  current issue
+     * @param action represents action (what's changed)
+     * @return id of assignee or name of status
+     */
+    private String getFieldValue(Issue issue, HistoryAction action) {
+        switch (action) {
+            case CHANGE_ISSUE_ASSIGNEE:
+                return String.valueOf(issue.getAssignee().getId());
+            case CHANGE_ISSUE_STATUS:
+                return issue.getStatus().name();
+        }
+        return null;
+    }
+
+    /**
+     * Writes the changed field only, if it still has value of loaded issue
+     *
+     * @param issue     current issue, it's detached after the update
+     * @param inputData represents changed data
+     * @param action    represents action (what's changed)
+     * @return true if the field was changed, false if it was changed by somebody else meanwhile
+     */
+    private boolean updateField(Issue issue, String inputData, HistoryAction action) {
+        switch (action) {
+            case CHANGE_ISSUE_ASSIGNEE:
+                return issueRepository.updateAssignee(issue.getId(), issue.getAssignee(),
+                        userService.findOne(Long.valueOf(inputData))) == 1;
+            case CHANGE_ISSUE_STATUS:
+                return issueRepository.updateStatus(issue.getId(), issue.getStatus(),
+                        IssueStatus.valueOf(inputData)) == 1;
+        }
+        return false;
+    }
+
     /**
      * Checks if input data is valid for selected issue.
      * For this it invokes more specific methods.
@@ -153,43 +245,28 @@ public class IssueService {
     }
 
     /**
-     * Checks if changed status is valid for current issue.
-     * Invokes {@see #getAvailableStatusesForStatus(IssueStatus status)}
-     * and compare input status with available statuses for it.
+     * Checks if changed status is valid for current issue by workflow of its project
      *
      * @param issue         current issue
      * @param updatedStatus selected status
      * @return true if status is valid, false otherwise
      */
     private boolean isStatusValidForIssue(Issue issue, IssueStatus updatedStatus) {
-        IssueStatus previousStatus = issue.getStatus();
-        List<IssueStatus> availableStatuses = getAvailableStatusesForStatus(previousStatus);
-        for (IssueStatus status : availableStatuses) {
-            if (updatedStatus.equals(status)) {
-                return true;
-            }
-        }
-        return false;
+        return issueWorkflowService.getWorkflow(issue.getProject()).isTransitionAllowed(issue.getStatus(),
+                updatedStatus);
     }
 
     /**
-     * Checks if changed assignee is valid for current issue.
-     * Invokes {@see com.softserverinc.edu.services.UserService#findUsersForRelease(ProjectRelease release)}
-     * and compare input assignee with available users on release.
+     * Checks if changed assignee is valid for current issue, i.e. is active member of issue's project.
+     * Invokes {@see com.softserverinc.edu.services.UserService#isActiveUserOfProject(Long, Long)},
+     * so neither the user nor other members of project are loaded.
      *
      * @param issue  current issue
      * @param userId represents id of selected user
      * @return true, if the user is valid, false otherwise
      */
     private boolean isUserValidForIssue(Issue issue, Long userId) {
-        User updatedUser = userService.findOne(userId);
-        List<User> availableUsers = userService.findUsersForRelease(issue.getProjectRelease());
-        for (User user : availableUsers) {
-            if (updatedUser.equals(user)) {
-                return true;
-            }
-        }
-        return false;
+        return userService.isActiveUserOfProject(userId, issue.getProject().getId());
     }
 
     /**
@@ -237,19 +314,31 @@ public class IssueService {
         return issueRepository.findAll();
     }
 
+    /**
+     * Saves issue and moves it in progress of its release in the same transaction
+     *
+     * @param issue new or changed issue
+     * @return saved issue
+     */
     @Transactional
     public Issue save(Issue issue) {
-        return issueRepository.saveAndFlush(issue);
+        IssueState previousState = releaseProgressService.getIssueState(issue.getId());
+        Issue savedIssue = issueRepository.saveAndFlush(issue);
+        releaseProgressService.updateProgress(previousState, releaseProgressService.getIssueState(issue.getId()));
+        eventPublisher.publishEvent(SearchIndexEvent.saved(Issue.class, issue.getId()));
+        return savedIssue;
     }
 
     @Transactional
     public void delete(Long id) {
+        releaseProgressService.updateProgress(releaseProgressService.getIssueState(id), null);
         issueRepository.delete(id);
+        eventPublisher.publishEvent(SearchIndexEvent.removed(Issue.class, id));
     }
 
     @Transactional
     public Issue update(Issue issue) {
-        return issueRepository.saveAndFlush(issue);
+        return save(issue);
     }
 
     public Page<Issue> findByTitleContaining(String title, Pageable pageable) {
@@ -260,6 +349,22 @@ public class IssueService {
         return issueRepository.findAll(pageable);
     }
 
+    /**
+     * Returns page of all issues, newest first, by keyset pagination (without count query)
+     *
+     * @param cursorToken token of the page cursor, null for the first page
+     * @param size        amount of issues on the page
+     * @return page of issues with cursors of the next and previous pages
+     */
+    public KeysetPage<Issue> findAll(String cursorToken, int size) {
+        SeekCursor cursor = SeekCursor.decode(cursorToken);
+        Pageable limit = new PageRequest(0, size + 1);
+        List<Issue> issues = cursor.isBackward()
+                ? issueRepository.findPageBefore(cursor.getCreateTime(), cursor.getId(), limit)
+                : issueRepository.findPageAfter(cursor.getCreateTime(), cursor.getId(), limit);
+        return KeysetPage.of(issues, cursor, size, Issue::getCreateTime, Issue::getId);
+    }
+
     @Transactional
     public Page<Issue> findByProject(Project project, Pageable pageable) {
         return issueRepository.findByProject(project, pageable);
@@ -269,14 +374,70 @@ public class IssueService {
         return issueRepository.findByAssignee((userService.findByEmailIs(principal.getName())), pageable);
     }
 
-    public List<User> checkAuthentication() {
-        if (!issueSecurityService.isAuthenticated()) {
-            return userService.findByRole(UserRole.ROLE_PROJECT_MANAGER);
-        }
-        //Remove Admin from list of user
-        List<User> users = userService.findAll();
-        users.remove(userService.findOne(1L));
-        return users;
+    /**
+     * Returns current state of issue as issue list row
+     *
+     * @param id the id of issue
+     * @return issue list row or null if there is no issue with such id
+     */
+    public IssueListDto findListById(Long id) {
+        return issueRepository.findListById(id);
+    }
+
+    /**
+     * Returns page of issue list rows of release, loaded by one query without issue entities
+     *
+     * @param projectRelease Represents current release
+     * @param pageable       Represents the total number of pages in the set of issues
+     * @return Page of issue list rows
+     */
+    public Page<IssueListDto> findListForRelease(ProjectRelease projectRelease, Pageable pageable) {
+        return issueRepository.findListByProjectRelease(projectRelease, pageable);
+    }
+
+    /**
+     * Returns page of issue list rows of release with title containing searched string
+     *
+     * @param projectRelease Represents release for search
+     * @param searchedString Represents substring of title for search
+     * @param pageable       Represents the total number of pages in the set of issues
+     * @return Page of issue list rows
+     */
+    public Page<IssueListDto> findListByReleaseAndIssueTitle(ProjectRelease projectRelease, String searchedString,
+                                                             Pageable pageable) {
+        return issueRepository.findListByProjectReleaseAndTitleContaining(projectRelease, searchedString, pageable);
+    }
+
+    public Page<IssueListDto> findListByProject(Project project, Pageable pageable) {
+        return issueRepository.findListByProject(project, pageable);
+    }
+
+    public Page<IssueListDto> findListByProject(Project project, String searchedString, Pageable pageable) {
+        return issueRepository.findListByProjectAndTitleContaining(project, searchedString, pageable);
+    }
+
+    public Page<IssueListDto> findListByTitleContaining(String title, Pageable pageable) {
+        return issueRepository.findListByTitleContaining(title, pageable);
+    }
+
+    public Page<IssueListDto> findListByUser(Principal principal, Pageable pageable) {
+        return issueRepository.findListByAssignee(userService.findByEmailIs(principal.getName()), pageable);
+    }
+
+    /**
+     * Returns page of issue list rows, newest first, by keyset pagination (see {@link #findAll(String, int)})
+     *
+     * @param cursorToken token of the page cursor, null for the first page
+     * @param size        amount of issues on the page
+     * @return page of issue list rows with cursors of the next and previous pages
+     */
+    public KeysetPage<IssueListDto> findList(String cursorToken, int size) {
+        SeekCursor cursor = SeekCursor.decode(cursorToken);
+        Pageable limit = new PageRequest(0, size + 1);
+        List<IssueListDto> issues = cursor.isBackward()
+                ? issueRepository.findListPageBefore(cursor.getCreateTime(), cursor.getId(), limit)
+                : issueRepository.findListPageAfter(cursor.getCreateTime(), cursor.getId(), limit);
+        return KeysetPage.of(issues, cursor, size, IssueListDto::getCreateTime, IssueListDto::getId);
     }
 
 }
@@ -0,0 +1,102 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.IssueWorkflow;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.repositories.IssueWorkflowRepository;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Provides issue status workflows of projects. Workflow of project is read from database once
+ * and kept in "issueWorkflows" cache region, which size and time to live are configured in ehcache.xml.
+ * Projects without their own workflow use {@link IssueWorkflow#DEFAULT}.
+ */
+@Service
+public class IssueWorkflowService {
+
+    private static final String CACHE_NAME = "issueWorkflows";
+
+    @Autowired
+    private IssueWorkflowRepository issueWorkflowRepository;
+
+    /**
+     * Returns workflow of project from cache or database
+     *
+     * @param project project of issue
+     * @return workflow of project, default workflow if project is new or hasn't configured its own one
+     */
+    public IssueWorkflow getWorkflow(Project project) {
+        return getWorkflow(project == null ? null : project.getId());
+    }
+
+    /**
+     * Returns workflow of project from cache or database
+     *
+     * @param projectId id of project
+     * @return workflow of project, default workflow if id is null or project hasn't configured its own one
+     */
+    public IssueWorkflow getWorkflow(Long projectId) {
+        if (projectId == null) {
+            return IssueWorkflow.DEFAULT;
+        }
+        Element element = getCache().get(projectId);
+        if (element != null) {
+            return (IssueWorkflow) element.getObjectValue();
+        }
+        IssueWorkflow workflow = issueWorkflowRepository.findWorkflow(projectId);
+        if (workflow == null) {
+            workflow = IssueWorkflow.DEFAULT;
+        }
+        getCache().put(new Element(projectId, workflow));
+        return workflow;
+    }
+
+    /**
+     * Replaces workflow of project
+     *
+     * @param project  project
+     * @param workflow new workflow
+     */
+    @Transactional
+    public void saveWorkflow(Project project, IssueWorkflow workflow) {
+        issueWorkflowRepository.saveWorkflow(project.getId(), workflow);
+        evict(project.getId());
+    }
+
+    /**
+     * Removes workflow of project, so it uses the default one again
+     *
+     * @param project project
+     */
+    @Transactional
+    public void resetWorkflow(Project project) {
+        issueWorkflowRepository.deleteWorkflow(project.getId());
+        evict(project.getId());
+    }
+
+    /**
+     * Removes workflow from cache now and once more after transaction is committed,
+     * so concurrent reading can't put old workflow back into cache
+     */
+    private void evict(Long projectId) {
+        getCache().remove(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    getCache().remove(projectId);
+                }
+            });
+        }
+    }
+
+    private Cache getCache() {
+        return CacheManager.create().getCache(CACHE_NAME);
+    }
+}
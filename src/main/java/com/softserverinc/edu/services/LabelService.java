@@ -3,6 +3,7 @@ package com.softserverinc.edu.services;
 import com.softserverinc.edu.entities.Issue;
 import com.softserverinc.edu.entities.Label;
 import com.softserverinc.edu.repositories.LabelRepository;
+import com.softserverinc.edu.services.searchServices.AutocompleteService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,6 +16,9 @@ public class LabelService {
     @Autowired
     private LabelRepository labelRepository;
 
+    @Autowired
+    private AutocompleteService autocompleteService;
+
     public Label findOne(Long id) {
         return labelRepository.findOne(id);
     }
@@ -31,17 +35,20 @@ public class LabelService {
 
     @Transactional
     public Label save(Label label) {
-        return labelRepository.saveAndFlush(label);
+        Label savedLabel = labelRepository.saveAndFlush(label);
+        autocompleteService.labelChanged(savedLabel);
+        return savedLabel;
     }
 
     @Transactional
     public void delete(Long id) {
         labelRepository.delete(id);
+        autocompleteService.labelRemoved(id);
     }
 
     @Transactional
     public Label update(Label label) {
-        return labelRepository.saveAndFlush(label);
+        return save(label);
     }
 
 
@@ -4,7 +4,9 @@ import com.softserverinc.edu.entities.Issue;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
 import com.softserverinc.edu.repositories.ProjectReleaseRepository;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -18,6 +20,9 @@ public class ProjectReleaseService {
     @Autowired
     private ProjectReleaseRepository projectReleaseRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public ProjectRelease findById(Long id) {
         return projectReleaseRepository.findOne(id);
     }
@@ -53,17 +58,28 @@ public class ProjectReleaseService {
 
     @Transactional
     public ProjectRelease save(ProjectRelease projectRelease) {
-        return projectReleaseRepository.saveAndFlush(projectRelease);
+        ProjectRelease savedRelease = projectReleaseRepository.saveAndFlush(projectRelease);
+        eventPublisher.publishEvent(SearchIndexEvent.saved(ProjectRelease.class, projectRelease.getId()));
+        return savedRelease;
     }
 
+    /**
+     * Remove release from database, release and its issues are removed from the search index as well
+     *
+     * @param id the id of release
+     */
     @Transactional
     public void delete(Long id) {
+        for (Issue issue : projectReleaseRepository.findOne(id).getIssues()) {
+            eventPublisher.publishEvent(SearchIndexEvent.removed(Issue.class, issue.getId()));
+        }
         projectReleaseRepository.delete(id);
+        eventPublisher.publishEvent(SearchIndexEvent.removed(ProjectRelease.class, id));
     }
 
     @Transactional
     public ProjectRelease update(ProjectRelease projectRelease) {
-        return projectReleaseRepository.saveAndFlush(projectRelease);
+        return save(projectRelease);
     }
 
 }
@@ -1,11 +1,15 @@
 package com.softserverinc.edu.services;
 
+import com.softserverinc.edu.entities.Issue;
 import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectListDto;
 import com.softserverinc.edu.entities.ProjectRelease;
 import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.enums.UserRole;
 import com.softserverinc.edu.repositories.ProjectRepository;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -22,6 +26,9 @@ public class ProjectService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public Project findById(Long id) {
         return projectRepository.findOne(id);
     }
@@ -42,22 +49,48 @@ public class ProjectService {
         return projectRepository.findAll(pageable);
     }
 
+    /**
+     * Returns page of project list rows with amounts of issues, releases and users,
+     * loaded by one query without project entities and their collections
+     *
+     * @param pageable page request
+     * @return page of project list rows
+     */
+    public Page<ProjectListDto> findList(Pageable pageable) {
+        return projectRepository.findList(pageable);
+    }
+
+    public Page<ProjectListDto> findListByTitle(String title, Pageable pageable) {
+        return projectRepository.findListByTitleContaining(title, pageable);
+    }
+
     @Transactional
     public Project save(Project project) {
-        return projectRepository.save(project);
+        Project savedProject = projectRepository.save(project);
+        eventPublisher.publishEvent(SearchIndexEvent.saved(Project.class, project.getId()));
+        return savedProject;
     }
 
     /**
      * Remove project from database and remove users from project by invoking
-     * {@link com.softserverinc.edu.services.UserService#userManagementInProject(User, Project, UserRole)}
+     * {@link com.softserverinc.edu.services.UserService#userManagementInProject(User, Project, UserRole)}.
+     * Releases and issues of the project are removed from the search index together with it.
      *
      * @param projectId the id of project
      */
     @Transactional
     public void delete(Long projectId) {
-        for(User user: projectRepository.findOne(projectId).getUsers()){
+        Project project = projectRepository.findOne(projectId);
+        for(User user: project.getUsers()){
             userService.userManagementInProject(user, null, UserRole.ROLE_USER);
         }
+        for (ProjectRelease release : project.getProjectReleases()) {
+            eventPublisher.publishEvent(SearchIndexEvent.removed(ProjectRelease.class, release.getId()));
+        }
+        for (Issue issue : project.getIssues()) {
+            eventPublisher.publishEvent(SearchIndexEvent.removed(Issue.class, issue.getId()));
+        }
         projectRepository.delete(projectId);
+        eventPublisher.publishEvent(SearchIndexEvent.removed(Project.class, projectId));
     }
 }
\ No newline at end of file
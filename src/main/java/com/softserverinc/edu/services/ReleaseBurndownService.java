@@ -0,0 +1,169 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.BurndownPointDto;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.ReleaseBurndownRepository;
+import com.softserverinc.edu.repositories.ReleaseBurndownRepository.IssueRecord;
+import com.softserverinc.edu.repositories.ReleaseBurndownRepository.StatusChange;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps burndown series of releases: one point per release and day with amount of not closed
+ * issues, their remaining estimate and spent time.
+ * Points are written every day from the release progress rollup, past days are reconstructed
+ * by replaying status changes from history and logged time, so showing burndown never replays history.
+ */
+@Service
+public class ReleaseBurndownService {
+
+    /**
+     * Statuses of issues which are done and don't count in remaining estimate
+     */
+    public static final Set<IssueStatus> CLOSED_STATUSES =
+            Collections.unmodifiableSet(EnumSet.of(IssueStatus.RESOLVED, IssueStatus.INVALID));
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ReleaseBurndownService.class);
+
+    @Autowired
+    private ReleaseBurndownRepository releaseBurndownRepository;
+
+    @Value("${release.burndown.defaultDays}")
+    private int defaultDays;
+
+    @Value("${release.burndown.maxBackfillDays}")
+    private int maxBackfillDays;
+
+    /**
+     * Writes today's point of every release which has issues
+     */
+    @Scheduled(cron = "${release.burndown.snapshotCron}")
+    public void takeDailySnapshot() {
+        int points = releaseBurndownRepository.snapshotProgress(LocalDate.now(), CLOSED_STATUSES);
+        LOGGER.info("Burndown snapshot is written for " + points + " releases");
+    }
+
+    /**
+     * Returns burndown of release, read by one range scan
+     *
+     * @param release release
+     * @param from    first day, by default the day which is defaultDays before the last day
+     * @param to      last day, today by default
+     * @return points ordered by day
+     */
+    public List<BurndownPointDto> getBurndown(ProjectRelease release, LocalDate from, LocalDate to) {
+        LocalDate lastDay = to == null ? LocalDate.now() : to;
+        LocalDate firstDay = from == null ? lastDay.minusDays(defaultDays) : from;
+        return releaseBurndownRepository.findPoints(release.getId(), firstDay, lastDay);
+    }
+
+    /**
+     * Reconstructs burndown of release for past days which don't have a point yet.
+     * History doesn't keep estimate and release changes, so current estimate and release
+     * of issues are used for all days. Issues with status changes are considered as created open.
+     * Such points are approximations, so they never replace daily snapshots.
+     *
+     * @param release release
+     * @param from    first day, by default the day which is defaultDays before the last day
+     * @param to      last day, today by default
+     * @return reconstructed and written points ordered by day
+     * @throws IllegalArgumentException if first day is after the last one or range is longer than maxBackfillDays
+     */
+    @Transactional
+    public List<BurndownPointDto> backfill(ProjectRelease release, LocalDate from, LocalDate to) {
+        LocalDate lastDay = to == null ? LocalDate.now() : to;
+        LocalDate firstDay = from == null ? lastDay.minusDays(defaultDays) : from;
+        if (firstDay.isAfter(lastDay)) {
+            throw new IllegalArgumentException("First day " + firstDay + " is after the last day " + lastDay);
+        }
+        if (ChronoUnit.DAYS.between(firstDay, lastDay) >= maxBackfillDays) {
+            throw new IllegalArgumentException("Burndown can be reconstructed for " + maxBackfillDays
+                    + " days at most");
+        }
+        Set<LocalDate> storedDays = new HashSet<>();
+        for (BurndownPointDto point : releaseBurndownRepository.findPoints(release.getId(), firstDay, lastDay)) {
+            storedDays.add(point.getDate());
+        }
+        List<BurndownPointDto> points = new ArrayList<>();
+        for (BurndownPointDto point : replay(release.getId(), firstDay, lastDay)) {
+            if (!storedDays.contains(point.getDate())) {
+                points.add(point);
+            }
+        }
+        releaseBurndownRepository.savePoints(release.getId(), points);
+        return points;
+    }
+
+    private List<BurndownPointDto> replay(Long releaseId, LocalDate from, LocalDate to) {
+        List<IssueRecord> issues = releaseBurndownRepository.findIssues(releaseId);
+        List<StatusChange> changes = releaseBurndownRepository.findStatusChanges(releaseId);
+        Map<LocalDate, Long> dailySpentTime = releaseBurndownRepository.findDailySpentTime(releaseId);
+        Map<Long, Long> estimates = new HashMap<>();
+        Set<Long> changedIssues = new HashSet<>();
+        for (StatusChange change : changes) {
+            changedIssues.add(change.getIssueId());
+        }
+        Map<Long, IssueStatus> statuses = new HashMap<>();
+        long openIssues = 0;
+        long remainingEstimate = 0;
+        long spentTime = 0;
+        for (Map.Entry<LocalDate, Long> logged : dailySpentTime.entrySet()) {
+            if (logged.getKey().isBefore(from)) {
+                spentTime += logged.getValue();
+            }
+        }
+        int nextIssue = 0;
+        int nextChange = 0;
+        List<BurndownPointDto> points = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDateTime endOfDay = day.plusDays(1).atStartOfDay();
+            for (; nextIssue < issues.size() && issues.get(nextIssue).getCreateTime().isBefore(endOfDay); nextIssue++) {
+                IssueRecord issue = issues.get(nextIssue);
+                IssueStatus status = changedIssues.contains(issue.getId()) ? IssueStatus.OPEN : issue.getStatus();
+                statuses.put(issue.getId(), status);
+                estimates.put(issue.getId(), issue.getEstimateTime());
+                if (!CLOSED_STATUSES.contains(status)) {
+                    openIssues++;
+                    remainingEstimate += issue.getEstimateTime();
+                }
+            }
+            for (; nextChange < changes.size() && changes.get(nextChange).getTime().isBefore(endOfDay); nextChange++) {
+                StatusChange change = changes.get(nextChange);
+                IssueStatus previousStatus = statuses.get(change.getIssueId());
+                // change recorded before creation time of issue is inconsistent and skipped
+                if (previousStatus == null) {
+                    continue;
+                }
+                statuses.put(change.getIssueId(), change.getStatus());
+                boolean wasOpen = !CLOSED_STATUSES.contains(previousStatus);
+                boolean isOpen = !CLOSED_STATUSES.contains(change.getStatus());
+                if (wasOpen != isOpen) {
+                    int sign = isOpen ? 1 : -1;
+                    openIssues += sign;
+                    remainingEstimate += sign * estimates.get(change.getIssueId());
+                }
+            }
+            spentTime += dailySpentTime.getOrDefault(day, 0L);
+            points.add(new BurndownPointDto(day, openIssues, remainingEstimate, spentTime));
+        }
+        return points;
+    }
+}
@@ -0,0 +1,115 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.ReleaseProgressDto;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository.IssueState;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Maintains progress of releases incrementally: every saved or removed issue and every
+ * logged time moves only its own totals, so progress of release is read without loading issues.
+ * Methods which change progress must be called in the transaction which changes the issue or WorkLog.
+ */
+@Service
+public class ReleaseProgressService {
+
+    @Autowired
+    private ReleaseProgressRepository releaseProgressRepository;
+
+    /**
+     * Returns state of issue stored in database
+     *
+     * @param issueId id of issue, may be null for a new issue
+     * @return state of issue, null if issue isn't stored yet
+     */
+    public IssueState getIssueState(Long issueId) {
+        return issueId == null ? null : releaseProgressRepository.findIssueState(issueId);
+    }
+
+    /**
+     * Moves issue in progress from its previous state to the current one.
+     * A new issue has no previous state, a removed issue has no current state.
+     *
+     * @param previousState state of issue before change
+     * @param currentState  state of issue after change
+     */
+    public void updateProgress(IssueState previousState, IssueState currentState) {
+        if (previousState == null ? currentState == null : previousState.equals(currentState)) {
+            return;
+        }
+        if (previousState != null) {
+            releaseProgressRepository.addIssue(previousState, -1);
+        }
+        if (currentState != null) {
+            releaseProgressRepository.addIssue(currentState, 1);
+        }
+    }
+
+    /**
+     * Returns states of issues stored in database, read by one query
+     *
+     * @param issueIds ids of issues
+     * @return states of existing issues by their ids
+     */
+    public Map<Long, IssueState> getIssueStates(Collection<Long> issueIds) {
+        return releaseProgressRepository.findIssueStates(issueIds);
+    }
+
+    /**
+     * Moves many issues in progress at once (see {@link #updateProgress(IssueState, IssueState)}),
+     * changes of issues with the same state are summed up and written by one batch
+     *
+     * @param previousStates states of issues before change by their ids
+     * @param currentStates  states of issues after change by their ids
+     */
+    public void updateProgressOfIssues(Map<Long, IssueState> previousStates, Map<Long, IssueState> currentStates) {
+        Set<Long> issueIds = new HashSet<>(previousStates.keySet());
+        issueIds.addAll(currentStates.keySet());
+        Map<IssueState, Integer> counts = new HashMap<>();
+        for (Long issueId : issueIds) {
+            IssueState previousState = previousStates.get(issueId);
+            IssueState currentState = currentStates.get(issueId);
+            if (previousState == null ? currentState == null : previousState.equals(currentState)) {
+                continue;
+            }
+            if (previousState != null) {
+                counts.merge(previousState, -1, Integer::sum);
+            }
+            if (currentState != null) {
+                counts.merge(currentState, 1, Integer::sum);
+            }
+        }
+        counts.values().removeIf(count -> count == 0);
+        releaseProgressRepository.addIssues(counts);
+    }
+
+    /**
+     * Adds time logged for issue to progress of its release
+     *
+     * @param issueId id of issue
+     * @param delta   added time, negative when time is removed
+     */
+    public void addSpentTime(Long issueId, long delta) {
+        if (delta != 0) {
+            releaseProgressRepository.addSpentTime(issueId, delta);
+        }
+    }
+
+    /**
+     * Returns progress of release
+     *
+     * @param release release
+     * @return amount of issues per status, total estimated, spent and remaining time
+     */
+    public ReleaseProgressDto getProgress(ProjectRelease release) {
+        return releaseProgressRepository.findProgress(release.getId());
+    }
+}
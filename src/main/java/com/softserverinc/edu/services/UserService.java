@@ -4,8 +4,14 @@ import com.softserverinc.edu.entities.IssueComment;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
 import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.UserListDto;
 import com.softserverinc.edu.entities.enums.UserRole;
 import com.softserverinc.edu.repositories.UserRepository;
+import com.softserverinc.edu.services.searchServices.AutocompleteService;
+import com.softserverinc.edu.services.securityServices.DatabaseUserDetailsService;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,12 +19,23 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 public class UserService {
 
+    /**
+     * Cache region with sorted ids of active members of projects, see ehcache.xml
+     */
+    private static final String PROJECT_MEMBERS_CACHE = "projectMembers";
+
     @Autowired
     private UserRepository userRepository;
 
@@ -28,10 +45,30 @@ public class UserService {
     @Autowired
     private ProjectService projectService;
 
+    @Autowired
+    private DatabaseUserDetailsService userDetailsService;
+
+    @Autowired
+    private AutocompleteService autocompleteService;
+
     public User findOne(Long id) {
         return (id == null ? null : userRepository.findOne(id));
     }
 
+    /**
+     * Loads all users with specified ids by one query.
+     *
+     * @param ids the ids of users, must not contain null
+     * @return map of found users by their ids
+     */
+    public Map<Long, User> findUsersByIds(Collection<Long> ids) {
+        Map<Long, User> result = new HashMap<>();
+        for (User user : userRepository.findAll(ids)) {
+            result.put(user.getId(), user);
+        }
+        return result;
+    }
+
     public List<User> findByEmailContaining(String email) {
         return userRepository.findByEmailContaining(email);
     }
@@ -44,9 +81,64 @@ public class UserService {
         return userRepository.findByEmailIs(email);
     }
 
+    /**
+     * Returns active members of release's project. Their ids are cached as well,
+     * so assignee changes made from the release page are validated without a query.
+     *
+     * @param release the release
+     * @return users sorted by role
+     */
     public List<User> findUsersForRelease(ProjectRelease release) {
         Project project = projectService.findById(release.getProject().getId());
-        return findUsersInProject(project, false, 1);
+        List<User> users = findUsersInProject(project, false, 1);
+        long[] ids = new long[users.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = users.get(i).getId();
+        }
+        Arrays.sort(ids);
+        getProjectMembersCache().put(new Element(project.getId(), ids));
+        return users;
+    }
+
+    /**
+     * Checks if user is active (not deleted and enabled) member of project.
+     * Cached ids of members are searched if they are loaded, otherwise one query by primary key is run.
+     *
+     * @param userId    the id of user
+     * @param projectId the id of project
+     * @return true if user is active member of project, false otherwise
+     */
+    public boolean isActiveUserOfProject(Long userId, Long projectId) {
+        if (userId == null || projectId == null) {
+            return false;
+        }
+        Element element = getProjectMembersCache().get(projectId);
+        if (element != null) {
+            return Arrays.binarySearch((long[]) element.getObjectValue(), userId) >= 0;
+        }
+        return userRepository.countActiveByIdAndProjectId(userId, projectId) > 0;
+    }
+
+    /**
+     * Returns sorted ids of active members of project from cache, they are loaded by one index-only query
+     * on cache miss. Ids are kept as primitive array and searched by {@link Arrays#binarySearch(long[], long)}.
+     *
+     * @param projectId the id of project
+     * @return sorted ids of users, the array must not be changed
+     */
+    public long[] getActiveUserIdsOfProject(Long projectId) {
+        Element element = getProjectMembersCache().get(projectId);
+        if (element != null) {
+            return (long[]) element.getObjectValue();
+        }
+        List<Long> userIds = userRepository.findActiveIdsByProjectId(projectId);
+        long[] ids = new long[userIds.size()];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = userIds.get(i);
+        }
+        Arrays.sort(ids);
+        getProjectMembersCache().put(new Element(projectId, ids));
+        return ids;
     }
 
     public List<User> findByRole(UserRole role) {
@@ -71,12 +163,22 @@ public class UserService {
     @PreAuthorize("hasRole('ADMIN')")
     @Transactional
     public void delete(Long id) {
+        User user = findOne(id);
+        if (user != null) {
+            userDetailsService.evict(user.getEmail());
+            evictProjectMembers(user.getProject());
+        }
         userRepository.delete(id);
+        autocompleteService.userRemoved(id);
     }
 
     @Transactional
     public User update(User user) {
-        return userRepository.saveAndFlush(user);
+        userDetailsService.evict(user.getEmail());
+        evictProjectMembers(user.getProject());
+        User savedUser = userRepository.saveAndFlush(user);
+        autocompleteService.userChanged(savedUser);
+        return savedUser;
     }
 
     @PreAuthorize("hasRole('ADMIN') OR hasRole('PROJECT_MANAGER')")
@@ -97,6 +199,23 @@ public class UserService {
                 lastName, email, role, pageable);
     }
 
+    /**
+     * Returns page of user list rows of all users except administrators,
+     * loaded by one query together with titles of their projects
+     *
+     * @param pageable page request
+     * @return page of user list rows
+     */
+    public Page<UserListDto> findUserList(Pageable pageable) {
+        return userRepository.findListByRoleNot(UserRole.ROLE_ADMIN, pageable);
+    }
+
+    public Page<UserListDto> searchUserList(String firstName, String lastName, String email, UserRole role,
+                                            Pageable pageable) {
+        return userRepository.findListByFirstNameContainingAndLastNameContainingAndEmailContainingAndRoleIs(
+                firstName, lastName, email, role, pageable);
+    }
+
     /**
      * Returns user that added comment to issue.
      * If comment was added by anonymous user, return mock user object.
@@ -154,7 +273,8 @@ public class UserService {
         }
         passwordEncoder(user);
         user.setEnabled(1);
-        userRepository.save(user);
+        evictProjectMembers(user.getProject());
+        autocompleteService.userChanged(userRepository.save(user));
     }
 
     /**
@@ -246,7 +366,8 @@ public class UserService {
             userService.userManagementInProject(presentProjectManager, null, UserRole.ROLE_USER);
         }
         if (user.getId() == null) {
-            userRepository.save(user);
+            evictProjectMembers(project);
+            autocompleteService.userChanged(userRepository.save(user));
             return;
         }
         userService.userManagementInProject(user, project, UserRole.ROLE_PROJECT_MANAGER);
@@ -269,6 +390,7 @@ public class UserService {
             } else {
                 user.setRole(UserRole.ROLE_DEVELOPER);
             }
+            userDetailsService.evict(user.getEmail());
             userRepository.save(user);
             return;
         }
@@ -308,6 +430,8 @@ public class UserService {
     public void saveEditedUser(Long userId, String email, String firstName, String lastName, Long projectId,
                                UserRole role, String description) {
         User user = userService.findOne(userId);
+        // user must be authenticated with the new email
+        userDetailsService.evict(user.getEmail());
         user.setEmail(email);
         user.setFirstName(firstName);
         user.setLastName(lastName);
@@ -334,7 +458,7 @@ public class UserService {
 
     /**
      * Change fields of role and project in User instance when user assigned or dropped from project or changed
-     * his role in project
+     * his role in project. Cached members of the previous and the new project are evicted.
      *
      * @param user    the instance of User entity
      * @param project the instance of Project entity
@@ -342,9 +466,12 @@ public class UserService {
      */
     @Transactional
     public void userManagementInProject(User user, Project project, UserRole role) {
+        evictProjectMembers(user.getProject());
+        evictProjectMembers(project);
         user.setProject(project);
         user.setRole(role);
-        userRepository.save(user);
+        userDetailsService.evict(user.getEmail());
+        autocompleteService.userChanged(userRepository.save(user));
     }
 
     /**
@@ -360,4 +487,30 @@ public class UserService {
             user.setProject(null);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Removes members of project from cache now and once more after transaction is committed,
+     * so concurrent reading can't put old members back into cache
+     *
+     * @param project the project, may be null
+     */
+    private void evictProjectMembers(Project project) {
+        if (project == null || project.getId() == null) {
+            return;
+        }
+        Long projectId = project.getId();
+        getProjectMembersCache().remove(projectId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    getProjectMembersCache().remove(projectId);
+                }
+            });
+        }
+    }
+
+    private Cache getProjectMembersCache() {
+        return CacheManager.create().getCache(PROJECT_MEMBERS_CACHE);
+    }
+}
@@ -0,0 +1,83 @@
+package com.softserverinc.edu.services;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Result of timesheet import: amounts of imported and rejected rows and reasons of rejection.
+ * Only first errors are kept, so report of a huge broken file stays small.
+ */
+public class WorkLogImportReport {
+
+    private final int maxReportedErrors;
+
+    private long totalRows;
+
+    private long importedRows;
+
+    private long failedRows;
+
+    private final List<RowError> errors = new ArrayList<>();
+
+    public WorkLogImportReport(int maxReportedErrors) {
+        this.maxReportedErrors = maxReportedErrors;
+    }
+
+    void addRow() {
+        totalRows++;
+    }
+
+    void addImported(int rows) {
+        importedRows += rows;
+    }
+
+    void addError(long row, String message) {
+        failedRows++;
+        if (errors.size() < maxReportedErrors) {
+            errors.add(new RowError(row, message));
+        }
+    }
+
+    public long getTotalRows() {
+        return totalRows;
+    }
+
+    public long getImportedRows() {
+        return importedRows;
+    }
+
+    public long getFailedRows() {
+        return failedRows;
+    }
+
+    public boolean isErrorsTruncated() {
+        return failedRows > errors.size();
+    }
+
+    public List<RowError> getErrors() {
+        return errors;
+    }
+
+    /**
+     * Reason why row of imported file is rejected
+     */
+    public static class RowError {
+
+        private final long row;
+
+        private final String message;
+
+        RowError(long row, String message) {
+            this.row = row;
+            this.message = message;
+        }
+
+        public long getRow() {
+            return row;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.softserverinc.edu.services;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserverinc.edu.constants.PageConstant;
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.WorkLog;
+import com.softserverinc.edu.forms.WorkLogFormValidator;
+import com.softserverinc.edu.forms.WorkLogImportRow;
+import com.softserverinc.edu.forms.WorkLogIntervalTree;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.text.ParseException;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Imports WorkLog entries of user from timesheet file (CSV or JSON array) exported by external time tracker.
+ * File is read row by row and entries are validated and saved by batches, so memory doesn't depend on
+ * size of the file. Invalid rows are reported and skipped, the rest of the file is imported anyway.
+ */
+@Service
+public class WorkLogImportService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WorkLogImportService.class);
+
+    private static final String[] CSV_COLUMNS = {"issueId", "startDate", "endDate", "amountOfTime"};
+
+    private static final String[] DATE_FORMATS = {PageConstant.DATE_FORMAT, "yyyy-MM-dd"};
+
+    @Autowired
+    private WorkLogService workLogService;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private WorkLogFormValidator workLogFormValidator;
+
+    @Value("${worklog.import.batchSize}")
+    private int batchSize;
+
+    @Value("${worklog.import.maxReportedErrors}")
+    private int maxReportedErrors;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+
+    /**
+     * Imports CSV timesheet. The first line is header with columns issueId, startDate, endDate, amountOfTime
+     * in any order, dates are in dd.MM.yyyy or yyyy-MM-dd format.
+     *
+     * @param input CSV file
+     * @param user  user who logged the time
+     * @return amounts of imported and rejected rows with reasons of rejection
+     * @throws IOException if file can't be read
+     */
+    public WorkLogImportReport importCsv(InputStream input, User user) throws IOException {
+        WorkLogImportReport report = new WorkLogImportReport(maxReportedErrors);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String header = reader.readLine();
+        if (header == null) {
+            return report;
+        }
+        int[] columnIndexes;
+        try {
+            columnIndexes = parseCsvHeader(header);
+        } catch (IllegalArgumentException e) {
+            report.addError(1, e.getMessage());
+            return report;
+        }
+        importRows(new CsvRowReader(reader, columnIndexes), user, report);
+        return report;
+    }
+
+    /**
+     * Imports JSON timesheet: array of objects with fields issueId, startDate, endDate, amountOfTime,
+     * dates are in dd.MM.yyyy or yyyy-MM-dd format. Objects are parsed one by one from the stream.
+     *
+     * @param input JSON file
+     * @param user  user who logged the time
+     * @return amounts of imported and rejected rows with reasons of rejection
+     * @throws IOException if file can't be read
+     */
+    public WorkLogImportReport importJson(InputStream input, User user) throws IOException {
+        WorkLogImportReport report = new WorkLogImportReport(maxReportedErrors);
+        try (JsonParser parser = new JsonFactory(objectMapper).createParser(input)) {
+            if (parser.nextToken() != JsonToken.START_ARRAY) {
+                report.addError(1, "JSON timesheet must be an array of objects");
+                return report;
+            }
+            importRows(new JsonRowReader(parser), user, report);
+        }
+        return report;
+    }
+
+    private void importRows(RowReader reader, User user, WorkLogImportReport report) throws IOException {
+        List<ParsedRow> batch = new ArrayList<>(batchSize);
+        while (true) {
+            WorkLogImportRow row;
+            try {
+                row = reader.read();
+            } catch (IllegalArgumentException e) {
+                report.addRow();
+                report.addError(reader.getRowNumber(), e.getMessage());
+                continue;
+            } catch (JsonProcessingException e) {
+                // the rest of malformed JSON can't be parsed, rows read before are still imported
+                report.addError(reader.getRowNumber(), "Malformed JSON: " + e.getOriginalMessage());
+                break;
+            }
+            if (row == null) {
+                break;
+            }
+            report.addRow();
+            try {
+                batch.add(new ParsedRow(reader.getRowNumber(), toWorkLog(row, user)));
+            } catch (IllegalArgumentException e) {
+                report.addError(reader.getRowNumber(), e.getMessage());
+            }
+            if (batch.size() >= batchSize) {
+                importBatch(batch, user, report);
+                batch.clear();
+            }
+        }
+        importBatch(batch, user, report);
+    }
+
+    /**
+     * Validates batch of entries by two queries (issues of the batch and time already logged by user
+     * in period of the batch) and saves valid entries by one JDBC batch
+     */
+    private void importBatch(List<ParsedRow> batch, User user, WorkLogImportReport report) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        Set<Long> issueIds = new HashSet<>();
+        Date startDate = batch.get(0).workLog.getStartDate();
+        Date endDate = batch.get(0).workLog.getEndDate();
+        for (ParsedRow parsedRow : batch) {
+            issueIds.add(parsedRow.workLog.getIssue().getId());
+            startDate = parsedRow.workLog.getStartDate().before(startDate) ? parsedRow.workLog.getStartDate()
+                    : startDate;
+            endDate = parsedRow.workLog.getEndDate().after(endDate) ? parsedRow.workLog.getEndDate() : endDate;
+        }
+        Map<Long, Issue> issues = issueService.findIssuesByIds(issueIds);
+        WorkLogIntervalTree loggedIntervals = workLogService.getLoggedIntervals(user, startDate, endDate);
+        List<ParsedRow> validRows = new ArrayList<>();
+        List<WorkLog> validWorkLogs = new ArrayList<>();
+        for (ParsedRow parsedRow : batch) {
+            Long issueId = parsedRow.workLog.getIssue().getId();
+            Issue issue = issues.get(issueId);
+            if (issue == null) {
+                report.addError(parsedRow.rowNumber, "Issue " + issueId + " doesn't exist");
+            } else if (!user.getRole().isAdmin() && !user.equals(issue.getAssignee())) {
+                report.addError(parsedRow.rowNumber, "Only assignee can log work on issue " + issueId);
+            } else {
+                parsedRow.workLog.setIssue(issue);
+                if (workLogFormValidator.validateImportedWorklog(parsedRow.workLog, loggedIntervals)) {
+                    validRows.add(parsedRow);
+                    validWorkLogs.add(parsedRow.workLog);
+                } else {
+                    report.addError(parsedRow.rowNumber, "Amount of time exceeds workday, period is outside of "
+                            + "issue's lifecycle or overlaps already logged time");
+                }
+            }
+        }
+        try {
+            workLogService.saveInBatch(validWorkLogs);
+            report.addImported(validWorkLogs.size());
+        } catch (RuntimeException e) {
+            LOGGER.error("Unable to save " + validWorkLogs.size() + " imported work log entries", e);
+            for (ParsedRow parsedRow : validRows) {
+                report.addError(parsedRow.rowNumber, "Unable to save work log entry");
+            }
+        }
+    }
+
+    private WorkLog toWorkLog(WorkLogImportRow row, User user) {
+        if (row.getIssueId() == null || row.getStartDate() == null || row.getEndDate() == null
+                || row.getAmountOfTime() == null) {
+            throw new IllegalArgumentException("issueId, startDate, endDate and amountOfTime are required");
+        }
+        Issue issue = new Issue();
+        issue.setId(row.getIssueId());
+        WorkLog workLog = new WorkLog();
+        workLog.setIssue(issue);
+        workLog.setUser(user);
+        workLog.setStartDate(parseDate(row.getStartDate()));
+        workLog.setEndDate(parseDate(row.getEndDate()));
+        workLog.setAmountOfTime(row.getAmountOfTime());
+        return workLog;
+    }
+
+    private Date parseDate(String value) {
+        for (String format : DATE_FORMATS) {
+            SimpleDateFormat dateFormat = new SimpleDateFormat(format);
+            dateFormat.setLenient(false);
+            try {
+                return dateFormat.parse(value.trim());
+            } catch (ParseException e) {
+                // try the next format
+            }
+        }
+        throw new IllegalArgumentException("Date '" + value + "' must be in dd.MM.yyyy or yyyy-MM-dd format");
+    }
+
+    private int[] parseCsvHeader(String header) {
+        String[] names = splitCsvLine(header);
+        int[] columnIndexes = new int[CSV_COLUMNS.length];
+        for (int column = 0; column < CSV_COLUMNS.length; column++) {
+            columnIndexes[column] = -1;
+            for (int i = 0; i < names.length; i++) {
+                if (CSV_COLUMNS[column].equalsIgnoreCase(names[i])) {
+                    columnIndexes[column] = i;
+                }
+            }
+            if (columnIndexes[column] < 0) {
+                throw new IllegalArgumentException("Header must contain columns " + String.join(",", CSV_COLUMNS));
+            }
+        }
+        return columnIndexes;
+    }
+
+    /**
+     * Splits line by commas, values may be enclosed in double quotes (values of timesheet contain no commas)
+     */
+    private static String[] splitCsvLine(String line) {
+        String[] values = line.split(",", -1);
+        for (int i = 0; i < values.length; i++) {
+            String value = values[i].trim();
+            if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+                value = value.substring(1, value.length() - 1).trim();
+            }
+            values[i] = value;
+        }
+        return values;
+    }
+
+    private static Long parseLong(String value, String column) {
+        if (value.isEmpty()) {
+            return null;
+        }
+        try {
+            return Long.valueOf(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(column + " must be a number: '" + value + "'");
+        }
+    }
+
+    /**
+     * Reads rows of timesheet one by one
+     */
+    private interface RowReader {
+
+        /**
+         * Reads the next row
+         *
+         * @return the next row or null at the end of file
+         * @throws IllegalArgumentException if the row is malformed, reading can be continued
+         * @throws IOException if file can't be read further
+         */
+        WorkLogImportRow read() throws IOException;
+
+        /**
+         * @return number of the last read row in file (line of CSV, element of JSON array), starting with 1
+         */
+        long getRowNumber();
+    }
+
+    private static class CsvRowReader implements RowReader {
+
+        private final BufferedReader reader;
+
+        private final int[] columnIndexes;
+
+        private long lineNumber = 1;
+
+        CsvRowReader(BufferedReader reader, int[] columnIndexes) {
+            this.reader = reader;
+            this.columnIndexes = columnIndexes;
+        }
+
+        @Override
+        public WorkLogImportRow read() throws IOException {
+            String line;
+            do {
+                line = reader.readLine();
+                lineNumber++;
+            } while (line != null && line.trim().isEmpty());
+            if (line == null) {
+                return null;
+            }
+            String[] values = splitCsvLine(line);
+            for (int columnIndex : columnIndexes) {
+                if (columnIndex >= values.length) {
+                    throw new IllegalArgumentException("Line has " + values.length + " values, expected "
+                            + CSV_COLUMNS.length);
+                }
+            }
+            WorkLogImportRow row = new WorkLogImportRow();
+            row.setIssueId(parseLong(values[columnIndexes[0]], CSV_COLUMNS[0]));
+            row.setStartDate(values[columnIndexes[1]].isEmpty() ? null : values[columnIndexes[1]]);
+            row.setEndDate(values[columnIndexes[2]].isEmpty() ? null : values[columnIndexes[2]]);
+            row.setAmountOfTime(parseLong(values[columnIndexes[3]], CSV_COLUMNS[3]));
+            return row;
+        }
+
+        @Override
+        public long getRowNumber() {
+            return lineNumber;
+        }
+    }
+
+    private class JsonRowReader implements RowReader {
+
+        private final JsonParser parser;
+
+        private long elementNumber;
+
+        JsonRowReader(JsonParser parser) {
+            this.parser = parser;
+        }
+
+        @Override
+        public WorkLogImportRow read() throws IOException {
+            JsonToken token = parser.nextToken();
+            if (token == null || token == JsonToken.END_ARRAY) {
+                return null;
+            }
+            elementNumber++;
+            // only one element is kept in memory
+            JsonNode element = objectMapper.readTree(parser);
+            if (!element.isObject()) {
+                throw new IllegalArgumentException("Element of array must be an object");
+            }
+            try {
+                return objectMapper.treeToValue(element, WorkLogImportRow.class);
+            } catch (JsonProcessingException e) {
+                throw new IllegalArgumentException("Invalid entry: " + e.getOriginalMessage());
+            }
+        }
+
+        @Override
+        public long getRowNumber() {
+            return elementNumber;
+        }
+    }
+
+    private static class ParsedRow {
+
+        private final long rowNumber;
+
+        private final WorkLog workLog;
+
+        ParsedRow(long rowNumber, WorkLog workLog) {
+            this.rowNumber = rowNumber;
+            this.workLog = workLog;
+        }
+    }
+}
@@ -2,12 +2,19 @@ package com.softserverinc.edu.services;
 
 import com.softserverinc.edu.constants.PageConstant;
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.SpentTimeDto;
 import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.WorkLog;
+import com.softserverinc.edu.forms.WorkLogIntervalTree;
+import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.repositories.KeysetPage;
+import com.softserverinc.edu.repositories.SeekCursor;
 import com.softserverinc.edu.repositories.WorkLogRepository;
 import com.softserverinc.edu.services.securityServices.WorkLogSecurityService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,7 +22,9 @@ import org.springframework.ui.ModelMap;
 
 import java.text.SimpleDateFormat;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Contain methods for working with workLog database table and auxiliary methods
@@ -23,12 +32,23 @@ import java.util.List;
 @Service
 public class WorkLogService {
 
+    /**
+     * Id which no WorkLog entry has, used as excluded id when new entry is checked
+     */
+    private static final Long NO_WORKLOG_ID = -1L;
+
     @Autowired
     private WorkLogRepository workLogRepository;
 
     @Autowired
     private IssueService issueService;
 
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ReleaseProgressService releaseProgressService;
+
     @Autowired
     private WorkLogSecurityService workLogSecurityService;
 
@@ -74,6 +94,52 @@ public class WorkLogService {
         return workLogRepository.findByIssue(issue, pageable);
     }
 
+    /**
+     * Check whether WorkLog entry overlaps time already logged by user on any issue
+     *
+     * @param workLog new or edited WorkLog entry
+     * @param user user instance
+     * @return true if there is entry of the user in the same period, except the entry itself
+     */
+    public boolean hasOverlappingWorkLogs(WorkLog workLog, User user) {
+        Long excludedId = workLog.getId() == null ? NO_WORKLOG_ID : workLog.getId();
+        return workLogRepository.countOverlapping(user, workLog.getStartDate(), workLog.getEndDate(), excludedId) > 0;
+    }
+
+    /**
+     * Load periods logged by user on all issues within specified period into in-memory tree,
+     * which is used to validate many WorkLog entries of the period by one query
+     *
+     * @param user user instance
+     * @param startDate start of period
+     * @param endDate end of period
+     * @return tree of logged periods
+     */
+    public WorkLogIntervalTree getLoggedIntervals(User user, Date startDate, Date endDate) {
+        WorkLogIntervalTree loggedIntervals = new WorkLogIntervalTree();
+        for (Object[] period : workLogRepository.findOverlappingPeriods(user, startDate, endDate)) {
+            loggedIntervals.add((Date) period[0], (Date) period[1]);
+        }
+        return loggedIntervals;
+    }
+
+    /**
+     * Find work log entries by issue, newest first, by keyset pagination (without count query)
+     *
+     * @param issue issue instance
+     * @param cursorToken token of the page cursor, null for the first page
+     * @param size amount of WorkLog entries on the page
+     * @return page of WorkLog entries with cursors of the next and previous pages
+     */
+    public KeysetPage<WorkLog> findByIssue(Issue issue, String cursorToken, int size) {
+        SeekCursor cursor = SeekCursor.decode(cursorToken);
+        Pageable limit = new PageRequest(0, size + 1);
+        List<WorkLog> workLogs = cursor.isBackward()
+                ? workLogRepository.findPageByIssueBefore(issue, cursor.getCreateTime(), cursor.getId(), limit)
+                : workLogRepository.findPageByIssueAfter(issue, cursor.getCreateTime(), cursor.getId(), limit);
+        return KeysetPage.of(workLogs, cursor, size, WorkLog::getStartDate, WorkLog::getId);
+    }
+
     /**
      * Find work log entry by issue's id
      *
@@ -86,60 +152,131 @@ public class WorkLogService {
     }
 
     /**
-     * Save WorkLog entry
+     * Save WorkLog entry and update total spent time of its issue and release in the same transaction
      *
      * @param workLog WorkLog instance
      * @return saved WorkLog instance
      */
     @Transactional
     public WorkLog save(WorkLog workLog) {
-        return workLogRepository.saveAndFlush(workLog);
+        Long previousAmountOfTime = workLog.getId() == null ? null
+                : workLogRepository.findAmountOfTimeById(workLog.getId());
+        WorkLog savedWorkLog = workLogRepository.saveAndFlush(workLog);
+        long delta = workLog.getAmountOfTime() - (previousAmountOfTime == null ? 0L : previousAmountOfTime);
+        if (delta != 0) {
+            issueRepository.addSpentTime(workLog.getIssue().getId(), delta);
+            releaseProgressService.addSpentTime(workLog.getIssue().getId(), delta);
+        }
+        return savedWorkLog;
+    }
+
+    /**
+     * Insert new WorkLog entries by one JDBC batch and update total spent time of their issues and releases
+     * in the same transaction
+     *
+     * @param workLogs new WorkLog entries
+     */
+    @Transactional
+    public void saveInBatch(List<WorkLog> workLogs) {
+        workLogRepository.insertInBatch(workLogs);
+        Map<Long, Long> spentTimeByIssue = new HashMap<>();
+        for (WorkLog workLog : workLogs) {
+            spentTimeByIssue.merge(workLog.getIssue().getId(), workLog.getAmountOfTime(), Long::sum);
+        }
+        for (Map.Entry<Long, Long> spentTime : spentTimeByIssue.entrySet()) {
+            issueRepository.addSpentTime(spentTime.getKey(), spentTime.getValue());
+            releaseProgressService.addSpentTime(spentTime.getKey(), spentTime.getValue());
+        }
     }
 
     /**
-     * Remove WorkLog entry by specified id
+     * Remove WorkLog entry by specified id and update total spent time of its issue and release in the same transaction
      *
      * @param id WorkLog entry's id
      */
     @Transactional
     public void delete(Long id) {
+        WorkLog workLog = workLogRepository.findOne(id);
         workLogRepository.delete(id);
+        if (workLog != null) {
+            issueRepository.addSpentTime(workLog.getIssue().getId(), -workLog.getAmountOfTime());
+            releaseProgressService.addSpentTime(workLog.getIssue().getId(), -workLog.getAmountOfTime());
+        }
+    }
+
+    /**
+     * Return total spent time of issue, calculated by database
+     *
+     * @param issue issue instance
+     * @return total spent time and amount of WorkLog entries
+     */
+    public SpentTimeDto getSpentTime(Issue issue) {
+        return workLogRepository.findTotalByIssue(issue);
+    }
+
+    /**
+     * Return total spent time of each user who worked on issue, calculated by database
+     *
+     * @param issue issue instance
+     * @return totals with user's id
+     */
+    public List<SpentTimeDto> getSpentTimeByUsers(Issue issue) {
+        return workLogRepository.findTotalsByIssueGroupByUser(issue);
+    }
+
+    /**
+     * Return total spent time of user on all issues, calculated by database
+     *
+     * @param user user instance
+     * @return total spent time and amount of WorkLog entries
+     */
+    public SpentTimeDto getSpentTime(User user) {
+        return workLogRepository.findTotalByUser(user);
+    }
+
+    /**
+     * Return total spent time on all issues of release, calculated by database
+     *
+     * @param projectRelease release instance
+     * @return total spent time and amount of WorkLog entries
+     */
+    public SpentTimeDto getSpentTime(ProjectRelease projectRelease) {
+        return workLogRepository.findTotalByProjectRelease(projectRelease);
     }
 
     /**
      * Fill model with values required for saving new WorkLog entry
      *
-     * <p>invoke {@link #populateWorkLogModel(ModelMap, Long, Pageable)}</p>
-     * <p>invoke {@link #editorRequests(Long)}</p>
+     * <p>invoke {@link #populateWorkLogModel(ModelMap, Issue, String)}</p>
      * @param model ModelMap instance
-     * @param issueId issue's id
-     * @param pageable Pageable object
+     * @param issue current issue, null for requests from CKEditor tool
+     * @param workLogCursor token of cursor of WorkLog page, null for the first page
      */
-    public void forNewWorkLogModel(ModelMap model, Long issueId, Pageable pageable) {
-        if (!editorRequests(issueId)) {
+    public void forNewWorkLogModel(ModelMap model, Issue issue, String workLogCursor) {
+        if (issue != null) {
             if (workLogSecurityService.isAuthenticated()) {
-                model.addAttribute("workLogAction", issueId + "/worklog/save");
-                model.addAttribute("workLog", getNewWorkLog(issueId));
-                model.addAttribute("startDate", formatDate(getCurrentIssue(issueId).getCreateTime()));
+                model.addAttribute("workLogAction", issue.getId() + "/worklog/save");
+                model.addAttribute("workLog", getNewWorkLog(issue));
+                model.addAttribute("startDate", formatDate(issue.getCreateTime()));
                 model.addAttribute("endDate", formatDate(new Date()));
                 model.addAttribute("permissionToUseWorkLogForm",
-                        workLogSecurityService.getPermissionToCreateWorkLog(issueId));
+                        workLogSecurityService.getPermissionToCreateWorkLog(issue.getId()));
             }
             model.addAttribute("stage", "new");
-            populateWorkLogModel(model, issueId, pageable);
+            populateWorkLogModel(model, issue, workLogCursor);
         }
     }
 
     /**
      * Fill model with values required for editing WorkLog entry
      *
-     * <p>invoke {@link #populateWorkLogModel(ModelMap, Long, Pageable)}</p>
+     * <p>invoke {@link #populateWorkLogModel(ModelMap, Issue, String)}</p>
      * @param model ModelMap instance
      * @param workLogId workLog's id
-     * @param issueId issue's id
-     * @param pageable Pageable object
+     * @param issue current issue
+     * @param workLogCursor token of cursor of WorkLog page, null for the first page
      */
-    public void forEditWorkLogModel(ModelMap model, Long workLogId, Long issueId, Pageable pageable) {
+    public void forEditWorkLogModel(ModelMap model, Long workLogId, Issue issue, String workLogCursor) {
         WorkLog currentWorkLog = findOne(workLogId);
         if (workLogSecurityService.isAuthenticated()) {
             model.addAttribute("stage", "edit");
@@ -148,39 +285,38 @@ public class WorkLogService {
             model.addAttribute("workLog", currentWorkLog);
             model.addAttribute("startDate", formatDate(currentWorkLog.getStartDate()));
             model.addAttribute("endDate", formatDate(currentWorkLog.getEndDate()));
-            model.addAttribute("permissionToUseWorkLogForm", workLogSecurityService.getPermissionToEditWorkLog(issueId));
+            model.addAttribute("permissionToUseWorkLogForm",
+                    workLogSecurityService.getPermissionToEditWorkLog(issue.getId()));
         }
-        populateWorkLogModel(model, issueId, pageable);
+        populateWorkLogModel(model, issue, workLogCursor);
     }
 
     /**
      * Fill model with values required for creating and editing WorkLog entry
      *
      * <p>invoke {@link #formatDate(Date)}</p>
-     * <p>invoke {@link #getTotalSpentTimeForIssueByAllUsers(Long)}</p>
-     * <p>invoke {@link #getNewWorkLog(Long)}</p>
      * @param model  ModelMap instance
-     * @param issueId issue's id
-     * @param pageable Pageable object
+     * @param issue current issue
+     * @param workLogCursor token of cursor of WorkLog page, null for the first page
      */
-    private void populateWorkLogModel(ModelMap model, Long issueId, Pageable pageable) {
+    private void populateWorkLogModel(ModelMap model, Issue issue, String workLogCursor) {
         model.addAttribute("currentUser", workLogSecurityService.getActiveUser());
-        model.addAttribute("parsedDueDate", formatDate(getCurrentIssue(issueId).getDueDate()));
-        model.addAttribute("totalSpentTimeByAllUsers", getTotalSpentTimeForIssueByAllUsers(issueId));
-        model.addAttribute("workLogsOfCurrentIssueByAllUsers", findByIssue(getCurrentIssue(issueId), pageable));
+        model.addAttribute("parsedDueDate", formatDate(issue.getDueDate()));
+        model.addAttribute("totalSpentTimeByAllUsers", issue.getSpentTime());
+        model.addAttribute("workLogsOfCurrentIssueByAllUsers", findByIssue(issue, workLogCursor,
+                PageConstant.AMOUNT_PROJECT_ELEMENTS));
     }
 
     /**
      * Prepare WorkLog instance ready to be used in form
      *
-     * <p>invoke {@link #getCurrentIssue(Long)}</p>
-     * @param issueId issue's id
+     * @param issue current issue
      * @return WorkLog instance with specified issue and user fields
      */
-    private WorkLog getNewWorkLog(Long issueId) {
-        if (getCurrentIssue(issueId).getAssignee().equals(workLogSecurityService.getActiveUser())) {
+    private WorkLog getNewWorkLog(Issue issue) {
+        if (issue.getAssignee().equals(workLogSecurityService.getActiveUser())) {
             WorkLog workLog = new WorkLog();
-            workLog.setIssue(getCurrentIssue(issueId));
+            workLog.setIssue(issue);
             workLog.setUser(workLogSecurityService.getActiveUser());
             return workLog;
         }
@@ -197,22 +333,6 @@ public class WorkLogService {
         return issueService.findById(issueId);
     }
 
-    /**
-     * Return total spent work time for issue with specified id by all users
-     *
-     * <p>invoke {@link #getCurrentIssue(Long)}</p>
-     * @param issueId issue's id
-     * @return total spent work time for issue with specified id by all users
-     */
-    private Long getTotalSpentTimeForIssueByAllUsers(Long issueId) {
-        Long totalSpentTime = 0L;
-        List<WorkLog> workLogList = findByIssue(getCurrentIssue(issueId));
-        for (WorkLog worklogIterator : workLogList) {
-            totalSpentTime += worklogIterator.getAmountOfTime();
-        }
-        return totalSpentTime;
-    }
-
     /**
      * Convert Date objects to String type
      *
@@ -0,0 +1,297 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.constants.PageConstant;
+import com.softserverinc.edu.entities.AutocompleteDto;
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.Label;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.services.LabelService;
+import com.softserverinc.edu.services.ProjectReleaseService;
+import com.softserverinc.edu.services.ProjectService;
+import com.softserverinc.edu.services.UserService;
+import com.softserverinc.edu.services.securityServices.BasicSecurityService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.LongPredicate;
+
+/**
+ * Options of issue form and titles of issues found by prefix of their names, so pages don't carry
+ * all users, labels and projects. Issues, projects, users and labels are kept in in-memory {@link PrefixIndex}es,
+ * which are loaded on the first lookup and changed after transactions which change the entities are committed:
+ * issues and projects by {@link SearchIndexEvent}s, users and labels by their services.
+ * Not authenticated users look up separate indexes of issues and projects which guests may view.
+ */
+@Service
+public class AutocompleteService {
+
+    @Autowired
+    private IssueRepository issueRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private ProjectReleaseService projectReleaseService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private LabelService labelService;
+
+    @Autowired
+    private BasicSecurityService basicSecurityService;
+
+    private final PrefixIndex issues = new PrefixIndex(this::loadIssues);
+
+    private final PrefixIndex projects = new PrefixIndex(this::loadProjects);
+
+    private final PrefixIndex guestIssues = new PrefixIndex(this::loadGuestIssues);
+
+    private final PrefixIndex guestProjects = new PrefixIndex(this::loadGuestProjects);
+
+    private final PrefixIndex users = new PrefixIndex(this::loadUsers);
+
+    private final PrefixIndex labels = new PrefixIndex(this::loadLabels);
+
+    /**
+     * Finds issues by prefix of title or of any word of title.
+     * Not authenticated user finds issues of projects which guests may view only.
+     *
+     * @param prefix beginning of title or word
+     * @return ids and titles of issues
+     */
+    public List<AutocompleteDto> findIssues(String prefix) {
+        PrefixIndex index = basicSecurityService.isAuthenticated() ? issues : guestIssues;
+        return index.find(prefix, PageConstant.AMOUNT_AUTOCOMPLETE_ELEMENTS, id -> true);
+    }
+
+    /**
+     * Finds projects by prefix of title or of any word of title.
+     * Not authenticated user finds projects which guests may view only.
+     *
+     * @param prefix beginning of title or word
+     * @return ids and titles of projects
+     */
+    public List<AutocompleteDto> findProjects(String prefix) {
+        PrefixIndex index = basicSecurityService.isAuthenticated() ? projects : guestProjects;
+        return index.find(prefix, PageConstant.AMOUNT_AUTOCOMPLETE_ELEMENTS, id -> true);
+    }
+
+    /**
+     * Finds users which may be assignee by prefix of full name, of last name or of email.
+     * Not authenticated user may assign issue to project manager of the project which guests may view only.
+     *
+     * @param prefix    beginning of name or email
+     * @param projectId id of project which users must be active members of, may be null
+     * @return ids and full names of users
+     */
+    public List<AutocompleteDto> findUsers(String prefix, Long projectId) {
+        if (!basicSecurityService.isAuthenticated()) {
+            Project project = projectId == null ? null : projectService.findById(projectId);
+            User projectManager = project == null || !isGuestView(project) ? null
+                    : userService.getProjectManagerOfProject(projectId);
+            return projectManager == null ? Collections.emptyList()
+                    : Collections.singletonList(new AutocompleteDto(projectManager.getId(),
+                    projectManager.getFullName()));
+        }
+        LongPredicate accepted = id -> true;
+        if (projectId != null) {
+            long[] memberIds = userService.getActiveUserIdsOfProject(projectId);
+            accepted = id -> Arrays.binarySearch(memberIds, id) >= 0;
+        }
+        return users.find(prefix, PageConstant.AMOUNT_AUTOCOMPLETE_ELEMENTS, accepted);
+    }
+
+    /**
+     * Finds labels by prefix of title or of any word of title
+     *
+     * @param prefix beginning of title or word
+     * @return ids and titles of labels
+     */
+    public List<AutocompleteDto> findLabels(String prefix) {
+        return labels.find(prefix, PageConstant.AMOUNT_AUTOCOMPLETE_ELEMENTS, id -> true);
+    }
+
+    /**
+     * Finds releases of project by prefix of version. Releases of one project are few, so they are read
+     * by the index of project id in database and filtered here instead of keeping an index of them.
+     * Not authenticated user finds releases of project which guests may view only.
+     *
+     * @param prefix    beginning of version
+     * @param projectId id of project, may be null
+     * @return ids and versions of releases, empty if project isn't selected or can't be viewed
+     */
+    public List<AutocompleteDto> findReleases(String prefix, Long projectId) {
+        Project project = projectId == null ? null : projectService.findById(projectId);
+        List<AutocompleteDto> result = new ArrayList<>();
+        if (project == null || !basicSecurityService.isAuthenticated() && !isGuestView(project)) {
+            return result;
+        }
+        String normalizedPrefix = prefix == null ? "" : prefix.trim().toLowerCase(Locale.ROOT);
+        for (ProjectRelease release : projectReleaseService.findByProject(project)) {
+            if (result.size() < PageConstant.AMOUNT_AUTOCOMPLETE_ELEMENTS
+                    && release.getVersion().toLowerCase(Locale.ROOT).startsWith(normalizedPrefix)) {
+                result.add(new AutocompleteDto(release.getId(), release.getVersion()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Applies saved or removed issue or project to the index after the transaction is committed.
+     * Guest view of a project may be changed by the save, so issues visible to guests are loaded again
+     * on the next lookup of a guest.
+     *
+     * @param event saved or removed entity
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(SearchIndexEvent event) {
+        if (event.getEntityClass() == Issue.class) {
+            String title = event.isRemoved() ? null : issueRepository.findTitleById(event.getEntityId());
+            putOrRemove(issues, event.getEntityId(), title);
+            String guestTitle = title == null ? null : issueRepository.findGuestTitleById(event.getEntityId());
+            putOrRemove(guestIssues, event.getEntityId(), guestTitle);
+        } else if (event.getEntityClass() == Project.class) {
+            Project project = event.isRemoved() ? null : projectService.findById(event.getEntityId());
+            putOrRemove(projects, event.getEntityId(), project == null ? null : project.getTitle());
+            putOrRemove(guestProjects, event.getEntityId(), project == null || !isGuestView(project) ? null
+                    : project.getTitle());
+            guestIssues.clear();
+        }
+    }
+
+    /**
+     * Applies saved user to the index after the current transaction is committed.
+     * Deleted users and administrators are removed from the index.
+     *
+     * @param user saved user
+     */
+    public void userChanged(User user) {
+        afterCommit(() -> {
+            if (user.isDeleted() || user.getRole() != null && user.getRole().isAdmin()) {
+                users.remove(user.getId());
+            } else {
+                users.put(user.getId(), user.getFullName(), user.getEmail());
+            }
+        });
+    }
+
+    /**
+     * Removes user from the index after the current transaction is committed
+     *
+     * @param userId id of removed user
+     */
+    public void userRemoved(Long userId) {
+        afterCommit(() -> users.remove(userId));
+    }
+
+    /**
+     * Applies saved label to the index after the current transaction is committed
+     *
+     * @param label saved label
+     */
+    public void labelChanged(Label label) {
+        afterCommit(() -> labels.put(label.getId(), label.getTitle()));
+    }
+
+    /**
+     * Removes label from the index after the current transaction is committed
+     *
+     * @param labelId id of removed label
+     */
+    public void labelRemoved(Long labelId) {
+        afterCommit(() -> labels.remove(labelId));
+    }
+
+    private void putOrRemove(PrefixIndex index, Long id, String text) {
+        if (text == null) {
+            index.remove(id);
+        } else {
+            index.put(id, text);
+        }
+    }
+
+    private void afterCommit(Runnable change) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            change.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+            @Override
+            public void afterCommit() {
+                change.run();
+            }
+        });
+    }
+
+    private Map<Long, String[]> loadIssues() {
+        Map<Long, String[]> result = new HashMap<>();
+        for (Object[] row : issueRepository.findAllIdsAndTitles()) {
+            result.put((Long) row[0], new String[]{(String) row[1]});
+        }
+        return result;
+    }
+
+    private Map<Long, String[]> loadGuestIssues() {
+        Map<Long, String[]> result = new HashMap<>();
+        for (Object[] row : issueRepository.findAllGuestIdsAndTitles()) {
+            result.put((Long) row[0], new String[]{(String) row[1]});
+        }
+        return result;
+    }
+
+    private Map<Long, String[]> loadProjects() {
+        Map<Long, String[]> result = new HashMap<>();
+        for (Project project : projectService.findAll()) {
+            result.put(project.getId(), new String[]{project.getTitle()});
+        }
+        return result;
+    }
+
+    private Map<Long, String[]> loadGuestProjects() {
+        Map<Long, String[]> result = new HashMap<>();
+        for (Project project : projectService.findAll()) {
+            if (isGuestView(project)) {
+                result.put(project.getId(), new String[]{project.getTitle()});
+            }
+        }
+        return result;
+    }
+
+    private static boolean isGuestView(Project project) {
+        return Boolean.TRUE.equals(project.getGuestView());
+    }
+
+    private Map<Long, String[]> loadUsers() {
+        Map<Long, String[]> result = new HashMap<>();
+        for (User user : userService.findAll()) {
+            if (!user.isDeleted() && (user.getRole() == null || !user.getRole().isAdmin())) {
+                result.put(user.getId(), new String[]{user.getFullName(), user.getEmail()});
+            }
+        }
+        return result;
+    }
+
+    private Map<Long, String[]> loadLabels() {
+        Map<Long, String[]> result = new HashMap<>();
+        for (Label label : labelService.findAll()) {
+            result.put(label.getId(), new String[]{label.getTitle()});
+        }
+        return result;
+    }
+}
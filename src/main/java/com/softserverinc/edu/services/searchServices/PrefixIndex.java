@@ -0,0 +1,246 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.entities.AutocompleteDto;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongPredicate;
+import java.util.function.Supplier;
+
+/**
+ * In-memory index of short texts (names, emails, titles) for search by prefix, used for autocomplete.
+ * Every text is kept as sorted array of keys: the whole text in lower case and its tail from every word,
+ * so "John Smith" is found by "jo", "john sm" and "smi". Lookup is a binary search of the first key
+ * with the prefix and a scan of following keys, so it doesn't depend on amount of entries.
+ * Arrays are replaced as a whole on every change (copy on write), so lookups need no locks
+ * and changes, which are much rarer than lookups, cost one pass over the arrays.
+ * Entries are loaded on the first lookup, changes made before it are ignored, as the load reads them anyway.
+ */
+public class PrefixIndex {
+
+    private static final Snapshot EMPTY = new Snapshot(new String[0], new long[0], new String[0]);
+
+    private final Supplier<Map<Long, String[]>> loader;
+
+    private volatile Snapshot snapshot = EMPTY;
+
+    private volatile boolean loaded;
+
+    /**
+     * @param loader reads indexed texts of all entries by their ids, the first text is the label of entry
+     */
+    public PrefixIndex(Supplier<Map<Long, String[]>> loader) {
+        this.loader = loader;
+    }
+
+    /**
+     * Adds entry or replaces all keys of entry with the same id
+     *
+     * @param id    id of entry
+     * @param texts indexed texts, the first one is the label of entry in results
+     */
+    public void put(Long id, String... texts) {
+        putAll(Collections.singletonMap(id, texts));
+    }
+
+    /**
+     * Adds entries or replaces all keys of entries with the same ids by one pass over the index
+     *
+     * @param textsById indexed texts by ids of entries, the first text is the label of entry in results
+     */
+    public synchronized void putAll(Map<Long, String[]> textsById) {
+        if (loaded) {
+            merge(textsById);
+        }
+    }
+
+    private void merge(Map<Long, String[]> textsById) {
+        List<Key> added = new ArrayList<>();
+        for (Map.Entry<Long, String[]> entry : textsById.entrySet()) {
+            String label = entry.getValue()[0];
+            for (String text : entry.getValue()) {
+                for (String key : getKeys(text)) {
+                    added.add(new Key(key, entry.getKey(), label));
+                }
+            }
+        }
+        added.sort(Key.ORDER);
+        snapshot = snapshot.merge(textsById.keySet(), added);
+    }
+
+    /**
+     * Removes all keys of entry
+     *
+     * @param id id of entry
+     */
+    public synchronized void remove(Long id) {
+        if (!loaded) {
+            return;
+        }
+        snapshot = snapshot.merge(Collections.singleton(id), Collections.emptyList());
+    }
+
+    /**
+     * Removes all entries, they are loaded again on the next lookup
+     */
+    public synchronized void clear() {
+        snapshot = EMPTY;
+        loaded = false;
+    }
+
+    /**
+     * Finds entries which have a key starting with prefix, ordered by the matched key
+     *
+     * @param prefix   beginning of text, case insensitive; all entries match empty prefix
+     * @param limit    maximal amount of entries
+     * @param accepted filter of entry ids
+     * @return ids and labels of found entries
+     */
+    public List<AutocompleteDto> find(String prefix, int limit, LongPredicate accepted) {
+        if (!loaded) {
+            load();
+        }
+        Snapshot current = snapshot;
+        String normalizedPrefix = normalize(prefix);
+        List<AutocompleteDto> result = new ArrayList<>();
+        Set<Long> found = new HashSet<>();
+        for (int i = current.lowerBound(normalizedPrefix); i < current.keys.length && result.size() < limit
+                && current.keys[i].startsWith(normalizedPrefix); i++) {
+            long id = current.ids[i];
+            if (accepted.test(id) && found.add(id)) {
+                result.add(new AutocompleteDto(id, current.labels[i]));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Amount of keys in the index
+     *
+     * @return amount of keys
+     */
+    public int size() {
+        return snapshot.keys.length;
+    }
+
+    private synchronized void load() {
+        if (!loaded) {
+            merge(loader.get());
+            loaded = true;
+        }
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().replaceAll("\\s+", " ").toLowerCase(Locale.ROOT);
+    }
+
+    private static List<String> getKeys(String text) {
+        String normalizedText = normalize(text);
+        List<String> keys = new ArrayList<>();
+        if (normalizedText.isEmpty()) {
+            return keys;
+        }
+        keys.add(normalizedText);
+        for (int i = normalizedText.indexOf(' '); i >= 0; i = normalizedText.indexOf(' ', i + 1)) {
+            keys.add(normalizedText.substring(i + 1));
+        }
+        return keys;
+    }
+
+    /**
+     * Key of entry with its id and label, used while the arrays are rebuilt
+     */
+    private static final class Key {
+
+        private static final Comparator<Key> ORDER = Comparator.<Key, String>comparing(key -> key.key)
+                .thenComparingLong(key -> key.id);
+
+        private final String key;
+
+        private final long id;
+
+        private final String label;
+
+        private Key(String key, long id, String label) {
+            this.key = key;
+            this.id = id;
+            this.label = label;
+        }
+    }
+
+    /**
+     * Immutable parallel arrays of keys, ids and labels sorted by key and id
+     */
+    private static final class Snapshot {
+
+        private final String[] keys;
+
+        private final long[] ids;
+
+        private final String[] labels;
+
+        private Snapshot(String[] keys, long[] ids, String[] labels) {
+            this.keys = keys;
+            this.ids = ids;
+            this.labels = labels;
+        }
+
+        /**
+         * Index of the first key which is not less than prefix
+         */
+        private int lowerBound(String prefix) {
+            int low = 0;
+            int high = keys.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys[middle].compareTo(prefix) < 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Copy without keys of removed ids, merged with sorted added keys
+         */
+        private Snapshot merge(Set<Long> removedIds, List<Key> added) {
+            int size = keys.length + added.size();
+            String[] mergedKeys = new String[size];
+            long[] mergedIds = new long[size];
+            String[] mergedLabels = new String[size];
+            int merged = 0;
+            int i = 0;
+            for (Key key : added) {
+                for (; i < keys.length && (keys[i].compareTo(key.key) < 0
+                        || keys[i].equals(key.key) && ids[i] < key.id); i++) {
+                    if (!removedIds.contains(ids[i])) {
+                        mergedKeys[merged] = keys[i];
+                        mergedIds[merged] = ids[i];
+                        mergedLabels[merged++] = labels[i];
+                    }
+                }
+                mergedKeys[merged] = key.key;
+                mergedIds[merged] = key.id;
+                mergedLabels[merged++] = key.label;
+            }
+            for (; i < keys.length; i++) {
+                if (!removedIds.contains(ids[i])) {
+                    mergedKeys[merged] = keys[i];
+                    mergedIds[merged] = ids[i];
+                    mergedLabels[merged++] = labels[i];
+                }
+            }
+            return new Snapshot(Arrays.copyOf(mergedKeys, merged), Arrays.copyOf(mergedIds, merged),
+                    Arrays.copyOf(mergedLabels, merged));
+        }
+    }
+}
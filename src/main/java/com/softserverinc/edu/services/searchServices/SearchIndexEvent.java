@@ -0,0 +1,72 @@
+package com.softserverinc.edu.services.searchServices;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+
+/**
+ * Application event which is published by services when indexed entity (Issue, Project, ProjectRelease,
+ * IssueComment) was saved or removed. Keeps only class and id of entity, so it can be safely handled after
+ * the transaction that published it is completed.
+ */
+public class SearchIndexEvent {
+
+    private final Class<?> entityClass;
+
+    private final Long entityId;
+
+    private final boolean removed;
+
+    private final long createTime = System.currentTimeMillis();
+
+    private SearchIndexEvent(Class<?> entityClass, Long entityId, boolean removed) {
+        this.entityClass = entityClass;
+        this.entityId = entityId;
+        this.removed = removed;
+    }
+
+    /**
+     * Creates event for saved (created or updated) entity
+     *
+     * @param entityClass class of indexed entity
+     * @param entityId    id of saved entity
+     * @return event instance
+     */
+    public static SearchIndexEvent saved(Class<?> entityClass, Long entityId) {
+        return new SearchIndexEvent(entityClass, entityId, false);
+    }
+
+    /**
+     * Creates event for removed entity
+     *
+     * @param entityClass class of indexed entity
+     * @param entityId    id of removed entity
+     * @return event instance
+     */
+    public static SearchIndexEvent removed(Class<?> entityClass, Long entityId) {
+        return new SearchIndexEvent(entityClass, entityId, true);
+    }
+
+    public Class<?> getEntityClass() {
+        return entityClass;
+    }
+
+    public Long getEntityId() {
+        return entityId;
+    }
+
+    public boolean isRemoved() {
+        return removed;
+    }
+
+    public long getCreateTime() {
+        return createTime;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this)
+                .append("entityClass", entityClass.getSimpleName())
+                .append("entityId", entityId)
+                .append("removed", removed)
+                .toString();
+    }
+}
@@ -0,0 +1,90 @@
+package com.softserverinc.edu.services.searchServices;
+
+import java.util.Date;
+import java.util.Map;
+
+/**
+ * Snapshot of the search index state which is shown on index-health endpoint
+ */
+public class SearchIndexHealth {
+
+    private String massIndexingStatus;
+
+    private Date massIndexingStartTime;
+
+    private int pendingChanges;
+
+    private long lagMillis;
+
+    private long appliedChanges;
+
+    private long failedChanges;
+
+    private Date lastAppliedChangeTime;
+
+    private Map<String, Integer> indexedDocuments;
+
+    public String getMassIndexingStatus() {
+        return massIndexingStatus;
+    }
+
+    public void setMassIndexingStatus(String massIndexingStatus) {
+        this.massIndexingStatus = massIndexingStatus;
+    }
+
+    public Date getMassIndexingStartTime() {
+        return massIndexingStartTime;
+    }
+
+    public void setMassIndexingStartTime(Date massIndexingStartTime) {
+        this.massIndexingStartTime = massIndexingStartTime;
+    }
+
+    public int getPendingChanges() {
+        return pendingChanges;
+    }
+
+    public void setPendingChanges(int pendingChanges) {
+        this.pendingChanges = pendingChanges;
+    }
+
+    public long getLagMillis() {
+        return lagMillis;
+    }
+
+    public void setLagMillis(long lagMillis) {
+        this.lagMillis = lagMillis;
+    }
+
+    public long getAppliedChanges() {
+        return appliedChanges;
+    }
+
+    public void setAppliedChanges(long appliedChanges) {
+        this.appliedChanges = appliedChanges;
+    }
+
+    public long getFailedChanges() {
+        return failedChanges;
+    }
+
+    public void setFailedChanges(long failedChanges) {
+        this.failedChanges = failedChanges;
+    }
+
+    public Date getLastAppliedChangeTime() {
+        return lastAppliedChangeTime;
+    }
+
+    public void setLastAppliedChangeTime(Date lastAppliedChangeTime) {
+        this.lastAppliedChangeTime = lastAppliedChangeTime;
+    }
+
+    public Map<String, Integer> getIndexedDocuments() {
+        return indexedDocuments;
+    }
+
+    public void setIndexedDocuments(Map<String, Integer> indexedDocuments) {
+        this.indexedDocuments = indexedDocuments;
+    }
+}
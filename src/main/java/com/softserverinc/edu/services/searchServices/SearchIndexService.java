@@ -0,0 +1,243 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.entities.IssueComment;
+import com.softserverinc.edu.repositories.SearchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.ContextClosedEvent;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Keeps full-text index of Issue, Project, ProjectRelease, IssueComment entities up to date.
+ * The whole index is rebuilt once in background after application start, then only changes
+ * published by services as {@link SearchIndexEvent} are applied to the index by separate worker thread.
+ */
+@Service
+public class SearchIndexService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SearchIndexService.class);
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    @Value("${search.index.massIndexOnStartup}")
+    private boolean massIndexOnStartup;
+
+    @Value("${search.index.batchSize}")
+    private int batchSize;
+
+    @Value("${search.index.threadsToLoadObjects}")
+    private int threadsToLoadObjects;
+
+    @Value("${search.index.idFetchSize}")
+    private int idFetchSize;
+
+    @Value("${search.index.comments.batchSize}")
+    private int commentsBatchSize;
+
+    @Value("${search.index.comments.threadsToLoadObjects}")
+    private int commentsThreadsToLoadObjects;
+
+    private final BlockingQueue<SearchIndexEvent> pendingEvents = new LinkedBlockingQueue<>();
+
+    private final ExecutorService indexWorker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "search-index-worker");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    private volatile boolean running;
+
+    private final AtomicLong appliedChanges = new AtomicLong();
+
+    private final AtomicLong failedChanges = new AtomicLong();
+
+    private volatile long processedBatchCreateTime;
+
+    private volatile Date lastAppliedChangeTime;
+
+    private volatile Future<?> massIndexing;
+
+    private volatile Date massIndexingStartTime;
+
+    /**
+     * Starts index worker and rebuilding of the whole index only once, when application context is ready
+     *
+     * @param event context refreshed event
+     */
+    @EventListener
+    public void onApplicationStarted(ContextRefreshedEvent event) {
+        if (!started.compareAndSet(false, true)) {
+            return;
+        }
+        running = true;
+        indexWorker.submit(this::applyPendingEvents);
+        if (massIndexOnStartup) {
+            startMassIndexing();
+        }
+    }
+
+    /**
+     * Starts rebuilding of the whole index in background, if mass indexing is not running already
+     */
+    public synchronized void startMassIndexing() {
+        if (massIndexing != null && !massIndexing.isDone()) {
+            return;
+        }
+        LOGGER.info("Mass indexing of search index is started");
+        massIndexingStartTime = new Date();
+        massIndexing = searchRepository.startMassIndexing(batchSize, threadsToLoadObjects, idFetchSize);
+    }
+
+    /**
+     * Starts rebuilding of the index of comments only in background, if mass indexing is not running already.
+     * Comments are loaded by bigger batches in more threads, as there are much more of them than of issues.
+     *
+     * @return true if indexing is started, false if mass indexing is running already
+     */
+    public synchronized boolean startCommentIndexing() {
+        if (massIndexing != null && !massIndexing.isDone()) {
+            return false;
+        }
+        LOGGER.info("Mass indexing of comments is started");
+        massIndexingStartTime = new Date();
+        massIndexing = searchRepository.startMassIndexing(commentsBatchSize, commentsThreadsToLoadObjects,
+                idFetchSize, IssueComment.class);
+        return true;
+    }
+
+    /**
+     * Receives entity changes after the transaction that made them is committed
+     * (or immediately if there was no transaction) and queues them for indexing
+     *
+     * @param event saved or removed entity
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEntityChanged(SearchIndexEvent event) {
+        pendingEvents.add(event);
+    }
+
+    /**
+     * Collects current state of the index
+     *
+     * @return state of mass indexing, incremental indexing and amount of indexed documents
+     */
+    public SearchIndexHealth getHealth() {
+        SearchIndexHealth health = new SearchIndexHealth();
+        health.setMassIndexingStatus(getMassIndexingStatus());
+        health.setMassIndexingStartTime(massIndexingStartTime);
+        health.setPendingChanges(pendingEvents.size());
+        health.setLagMillis(getLagMillis());
+        health.setAppliedChanges(appliedChanges.get());
+        health.setFailedChanges(failedChanges.get());
+        health.setLastAppliedChangeTime(lastAppliedChangeTime);
+        health.setIndexedDocuments(searchRepository.countIndexedDocuments());
+        return health;
+    }
+
+    /**
+     * Applies the rest of queued changes before application is stopped
+     *
+     * @param event context closed event
+     */
+    @EventListener
+    public void onApplicationStopped(ContextClosedEvent event) throws InterruptedException {
+        // the batch which is being written is completed, interrupted Lucene writer would close the index files
+        running = false;
+        indexWorker.shutdown();
+        indexWorker.awaitTermination(5, TimeUnit.SECONDS);
+        List<SearchIndexEvent> events = new ArrayList<>();
+        pendingEvents.drainTo(events);
+        if (!events.isEmpty()) {
+            applyEvents(events);
+        }
+    }
+
+    /**
+     * Worker loop: waits for queued changes and applies them to the index in batches until worker is stopped
+     */
+    private void applyPendingEvents() {
+        List<SearchIndexEvent> events = new ArrayList<>();
+        while (running) {
+            try {
+                SearchIndexEvent event = pendingEvents.poll(100, TimeUnit.MILLISECONDS);
+                if (event == null) {
+                    continue;
+                }
+                events.add(event);
+                pendingEvents.drainTo(events, batchSize - 1);
+                processedBatchCreateTime = events.get(0).getCreateTime();
+                applyEvents(events);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                processedBatchCreateTime = 0;
+                events.clear();
+            }
+        }
+    }
+
+    private void applyEvents(List<SearchIndexEvent> events) {
+        try {
+            searchRepository.applyIndexChanges(events);
+            appliedChanges.addAndGet(events.size());
+            lastAppliedChangeTime = new Date();
+        } catch (RuntimeException e) {
+            failedChanges.addAndGet(events.size());
+            LOGGER.error("Unable to apply changes to search index " + events, e);
+        }
+    }
+
+    /**
+     * Returns age of the oldest change which is not applied to the index yet
+     *
+     * @return lag in milliseconds, 0 if all changes are applied
+     */
+    private long getLagMillis() {
+        long oldestChangeTime = processedBatchCreateTime;
+        SearchIndexEvent oldestPendingEvent = pendingEvents.peek();
+        if (oldestChangeTime == 0 && oldestPendingEvent != null) {
+            oldestChangeTime = oldestPendingEvent.getCreateTime();
+        }
+        return oldestChangeTime == 0 ? 0 : System.currentTimeMillis() - oldestChangeTime;
+    }
+
+    private String getMassIndexingStatus() {
+        Future<?> currentMassIndexing = massIndexing;
+        if (currentMassIndexing == null) {
+            return "NOT_STARTED";
+        }
+        if (!currentMassIndexing.isDone()) {
+            return "IN_PROGRESS";
+        }
+        try {
+            currentMassIndexing.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            return "FAILED";
+        }
+        return "DONE";
+    }
+}
@@ -0,0 +1,78 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.SearchFacetDto;
+import com.softserverinc.edu.entities.SearchResultDto;
+import com.softserverinc.edu.entities.enums.IssuePriority;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.entities.enums.IssueType;
+import com.softserverinc.edu.entities.enums.SearchMatch;
+import com.softserverinc.edu.entities.enums.SearchType;
+import com.softserverinc.edu.repositories.SearchRepository;
+import com.softserverinc.edu.services.ProjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Full-text search in Issue, Project, ProjectRelease entities with paging and facets.
+ * Hits are read from the index only; names of facet values are resolved here,
+ * titles of projects are taken from the second-level cache of projects.
+ */
+@Service
+public class SearchService {
+
+    @Autowired
+    private SearchRepository searchRepository;
+
+    @Autowired
+    private ProjectService projectService;
+
+    /**
+     * Returns one page of hits of selected type with amount of hits of every type and facets of issues.
+     * Filters which aren't issue facets or have empty value are ignored.
+     *
+     * @param searchText text to search
+     * @param searchType type of entities to return
+     * @param match      how words of the text are matched
+     * @param filters    values of issue facets by facet names (status, priority, type, projectId)
+     * @param pageable   page of hits
+     * @return page of hits with counts and facets
+     */
+    public SearchResultDto search(String searchText, SearchType searchType, SearchMatch match,
+                                  Map<String, String> filters, Pageable pageable) {
+        Map<String, String> issueFilters = new LinkedHashMap<>();
+        for (Map.Entry<String, String> filter : filters.entrySet()) {
+            if (SearchRepository.ISSUE_FACETS.contains(filter.getKey()) && filter.getValue() != null
+                    && !filter.getValue().isEmpty()) {
+                issueFilters.put(filter.getKey(), filter.getValue());
+            }
+        }
+        SearchResultDto result = searchRepository.search(searchText, searchType, match, issueFilters, pageable);
+        for (Map.Entry<String, List<SearchFacetDto>> facet : result.getFacets().entrySet()) {
+            for (SearchFacetDto value : facet.getValue()) {
+                value.setLabel(getLabel(facet.getKey(), value.getValue()));
+            }
+        }
+        return result;
+    }
+
+    private String getLabel(String facet, String value) {
+        switch (facet) {
+            case "status":
+                return IssueStatus.valueOf(value).toString();
+            case "priority":
+                return IssuePriority.valueOf(value).toString();
+            case "type":
+                return IssueType.valueOf(value).toString();
+            case "projectId":
+                Project project = projectService.findById(Long.valueOf(value));
+                return project == null ? value : project.getTitle();
+        }
+        return value;
+    }
+}
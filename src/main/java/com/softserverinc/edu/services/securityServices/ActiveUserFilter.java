@@ -0,0 +1,33 @@
+package com.softserverinc.edu.services.securityServices;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * Opens request scope of {@link ActiveUserHolder} for every request
+ * and clears it when the request is processed
+ */
+@Component
+public class ActiveUserFilter extends OncePerRequestFilter {
+
+    @Autowired
+    private ActiveUserHolder activeUserHolder;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        activeUserHolder.openRequestScope();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            activeUserHolder.closeRequestScope();
+        }
+    }
+}
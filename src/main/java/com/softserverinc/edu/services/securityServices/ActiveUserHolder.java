@@ -0,0 +1,84 @@
+package com.softserverinc.edu.services.securityServices;
+
+import com.softserverinc.edu.entities.User;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Keeps logged user for the time of one request, so the user is loaded from database
+ * only once per request instead of every permission check.
+ * Request scope is opened and closed by {@link ActiveUserFilter}; outside of request
+ * (background threads) the user is loaded on every call.
+ */
+@Component
+public class ActiveUserHolder {
+
+    private final ThreadLocal<RequestScope> requestScope = new ThreadLocal<>();
+
+    private final AtomicLong loadedUsers = new AtomicLong();
+
+    private final AtomicLong savedLookups = new AtomicLong();
+
+    /**
+     * Starts request scope for current thread
+     */
+    public void openRequestScope() {
+        requestScope.set(new RequestScope());
+    }
+
+    /**
+     * Ends request scope for current thread and forgets user kept by it
+     */
+    public void closeRequestScope() {
+        requestScope.remove();
+    }
+
+    /**
+     * Returns user with given email, which is loaded only once per request.
+     * User is loaded again if the email was changed during the request (login, logout).
+     *
+     * @param email      email of logged user
+     * @param userLoader loads user by email from database
+     * @return logged user
+     */
+    public User getUser(String email, Function<String, User> userLoader) {
+        RequestScope scope = requestScope.get();
+        if (scope != null && scope.loaded && scope.email.equals(email)) {
+            savedLookups.incrementAndGet();
+            return scope.user;
+        }
+        User user = userLoader.apply(email);
+        loadedUsers.incrementAndGet();
+        if (scope != null) {
+            scope.email = email;
+            scope.user = user;
+            scope.loaded = true;
+        }
+        return user;
+    }
+
+    /**
+     * Returns amounts of loaded users and of lookups served from request scope
+     *
+     * @return map with lookup statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("loadedUsers", loadedUsers.get());
+        statistics.put("savedLookups", savedLookups.get());
+        return statistics;
+    }
+
+    private static class RequestScope {
+
+        private String email;
+
+        private User user;
+
+        private boolean loaded;
+    }
+}
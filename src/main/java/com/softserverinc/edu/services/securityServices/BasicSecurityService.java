@@ -19,13 +19,18 @@ public class BasicSecurityService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ActiveUserHolder activeUserHolder;
+
     /**
-     * Returns current logged user.
+     * Returns current logged user. User is loaded from database only once per request
+     * (see {@link ActiveUserHolder}).
      *
      * @return active user
      */
     public User getActiveUser() {
-        return userService.findByEmailIs(SecurityContextHolder.getContext().getAuthentication().getName());
+        return activeUserHolder.getUser(SecurityContextHolder.getContext().getAuthentication().getName(),
+                userService::findByEmailIs);
     }
 
     /**
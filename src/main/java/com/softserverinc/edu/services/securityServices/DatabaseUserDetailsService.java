@@ -0,0 +1,109 @@
+package com.softserverinc.edu.services.securityServices;
+
+import com.softserverinc.edu.repositories.UserRepository;
+import net.sf.ehcache.Cache;
+import net.sf.ehcache.CacheManager;
+import net.sf.ehcache.Element;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads users for authentication (login form, remember-me) from database and keeps them
+ * in "userDetails" cache region, which size and time to live are configured in ehcache.xml.
+ * UserService evicts user from cache every time when user is changed.
+ */
+@Service
+public class DatabaseUserDetailsService implements UserDetailsService {
+
+    private static final String CACHE_NAME = "userDetails";
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final AtomicLong hits = new AtomicLong();
+
+    private final AtomicLong misses = new AtomicLong();
+
+    /**
+     * Returns user with given email from cache or database.
+     * Returns new instance every time, because Spring Security erases credentials of authenticated user.
+     *
+     * @param email email of user
+     * @return user details with password, enabled flag and role as authority
+     * @throws UsernameNotFoundException if there is no user with such email
+     */
+    @Override
+    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        Element element = getCache().get(email);
+        UserDetails userDetails;
+        if (element != null) {
+            hits.incrementAndGet();
+            userDetails = (UserDetails) element.getObjectValue();
+        } else {
+            misses.incrementAndGet();
+            userDetails = findUserDetails(email);
+            getCache().put(new Element(email, userDetails));
+        }
+        return new User(userDetails.getUsername(), userDetails.getPassword(), userDetails.isEnabled(),
+                true, true, true, userDetails.getAuthorities());
+    }
+
+    /**
+     * Removes user from cache now and, if there is active transaction, once more after it is committed,
+     * so authentication that was running concurrently can't put old state of user back into cache
+     *
+     * @param email email of changed user
+     */
+    public void evict(String email) {
+        if (email == null) {
+            return;
+        }
+        getCache().remove(email);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+                @Override
+                public void afterCommit() {
+                    getCache().remove(email);
+                }
+            });
+        }
+    }
+
+    /**
+     * Returns hits and misses of user details cache
+     *
+     * @return map with cache statistics
+     */
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("hits", hits.get());
+        statistics.put("misses", misses.get());
+        statistics.put("cachedUsers", getCache().getSize());
+        return statistics;
+    }
+
+    private UserDetails findUserDetails(String email) {
+        com.softserverinc.edu.entities.User user = userRepository.findByEmailIs(email);
+        if (user == null) {
+            throw new UsernameNotFoundException("User " + email + " is not found");
+        }
+        return new User(user.getEmail(), user.getPassword(), user.getEnabled() == 1, true, true, true,
+                Collections.singletonList(new SimpleGrantedAuthority(user.getRole().name())));
+    }
+
+    private Cache getCache() {
+        return CacheManager.create().getCache(CACHE_NAME);
+    }
+}
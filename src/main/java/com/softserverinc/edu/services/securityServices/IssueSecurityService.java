@@ -60,6 +60,17 @@ public class IssueSecurityService extends BasicSecurityService {
         return isAdmin() || ((isDeveloper() || isQA() || isProjectManager()) && isUserOnProject(currentIssueId));
     }
 
+    /**
+     * Check for user permission to edit issues of the project, used when issues are already loaded
+     *
+     * @param project Represents project of the issues
+     * @return True, if user can edit issues of this project, otherwise false
+     */
+    public boolean hasPermissionToEditIssuesOfProject(Project project) {
+        return isAdmin() || ((isDeveloper() || isQA() || isProjectManager()) && getActiveUser() != null
+                && project.equals(getActiveUser().getProject()));
+    }
+
     /**
      * Check if user is assigned to this issue
      *
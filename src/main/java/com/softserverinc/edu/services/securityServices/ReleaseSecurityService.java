@@ -22,8 +22,16 @@ public class ReleaseSecurityService extends BasicSecurityService {
     private ProjectSecurityService projectSecurityService;
 
 
+    /**
+     * Checks if current user may view release. Release which doesn't exist has nothing to protect,
+     * so the request reaches the controller, which answers that it's not found.
+     *
+     * @param currentReleasetId id of release
+     * @return true if user may view project of the release or there is no such release
+     */
     public boolean hasPermissionToViewRelease(Long currentReleasetId) {
-        return projectSecurityService.hasPermissionToViewProject(releaseService.findById(currentReleasetId).getProject().getId());
+        ProjectRelease release = releaseService.findById(currentReleasetId);
+        return release == null || projectSecurityService.hasPermissionToViewProject(release.getProject().getId());
     }
 
     public boolean hasPermissionToAddRelease(Long currentProjectId) {
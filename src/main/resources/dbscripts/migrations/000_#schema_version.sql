@@ -0,0 +1,41 @@
+# Versions of applied migrations. Every migration is wrapped into a procedure which checks its version here,
+# so running all scripts again applies only the new ones. Statements are separated by lines of $$,
+# as bodies of the procedures contain semicolons.
+CREATE TABLE IF NOT EXISTS `schema_version` (
+  `version`   INT          NOT NULL,
+  `script`    VARCHAR(100) NOT NULL,
+  `appliedAt` TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`version`)
+)
+  ENGINE = InnoDB
+  DEFAULT CHARSET = utf8
+$$
+
+# Databases migrated before versions were recorded have all migrations up to 011 applied: they are recorded,
+# so the scripts are not applied again
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version`) AND EXISTS(SELECT 1 FROM `information_schema`.`TABLES`
+                                                          WHERE `TABLE_SCHEMA` = DATABASE()
+                                                                AND `TABLE_NAME` = 'IssueStatusTransition') THEN
+      INSERT INTO `schema_version` (`version`, `script`) VALUES
+        (1, '001_#history_indexes.sql'),
+        (2, '002_#issue_indexes.sql'),
+        (3, '003_#user_indexes.sql'),
+        (4, '004_#worklog_indexes.sql'),
+        (5, '005_#issuecomment_indexes.sql'),
+        (6, '006_#issue_spent_time.sql'),
+        (7, '007_#worklog_overlap_index.sql'),
+        (8, '008_#release_progress.sql'),
+        (9, '009_#release_burndown.sql'),
+        (10, '010_#issue_version.sql'),
+        (11, '011_#issue_status_transition.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,23 @@
+# Applied once: skipped if schema_version already has version 1
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 1) THEN
+      # History of issue ordered by time: findByIssue, findByIssueOrderByCreateTimeDesc, keyset pages of issue history
+      CREATE INDEX `History_issue_createTime_idx` ON `History` (`issueId`, `createTime`, `id`);
+
+      # History of user: findByAssignedToUserIdOrChangedByUserIdOrderByCreateTimeDesc (index merge union of both indexes)
+      CREATE INDEX `History_assignedTo_createTime_idx` ON `History` (`assignedToUserId`, `createTime`);
+
+      # findByChangedByUserIdAndIssueCommentIsNotNull, changedBy part of the query above
+      CREATE INDEX `History_changedBy_comment_idx` ON `History` (`changedByUserId`, `issuecomment`(1), `createTime`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (1, '001_#history_indexes.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,23 @@
+# Applied once: skipped if schema_version already has version 2
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 2) THEN
+      # Keyset pages of all issues: findPageAfter, findPageBefore
+      CREATE INDEX `Issue_createTime_idx` ON `Issue` (`createTime`, `id`);
+
+      # findByProject, findByProjectAndTitleContaining (replaces index of Issue_fk3)
+      CREATE INDEX `Issue_project_title_idx` ON `Issue` (`projectId`, `title`);
+
+      # findByProjectRelease, findByProjectReleaseAndTitleContaining, findByIssues (replaces index of Issue_fk0)
+      CREATE INDEX `Issue_release_title_idx` ON `Issue` (`projectReleaseId`, `title`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (2, '002_#issue_indexes.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,22 @@
+# Applied once: skipped if schema_version already has version 3
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 3) THEN
+      # Members of project: findByProjectAndRoleAndIsDeleted, findByProjectAndRoleNotAndIsDeleted,
+      # findByProjectAndIsDeletedAndEnabledIs, findByProjectAndRole, findByProjectAnd...ContainingAndRole...
+      # (replaces index of User_fk0)
+      CREATE INDEX `User_project_deleted_role_idx` ON `User` (`projectId`, `isDeleted`, `role`, `enabled`);
+
+      # Users by role: findByRole, findByEmailContainingAndRoleAndIsDeleted, findBy...ContainingAndRoleIs
+      CREATE INDEX `User_role_deleted_idx` ON `User` (`role`, `isDeleted`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (3, '003_#user_indexes.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,20 @@
+# Applied once: skipped if schema_version already has version 4
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 4) THEN
+      # Work log of issue ordered by start date: findByIssue, keyset pages of work log (replaces index of WorkLog_fk0)
+      CREATE INDEX `WorkLog_issue_startDate_idx` ON `WorkLog` (`issueId`, `startDate`, `id`);
+
+      # findByUserAndIssue
+      CREATE INDEX `WorkLog_issue_user_idx` ON `WorkLog` (`issueId`, `userId`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (4, '004_#worklog_indexes.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,20 @@
+# Applied once: skipped if schema_version already has version 5
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 5) THEN
+      # Comments of issue in order of creation: findByIssue (replaces index of IssueComments_fk0)
+      CREATE INDEX `IssueComment_issue_timeStamp_idx` ON `IssueComment` (`issueId`, `timeStamp`);
+
+      # Reverse side of Label_Issue primary key: labels of issue
+      CREATE INDEX `Label_Issue_issue_idx` ON `Label_Issue` (`issueId`, `labelId`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (5, '005_#issuecomment_indexes.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
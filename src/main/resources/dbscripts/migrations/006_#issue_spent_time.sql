@@ -0,0 +1,20 @@
+# Applied once: skipped if schema_version already has version 6
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 6) THEN
+      # Denormalized total spent time of issue, kept up to date by WorkLogService
+      ALTER TABLE `Issue` ADD COLUMN `spentTime` BIGINT NOT NULL DEFAULT 0;
+
+      UPDATE `Issue` i
+      SET i.`spentTime` = (SELECT COALESCE(SUM(w.`amountOfTime`), 0) FROM `WorkLog` w WHERE w.`issueId` = i.`id`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (6, '006_#issue_spent_time.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,17 @@
+# Applied once: skipped if schema_version already has version 7
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 7) THEN
+      # Overlap of logged periods of user: countOverlapping, findOverlapping, findTotalByUser
+      CREATE INDEX `WorkLog_user_startDate_endDate_idx` ON `WorkLog` (`userId`, `startDate`, `endDate`);
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (7, '007_#worklog_overlap_index.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
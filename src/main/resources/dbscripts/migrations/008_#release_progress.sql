@@ -0,0 +1,36 @@
+# Applied once: skipped if schema_version already has version 8
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 8) THEN
+      # Progress of releases per issue status, kept up to date by ReleaseProgressService
+      CREATE TABLE `ReleaseProgress` (
+        `releaseId`    INT         NOT NULL,
+        `status`       VARCHAR(32) NOT NULL,
+        `issueCount`   INT         NOT NULL DEFAULT 0,
+        `estimateTime` BIGINT      NOT NULL DEFAULT 0,
+        `spentTime`    BIGINT      NOT NULL DEFAULT 0,
+        PRIMARY KEY (`releaseId`, `status`)
+      )
+        ENGINE = InnoDB
+        DEFAULT CHARSET = utf8;
+
+      ALTER TABLE `ReleaseProgress`
+        ADD CONSTRAINT `ReleaseProgress_fk0` FOREIGN KEY (`releaseId`) REFERENCES `ProjectRelease` (`id`)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE;
+
+      INSERT INTO `ReleaseProgress` (`releaseId`, `status`, `issueCount`, `estimateTime`, `spentTime`)
+        SELECT `projectReleaseId`, `status`, COUNT(*), SUM(`estimateTime`), SUM(`spentTime`)
+        FROM `Issue`
+        GROUP BY `projectReleaseId`, `status`;
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (8, '008_#release_progress.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,31 @@
+# Applied once: skipped if schema_version already has version 9
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 9) THEN
+      # Daily burndown points of releases, written by ReleaseBurndownService, read by range of days
+      CREATE TABLE `ReleaseBurndown` (
+        `releaseId`         INT    NOT NULL,
+        `day`               DATE   NOT NULL,
+        `openIssues`        INT    NOT NULL DEFAULT 0,
+        `remainingEstimate` BIGINT NOT NULL DEFAULT 0,
+        `spentTime`         BIGINT NOT NULL DEFAULT 0,
+        PRIMARY KEY (`releaseId`, `day`)
+      )
+        ENGINE = InnoDB
+        DEFAULT CHARSET = utf8;
+
+      ALTER TABLE `ReleaseBurndown`
+        ADD CONSTRAINT `ReleaseBurndown_fk0` FOREIGN KEY (`releaseId`) REFERENCES `ProjectRelease` (`id`)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE;
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (9, '009_#release_burndown.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,17 @@
+# Applied once: skipped if schema_version already has version 10
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 10) THEN
+      # Version of issue for optimistic locking, incremented by every update of the issue
+      ALTER TABLE `Issue` ADD COLUMN `version` BIGINT NOT NULL DEFAULT 0;
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (10, '010_#issue_version.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
@@ -0,0 +1,30 @@
+# Applied once: skipped if schema_version already has version 11
+DROP PROCEDURE IF EXISTS `migrate`
+$$
+CREATE PROCEDURE `migrate`()
+  BEGIN
+    IF NOT EXISTS(SELECT 1 FROM `schema_version` WHERE `version` = 11) THEN
+      # Issue status workflows of projects, read by IssueWorkflowService.
+      # Projects without rows use the default workflow.
+      CREATE TABLE `IssueStatusTransition` (
+        `projectId`  INT         NOT NULL,
+        `fromStatus` VARCHAR(32) NOT NULL,
+        `toStatus`   VARCHAR(32) NOT NULL,
+        PRIMARY KEY (`projectId`, `fromStatus`, `toStatus`)
+      )
+        ENGINE = InnoDB
+        DEFAULT CHARSET = utf8;
+
+      ALTER TABLE `IssueStatusTransition`
+        ADD CONSTRAINT `IssueStatusTransition_fk0` FOREIGN KEY (`projectId`) REFERENCES `Project` (`id`)
+        ON DELETE CASCADE
+        ON UPDATE CASCADE;
+
+      INSERT INTO `schema_version` (`version`, `script`) VALUES (11, '011_#issue_status_transition.sql');
+    END IF;
+  END
+$$
+CALL `migrate`()
+$$
+DROP PROCEDURE `migrate`
+$$
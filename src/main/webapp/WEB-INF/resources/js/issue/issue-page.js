@@ -5,8 +5,43 @@ $(document).ready(function () {
         enterMode : CKEDITOR.ENTER_BR
     });
 
+    // options of project, release and assignee are loaded by prefix of their names
+    function autocompleteOptions(url, params) {
+        return {
+            url: url,
+            dataType: 'json',
+            delay: 250,
+            data: function (search) {
+                return $.extend({q: search.term || ''}, params ? params() : {});
+            },
+            processResults: function (options) {
+                return {results: options};
+            }
+        };
+    }
+
+    function selectedProject() {
+        return {projectId: $("#projectInput").val()};
+    }
+
+    $("#projectInput[data-autocomplete]").select2({
+        width: '100%',
+        ajax: autocompleteOptions($("#projectInput").data("autocomplete"))
+    }).on("change", function () {
+        // release and assignee belong to the project
+        $("#projectReleaseInput, #assignee").val(null).trigger("change");
+    });
+
+    $("#projectReleaseInput, #assignee").each(function () {
+        $(this).select2({
+            width: '100%',
+            ajax: autocompleteOptions($(this).data("autocomplete"), selectedProject)
+        });
+    });
+
     // change (or add) labels to issue on issue-form
     $("#labelsSelect2").select2({
+        ajax: autocompleteOptions('/autocomplete/labels'),
         tags: true,
         createTag: function (tag) {
             return {
@@ -40,6 +75,8 @@ $(document).ready(function () {
         var selectedStatus = $(self).val();
         $(this).find('option').not(':selected').remove();
         queryObj.selectedStatus = selectedStatus;
+        // empty for new issue
+        queryObj.issueId = $("input[name='id']").val();
         $.ajax({
             url: "/getAvailableIssueStatuses",
             data: queryObj,
@@ -8,6 +8,21 @@ $(document).ready(function () {
         setTimeout(function(){$('#modalChangesIssue').modal('hide')}, 1800);
     };
 
+    //Titles of issues which start with entered text
+    var titleTimer;
+    $('#issueTitleInput').on('input', function () {
+        var title = $(this).val();
+        clearTimeout(titleTimer);
+        titleTimer = setTimeout(function () {
+            $.getJSON('/autocomplete/issues', {q: title}, function (issues) {
+                var titles = $('#issueTitles').empty();
+                $.each(issues, function (index, issue) {
+                    titles.append($('<option>').attr('value', issue.text));
+                });
+            });
+        }, 250);
+    });
+
     //Modal for removing issue
     $('.removeIssueBtn').click(function (e) {
         e.preventDefault();
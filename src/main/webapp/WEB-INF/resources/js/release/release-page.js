@@ -1,5 +1,39 @@
 $(document).ready(function () {
 
+    // remembers values shown to user, they are sent with changes to detect concurrent changes
+    $('.users-dropdown, .statuses-dropdown').each(function () {
+        $(this).data('previous', $(this).val());
+    });
+
+    // sends change of issue; if somebody else has changed the same field, shows current value
+    function changeIssue(dropdown, queryObj, currentValue) {
+        queryObj.previousData = dropdown.data('previous');
+        $.ajax({
+            url: "/issue/changeIssue",
+            data: queryObj,
+            type: 'POST',
+            success: function () {
+                dropdown.data('previous', queryObj.inputData);
+            },
+            error: function (xhr) {
+                if (xhr.status !== 409) {
+                    return;
+                }
+                var value = currentValue(xhr.responseJSON);
+                dropdown.data('previous', value.id);
+                if (dropdown.find("option[value='" + value.id + "']").length === 0) {
+                    dropdown.append("<option value='" + value.id + "'>" + value.text + "</option>");
+                }
+                dropdown.val(value.id);
+                dropdown.selectpicker('refresh');
+                $('#modalChangeIssue').find('.modal-body')
+                    .html("Issue was changed by another user, current value is <strong>" + value.text
+                        + "</strong>");
+                $('#modalChangeIssue').modal('show');
+            }
+        });
+    }
+
     // changes assignee of issue from dropdown in issues table
     $('.users-dropdown').on('changed.bs.select', function (e) {
         var queryObj = {};
@@ -12,10 +46,8 @@ $(document).ready(function () {
             .html("Assignee of <strong>" + issueTitle + "</strong> changed to <strong>"
                 + $(this).find('option:selected').text() + "</strong>");
         $('#modalChangeIssue').modal('show');
-        $.ajax({
-            url: "/issue/changeIssue",
-            data: queryObj,
-            type: 'POST'
+        changeIssue($(this), queryObj, function (issue) {
+            return {id: String(issue.assigneeId), text: issue.assigneeFirstName + " " + issue.assigneeLastName};
         });
     });
 
@@ -32,10 +64,8 @@ $(document).ready(function () {
             .html("Status of <strong>" + issueTitle + "</strong> changed to <strong>"
                 + selectedStatus + "</strong>");
         $('#modalChangeIssue').modal('show');
-        $.ajax({
-            url: "/issue/changeIssue",
-            data: queryObj,
-            type: 'POST'
+        changeIssue($(this), queryObj, function (issue) {
+            return {id: issue.status, text: issue.status};
         });
     });
 
@@ -46,6 +76,7 @@ $(document).ready(function () {
         var selectedStatus = $(e.currentTarget).val();
         $(self).find('option').not(':selected').remove();
         queryObj.selectedStatus = selectedStatus;
+        queryObj.issueId = $(this).parents("tr").find("input[name='issueId']").val();
         $.ajax({
             url: "/getAvailableIssueStatuses",
             data: queryObj,
@@ -32,7 +32,9 @@
 <div class="col-sm-4 col-sm-offset-1">
     <form action="/issue/search" method="POST">
         <div class="input-group">
-            <input name="title" type="text" class="form-control form-text" placeholder="Search By Issue's Title"/>
+            <input id="issueTitleInput" name="title" type="text" class="form-control form-text"
+                   placeholder="Search By Issue's Title" list="issueTitles" autocomplete="off"/>
+            <datalist id="issueTitles"></datalist>
             <span class="input-group-btn"><button type="submit" class="btn btn-default">
                 <span class="glyphicon glyphicon-search" aria-hidden="true"></span></button></span>
         </div>
@@ -91,22 +93,22 @@
                             <td class="text-center"><c:out value="${issue.status}"/></td>
                             <td class="text-center">
                                 <a class="viewLink"
-                                   href="<spring:url value='projects/project/${issue.project.id}'/>">
-                                        ${issue.project.title}
+                                   href="<spring:url value='projects/project/${issue.projectId}'/>">
+                                        ${issue.projectTitle}
                                 </a>
                             </td>
                             <td class="text-center">
                                 <a class="viewLink"
-                                   href="<spring:url value='/project/${issue.project.id}/release/${issue.projectRelease.id}'/>">
-                                        ${issue.projectRelease.version}
+                                   href="<spring:url value='/project/${issue.projectId}/release/${issue.releaseId}'/>">
+                                        ${issue.releaseVersion}
                                 </a>
                             </td>
 
                             <td class="text-center">
                                 <sec:authorize access="isAuthenticated()">
-                                <a class="viewLink" href="<spring:url value='/user/${issue.assignee.id}/view'/>">
+                                <a class="viewLink" href="<spring:url value='/user/${issue.assigneeId}/view'/>">
                                     </sec:authorize>
-                                        ${issue.assignee.firstName} ${issue.assignee.lastName}
+                                        ${issue.assigneeFirstName} ${issue.assigneeLastName}
                                 </a>
                             </td>
                             <td class="text-center"><c:out value="${issue.estimateTime}"/></td>
@@ -162,32 +164,61 @@
         </div>
 
         <%--all issues pagination--%>
-        <c:if test="${listOfIssues.getTotalPages()> 1}">
-            <div class="row col-sm-offset-4 col-sm-4">
-                <nav aria-label="Page navigation" id="pagerID">
-                    <div class="text-center">
-                        <ul class="pagination">
-                            <li>
-                                <a href="<spring:url value='/issue?issue_page=0'/>" aria-label="Start">
-                                    <span aria-hidden="true">&laquo;</span>
-                                </a>
-                            </li>
-                            <c:forEach var="page" begin="0" end="${listOfIssues.getTotalPages() - 1}">
+        <c:choose>
+            <%--keyset pagination: only links to the previous and next pages--%>
+            <c:when test="${seekPagination}">
+                <c:if test="${listOfIssues.hasPrevious() or listOfIssues.hasNext()}">
+                    <div class="row col-sm-offset-4 col-sm-4">
+                        <nav aria-label="Page navigation" id="pagerID">
+                            <ul class="pager">
+                                <c:if test="${listOfIssues.hasPrevious()}">
+                                    <li class="previous">
+                                        <a href="<spring:url value='/issue?issue_cursor=${listOfIssues.previousCursor}'/>">
+                                            <span aria-hidden="true">&larr;</span> Newer
+                                        </a>
+                                    </li>
+                                </c:if>
+                                <c:if test="${listOfIssues.hasNext()}">
+                                    <li class="next">
+                                        <a href="<spring:url value='/issue?issue_cursor=${listOfIssues.nextCursor}'/>">
+                                            Older <span aria-hidden="true">&rarr;</span>
+                                        </a>
+                                    </li>
+                                </c:if>
+                            </ul>
+                        </nav>
+                    </div>
+                </c:if>
+            </c:when>
+            <c:otherwise>
+            <c:if test="${listOfIssues.getTotalPages()> 1}">
+                <div class="row col-sm-offset-4 col-sm-4">
+                    <nav aria-label="Page navigation" id="pagerID">
+                        <div class="text-center">
+                            <ul class="pagination">
                                 <li>
-                                    <a href="<spring:url value='/issue?issue_page=${page}'/>">${page + 1}</a>
+                                    <a href="<spring:url value='/issue?issue_page=0'/>" aria-label="Start">
+                                        <span aria-hidden="true">&laquo;</span>
+                                    </a>
                                 </li>
-                            </c:forEach>
-                            <li>
-                                <a href="<spring:url value='/issue?issue_page=${listOfIssues.getTotalPages() - 1}'/>"
-                                   aria-label="End">
-                                    <span aria-hidden="true">&raquo;</span>
-                                </a>
-                            </li>
-                        </ul>
-                    </div>
-                </nav>
-            </div>
-        </c:if>
+                                <c:forEach var="page" begin="0" end="${listOfIssues.getTotalPages() - 1}">
+                                    <li>
+                                        <a href="<spring:url value='/issue?issue_page=${page}'/>">${page + 1}</a>
+                                    </li>
+                                </c:forEach>
+                                <li>
+                                    <a href="<spring:url value='/issue?issue_page=${listOfIssues.getTotalPages() - 1}'/>"
+                                       aria-label="End">
+                                        <span aria-hidden="true">&raquo;</span>
+                                    </a>
+                                </li>
+                            </ul>
+                        </div>
+                    </nav>
+                </div>
+            </c:if>
+            </c:otherwise>
+        </c:choose>
     </div>
     <%--Content of My Issues tab--%>
     <sec:authorize access="hasAnyRole('PROJECT_MANAGER','DEVELOPER', 'QA')">
@@ -222,22 +253,22 @@
                                 <td class="text-center"><c:out value="${userIssue.status}"/></td>
                                 <td class="text-center">
                                     <a class="viewLink"
-                                       href="<spring:url value='projects/project/${userIssue.project.id}'/>">
-                                            ${userIssue.project.title}
+                                       href="<spring:url value='projects/project/${userIssue.projectId}'/>">
+                                            ${userIssue.projectTitle}
                                     </a>
                                 </td>
                                 <td class="text-center">
                                     <a class="viewLink"
                                        href="<spring:url value='/project/
-                                   ${userIssue.projectRelease.project.id}/release/${userIssue.projectRelease.id}'/>">
-                                            ${userIssue.projectRelease.version}
+                                   ${userIssue.projectId}/release/${userIssue.releaseId}'/>">
+                                            ${userIssue.releaseVersion}
                                     </a>
                                 </td>
 
                                 <td class="text-center">
                                     <a class="viewLink"
-                                       href="<spring:url value='/user/${userIssue.assignee.id}/view'/>">
-                                            ${userIssue.assignee.firstName} ${userIssue.assignee.lastName}
+                                       href="<spring:url value='/user/${userIssue.assigneeId}/view'/>">
+                                            ${userIssue.assigneeFirstName} ${userIssue.assigneeLastName}
                                     </a>
                                 </td>
                                 <td class="text-center"><c:out value="${userIssue.estimateTime}"/></td>
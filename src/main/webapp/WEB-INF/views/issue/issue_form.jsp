@@ -40,6 +40,11 @@
         <div class="row">
             <form:form id="issueForm" commandName="issueCommand" action="/issue/add" modelAttribute="issue"
                        method="POST">
+                <c:if test="${not empty msg}">
+                    <div class="col-sm-12">
+                        <p class="error-msg has-error"><strong>${msg}</strong></p>
+                    </div>
+                </c:if>
                 <div class="col-sm-6">
 
                     <spring:bind path="title">
@@ -80,9 +85,13 @@
                     <spring:bind path="assignee">
                         <div class="form-group ${status.error ? 'has-error' : ''}">
                             <label for="assignee">Assignee</label>
-                            <form:select id="assignee" path="assignee" items="${users}"
-                                         itemLabel="fullName" itemValue="id" data-live-search="true"
-                                         cssClass="form-control selectpicker"/>
+                            <form:select id="assignee" path="assignee" cssClass="form-control"
+                                         data-autocomplete="/autocomplete/users">
+                                <c:if test="${not empty issue.assignee}">
+                                    <option value="${issue.assignee.id}" selected="selected">
+                                        <c:out value="${issue.assignee.fullName}"/></option>
+                                </c:if>
+                            </form:select>
                             <form:errors path="assignee" class="control-label"/>
                         </div>
                     </spring:bind>
@@ -90,9 +99,13 @@
                     <spring:bind path="labels">
                         <div class="form-group ${status.error ? 'has-error' : ''}">
                             <label for="labelsSelect2">Labels</label></br>
-                            <form:select id="labelsSelect2" path="labels" items="${allLabels}"
-                                         itemLabel="title" itemValue="id" multiple="multiple"
-                                         cssClass="form-control"/>
+                            <form:select id="labelsSelect2" path="labels" multiple="multiple"
+                                         cssClass="form-control">
+                                <c:forEach var="label" items="${issue.labels}">
+                                    <option value="${label.id}" selected="selected">
+                                        <c:out value="${label.title}"/></option>
+                                </c:forEach>
+                            </form:select>
                             <form:errors path="labels" class="control-label"/>
                         </div>
                     </spring:bind>
@@ -124,15 +137,19 @@
                             <label for="projectInput">Project</label>
                             <c:choose>
                                 <c:when test="${formAction eq 'new'}">
-                                    <form:select path="project" type="text" cssClass="selectpicker form-control"
-                                                 id="projectInput" data-live-search="true"
-                                                 items="${projects}" itemLabel="title" itemValue="id"/>
+                                    <form:select path="project" cssClass="form-control" id="projectInput"
+                                                 data-autocomplete="/autocomplete/projects">
+                                        <c:if test="${not empty issue.project}">
+                                            <option value="${issue.project.id}" selected="selected">
+                                                <c:out value="${issue.project.title}"/></option>
+                                        </c:if>
+                                    </form:select>
                                 </c:when>
                                 <c:otherwise>
                                     <form:select path="project" type="text" cssClass="selectpicker form-control"
                                                  id="projectInput">
-                                        <form:option selected="selected" value="${issue.project}"
-                                                     label="${issue.project.title}"/>
+                                        <option value="${issue.project.id}" selected="selected">
+                                            <c:out value="${issue.project.title}"/></option>
                                     </form:select>
                                 </c:otherwise>
                             </c:choose>
@@ -143,9 +160,13 @@
                     <spring:bind path="projectRelease">
                         <div class="form-group ${status.error ? 'has-error' : ''}">
                             <label for="projectReleaseInput">Release</label>
-                            <form:select path="projectRelease" type="text" cssClass="selectpicker form-control"
-                                         id="projectReleaseInput" data-live-search="true"
-                                         items="${projectReleases}" itemLabel="version" itemValue="id"/>
+                            <form:select path="projectRelease" cssClass="form-control" id="projectReleaseInput"
+                                         data-autocomplete="/autocomplete/releases">
+                                <c:if test="${not empty issue.projectRelease}">
+                                    <option value="${issue.projectRelease.id}" selected="selected">
+                                        <c:out value="${issue.projectRelease.version}"/></option>
+                                </c:if>
+                            </form:select>
                             <form:errors path="projectRelease" cssClass="control-label"/>
                         </div>
                     </spring:bind>
@@ -175,6 +196,7 @@
                 <form:hidden path="lastUpdateDate"/>
                 <form:hidden path="createTime"/>
                 <form:hidden path="id"/>
+                <form:hidden path="version"/>
                 <div class="col-sm-12">
                     <input type="submit" value="${buttonname}" class="margin-top-30 btn btn-default pull-right"/>
                 </div>
@@ -414,39 +414,33 @@
 
                     <%--worklog pagination--%>
                     <div id="workLogPagination">
-                        <c:if test="${workLogsOfCurrentIssueByAllUsers.getTotalPages()> 1}">
+                        <c:if test="${workLogsOfCurrentIssueByAllUsers.hasPrevious() or workLogsOfCurrentIssueByAllUsers.hasNext()}">
                             <div class="col-sm-offset-4 col-sm-4">
                                 <nav aria-label="Page navigation" id="pagerID">
-                                    <div class="text-center">
-                                        <c:choose>
-                                            <c:when test="${stage == 'new'}">
-                                                <c:set var="paginationLink" value="${issue.id}"/>
-                                            </c:when>
-                                            <c:otherwise>
-                                                <c:set var="paginationLink" value="edit"/>
-                                            </c:otherwise>
-                                        </c:choose>
-                                        <ul class="pagination">
-                                            <li>
-                                                <a href="<spring:url value='${paginationLink}?worklog_page=0'/>"
-                                                   aria-label="Start">
-                                                    <span aria-hidden="true">&laquo;</span>
+                                    <c:choose>
+                                        <c:when test="${stage == 'new'}">
+                                            <c:set var="paginationLink" value="${issue.id}"/>
+                                        </c:when>
+                                        <c:otherwise>
+                                            <c:set var="paginationLink" value="edit"/>
+                                        </c:otherwise>
+                                    </c:choose>
+                                    <ul class="pager">
+                                        <c:if test="${workLogsOfCurrentIssueByAllUsers.hasPrevious()}">
+                                            <li class="previous">
+                                                <a href="<spring:url value='${paginationLink}?worklog_cursor=${workLogsOfCurrentIssueByAllUsers.previousCursor}'/>">
+                                                    <span aria-hidden="true">&larr;</span> Newer
                                                 </a>
                                             </li>
-                                            <c:forEach var="page" begin="0"
-                                                       end="${workLogsOfCurrentIssueByAllUsers.getTotalPages() - 1}">
-                                                <li>
-                                                    <a href="<spring:url value='${paginationLink}?worklog_page=${page}'/>">${page + 1}</a>
-                                                </li>
-                                            </c:forEach>
-                                            <li>
-                                                <a href="<spring:url value='${paginationLink}?worklog_page=${workLogsOfCurrentIssueByAllUsers.getTotalPages() - 1}'/>"
-                                                   aria-label="End">
-                                                    <span aria-hidden="true">&raquo;</span>
+                                        </c:if>
+                                        <c:if test="${workLogsOfCurrentIssueByAllUsers.hasNext()}">
+                                            <li class="next">
+                                                <a href="<spring:url value='${paginationLink}?worklog_cursor=${workLogsOfCurrentIssueByAllUsers.nextCursor}'/>">
+                                                    Older <span aria-hidden="true">&rarr;</span>
                                                 </a>
                                             </li>
-                                        </ul>
-                                    </div>
+                                        </c:if>
+                                    </ul>
                                 </nav>
                             </div>
                         </c:if>
@@ -609,27 +603,24 @@
                         </c:choose>
                     </c:forEach>
                 </ul>
-                <c:if test="${allHistory.getTotalPages() gt 1}">
+                <c:if test="${allHistory.hasPrevious() or allHistory.hasNext()}">
                     <nav aria-label="Page navigation" id="pagerID">
-                        <div class="text-center">
-                            <ul class="pagination">
-                                <li>
-                                    <a href="<spring:url value='/issue/${issue.id}?page=0'/>" aria-label="Start">
-                                        <span aria-hidden="true">&laquo;</span>
+                        <ul class="pager">
+                            <c:if test="${allHistory.hasPrevious()}">
+                                <li class="previous">
+                                    <a href="<spring:url value='/issue/${issue.id}?history_cursor=${allHistory.previousCursor}'/>">
+                                        <span aria-hidden="true">&larr;</span> Newer
                                     </a>
                                 </li>
-                                <c:forEach var="page" begin="0" end="${allHistory.getTotalPages() - 1}">
-                                    <li>
-                                        <a href="<spring:url value='/issue/${issue.id}?page=${page}'/>">${page + 1}</a>
-                                    </li>
-                                </c:forEach>
-                                <li>
-                                    <a href="<spring:url value='/issue/${issue.id}?page=${allHistory.getTotalPages() - 1}'/>"
-                                       aria-label="End"><span aria-hidden="true">&raquo;</span>
+                            </c:if>
+                            <c:if test="${allHistory.hasNext()}">
+                                <li class="next">
+                                    <a href="<spring:url value='/issue/${issue.id}?history_cursor=${allHistory.nextCursor}'/>">
+                                        Older <span aria-hidden="true">&rarr;</span>
                                     </a>
                                 </li>
-                            </ul>
-                        </div>
+                            </c:if>
+                        </ul>
                     </nav>
                 </c:if>
             </div>
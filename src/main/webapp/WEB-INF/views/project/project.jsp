@@ -313,18 +313,18 @@
                         <td class="text-center"><c:out value="${issue.status}"/></td>
                         <td class="text-center">
                             <a class="viewLink"
-                               href="<spring:url value='/project/${issue.projectRelease.project.id}/release/
-                               ${issue.projectRelease.id}'/>">
-                                    ${issue.projectRelease.version}
+                               href="<spring:url value='/project/${issue.projectId}/release/
+                               ${issue.releaseId}'/>">
+                                    ${issue.releaseVersion}
                             </a>
                         </td>
                         <td class="text-center">
                             <sec:authorize access="isAnonymous()">
-                                ${issue.assignee.firstName} ${issue.assignee.lastName}
+                                ${issue.assigneeFirstName} ${issue.assigneeLastName}
                             </sec:authorize>
                             <sec:authorize access="isAuthenticated()">
-                                <a class="viewLink" href="<spring:url value='/user/${issue.assignee.id}/view'/>">
-                                        ${issue.assignee.firstName} ${issue.assignee.lastName}
+                                <a class="viewLink" href="<spring:url value='/user/${issue.assigneeId}/view'/>">
+                                        ${issue.assigneeFirstName} ${issue.assigneeLastName}
                                 </a>
                             </sec:authorize>
                         </td>
@@ -90,8 +90,8 @@
                             </td>
                             <td class="text-center">
                                 <c:choose>
-                                    <c:when test="${!project.getUsers().isEmpty()}">
-                                        <c:out value="${project.getUsers().size()}"/>
+                                    <c:when test="${project.userCount gt 0}">
+                                        <c:out value="${project.userCount}"/>
                                     </c:when>
                                     <c:otherwise>
                                         None
@@ -100,8 +100,8 @@
                             </td>
                             <td class="text-center">
                                 <c:choose>
-                                    <c:when test="${!project.getProjectReleases().isEmpty()}">
-                                        <c:out value="${project.getProjectReleases().size()}"/>
+                                    <c:when test="${project.releaseCount gt 0}">
+                                        <c:out value="${project.releaseCount}"/>
                                     </c:when>
                                     <c:otherwise>
                                         None
@@ -110,8 +110,8 @@
                             </td>
                             <td class="text-center">
                                 <c:choose>
-                                    <c:when test="${!project.getIssues().isEmpty()}">
-                                        <c:out value="${project.getIssues().size()}"/>
+                                    <c:when test="${project.issueCount gt 0}">
+                                        <c:out value="${project.issueCount}"/>
                                     </c:when>
                                     <c:otherwise>
                                         None
@@ -159,8 +159,8 @@
                         </td>
                         <td class="text-center">
                             <c:choose>
-                                <c:when test="${!project.getUsers().isEmpty()}">
-                                    <c:out value="${project.getUsers().size()}"/>
+                                <c:when test="${project.userCount gt 0}">
+                                    <c:out value="${project.userCount}"/>
                                 </c:when>
                                 <c:otherwise>
                                     None
@@ -169,8 +169,8 @@
                         </td>
                         <td class="text-center">
                             <c:choose>
-                                <c:when test="${!project.getProjectReleases().isEmpty()}">
-                                    <c:out value="${project.getProjectReleases().size()}"/>
+                                <c:when test="${project.releaseCount gt 0}">
+                                    <c:out value="${project.releaseCount}"/>
                                 </c:when>
                                 <c:otherwise>
                                     None
@@ -179,8 +179,8 @@
                         </td>
                         <td class="text-center">
                             <c:choose>
-                                <c:when test="${!project.getIssues().isEmpty()}">
-                                    <c:out value="${project.getIssues().size()}"/>
+                                <c:when test="${project.issueCount gt 0}">
+                                    <c:out value="${project.issueCount}"/>
                                 </c:when>
                                 <c:otherwise>
                                     None
@@ -43,6 +43,34 @@
                 <p>${release.description}</p>
             </div>
         </div>
+        <%--Release progress--%>
+        <div class="row">
+            <div class="release-progress col-sm-10 col-sm-offset-1">
+                <h3>Progress</h3>
+                <table class="table table-bordered text-center">
+                    <thead>
+                    <tr>
+                        <c:forEach var="issueCount" items="${progress.issueCounts}">
+                            <th class="text-center">${issueCount.key.toString()}</th>
+                        </c:forEach>
+                        <th class="text-center">Estimated time</th>
+                        <th class="text-center">Spent time</th>
+                        <th class="text-center">Remaining time</th>
+                    </tr>
+                    </thead>
+                    <tbody>
+                    <tr>
+                        <c:forEach var="issueCount" items="${progress.issueCounts}">
+                            <td>${issueCount.value}</td>
+                        </c:forEach>
+                        <td>${progress.estimateTime}</td>
+                        <td>${progress.spentTime}</td>
+                        <td>${progress.remainingTime}</td>
+                    </tr>
+                    </tbody>
+                </table>
+            </div>
+        </div>
         <%--Issues in release--%>
         <div class="row">
             <div class="release-issues col-sm-10 col-sm-offset-1">
@@ -111,14 +139,14 @@
                                 <sec:authorize access="@issueSecurityService.hasPermissionToEditIssue('${issue.id}')">
                                     <select class="users-dropdown selectpicker" data-live-search="true" data-width="100%">
                                         <option selected="selected"
-                                                value="${issue.assignee.id}">${issue.assignee.firstName} ${issue.assignee.lastName}</option>
+                                                value="${issue.assigneeId}">${issue.assigneeFirstName} ${issue.assigneeLastName}</option>
                                         <c:forEach var="user" items="${users}">
                                             <option value="${user.id}">${user.firstName} ${user.lastName}</option>
                                         </c:forEach>
                                     </select>
                                 </sec:authorize>
                                 <sec:authorize access="!@issueSecurityService.hasPermissionToEditIssue('${issue.id}')">
-                                    ${issue.assignee.firstName} ${issue.assignee.lastName}
+                                    ${issue.assigneeFirstName} ${issue.assigneeLastName}
                                 </sec:authorize>
                             </td>
                             <sec:authorize access="@releaseSecurityService.hasPermissionToEditRelease('${release.id}')">
@@ -1,108 +1,165 @@
 <%@ page contentType="text/html;charset=UTF-8" language="java" %>
-<%@ page contentType="text/html;charset=UTF-8" language="java" %>
 <%@ taglib uri="http://java.sun.com/jsp/jstl/core" prefix="c" %>
 <%@ taglib prefix="spring" uri="http://www.springframework.org/tags" %>
 
 <div class="margin-top-30 row">
     <div class="col-sm-12">
-        <!-- Nav tabs -->
+        <p>Found ${result.totalHits} results for <strong><c:out value="${searchText}"/></strong></p>
+        <!-- Ways of matching words of the text -->
+        <ul class="nav nav-pills">
+            <c:forEach var="searchMatch" items="${searchMatches}">
+                <li role="presentation" class="${searchMatch eq match ? 'active' : ''}">
+                    <c:url var="matchUrl" value="/search_text">
+                        <c:param name="searchText" value="${searchText}"/>
+                        <c:param name="searchType" value="${searchType.name()}"/>
+                        <c:param name="match" value="${searchMatch.name()}"/>
+                    </c:url>
+                    <a href="${matchUrl}">${searchMatch.toString()}</a>
+                </li>
+            </c:forEach>
+        </ul>
+        <!-- Tabs of entity types with amount of hits -->
         <ul class="nav nav-tabs">
-            <li role="presentation" class="active">
-                <a href="#issuesFound" aria-controls="#issuesFound" role="tab" data-toggle="tab">Issues found</a>
-            </li>
-            <li role="presentation">
-                <a href="#projectsFound" aria-controls="#projectsFound" role="tab" data-toggle="tab">Projects found</a>
-            </li>
-            <li role="presentation">
-                <a href="#releaseFound" aria-controls="#releaseFound" role="tab" data-toggle="tab">
-                    Releases found</a>
-            </li>
+            <c:forEach var="type" items="${searchTypes}">
+                <li role="presentation" class="${type eq searchType ? 'active' : ''}">
+                    <c:url var="typeUrl" value="/search_text">
+                        <c:param name="searchText" value="${searchText}"/>
+                        <c:param name="searchType" value="${type.name()}"/>
+                        <c:param name="match" value="${match.name()}"/>
+                    </c:url>
+                    <a href="${typeUrl}">${type.toString()} found (${result.typeCounts[type]})</a>
+                </li>
+            </c:forEach>
         </ul>
     </div>
 </div>
-<div class="tab-content">
-    <div role="tabpanel" class="tab-pane fade in active" id="issuesFound">
-        <div class="margin-top-30 row">
-            <div class="col-sm-12">
-                <table class="table table-striped table-hover">
-                    <thead>
-                    <tr>
+<div class="margin-top-30 row">
+    <c:if test="${searchType eq 'ISSUE'}">
+        <%--Facets of issues, every value narrows the hits--%>
+        <div class="col-sm-3">
+            <c:forEach var="facet" items="${result.facets}">
+                <c:if test="${not empty facet.value}">
+                    <h5>${facet.key eq 'projectId' ? 'project' : facet.key}</h5>
+                    <ul class="list-unstyled">
+                        <c:forEach var="value" items="${facet.value}">
+                            <c:url var="facetUrl" value="/search_text">
+                                <c:param name="searchText" value="${searchText}"/>
+                                <c:param name="searchType" value="ISSUE"/>
+                                <c:param name="match" value="${match.name()}"/>
+                                <c:forEach var="filter" items="${filters}">
+                                    <c:if test="${filter.key ne facet.key}">
+                                        <c:param name="${filter.key}" value="${filter.value}"/>
+                                    </c:if>
+                                </c:forEach>
+                                <c:if test="${filters[facet.key] ne value.value}">
+                                    <c:param name="${facet.key}" value="${value.value}"/>
+                                </c:if>
+                            </c:url>
+                            <li>
+                                <a class="viewLink" href="${facetUrl}">
+                                    <c:choose>
+                                        <c:when test="${filters[facet.key] eq value.value}">
+                                            <strong><c:out value="${value.label}"/></strong>
+                                        </c:when>
+                                        <c:otherwise><c:out value="${value.label}"/></c:otherwise>
+                                    </c:choose>
+                                </a> (${value.count})
+                            </li>
+                        </c:forEach>
+                    </ul>
+                </c:if>
+            </c:forEach>
+        </div>
+    </c:if>
+    <div class="${searchType eq 'ISSUE' ? 'col-sm-9' : 'col-sm-12'}">
+        <table class="table table-striped table-hover">
+            <thead>
+            <tr>
+                <c:choose>
+                    <c:when test="${searchType eq 'ISSUE'}">
                         <th class="text-center">Title</th>
                         <th class="text-center">Type</th>
                         <th class="text-center">Status</th>
                         <th class="text-center">Priority</th>
-                        <th class="text-center">Description</th>
-                    </tr>
-                    </thead>
-                    <tbody>
-                    <c:forEach var="issue" items="${issues}">
-                        <tr>
+                    </c:when>
+                    <c:when test="${searchType eq 'PROJECT'}">
+                        <th class="text-center">Title</th>
+                    </c:when>
+                    <c:when test="${searchType eq 'COMMENT'}">
+                        <th class="text-center">Issue</th>
+                    </c:when>
+                    <c:otherwise>
+                        <th class="text-center">Project</th>
+                        <th class="text-center">Version</th>
+                        <th class="text-center">Release Status</th>
+                    </c:otherwise>
+                </c:choose>
+                <th class="text-center">${searchType eq 'COMMENT' ? 'Comment' : 'Description'}</th>
+            </tr>
+            </thead>
+            <tbody>
+            <c:forEach var="hit" items="${result.hits.content}">
+                <tr>
+                    <c:choose>
+                        <c:when test="${searchType eq 'ISSUE'}">
                             <td class="text-center">
-                                <a class="viewLink"
-                                   href="<spring:url value='issue/${issue.id}'/>">
-                                        ${issue.title}
+                                <a class="viewLink" href="<spring:url value='/issue/${hit.id}'/>">
+                                    ${hit.highlightedTitle}
                                 </a>
                             </td>
-                            <td class="text-center"><c:out value="${issue.type}"/></td>
-                            <td class="text-center"><c:out value="${issue.status}"/></td>
-                            <td class="text-center"><c:out value="${issue.priority}"/></td>
-                            <td class="text-center"><c:out value="${issue.description}"/></td>
-                        </tr>
-                    </c:forEach>
-                    </tbody>
-                </table>
-            </div>
-        </div>
-    </div>
-    <div role="tabpanel" class="tab-pane fade" id="projectsFound">
-        <div class="margin-top-30">
-            <table class="table table-striped table-hover">
-                <thead>
-                <tr>
-                    <th class="text-center">Title</th>
-                    <th class="text-center">Description</th>
-                </tr>
-                </thead>
-                <tbody>
-                <c:forEach var="project" items="${projects}">
-                    <tr>
-                        <td class="text-center">
-                            <a class="viewLink" href="<spring:url value='projects/project/${project.id}'/>">
-                                <c:out value="${project.title}"/> </a></td>
-                        <td class="text-center"><c:out value="${project.description}"/></td>
-                    </tr>
-                </c:forEach>
-                </tbody>
-            </table>
-        </div>
-    </div>
-    <div role="tabpanel" class="tab-pane fade" id="releaseFound">
-        <div class="margin-top-30">
-            <table class="table table-striped table-hover">
-                <thead>
-                <tr>
-                    <th class="text-center">Project</th>
-                    <th class="text-center">Version</th>
-                    <th class="text-center">Release Status</th>
-                    <th class="text-center">Description</th>
+                            <td class="text-center"><c:out value="${hit.type}"/></td>
+                            <td class="text-center"><c:out value="${hit.status}"/></td>
+                            <td class="text-center"><c:out value="${hit.priority}"/></td>
+                        </c:when>
+                        <c:when test="${searchType eq 'PROJECT'}">
+                            <td class="text-center">
+                                <a class="viewLink" href="<spring:url value='/projects/project/${hit.id}'/>">
+                                    ${hit.highlightedTitle} </a></td>
+                        </c:when>
+                        <c:when test="${searchType eq 'COMMENT'}">
+                            <td class="text-center">
+                                <a class="viewLink" href="<spring:url value='/issue/${hit.issueId}'/>">
+                                    ${hit.highlightedTitle} </a></td>
+                        </c:when>
+                        <c:otherwise>
+                            <td class="text-center">
+                                <a class="viewLink" href="<spring:url value='/projects/project/${hit.projectId}'/>">
+                                    <c:out value="${hit.projectTitle}"/> </a></td>
+                            <td class="text-center">
+                                <a class="viewLink"
+                                   href="<spring:url value='/project/${hit.projectId}/release/${hit.id}'/>">
+                                    ${hit.highlightedTitle} </a></td>
+                            <td class="text-center"><c:out value="${hit.releaseStatus}"/></td>
+                        </c:otherwise>
+                    </c:choose>
+                    <%--Highlighted title and snippet are escaped when hits are found--%>
+                    <td>${hit.snippet}</td>
                 </tr>
-                </thead>
-                <tbody>
-                <c:forEach var="release" items="${releases}">
-                    <tr>
-                        <td class="text-center">
-                            <a class="viewLink" href="<spring:url value='projects/project/${release.project.id}'/>">
-                                <c:out value="${release.project.title}"/> </a></td>
-                        <td class="text-center">
-                            <a class="viewLink"
-                               href="<spring:url value='project/${release.project.id}/release/${release.id}'/>">
-                                <c:out value="${release.version}"/> </a></td>
-                        <td class="text-center"><c:out value="${release.releaseStatus}"/></td>
-                        <td class="text-center"><c:out value="${release.description}"/></td>
-                    </tr>
-                </c:forEach>
-                </tbody>
-            </table>
-        </div>
+            </c:forEach>
+            </tbody>
+        </table>
+        <%--Pagination of hits--%>
+        <c:if test="${result.hits.totalPages gt 1}">
+            <nav aria-label="Page navigation">
+                <div class="text-center">
+                    <ul class="pagination">
+                        <c:forEach var="page" begin="0" end="${result.hits.totalPages - 1}">
+                            <c:url var="pageUrl" value="/search_text">
+                                <c:param name="searchText" value="${searchText}"/>
+                                <c:param name="searchType" value="${searchType.name()}"/>
+                                <c:param name="match" value="${match.name()}"/>
+                                <c:forEach var="filter" items="${filters}">
+                                    <c:param name="${filter.key}" value="${filter.value}"/>
+                                </c:forEach>
+                                <c:param name="page" value="${page}"/>
+                            </c:url>
+                            <li class="${page eq result.hits.number ? 'active' : ''}">
+                                <a href="${pageUrl}">${page + 1}</a>
+                            </li>
+                        </c:forEach>
+                    </ul>
+                </div>
+            </nav>
+        </c:if>
     </div>
 </div>
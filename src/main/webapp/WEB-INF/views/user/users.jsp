@@ -116,8 +116,8 @@
                         <td>${user.email}</td>
                         <td>${user.role.toString()}</td>
                         <td>
-                            <a class="viewLink" href="<spring:url value='/projects/project/${user.project.id}'/>">
-                                    ${user.project.title}
+                            <a class="viewLink" href="<spring:url value='/projects/project/${user.projectId}'/>">
+                                    ${user.projectTitle}
                             </a>
                         </td>
                         <td>
@@ -0,0 +1,47 @@
+package com.softserverinc.edu.configs;
+
+import com.zaxxer.hikari.metrics.MetricsTracker;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.testng.Assert;
+import org.testng.annotations.Test;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+public class ConnectionPoolMetricsTest {
+
+    @Test
+    public void testStatisticsBeforePoolIsStarted() throws Exception {
+        Map<String, Object> statistics = new ConnectionPoolMetrics().getStatistics();
+        Assert.assertEquals(statistics.get("activeConnections"), 0);
+        Assert.assertEquals(statistics.get("averageWaitMillis"), 0.0);
+    }
+
+    @Test
+    public void testStatisticsOfStartedPool() throws Exception {
+        ConnectionPoolMetrics connectionPoolMetrics = new ConnectionPoolMetrics();
+        MetricsTracker tracker = connectionPoolMetrics.create("testPool", new PoolStats(0) {
+            @Override
+            protected void update() {
+                totalConnections = 5;
+                activeConnections = 3;
+                idleConnections = 2;
+                pendingThreads = 1;
+            }
+        });
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(2));
+        tracker.recordConnectionAcquiredNanos(TimeUnit.MILLISECONDS.toNanos(4));
+        tracker.recordConnectionUsageMillis(10);
+        tracker.recordConnectionTimeout();
+
+        Map<String, Object> statistics = connectionPoolMetrics.getStatistics();
+        Assert.assertEquals(statistics.get("activeConnections"), 3);
+        Assert.assertEquals(statistics.get("idleConnections"), 2);
+        Assert.assertEquals(statistics.get("pendingThreads"), 1);
+        Assert.assertEquals(statistics.get("acquiredConnections"), 2L);
+        Assert.assertEquals(statistics.get("connectionTimeouts"), 1L);
+        Assert.assertEquals(statistics.get("averageWaitMillis"), 3.0);
+        Assert.assertEquals(statistics.get("maxWaitMillis"), 4.0);
+    }
+
+}
@@ -0,0 +1,31 @@
+package com.softserverinc.edu.configs;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+public class EntityViewsOpenEntityManagerFilterTest {
+
+    private final EntityViewsOpenEntityManagerFilter filter = new EntityViewsOpenEntityManagerFilter();
+
+    @Test
+    public void testListPagesAreNotFiltered() throws Exception {
+        Assert.assertTrue(filter.shouldNotFilter(getRequest("GET", "/issue")));
+        Assert.assertTrue(filter.shouldNotFilter(getRequest("POST", "/projects/search")));
+        Assert.assertTrue(filter.shouldNotFilter(getRequest("GET", "/users/")));
+    }
+
+    @Test
+    public void testPagesWithEntitiesAreFiltered() throws Exception {
+        Assert.assertFalse(filter.shouldNotFilter(getRequest("GET", "/issue/7")));
+        Assert.assertFalse(filter.shouldNotFilter(getRequest("GET", "/issue/7/edit")));
+        Assert.assertFalse(filter.shouldNotFilter(getRequest("GET", "/projects/project/3")));
+        Assert.assertFalse(filter.shouldNotFilter(getRequest("GET", "/user/5/edit")));
+    }
+
+    private MockHttpServletRequest getRequest(String method, String path) {
+        MockHttpServletRequest request = new MockHttpServletRequest(method, "/bugtrckr" + path);
+        request.setContextPath("/bugtrckr");
+        return request;
+    }
+}
@@ -0,0 +1,264 @@
+package com.softserverinc.edu.controllers;
+
+import com.softserverinc.edu.configs.WebConfig;
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueComment;
+import com.softserverinc.edu.entities.Label;
+import com.softserverinc.edu.entities.WorkLog;
+import com.softserverinc.edu.repositories.KeysetPage;
+import com.softserverinc.edu.repositories.ScratchSchema;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+
+import javax.persistence.EntityManagerFactory;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.List;
+import java.util.Map;
+
+import static org.springframework.security.test.web.servlet.setup.SecurityMockMvcConfigurers.springSecurity;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Counts SQL statements executed for the issue page. Everything shown by the page must be loaded by
+ * a fixed number of queries, which doesn't depend on amount of comments, WorkLog entries, history and labels,
+ * and nothing may be left for lazy loading while the view is rendered.
+ * Two issues, the second with twice as many entries, are created in a separate schema, which the application
+ * context is connected to instead of the schema from application.properties.
+ * The test is skipped when MySQL from application.properties is not available.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {WebConfig.class})
+@WebAppConfiguration
+// background indexing would add its statements to the counted ones
+@TestPropertySource(properties = {"search.index.massIndexOnStartup=false",
+        "hibernate.search.default.directory_provider=ram"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IssueViewQueriesTest {
+
+    private static final String SCHEMA = "bugtrckr_issue_view";
+
+    /**
+     * Entries of every kind of the first issue, the second issue has twice as many.
+     * Both amounts fit into the first page of WorkLog entries and history.
+     */
+    private static final int ENTRIES = 4;
+
+    private static final int LABELS = 2;
+
+    private static final long ISSUE_ID = 1L;
+
+    private static final long ISSUE_WITH_TWICE_AS_MANY_ENTRIES_ID = 2L;
+
+    /**
+     * active user, issue, comments, history page, users of history, WorkLog page
+     * and projects of loaded users which aren't in the second-level cache
+     */
+    private static final long MAX_STATEMENTS = 12;
+
+    private static ScratchSchema schema;
+
+    @Autowired
+    private WebApplicationContext context;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private MockMvc mockMvc;
+
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        schema = ScratchSchema.create(SCHEMA);
+        fillInTables();
+        // the context is created after this method
+        schema.connectApplication();
+    }
+
+    @AfterClass
+    public static void dropSchema() throws Exception {
+        if (schema != null) {
+            schema.drop();
+        }
+    }
+
+    @Before
+    public void setup() {
+        OpenEntityManagerInViewFilter openEntityManagerInViewFilter = new OpenEntityManagerInViewFilter();
+        openEntityManagerInViewFilter.setServletContext(context.getServletContext());
+        this.mockMvc = MockMvcBuilders
+                .webAppContextSetup(context)
+                .addFilters(openEntityManagerInViewFilter)
+                .apply(springSecurity())
+                .build();
+    }
+
+    @Test
+    @WithMockUser(username = "admin@ss.com", roles = {"ADMIN"})
+    public void testIssuePageIsLoadedByFixedNumberOfStatements() throws Exception {
+        // caches which are filled in once per application are filled in before statements are counted
+        getIssuePage(ISSUE_ID);
+
+        long statements = countStatements(ISSUE_ID);
+        long statementsOfTwiceAsManyEntries = countStatements(ISSUE_WITH_TWICE_AS_MANY_ENTRIES_ID);
+
+        Assert.assertTrue("Issue page executed " + statements + " statements", statements <= MAX_STATEMENTS);
+        Assert.assertEquals("Statements of issue page grow with its entries",
+                statements, statementsOfTwiceAsManyEntries);
+    }
+
+    private long countStatements(long issueId) throws Exception {
+        entityManagerFactory.getCache().evictAll();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        MvcResult result = getIssuePage(issueId);
+        long statements = statistics.getPrepareStatementCount();
+
+        // entity manager is closed already, so anything not loaded by the controller fails here
+        renderModel(result.getModelAndView().getModel(), issueId);
+        return statements;
+    }
+
+    private MvcResult getIssuePage(long issueId) throws Exception {
+        return mockMvc.perform(get("/issue/{issueId}", issueId))
+                .andExpect(status().isOk())
+                .andReturn();
+    }
+
+    @SuppressWarnings("unchecked")
+    private void renderModel(Map<String, Object> model, long issueId) {
+        int entries = getEntries(issueId);
+        Issue issue = (Issue) model.get("issue");
+        Assert.assertNotNull(issue.getProject().getTitle());
+        Assert.assertNotNull(issue.getProjectRelease().getVersion());
+        Assert.assertNotNull(issue.getAssignee().getFullName());
+        Assert.assertNotNull(issue.getCreatedBy().getFullName());
+        Assert.assertEquals(getLabels(issueId), issue.getLabels().size());
+        for (Label label : issue.getLabels()) {
+            Assert.assertNotNull(label.getTitle());
+        }
+        List<IssueComment> comments = (List<IssueComment>) model.get("issueCommentsList");
+        Assert.assertEquals(entries, comments.size());
+        for (IssueComment comment : comments) {
+            Assert.assertNotNull(comment.getUser().getFullName());
+        }
+        KeysetPage<WorkLog> workLogs = (KeysetPage<WorkLog>) model.get("workLogsOfCurrentIssueByAllUsers");
+        Assert.assertEquals(entries, workLogs.getContent().size());
+        for (WorkLog workLog : workLogs.getContent()) {
+            Assert.assertNotNull(workLog.getUser().getFullName());
+        }
+        Assert.assertEquals(entries, ((KeysetPage<?>) model.get("allHistory")).getContent().size());
+    }
+
+    private static int getEntries(long issueId) {
+        return issueId == ISSUE_ID ? ENTRIES : 2 * ENTRIES;
+    }
+
+    private static int getLabels(long issueId) {
+        return issueId == ISSUE_ID ? LABELS : 2 * LABELS;
+    }
+
+    /**
+     * Every comment, WorkLog entry and history record is written by its own user,
+     * so users which aren't loaded together with the entries would add a query per entry
+     */
+    private static void fillInTables() throws SQLException {
+        long[] issueIds = {ISSUE_ID, ISSUE_WITH_TWICE_AS_MANY_ENTRIES_ID};
+        int users = 3 * (getEntries(ISSUE_ID) + getEntries(ISSUE_WITH_TWICE_AS_MANY_ENTRIES_ID));
+        Timestamp time = Timestamp.valueOf("2016-06-01 00:00:00");
+        try (Statement statement = schema.getConnection().createStatement()) {
+            statement.execute("INSERT INTO Project (title, guestView, guestCreateIssues, guestAddComment)"
+                    + " VALUES ('Tracker', 1, 1, 1)");
+            statement.execute("INSERT INTO ProjectRelease (projectId, version) VALUES (1, '1.0')");
+        }
+        insert("INSERT INTO User (firstName, lastName, email, password, role, projectId)"
+                + " VALUES (?, ?, ?, 'password', ?, ?)", users + 1, (row, i) -> {
+            row.setString(1, "First" + i);
+            row.setString(2, "Last" + i);
+            row.setString(3, i == 0 ? "admin@ss.com" : "user" + i + "@mail.com");
+            row.setString(4, i == 0 ? "ROLE_ADMIN" : "ROLE_DEVELOPER");
+            if (i == 0) {
+                row.setNull(5, Types.INTEGER);
+            } else {
+                row.setInt(5, 1);
+            }
+        });
+        insert("INSERT INTO Issue (id, title, type, priority, projectReleaseId, projectId, assigneeId, createdById,"
+                + " createTime, estimateTime) VALUES (?, ?, 'TASK', 'LOW', 1, 1, 2, 3, ?, 8)", issueIds.length,
+                (row, i) -> {
+                    row.setLong(1, issueIds[i]);
+                    row.setString(2, "Issue " + issueIds[i]);
+                    row.setTimestamp(3, time);
+                });
+        insert("INSERT INTO Label (title) VALUES (?)", getLabels(ISSUE_WITH_TWICE_AS_MANY_ENTRIES_ID),
+                (row, i) -> row.setString(1, "Label " + i));
+        int firstUserId = 2;
+        for (long issueId : issueIds) {
+            int entries = getEntries(issueId);
+            int userId = firstUserId;
+            insert("INSERT INTO Label_Issue (labelId, issueId) VALUES (?, ?)", getLabels(issueId), (row, i) -> {
+                row.setInt(1, i + 1);
+                row.setLong(2, issueId);
+            });
+            insert("INSERT INTO IssueComment (text, timeStamp, issueId, userId) VALUES (?, ?, ?, ?)", entries,
+                    (row, i) -> {
+                        row.setString(1, "Comment " + i);
+                        row.setTimestamp(2, time);
+                        row.setLong(3, issueId);
+                        row.setInt(4, userId + i);
+                    });
+            insert("INSERT INTO WorkLog (issueId, userId, startDate, endDate, amountOfTime) VALUES (?, ?, ?, ?, 4)",
+                    entries, (row, i) -> {
+                        row.setLong(1, issueId);
+                        row.setInt(2, userId + entries + i);
+                        row.setTimestamp(3, time);
+                        row.setTimestamp(4, time);
+                    });
+            insert("INSERT INTO History (issueId, changedByUserId, createTime, action, assignedToUserId)"
+                    + " VALUES (?, ?, ?, 'ADD_ISSUE_COMMENT', 2)", entries, (row, i) -> {
+                row.setLong(1, issueId);
+                row.setInt(2, userId + 2 * entries + i);
+                row.setTimestamp(3, time);
+            });
+            firstUserId += 3 * entries;
+        }
+    }
+
+    private static void insert(String sql, int rows, RowFiller filler) throws SQLException {
+        try (PreparedStatement statement = schema.getConnection().prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                filler.fill(statement, i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private interface RowFiller {
+
+        void fill(PreparedStatement row, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,66 @@
+package com.softserverinc.edu.entities;
+
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+
+public class IssueWorkflowTest {
+
+    @Test
+    public void testDefaultWorkflowAllowsTransitionsOfFormerSwitch() throws Exception {
+        IssueWorkflow workflow = IssueWorkflow.DEFAULT;
+        Assert.assertEquals(EnumSet.of(IssueStatus.IN_PROGRESS, IssueStatus.INVALID),
+                workflow.getAvailableStatuses(IssueStatus.OPEN));
+        Assert.assertEquals(EnumSet.of(IssueStatus.OPEN, IssueStatus.QA_VALIDATION, IssueStatus.INVALID),
+                workflow.getAvailableStatuses(IssueStatus.IN_PROGRESS));
+        Assert.assertEquals(EnumSet.of(IssueStatus.OPEN), workflow.getAvailableStatuses(IssueStatus.INVALID));
+        Assert.assertEquals(EnumSet.of(IssueStatus.OPEN, IssueStatus.RESOLVED),
+                workflow.getAvailableStatuses(IssueStatus.QA_VALIDATION));
+        Assert.assertEquals(EnumSet.of(IssueStatus.OPEN, IssueStatus.INVALID),
+                workflow.getAvailableStatuses(IssueStatus.RESOLVED));
+    }
+
+    @Test
+    public void testTransitionIsAllowedOnlyIfItIsInTable() throws Exception {
+        IssueWorkflow workflow = IssueWorkflow.newBuilder()
+                .allow(IssueStatus.OPEN, IssueStatus.RESOLVED)
+                .build();
+        Assert.assertTrue(workflow.isTransitionAllowed(IssueStatus.OPEN, IssueStatus.RESOLVED));
+        Assert.assertFalse(workflow.isTransitionAllowed(IssueStatus.RESOLVED, IssueStatus.OPEN));
+        Assert.assertFalse(workflow.isTransitionAllowed(IssueStatus.OPEN, IssueStatus.IN_PROGRESS));
+        Assert.assertFalse(workflow.isTransitionAllowed(IssueStatus.OPEN, null));
+        Assert.assertTrue(workflow.getAvailableStatuses(IssueStatus.INVALID).isEmpty());
+    }
+
+    @Test
+    public void testStatusCanNotBeMovedToItself() throws Exception {
+        IssueWorkflow workflow = IssueWorkflow.newBuilder()
+                .allow(IssueStatus.OPEN, IssueStatus.OPEN, IssueStatus.INVALID)
+                .build();
+        Assert.assertFalse(workflow.isTransitionAllowed(IssueStatus.OPEN, IssueStatus.OPEN));
+    }
+
+    @Test
+    public void testWorkflowOfSelfTransitionsOnlyHasNoTransitions() throws Exception {
+        Assert.assertFalse(IssueWorkflow.newBuilder()
+                .allow(IssueStatus.OPEN, IssueStatus.OPEN)
+                .build()
+                .hasTransitions());
+        Assert.assertTrue(IssueWorkflow.DEFAULT.hasTransitions());
+    }
+
+    @Test
+    public void testStatusNamesAreOrderedByStatuses() throws Exception {
+        Assert.assertEquals(Arrays.asList("Open", "QA validation", "Invalid"),
+                Arrays.asList(IssueWorkflow.DEFAULT.getAvailableStatusNames(IssueStatus.IN_PROGRESS).values()
+                        .toArray()));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testWorkflowCanNotBeChanged() throws Exception {
+        IssueWorkflow.DEFAULT.getAvailableStatuses(IssueStatus.OPEN).add(IssueStatus.RESOLVED);
+    }
+}
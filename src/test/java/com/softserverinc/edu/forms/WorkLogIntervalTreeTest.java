@@ -0,0 +1,47 @@
+package com.softserverinc.edu.forms;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Date;
+
+public class WorkLogIntervalTreeTest {
+
+    private WorkLogIntervalTree tree;
+
+    @Before
+    public void setUp() {
+        tree = new WorkLogIntervalTree();
+        tree.add(new Date(10), new Date(20));
+        tree.add(new Date(40), new Date(50));
+    }
+
+    @Test
+    public void testOverlapsIsInclusive() throws Exception {
+        Assert.assertTrue(tree.overlaps(new Date(20), new Date(30)));
+        Assert.assertTrue(tree.overlaps(new Date(30), new Date(40)));
+        Assert.assertTrue(tree.overlaps(new Date(0), new Date(100)));
+        Assert.assertTrue(tree.overlaps(new Date(12), new Date(15)));
+    }
+
+    @Test
+    public void testFreePeriodsDoNotOverlap() throws Exception {
+        Assert.assertFalse(tree.overlaps(new Date(0), new Date(9)));
+        Assert.assertFalse(tree.overlaps(new Date(21), new Date(39)));
+        Assert.assertFalse(tree.overlaps(new Date(51), new Date(60)));
+    }
+
+    @Test
+    public void testAddMergesOverlappingPeriods() throws Exception {
+        tree.add(new Date(15), new Date(45));
+        Assert.assertEquals(1, tree.size());
+        Assert.assertTrue(tree.overlaps(new Date(30), new Date(30)));
+        Assert.assertFalse(tree.overlaps(new Date(51), new Date(60)));
+
+        tree.add(new Date(60), new Date(70));
+        tree.add(new Date(5), new Date(65));
+        Assert.assertEquals(1, tree.size());
+        Assert.assertTrue(tree.overlaps(new Date(70), new Date(80)));
+    }
+}
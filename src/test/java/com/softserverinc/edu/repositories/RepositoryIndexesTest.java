@@ -0,0 +1,411 @@
+package com.softserverinc.edu.repositories;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Checks that every finder method of repositories is served by an index.
+ * Tables and migrations from dbscripts are created in a separate schema, filled in with generated data
+ * and then EXPLAIN of SQL, which is equivalent to the finder's query, must not contain full table scan.
+ * The test is skipped when MySQL from application.properties is not available.
+ */
+public class RepositoryIndexesTest {
+
+    private static final String SCHEMA = "bugtrckr_explain";
+
+    private static final int PROJECTS = 20;
+
+    private static final int RELEASES = 100;
+
+    private static final int USERS = 1000;
+
+    private static final int ISSUES = 5000;
+
+    private static final int HISTORY = 20000;
+
+    private static final int WORKLOGS = 10000;
+
+    private static final int COMMENTS = 5000;
+
+    private static final int LABELS = 10;
+
+    private static final String CURSOR_TIME = "2016-06-01 00:00:00";
+
+    private static final List<Class<?>> REPOSITORIES = Arrays.asList(HistoryRepository.class,
+            IssueCommentRepository.class, IssueRepository.class, LabelRepository.class,
+            ProjectReleaseRepository.class, ProjectRepository.class, UserRepository.class, WorkLogRepository.class);
+
+    /**
+     * Finders which read the whole table by design: "find all", substring search with leading wildcard
+     * (full-text search is served by Hibernate Search) and negation that matches almost all rows
+     */
+    private static final Set<String> SCANNING_FINDERS = new TreeSet<>(Arrays.asList(
+            "HistoryRepository.findAll",
+            "IssueRepository.findAll",
+            "IssueRepository.findAllGuestIdsAndTitles",
+            "IssueRepository.findAllIdsAndTitles",
+            "IssueRepository.findByTitleContaining",
+            "IssueRepository.findListByTitleContaining",
+            "LabelRepository.findAll",
+            "ProjectReleaseRepository.findAll",
+            "ProjectRepository.findAll",
+            "ProjectRepository.findByTitleContaining",
+            "ProjectRepository.findList",
+            "ProjectRepository.findListByTitleContaining",
+            "UserRepository.findAll",
+            "UserRepository.findByEmailContaining",
+            "UserRepository.findByRoleNot",
+            "UserRepository.findListByRoleNot",
+            "WorkLogRepository.findAll"));
+
+    private static final Map<String, String> FINDER_QUERIES = new HashMap<>();
+
+    static {
+        FINDER_QUERIES.put("HistoryRepository.findByIssue",
+                "SELECT * FROM History WHERE issueId = 7");
+        FINDER_QUERIES.put("HistoryRepository.findByAssignedToUserIdOrChangedByUserIdOrderByCreateTimeDesc",
+                "SELECT * FROM History WHERE assignedToUserId = 7 OR changedByUserId = 7"
+                        + " ORDER BY createTime DESC LIMIT 10");
+        FINDER_QUERIES.put("HistoryRepository.findByChangedByUserIdAndIssueCommentIsNotNull",
+                "SELECT * FROM History WHERE changedByUserId = 7 AND issuecomment IS NOT NULL LIMIT 10");
+        FINDER_QUERIES.put("HistoryRepository.findByIssueOrderByCreateTimeDesc",
+                "SELECT * FROM History WHERE issueId = 7 ORDER BY createTime DESC LIMIT 10");
+        FINDER_QUERIES.put("HistoryRepository.findPageByIssueAfter",
+                "SELECT * FROM History WHERE issueId = 7 AND createTime <= '" + CURSOR_TIME + "'"
+                        + " AND (createTime < '" + CURSOR_TIME + "' OR id < 10000)"
+                        + " ORDER BY createTime DESC, id DESC LIMIT 11");
+        FINDER_QUERIES.put("HistoryRepository.findPageByIssueBefore",
+                "SELECT * FROM History WHERE issueId = 7 AND createTime >= '" + CURSOR_TIME + "'"
+                        + " AND (createTime > '" + CURSOR_TIME + "' OR id > 10000)"
+                        + " ORDER BY createTime ASC, id ASC LIMIT 11");
+        FINDER_QUERIES.put("IssueCommentRepository.findByIssue",
+                "SELECT * FROM IssueComment WHERE issueId = 7");
+        FINDER_QUERIES.put("IssueCommentRepository.findWithUsersByIssue",
+                "SELECT * FROM IssueComment c LEFT JOIN User u ON u.id = c.userId"
+                        + " LEFT JOIN Project p ON p.id = u.projectId WHERE c.issueId = 7 ORDER BY c.timeStamp");
+        FINDER_QUERIES.put("IssueRepository.findViewById",
+                "SELECT * FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " LEFT JOIN User c ON c.id = i.createdById LEFT JOIN Label_Issue li ON li.issueId = i.id"
+                        + " LEFT JOIN Label l ON l.id = li.labelId WHERE i.id = 7");
+        FINDER_QUERIES.put("IssueRepository.findByProjectRelease",
+                "SELECT * FROM Issue WHERE projectReleaseId = 7 LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findByProjectReleaseAndTitleContaining",
+                "SELECT * FROM Issue WHERE projectReleaseId = 7 AND title LIKE '%1%' LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findByAssignee",
+                "SELECT * FROM Issue WHERE assigneeId = 7 LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findByProject",
+                "SELECT * FROM Issue WHERE projectId = 3 LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findByProjectAndTitleContaining",
+                "SELECT * FROM Issue WHERE projectId = 3 AND title LIKE '%1%' LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findPageAfter",
+                "SELECT * FROM Issue WHERE createTime <= '" + CURSOR_TIME + "'"
+                        + " AND (createTime < '" + CURSOR_TIME + "' OR id < 2500)"
+                        + " ORDER BY createTime DESC, id DESC LIMIT 11");
+        FINDER_QUERIES.put("IssueRepository.findPageBefore",
+                "SELECT * FROM Issue WHERE createTime >= '" + CURSOR_TIME + "'"
+                        + " AND (createTime > '" + CURSOR_TIME + "' OR id > 2500)"
+                        + " ORDER BY createTime ASC, id ASC LIMIT 11");
+        FINDER_QUERIES.put("IssueRepository.findListById",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.id = 7");
+        FINDER_QUERIES.put("IssueRepository.findListByProjectRelease",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.projectReleaseId = 7 LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findListByProjectReleaseAndTitleContaining",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.projectReleaseId = 7 AND i.title LIKE '%1%' LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findListByAssignee",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.assigneeId = 7 LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findListByProject",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.projectId = 3 LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findListByProjectAndTitleContaining",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.projectId = 3 AND i.title LIKE '%1%' LIMIT 10");
+        FINDER_QUERIES.put("IssueRepository.findListPageAfter",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.createTime <= '" + CURSOR_TIME + "'"
+                        + " AND (i.createTime < '" + CURSOR_TIME + "' OR i.id < 2500)"
+                        + " ORDER BY i.createTime DESC, i.id DESC LIMIT 11");
+        FINDER_QUERIES.put("IssueRepository.findListPageBefore",
+                "SELECT i.id, p.title, r.version, a.firstName FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " WHERE i.createTime >= '" + CURSOR_TIME + "'"
+                        + " AND (i.createTime > '" + CURSOR_TIME + "' OR i.id > 2500)"
+                        + " ORDER BY i.createTime ASC, i.id ASC LIMIT 11");
+        FINDER_QUERIES.put("IssueRepository.addSpentTime",
+                "UPDATE Issue SET spentTime = spentTime + 4 WHERE id = 7");
+        FINDER_QUERIES.put("IssueRepository.findVersionById",
+                "SELECT version FROM Issue WHERE id = 7");
+        FINDER_QUERIES.put("IssueRepository.findProjectIdById",
+                "SELECT projectId FROM Issue WHERE id = 7");
+        FINDER_QUERIES.put("IssueRepository.findGuestTitleById",
+                "SELECT i.title FROM Issue i JOIN Project p ON p.id = i.projectId WHERE i.id = 7 AND p.guestView = 1");
+        FINDER_QUERIES.put("IssueRepository.findTitleById",
+                "SELECT title FROM Issue WHERE id = 7");
+        FINDER_QUERIES.put("IssueRepository.updateStatus",
+                "UPDATE Issue SET status = 'IN_PROGRESS', version = version + 1 WHERE id = 7 AND status = 'OPEN'");
+        FINDER_QUERIES.put("IssueRepository.updateAssignee",
+                "UPDATE Issue SET assigneeId = 8, version = version + 1 WHERE id = 7 AND assigneeId = 7");
+        FINDER_QUERIES.put("IssueRepository.updateStatusOfIssues",
+                "UPDATE Issue SET status = 'IN_PROGRESS', version = version + 1 WHERE id IN (7, 8, 9)");
+        FINDER_QUERIES.put("IssueRepository.updateAssigneeOfIssues",
+                "UPDATE Issue SET assigneeId = 8, version = version + 1 WHERE id IN (7, 8, 9)");
+        FINDER_QUERIES.put("IssueRepository.updateReleaseOfIssues",
+                "UPDATE Issue SET projectReleaseId = 8, version = version + 1 WHERE id IN (7, 8, 9)");
+        FINDER_QUERIES.put("IssueRepository.findWithRelationsByIds",
+                "SELECT * FROM Issue i JOIN Project p ON p.id = i.projectId"
+                        + " JOIN ProjectRelease r ON r.id = i.projectReleaseId JOIN User a ON a.id = i.assigneeId"
+                        + " LEFT JOIN User c ON c.id = i.createdById WHERE i.id IN (7, 8, 9)");
+        FINDER_QUERIES.put("IssueRepository.incrementVersionOfIssues",
+                "UPDATE Issue SET version = version + 1 WHERE id IN (7, 8, 9)");
+        FINDER_QUERIES.put("ProjectReleaseRepository.findByProject",
+                "SELECT * FROM ProjectRelease WHERE projectId = 3");
+        FINDER_QUERIES.put("ProjectReleaseRepository.findByProjectAndVersionContaining",
+                "SELECT * FROM ProjectRelease WHERE projectId = 3 AND version LIKE '%1%' LIMIT 10");
+        FINDER_QUERIES.put("ProjectReleaseRepository.findByIssues",
+                "SELECT r.* FROM ProjectRelease r JOIN Issue i ON i.projectReleaseId = r.id WHERE i.id = 7");
+        FINDER_QUERIES.put("ProjectRepository.findByProjectReleases",
+                "SELECT p.* FROM Project p JOIN ProjectRelease r ON r.projectId = p.id WHERE r.id = 7");
+        FINDER_QUERIES.put("UserRepository.findByEmail",
+                "SELECT * FROM User WHERE email = 'user7@mail.com'");
+        FINDER_QUERIES.put("UserRepository.findByEmailIs",
+                "SELECT * FROM User WHERE email = 'user7@mail.com'");
+        FINDER_QUERIES.put("UserRepository.findByRole",
+                "SELECT * FROM User WHERE role = 'ROLE_PROJECT_MANAGER' LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndIsDeletedAndEnabledIs",
+                "SELECT * FROM User WHERE projectId = 3 AND isDeleted = 0 AND enabled = 1");
+        FINDER_QUERIES.put("UserRepository.findByFirstNameContainingAndLastNameContainingAndEmailContainingAndRoleIs",
+                "SELECT * FROM User WHERE firstName LIKE '%1%' AND lastName LIKE '%1%' AND email LIKE '%1%'"
+                        + " AND role = 'ROLE_PROJECT_MANAGER' LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findListByFirstNameContainingAndLastNameContainingAndEmailContainingAndRoleIs",
+                "SELECT u.id, p.title FROM User u LEFT JOIN Project p ON p.id = u.projectId"
+                        + " WHERE u.firstName LIKE '%1%' AND u.lastName LIKE '%1%' AND u.email LIKE '%1%'"
+                        + " AND u.role = 'ROLE_PROJECT_MANAGER' LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndFirstNameContainingAndRoleAndIsDeleted",
+                "SELECT * FROM User WHERE projectId = 3 AND firstName LIKE '%1%' AND role = 'ROLE_DEVELOPER'"
+                        + " AND isDeleted = 0 LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndLastNameContainingAndRoleAndIsDeleted",
+                "SELECT * FROM User WHERE projectId = 3 AND lastName LIKE '%1%' AND role = 'ROLE_DEVELOPER'"
+                        + " AND isDeleted = 0 LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByEmailContainingAndRoleAndIsDeleted",
+                "SELECT * FROM User WHERE email LIKE '%1%' AND role = 'ROLE_PROJECT_MANAGER' AND isDeleted = 0"
+                        + " LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndRoleAndIsDeleted",
+                "SELECT * FROM User WHERE projectId = 3 AND role = 'ROLE_DEVELOPER' AND isDeleted = 0 LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndRole",
+                "SELECT * FROM User WHERE projectId = 3 AND role = 'ROLE_PROJECT_MANAGER'");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndFirstNameContainingAndRoleNot",
+                "SELECT * FROM User WHERE projectId = 3 AND firstName LIKE '%1%' AND role <> 'ROLE_ADMIN' LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndLastNameContainingAndRoleNot",
+                "SELECT * FROM User WHERE projectId = 3 AND lastName LIKE '%1%' AND role <> 'ROLE_ADMIN' LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByEmailContainingAndProjectAndRoleNot",
+                "SELECT * FROM User WHERE email LIKE '%1%' AND projectId = 3 AND role <> 'ROLE_ADMIN' LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.findByProjectAndRoleNotAndIsDeleted",
+                "SELECT * FROM User WHERE projectId = 3 AND role <> 'ROLE_ADMIN' AND isDeleted = 0 LIMIT 10");
+        FINDER_QUERIES.put("UserRepository.countActiveByIdAndProjectId",
+                "SELECT COUNT(id) FROM User WHERE id = 7 AND projectId = 3 AND isDeleted = 0 AND enabled = 1");
+        FINDER_QUERIES.put("UserRepository.findActiveIdsByProjectId",
+                "SELECT id FROM User WHERE projectId = 3 AND isDeleted = 0 AND enabled = 1");
+        FINDER_QUERIES.put("WorkLogRepository.findByUserAndIssue",
+                "SELECT * FROM WorkLog WHERE userId = 7 AND issueId = 7");
+        FINDER_QUERIES.put("WorkLogRepository.findByIssue",
+                "SELECT * FROM WorkLog WHERE issueId = 7 LIMIT 10");
+        FINDER_QUERIES.put("WorkLogRepository.countOverlapping",
+                "SELECT COUNT(id) FROM WorkLog WHERE userId = 7 AND startDate <= '" + CURSOR_TIME + "'"
+                        + " AND endDate >= '2016-05-25 00:00:00' AND id <> -1");
+        FINDER_QUERIES.put("WorkLogRepository.findOverlappingPeriods",
+                "SELECT startDate, endDate FROM WorkLog WHERE userId = 7 AND startDate <= '" + CURSOR_TIME + "'"
+                        + " AND endDate >= '2016-05-25 00:00:00'");
+        FINDER_QUERIES.put("WorkLogRepository.findAmountOfTimeById",
+                "SELECT amountOfTime FROM WorkLog WHERE id = 7");
+        FINDER_QUERIES.put("WorkLogRepository.findTotalByIssue",
+                "SELECT SUM(amountOfTime), COUNT(id) FROM WorkLog WHERE issueId = 7");
+        FINDER_QUERIES.put("WorkLogRepository.findTotalsByIssueGroupByUser",
+                "SELECT userId, SUM(amountOfTime), COUNT(id) FROM WorkLog WHERE issueId = 7 GROUP BY userId");
+        FINDER_QUERIES.put("WorkLogRepository.findTotalByUser",
+                "SELECT SUM(amountOfTime), COUNT(id) FROM WorkLog WHERE userId = 7");
+        FINDER_QUERIES.put("WorkLogRepository.findTotalByProjectRelease",
+                "SELECT SUM(w.amountOfTime), COUNT(w.id) FROM WorkLog w JOIN Issue i ON w.issueId = i.id"
+                        + " WHERE i.projectReleaseId = 7");
+        FINDER_QUERIES.put("WorkLogRepository.findPageByIssueAfter",
+                "SELECT * FROM WorkLog w JOIN User u ON u.id = w.userId LEFT JOIN Project p ON p.id = u.projectId"
+                        + " WHERE w.issueId = 7 AND w.startDate <= '" + CURSOR_TIME + "'"
+                        + " AND (w.startDate < '" + CURSOR_TIME + "' OR w.id < 5000)"
+                        + " ORDER BY w.startDate DESC, w.id DESC LIMIT 11");
+        FINDER_QUERIES.put("WorkLogRepository.findPageByIssueBefore",
+                "SELECT * FROM WorkLog w JOIN User u ON u.id = w.userId LEFT JOIN Project p ON p.id = u.projectId"
+                        + " WHERE w.issueId = 7 AND w.startDate >= '" + CURSOR_TIME + "'"
+                        + " AND (w.startDate > '" + CURSOR_TIME + "' OR w.id > 5000)"
+                        + " ORDER BY w.startDate ASC, w.id ASC LIMIT 11");
+    }
+
+    private static ScratchSchema schema;
+
+    private static Connection connection;
+
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        schema = ScratchSchema.create(SCHEMA);
+        connection = schema.getConnection();
+        fillInTables();
+    }
+
+    @AfterClass
+    public static void dropSchema() throws Exception {
+        if (schema != null) {
+            schema.drop();
+        }
+    }
+
+    @Test
+    public void testMigrationsAreAppliedOnce() throws Exception {
+        schema.applyMigrations();
+
+        try (Statement statement = connection.createStatement();
+             ResultSet versions = statement.executeQuery("SELECT COUNT(*) FROM schema_version")) {
+            versions.next();
+            // every migration except the one which creates schema_version
+            Assert.assertEquals(ScratchSchema.getMigrations().length - 1, versions.getInt(1));
+        }
+    }
+
+    @Test
+    public void testEveryFinderHasQueryToExplain() throws Exception {
+        List<String> unknownFinders = new ArrayList<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                String finder = repository.getSimpleName() + "." + method.getName();
+                if (!FINDER_QUERIES.containsKey(finder) && !SCANNING_FINDERS.contains(finder)) {
+                    unknownFinders.add(finder);
+                }
+            }
+        }
+        Assert.assertTrue("Add SQL of new finders to FINDER_QUERIES: " + unknownFinders, unknownFinders.isEmpty());
+    }
+
+    @Test
+    public void testFindersDoNotScanWholeTable() throws Exception {
+        List<String> fullScans = new ArrayList<>();
+        for (Map.Entry<String, String> finder : FINDER_QUERIES.entrySet()) {
+            try (Statement statement = connection.createStatement();
+                 ResultSet plan = statement.executeQuery("EXPLAIN " + finder.getValue())) {
+                while (plan.next()) {
+                    if ("ALL".equals(plan.getString("type"))) {
+                        fullScans.add(finder.getKey() + " (table " + plan.getString("table") + ")");
+                    }
+                }
+            }
+        }
+        Assert.assertTrue("Full table scan in " + fullScans, fullScans.isEmpty());
+    }
+
+    /**
+     * Generates data with realistic selectivity: many issues per release, a few managers per project
+     */
+    private static void fillInTables() throws SQLException {
+        Random random = new Random(42);
+        long baseTime = Timestamp.valueOf("2016-01-01 00:00:00").getTime();
+        long yearMillis = 365L * 24 * 60 * 60 * 1000;
+        insert("INSERT INTO Project (title, guestView, guestCreateIssues, guestAddComment) VALUES (?, 1, 1, 1)",
+                PROJECTS, (row, i) -> row.setString(1, "Project " + i));
+        insert("INSERT INTO ProjectRelease (projectId, version) VALUES (?, ?)", RELEASES, (row, i) -> {
+            row.setInt(1, i % PROJECTS + 1);
+            row.setString(2, "1." + i);
+        });
+        insert("INSERT INTO User (firstName, lastName, email, password, role, projectId, isDeleted)"
+                + " VALUES (?, ?, ?, 'password', ?, ?, ?)", USERS, (row, i) -> {
+            row.setString(1, "First" + i);
+            row.setString(2, "Last" + i);
+            row.setString(3, "user" + i + "@mail.com");
+            row.setString(4, i == 0 ? "ROLE_ADMIN" : i <= PROJECTS ? "ROLE_PROJECT_MANAGER"
+                    : i % 3 == 0 ? "ROLE_QA" : i % 3 == 1 ? "ROLE_DEVELOPER" : "ROLE_USER");
+            row.setInt(5, i % PROJECTS + 1);
+            row.setBoolean(6, i % 10 == 0);
+        });
+        insert("INSERT INTO Issue (title, type, priority, projectReleaseId, projectId, assigneeId, createdById,"
+                + " createTime, estimateTime) VALUES (?, 'BUG', 'MAJOR', ?, ?, ?, ?, ?, 8)", ISSUES, (row, i) -> {
+            int releaseId = random.nextInt(RELEASES) + 1;
+            row.setString(1, "Issue " + i);
+            row.setInt(2, releaseId);
+            row.setInt(3, (releaseId - 1) % PROJECTS + 1);
+            row.setInt(4, random.nextInt(USERS) + 1);
+            row.setInt(5, random.nextInt(USERS) + 1);
+            row.setTimestamp(6, new Timestamp(baseTime + (long) (random.nextDouble() * yearMillis)));
+        });
+        insert("INSERT INTO History (issueId, changedByUserId, createTime, action, assignedToUserId, issuecomment)"
+                + " VALUES (?, ?, ?, 'CHANGE_ISSUE', ?, ?)", HISTORY, (row, i) -> {
+            row.setInt(1, random.nextInt(ISSUES) + 1);
+            row.setInt(2, random.nextInt(USERS) + 1);
+            row.setTimestamp(3, new Timestamp(baseTime + (long) (random.nextDouble() * yearMillis)));
+            row.setInt(4, random.nextInt(USERS) + 1);
+            row.setString(5, i % 5 == 0 ? "Comment " + i : null);
+        });
+        insert("INSERT INTO WorkLog (issueId, userId, startDate, endDate, amountOfTime) VALUES (?, ?, ?, ?, 4)",
+                WORKLOGS, (row, i) -> {
+                    Timestamp startDate = new Timestamp(baseTime + (long) (random.nextDouble() * yearMillis));
+                    row.setInt(1, random.nextInt(ISSUES) + 1);
+                    row.setInt(2, random.nextInt(USERS) + 1);
+                    row.setTimestamp(3, startDate);
+                    row.setTimestamp(4, startDate);
+                });
+        insert("INSERT INTO IssueComment (text, timeStamp, issueId, userId) VALUES (?, ?, ?, ?)", COMMENTS,
+                (row, i) -> {
+                    row.setString(1, "Comment " + i);
+                    row.setTimestamp(2, new Timestamp(baseTime + (long) (random.nextDouble() * yearMillis)));
+                    row.setInt(3, random.nextInt(ISSUES) + 1);
+                    row.setInt(4, random.nextInt(USERS) + 1);
+                });
+        insert("INSERT INTO Label (title) VALUES (?)", LABELS, (row, i) -> row.setString(1, "Label " + i));
+        insert("INSERT IGNORE INTO Label_Issue (labelId, issueId) VALUES (?, ?)", ISSUES, (row, i) -> {
+            row.setInt(1, random.nextInt(LABELS) + 1);
+            row.setInt(2, i + 1);
+        });
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE TABLE User, Project, ProjectRelease, Issue, Label, Label_Issue, History,"
+                    + " WorkLog, IssueComment");
+        }
+    }
+
+    private static void insert(String sql, int rows, RowFiller filler) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                filler.fill(statement, i);
+                statement.addBatch();
+            }
+            statement.executeBatch();
+        }
+    }
+
+    private interface RowFiller {
+
+        void fill(PreparedStatement row, int index) throws SQLException;
+    }
+}
@@ -0,0 +1,152 @@
+package com.softserverinc.edu.repositories;
+
+import org.junit.Assume;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.EncodedResource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Properties;
+
+/**
+ * Separate schema with tables and migrations from dbscripts, created in MySQL from application.properties
+ * for tests which fill in their own data. The test is skipped when MySQL is not available.
+ */
+public final class ScratchSchema {
+
+    /**
+     * Statements of migrations are separated by lines of $$, as in apply-migrations execution of pom.xml
+     */
+    private static final String MIGRATION_STATEMENT_SEPARATOR = "$$";
+
+    private static final String JDBC_URL_PROPERTY = "jdbc.url";
+
+    private final String name;
+
+    private final String url;
+
+    private final Connection connection;
+
+    private String previousJdbcUrl;
+
+    private boolean applicationConnected;
+
+    private ScratchSchema(String name, String url, Connection connection) {
+        this.name = name;
+        this.url = url;
+        this.connection = connection;
+    }
+
+    /**
+     * Drops schema if it is left from previous run and creates it again with tables and migrations
+     *
+     * @param name name of the schema
+     * @return schema with open connection to it
+     */
+    public static ScratchSchema create(String name) throws Exception {
+        Properties properties = loadProperties("application.properties", "sql_maven_plugin.properties");
+        String serviceUrl = properties.getProperty("jdbc.service.url") + "&rewriteBatchedStatements=true";
+        Connection connection = null;
+        try {
+            connection = DriverManager.getConnection(serviceUrl,
+                    properties.getProperty("jdbc.username"), properties.getProperty("jdbc.password"));
+        } catch (SQLException e) {
+            Assume.assumeNoException("MySQL is not available", e);
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+            statement.execute("CREATE DATABASE " + name + " DEFAULT CHARACTER SET utf8");
+        }
+        connection.setCatalog(name);
+        ScratchSchema schema = new ScratchSchema(name, serviceUrl.replaceFirst("\\?", "/" + name + "?"), connection);
+        schema.executeScript(new ClassPathResource("dbscripts/01_#create_db_bugtrckr_tables.sql"),
+                ScriptUtils.DEFAULT_STATEMENT_SEPARATOR);
+        schema.applyMigrations();
+        return schema;
+    }
+
+    /**
+     * Migrations from dbscripts in the order they are applied
+     *
+     * @return scripts of migrations
+     */
+    public static Resource[] getMigrations() throws IOException {
+        Resource[] migrations = new PathMatchingResourcePatternResolver()
+                .getResources("classpath:dbscripts/migrations/*.sql");
+        Arrays.sort(migrations, Comparator.comparing(Resource::getFilename));
+        return migrations;
+    }
+
+    public Connection getConnection() {
+        return connection;
+    }
+
+    /**
+     * Returns JDBC URL of the schema, which may replace jdbc.url of the application
+     *
+     * @return JDBC URL
+     */
+    public String getUrl() {
+        return url;
+    }
+
+    /**
+     * Connects application contexts, which are created afterwards, to the schema instead of the one
+     * from application.properties: system property overrides jdbc.url until the schema is dropped.
+     * Contexts of such tests must not be reused by other tests, see DirtiesContext.
+     */
+    public void connectApplication() {
+        previousJdbcUrl = System.getProperty(JDBC_URL_PROPERTY);
+        System.setProperty(JDBC_URL_PROPERTY, url);
+        applicationConnected = true;
+    }
+
+    public void applyMigrations() throws IOException {
+        for (Resource migration : getMigrations()) {
+            executeScript(migration, MIGRATION_STATEMENT_SEPARATOR);
+        }
+    }
+
+    /**
+     * Drops the schema and closes connection to it, restores jdbc.url of the application if it was overridden
+     */
+    public void drop() throws SQLException {
+        if (applicationConnected) {
+            if (previousJdbcUrl == null) {
+                System.clearProperty(JDBC_URL_PROPERTY);
+            } else {
+                System.setProperty(JDBC_URL_PROPERTY, previousJdbcUrl);
+            }
+        }
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + name);
+        } finally {
+            connection.close();
+        }
+    }
+
+    private void executeScript(Resource script, String separator) {
+        ScriptUtils.executeSqlScript(connection, new EncodedResource(script),
+                false, false, "#", separator,
+                ScriptUtils.DEFAULT_BLOCK_COMMENT_START_DELIMITER, ScriptUtils.DEFAULT_BLOCK_COMMENT_END_DELIMITER);
+    }
+
+    private static Properties loadProperties(String... names) throws IOException {
+        Properties properties = new Properties();
+        for (String name : names) {
+            try (InputStream stream = new ClassPathResource(name).getInputStream()) {
+                properties.load(stream);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,268 @@
+package com.softserverinc.edu.repositories;
+
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueComment;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.enums.IssuePriority;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.entities.enums.IssueType;
+import com.softserverinc.edu.entities.enums.SearchMatch;
+import com.softserverinc.edu.entities.enums.SearchType;
+import org.hibernate.annotations.common.reflection.ReflectionManager;
+import org.hibernate.annotations.common.reflection.java.JavaReflectionManager;
+import org.hibernate.search.backend.TransactionContext;
+import org.hibernate.search.backend.spi.Work;
+import org.hibernate.search.backend.spi.WorkType;
+import org.hibernate.search.cfg.SearchMapping;
+import org.hibernate.search.cfg.spi.SearchConfigurationBase;
+import org.hibernate.search.engine.ProjectionConstants;
+import org.hibernate.search.engine.service.classloading.impl.DefaultClassLoaderService;
+import org.hibernate.search.engine.service.classloading.spi.ClassLoaderService;
+import org.hibernate.search.engine.service.spi.Service;
+import org.hibernate.search.exception.EmptyQueryException;
+import org.hibernate.search.query.engine.spi.EntityInfo;
+import org.hibernate.search.query.engine.spi.HSQuery;
+import org.hibernate.search.spi.SearchIntegrator;
+import org.hibernate.search.spi.SearchIntegratorBuilder;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import javax.transaction.Synchronization;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Ranking, matching and highlighting of search text against a fixed corpus of issues
+ * indexed in memory with the mapping of the entities
+ */
+public class SearchRelevanceTest {
+
+    private static final List<Class<?>> INDEXED_CLASSES =
+            Arrays.asList(Issue.class, Project.class, ProjectRelease.class, IssueComment.class);
+
+    private static SearchIntegrator searchIntegrator;
+
+    @BeforeClass
+    public static void setUpIndex() {
+        searchIntegrator = new SearchIntegratorBuilder().configuration(new InMemorySearchConfiguration())
+                .buildSearchIntegrator();
+        Project project = new Project();
+        project.setId(1L);
+        project.setTitle("Tracker");
+        project.setDescription("Bug tracker");
+        index(getIssue(1L, "Login page crash", project, "Form shows an error after submit."));
+        index(getIssue(2L, "Report export", project,
+                "<p>Export fails after <strong>login</strong> with long password</p>"));
+        index(getIssue(3L, "Button color", project,
+                "Wrong color of the button in the login form; the page error is shown"));
+        index(getIssue(4L, "Password reset", project,
+                "Reset form sends the email to the wrong user, the form error is not shown"));
+        index(getIssue(5L, "Search", project, "Search of users by email is case sensitive"));
+    }
+
+    @AfterClass
+    public static void closeIndex() {
+        searchIntegrator.close();
+    }
+
+    @Test
+    public void testTitleMatchRanksAboveDescriptionMatches() throws Exception {
+        List<Long> ids = search("login", SearchMatch.WORDS);
+
+        Assert.assertEquals(3, ids.size());
+        Assert.assertEquals(Long.valueOf(1L), ids.get(0));
+    }
+
+    @Test
+    public void testWholePhraseRanksFirstAndPhraseMatchExcludesSeparateWords() throws Exception {
+        List<Long> ids = search("form error", SearchMatch.WORDS);
+
+        Assert.assertEquals(3, ids.size());
+        Assert.assertEquals(Long.valueOf(4L), ids.get(0));
+        Assert.assertEquals(Collections.singletonList(4L), search("form error", SearchMatch.PHRASE));
+    }
+
+    @Test
+    public void testFuzzyMatchFindsMisspelledWords() throws Exception {
+        Assert.assertTrue(search("logn", SearchMatch.WORDS).isEmpty());
+        Assert.assertEquals(3, search("logn", SearchMatch.FUZZY).size());
+        Assert.assertEquals("<mark>Login</mark> page crash",
+                getTextQuery("logn", SearchMatch.FUZZY).highlight("title", "Login page crash"));
+    }
+
+    @Test
+    public void testHtmlTagsOfDescriptionAreNotSearched() throws Exception {
+        Assert.assertTrue(search("strong", SearchMatch.WORDS).isEmpty());
+        Assert.assertEquals(Collections.singletonList(2L), search("fails", SearchMatch.WORDS));
+    }
+
+    @Test
+    public void testTextOfStopWordsOnlyIsNotSearched() throws Exception {
+        for (SearchMatch match : SearchMatch.values()) {
+            try {
+                getTextQuery("the of", match);
+                Assert.fail("Query is built for " + match);
+            } catch (EmptyQueryException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testSearchedWordsAreMarkedInEscapedText() throws Exception {
+        SearchTextQuery textQuery = getTextQuery("login", SearchMatch.WORDS);
+
+        Assert.assertEquals("<mark>Login</mark> page crash", textQuery.highlight("title", "Login page crash"));
+        Assert.assertEquals("Export fails after <mark>login</mark> with long password",
+                textQuery.highlight("description",
+                        "<p>Export fails after <strong>login</strong> with long password</p>", 200));
+        Assert.assertEquals("Use &lt;input&gt; for <mark>login</mark>",
+                textQuery.highlight("description", "Use <code>&lt;input&gt;</code> for login", 200));
+        Assert.assertEquals("", textQuery.highlight("description", null, 200));
+    }
+
+    @Test
+    public void testSnippetIsFragmentWithSearchedWordsCutAtWhitespace() throws Exception {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < 50; i++) {
+            text.append("lorem ipsum ");
+        }
+        text.append("failed login attempts ");
+        for (int i = 0; i < 50; i++) {
+            text.append("dolor sit ");
+        }
+
+        String snippet = getTextQuery("login", SearchMatch.WORDS).highlight("description", text.toString(), 60);
+
+        Assert.assertTrue(snippet, snippet.startsWith("…"));
+        Assert.assertTrue(snippet, snippet.endsWith("…"));
+        Assert.assertTrue(snippet, snippet.contains("failed <mark>login</mark> attempts"));
+        Assert.assertTrue(snippet, snippet.length() <= 60 + "<mark></mark>…… ".length());
+        Assert.assertFalse(snippet, snippet.contains("…m ") || snippet.contains(" i…"));
+    }
+
+    private List<Long> search(String searchText, SearchMatch match) {
+        HSQuery query = searchIntegrator.createHSQuery()
+                .luceneQuery(getTextQuery(searchText, match).getQuery())
+                .targetedEntities(Collections.singletonList(Issue.class))
+                .projection(ProjectionConstants.ID);
+        List<Long> ids = new ArrayList<>();
+        for (EntityInfo entityInfo : query.queryEntityInfos()) {
+            ids.add((Long) entityInfo.getProjection()[0]);
+        }
+        return ids;
+    }
+
+    private SearchTextQuery getTextQuery(String searchText, SearchMatch match) {
+        return SearchTextQuery.create(searchIntegrator.buildQueryBuilder().forEntity(Issue.class).get(),
+                searchIntegrator.getAnalyzer(Issue.class), SearchType.ISSUE, searchText, match);
+    }
+
+    private static void index(Issue issue) {
+        searchIntegrator.getWorker().performWork(new Work(issue, issue.getId(), WorkType.ADD, false),
+                new NoTransactionContext());
+    }
+
+    private static Issue getIssue(Long id, String title, Project project, String description) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setTitle(title);
+        issue.setDescription(description);
+        issue.setProject(project);
+        issue.setType(IssueType.BUG);
+        issue.setStatus(IssueStatus.OPEN);
+        issue.setPriority(IssuePriority.MEDIUM);
+        return issue;
+    }
+
+    /**
+     * Changes are applied to the index right away
+     */
+    private static class NoTransactionContext implements TransactionContext {
+
+        @Override
+        public boolean isTransactionInProgress() {
+            return false;
+        }
+
+        @Override
+        public Object getTransactionIdentifier() {
+            return this;
+        }
+
+        @Override
+        public void registerSynchronization(Synchronization synchronization) {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    /**
+     * Mapping of the indexed entities with index kept in memory
+     */
+    private static class InMemorySearchConfiguration extends SearchConfigurationBase {
+
+        private final Properties properties = new Properties();
+
+        private final ReflectionManager reflectionManager = new JavaReflectionManager();
+
+        private final ClassLoaderService classLoaderService = new DefaultClassLoaderService();
+
+        private InMemorySearchConfiguration() {
+            properties.setProperty("hibernate.search.default.directory_provider", "ram");
+        }
+
+        @Override
+        public Iterator<Class<?>> getClassMappings() {
+            return INDEXED_CLASSES.iterator();
+        }
+
+        @Override
+        public Class<?> getClassMapping(String name) {
+            for (Class<?> indexedClass : INDEXED_CLASSES) {
+                if (indexedClass.getName().equals(name)) {
+                    return indexedClass;
+                }
+            }
+            return null;
+        }
+
+        @Override
+        public String getProperty(String propertyName) {
+            return properties.getProperty(propertyName);
+        }
+
+        @Override
+        public Properties getProperties() {
+            return properties;
+        }
+
+        @Override
+        public ReflectionManager getReflectionManager() {
+            return reflectionManager;
+        }
+
+        @Override
+        public SearchMapping getProgrammaticMapping() {
+            return null;
+        }
+
+        @Override
+        public Map<Class<? extends Service>, Object> getProvidedServices() {
+            return new HashMap<>();
+        }
+
+        @Override
+        public ClassLoaderService getClassLoaderService() {
+            return classLoaderService;
+        }
+    }
+}
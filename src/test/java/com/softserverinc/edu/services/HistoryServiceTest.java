@@ -0,0 +1,143 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.History;
+import com.softserverinc.edu.entities.HistoryDto;
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.HistoryAction;
+import com.softserverinc.edu.entities.enums.IssuePriority;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.entities.enums.IssueType;
+import com.softserverinc.edu.repositories.HistoryRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HistoryServiceTest {
+
+    @Mock
+    private HistoryRepository historyRepository;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private IssueService issueService;
+
+    @Mock
+    private HistoryWriter historyWriter;
+
+    @InjectMocks
+    private HistoryService historyService;
+
+    private Issue issue;
+
+    @Before
+    public void setUp() {
+        issue = new Issue();
+        issue.setId(1L);
+        Mockito.when(userService.getAvailableUser(Matchers.any(User.class)))
+                .thenAnswer(invocation -> invocation.getArguments()[0]);
+        Mockito.when(userService.findUsersByIds(Matchers.anyCollectionOf(Long.class)))
+                .thenAnswer(invocation -> createTestUsers((Collection<Long>) invocation.getArguments()[0]));
+    }
+
+    @Test
+    public void testFindAllHistoryForIssueLoadsUsersOncePerSmallPage() throws Exception {
+        assertUsersLoadedOnce(1);
+    }
+
+    @Test
+    public void testFindAllHistoryForIssueLoadsUsersOncePerLargePage() throws Exception {
+        assertUsersLoadedOnce(50);
+    }
+
+    @Test
+    public void testFindAllHistoryForIssueResolvesUsers() throws Exception {
+        Pageable pageable = new PageRequest(0, 2);
+        Mockito.when(historyRepository.findByIssueOrderByCreateTimeDesc(issue, pageable))
+                .thenReturn(createTestHistoryPage(2, pageable));
+
+        Page<HistoryDto> historyDtoPage = historyService.findAllHistoryForIssue(issue, pageable);
+        HistoryDto historyDto = historyDtoPage.getContent().get(1);
+        Assert.assertEquals(Long.valueOf(1L), historyDto.getChangedByUser().getId());
+        Assert.assertEquals(Long.valueOf(101L), historyDto.getAssignedToUser().getId());
+    }
+
+    @Test
+    public void testWriteToHistorySavesAllChangesByOneBatch() throws Exception {
+        User assignee = new User();
+        assignee.setId(2L);
+        Issue previousIssue = createTestIssue(assignee);
+        Issue updatedIssue = createTestIssue(assignee);
+        updatedIssue.setStatus(IssueStatus.IN_PROGRESS);
+        updatedIssue.setPriority(IssuePriority.LOW);
+        Mockito.when(issueService.findById(issue.getId())).thenReturn(previousIssue);
+
+        historyService.writeToHistory(updatedIssue, assignee);
+        ArgumentCaptor<List> changes = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(historyWriter, Mockito.times(1)).write(changes.capture());
+        Mockito.verify(historyRepository, Mockito.never()).saveAndFlush(Matchers.any(History.class));
+        Assert.assertEquals(2, changes.getValue().size());
+    }
+
+    private Issue createTestIssue(User assignee) {
+        Issue testIssue = new Issue();
+        testIssue.setId(issue.getId());
+        testIssue.setTitle("Issue");
+        testIssue.setType(IssueType.BUG);
+        testIssue.setPriority(IssuePriority.BLOCKER);
+        testIssue.setStatus(IssueStatus.OPEN);
+        testIssue.setDescription("Description");
+        testIssue.setAssignee(assignee);
+        return testIssue;
+    }
+
+    private void assertUsersLoadedOnce(int pageSize) {
+        Pageable pageable = new PageRequest(0, pageSize);
+        Mockito.when(historyRepository.findByIssueOrderByCreateTimeDesc(issue, pageable))
+                .thenReturn(createTestHistoryPage(pageSize, pageable));
+
+        Page<HistoryDto> historyDtoPage = historyService.findAllHistoryForIssue(issue, pageable);
+        Assert.assertEquals(pageSize, historyDtoPage.getNumberOfElements());
+        Mockito.verify(userService, Mockito.times(1)).findUsersByIds(Matchers.anyCollectionOf(Long.class));
+        Mockito.verify(userService, Mockito.never()).findOne(Matchers.anyLong());
+    }
+
+    private Page<History> createTestHistoryPage(int size, Pageable pageable) {
+        List<History> histories = new ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            histories.add(History.newBuilder().setId(i).setIssue(issue).setChangedByUserId(i % 3)
+                    .setAssignedToUserId(100L + i).setAction(HistoryAction.CHANGE_ISSUE_ASSIGNEE).build());
+        }
+        return new PageImpl<>(histories, pageable, size);
+    }
+
+    private Map<Long, User> createTestUsers(Collection<Long> ids) {
+        Map<Long, User> users = new HashMap<>();
+        for (Long id : ids) {
+            User user = new User();
+            user.setId(id);
+            users.put(id, user);
+        }
+        return users;
+    }
+}
@@ -0,0 +1,111 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.History;
+import com.softserverinc.edu.entities.enums.HistoryAction;
+import com.softserverinc.edu.repositories.HistoryRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(MockitoJUnitRunner.class)
+public class HistoryWriterTest {
+
+    @Mock
+    private HistoryRepository historyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @InjectMocks
+    private HistoryWriter historyWriter;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(historyWriter, "queueCapacity", 2);
+        ReflectionTestUtils.setField(historyWriter, "batchSize", 10);
+        ReflectionTestUtils.setField(historyWriter, "offerTimeoutMillis", 10L);
+    }
+
+    @Test
+    public void testWriteIsSynchronousWhenAsyncIsDisabled() throws Exception {
+        ReflectionTestUtils.setField(historyWriter, "async", false);
+        historyWriter.onApplicationStarted(null);
+
+        historyWriter.write(createTestHistories(3));
+        Mockito.verify(historyRepository, Mockito.times(1)).insertInBatch(Matchers.anyListOf(History.class));
+        Assert.assertEquals(3L, historyWriter.getStatistics().get("writtenRecords"));
+    }
+
+    @Test
+    public void testWriteFallsBackToCallerWhenQueueIsFullAndFlushesOnStop() throws Exception {
+        CountDownLatch writerBlocked = new CountDownLatch(1);
+        CountDownLatch releaseWriter = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            if ("history-writer".equals(Thread.currentThread().getName()) && writerBlocked.getCount() > 0) {
+                writerBlocked.countDown();
+                releaseWriter.await();
+            }
+            return null;
+        }).when(historyRepository).insertInBatch(Matchers.anyListOf(History.class));
+        ReflectionTestUtils.setField(historyWriter, "async", true);
+        historyWriter.onApplicationStarted(null);
+
+        historyWriter.write(createTestHistories(1));
+        Assert.assertTrue(writerBlocked.await(5, TimeUnit.SECONDS));
+        // writer thread is busy: two records fill the queue, the third one is written by caller
+        historyWriter.write(createTestHistories(3));
+        Assert.assertEquals(2, historyWriter.getStatistics().get("queueDepth"));
+        Assert.assertEquals(1L, historyWriter.getStatistics().get("overflowWrites"));
+        Assert.assertEquals(1L, historyWriter.getStatistics().get("backpressureWaits"));
+
+        releaseWriter.countDown();
+        historyWriter.onApplicationStopped(null);
+        Assert.assertEquals(0, historyWriter.getStatistics().get("queueDepth"));
+        Assert.assertEquals(4L, historyWriter.getStatistics().get("writtenRecords"));
+        Assert.assertEquals(0L, historyWriter.getStatistics().get("droppedRecords"));
+    }
+
+    @Test
+    public void testRecordsAreWrittenOnlyAfterTransactionIsCommitted() throws Exception {
+        ReflectionTestUtils.setField(historyWriter, "async", false);
+        historyWriter.onApplicationStarted(null);
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            historyWriter.write(createTestHistories(2));
+            historyWriter.write(createTestHistories(1));
+            Mockito.verify(historyRepository, Mockito.never()).insertInBatch(Matchers.anyListOf(History.class));
+
+            List<TransactionSynchronization> synchronizations =
+                    TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.get(0).afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+            synchronizations.get(1).afterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        Mockito.verify(historyRepository, Mockito.times(1)).insertInBatch(Matchers.anyListOf(History.class));
+        Assert.assertEquals(1L, historyWriter.getStatistics().get("writtenRecords"));
+    }
+
+    private List<History> createTestHistories(int size) {
+        List<History> histories = new ArrayList<>();
+        for (long i = 0; i < size; i++) {
+            histories.add(History.newBuilder().setChangedByUserId(i).setAction(HistoryAction.CREATE_ISSUE).build());
+        }
+        return histories;
+    }
+}
@@ -0,0 +1,214 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueBulkResultDto;
+import com.softserverinc.edu.entities.IssueWorkflow;
+import com.softserverinc.edu.entities.Label;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.IssueBulkAction;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.IssueLabelRepository;
+import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository.IssueState;
+import com.softserverinc.edu.services.securityServices.IssueSecurityService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IssueBulkServiceTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private IssueLabelRepository issueLabelRepository;
+
+    @Mock
+    private IssueWorkflowService issueWorkflowService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private LabelService labelService;
+
+    @Mock
+    private HistoryService historyService;
+
+    @Mock
+    private ReleaseProgressService releaseProgressService;
+
+    @Mock
+    private IssueSecurityService issueSecurityService;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private IssueBulkService issueBulkService;
+
+    private Project project;
+
+    private ProjectRelease release;
+
+    private Map<Long, IssueState> states;
+
+    private List<Issue> issues;
+
+    @Before
+    public void setup() {
+        ReflectionTestUtils.setField(issueBulkService, "maxIssues", 3);
+        project = new Project();
+        project.setId(1L);
+        release = new ProjectRelease();
+        release.setId(1L);
+        release.setProject(project);
+        states = new HashMap<>();
+        issues = new ArrayList<>();
+        Mockito.when(issueSecurityService.hasPermissionToEditIssuesOfProject(project)).thenReturn(true);
+        Mockito.when(issueWorkflowService.getWorkflow(project)).thenReturn(IssueWorkflow.DEFAULT);
+    }
+
+    @Test
+    public void testChangeStatusIsValidatedByWorkflowAndWrittenByOneStatement() throws Exception {
+        addIssue(1L, IssueStatus.OPEN, project);
+        addIssue(2L, IssueStatus.OPEN, project);
+        addIssue(3L, IssueStatus.IN_PROGRESS, project);
+        mockIssues();
+
+        IssueBulkResultDto result = issueBulkService.applyChange(Arrays.asList(1L, 2L, 3L),
+                IssueBulkAction.CHANGE_STATUS, "IN_PROGRESS");
+
+        Assert.assertEquals(Arrays.asList(1L, 2L), result.getUpdatedIssueIds());
+        Assert.assertEquals(Collections.singletonList(3L), result.getUnchangedIssueIds());
+        Mockito.verify(issueWorkflowService, Mockito.times(2)).getWorkflow(project);
+        Mockito.verify(issueRepository).updateStatusOfIssues(Arrays.asList(1L, 2L), IssueStatus.IN_PROGRESS);
+        Mockito.verify(releaseProgressService).updateProgressOfIssues(Mockito.eq(states),
+                Mockito.anyMapOf(Long.class, IssueState.class));
+        ArgumentCaptor<Collection> historyIssues = ArgumentCaptor.forClass(Collection.class);
+        Mockito.verify(historyService).writeToHistory(historyIssues.capture(), Mockito.any(User.class),
+                Mockito.eq(IssueStatus.IN_PROGRESS), Mockito.isNull(User.class));
+        Assert.assertEquals(2, historyIssues.getValue().size());
+    }
+
+    @Test
+    public void testIssuesWithoutPermissionOrInvalidChangeAreRejected() throws Exception {
+        Project foreignProject = new Project();
+        foreignProject.setId(2L);
+        addIssue(1L, IssueStatus.RESOLVED, project);
+        addIssue(2L, IssueStatus.OPEN, foreignProject);
+        mockIssues();
+
+        IssueBulkResultDto result = issueBulkService.applyChange(Arrays.asList(1L, 2L, 3L),
+                IssueBulkAction.CHANGE_STATUS, "IN_PROGRESS");
+
+        Assert.assertTrue(result.getUpdatedIssueIds().isEmpty());
+        Assert.assertEquals(3, result.getRejectedIssueIds().size());
+        Mockito.verify(issueRepository, Mockito.never()).updateStatusOfIssues(Mockito.anyCollectionOf(Long.class),
+                Mockito.any(IssueStatus.class));
+        Mockito.verifyZeroInteractions(historyService);
+    }
+
+    @Test
+    public void testMembersOfProjectAreLoadedOnceForAssigneeChange() throws Exception {
+        User assignee = new User();
+        assignee.setId(10L);
+        addIssue(1L, IssueStatus.OPEN, project);
+        addIssue(2L, IssueStatus.OPEN, project);
+        Mockito.when(userService.findOne(10L)).thenReturn(assignee);
+        Mockito.when(userService.getActiveUserIdsOfProject(1L)).thenReturn(new long[]{5L, 10L});
+        mockIssues();
+
+        IssueBulkResultDto result = issueBulkService.applyChange(Arrays.asList(1L, 2L),
+                IssueBulkAction.CHANGE_ASSIGNEE, "10");
+
+        Assert.assertEquals(Arrays.asList(1L, 2L), result.getUpdatedIssueIds());
+        Mockito.verify(userService).getActiveUserIdsOfProject(1L);
+        Mockito.verify(issueRepository).updateAssigneeOfIssues(Arrays.asList(1L, 2L), assignee);
+    }
+
+    @Test
+    public void testOnlyIssuesWithoutLabelAreUpdatedWhenLabelIsAdded() throws Exception {
+        Label label = new Label();
+        label.setId(7L);
+        addIssue(1L, IssueStatus.OPEN, project);
+        addIssue(2L, IssueStatus.OPEN, project);
+        Mockito.when(labelService.findOne(7L)).thenReturn(label);
+        Mockito.when(issueLabelRepository.findIssueIdsWithLabel(7L, Arrays.asList(1L, 2L)))
+                .thenReturn(Collections.singleton(2L));
+        mockIssues();
+
+        IssueBulkResultDto result = issueBulkService.applyChange(Arrays.asList(1L, 2L),
+                IssueBulkAction.ADD_LABEL, "7");
+
+        Assert.assertEquals(Collections.singletonList(1L), result.getUpdatedIssueIds());
+        Assert.assertEquals(Collections.singletonList(2L), result.getUnchangedIssueIds());
+        Mockito.verify(issueRepository).incrementVersionOfIssues(Collections.singletonList(1L));
+        Mockito.verify(issueLabelRepository).addLabel(7L, Collections.singletonList(1L));
+    }
+
+    @Test
+    public void testIssuesWithoutLabelAreUnchangedWhenLabelIsRemoved() throws Exception {
+        Label label = new Label();
+        label.setId(7L);
+        addIssue(1L, IssueStatus.OPEN, project);
+        addIssue(2L, IssueStatus.OPEN, project);
+        Mockito.when(labelService.findOne(7L)).thenReturn(label);
+        Mockito.when(issueLabelRepository.findIssueIdsWithLabel(7L, Arrays.asList(1L, 2L)))
+                .thenReturn(Collections.emptySet());
+        mockIssues();
+
+        IssueBulkResultDto result = issueBulkService.applyChange(Arrays.asList(1L, 2L),
+                IssueBulkAction.REMOVE_LABEL, "7");
+
+        Assert.assertTrue(result.getUpdatedIssueIds().isEmpty());
+        Assert.assertEquals(Arrays.asList(1L, 2L), result.getUnchangedIssueIds());
+        Mockito.verify(issueRepository, Mockito.never()).incrementVersionOfIssues(
+                Mockito.anyCollectionOf(Long.class));
+        Mockito.verify(issueLabelRepository, Mockito.never()).removeLabel(Mockito.anyLong(),
+                Mockito.anyCollectionOf(Long.class));
+        Mockito.verifyZeroInteractions(eventPublisher);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testTooManyIssuesAreNotChanged() throws Exception {
+        issueBulkService.applyChange(Arrays.asList(1L, 2L, 3L, 4L), IssueBulkAction.CHANGE_STATUS, "OPEN");
+    }
+
+    private void addIssue(Long id, IssueStatus status, Project project) {
+        Issue issue = new Issue();
+        issue.setId(id);
+        issue.setStatus(status);
+        issue.setProject(project);
+        issue.setProjectRelease(release);
+        User assignee = new User();
+        assignee.setId(100L + id);
+        issue.setAssignee(assignee);
+        issues.add(issue);
+        states.put(id, new IssueState(release.getId(), status, 5, 0));
+    }
+
+    private void mockIssues() {
+        Mockito.when(releaseProgressService.getIssueStates(Mockito.anyCollectionOf(Long.class))).thenReturn(states);
+        Mockito.when(issueRepository.findWithRelationsByIds(states.keySet())).thenReturn(issues);
+    }
+}
@@ -6,13 +6,16 @@ import com.softserverinc.edu.entities.enums.IssueStatus;
 import com.softserverinc.edu.entities.enums.IssueType;
 import com.softserverinc.edu.repositories.IssueCommentRepository;
 import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
 
 import java.util.ArrayList;
 import java.util.Date;
@@ -26,6 +29,9 @@ public class IssueCommentServiceTest {
     @Mock
     private IssueCommentRepository issueCommentRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private IssueCommentService issueCommentService;
 
@@ -60,8 +66,10 @@ public class IssueCommentServiceTest {
         id = 1L;
         issueComment = getTestIssueComment(id);
         Mockito.when(issueCommentRepository.findOne(0L)).thenReturn(issueComment);
+        Mockito.when(issueCommentRepository.saveAndFlush(issueComment)).thenReturn(issueComment);
         issueCommentService.save(issueComment);
         Mockito.verify(issueCommentRepository).saveAndFlush(issueComment);
+        assertIndexEvent(false);
     }
 
     @Test
@@ -71,6 +79,15 @@ public class IssueCommentServiceTest {
         Mockito.when(issueCommentRepository.findOne(0L)).thenReturn(issueComment);
         issueCommentService.delete(id);
         Mockito.verify(issueCommentRepository).delete(id);
+        assertIndexEvent(true);
+    }
+
+    private void assertIndexEvent(boolean removed) {
+        ArgumentCaptor<SearchIndexEvent> event = ArgumentCaptor.forClass(SearchIndexEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(event.capture());
+        Assert.assertEquals(IssueComment.class, event.getValue().getEntityClass());
+        Assert.assertEquals(id, event.getValue().getEntityId());
+        Assert.assertEquals(removed, event.getValue().isRemoved());
     }
 
     public IssueComment getTestIssueComment(Long id) {
@@ -0,0 +1,166 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.configs.WebConfig;
+import com.softserverinc.edu.entities.enums.HistoryAction;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.ScratchSchema;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+import org.springframework.test.context.web.WebAppConfiguration;
+
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Changes status and assignee of one issue from many threads at once, as users do from release page.
+ * Changes of different fields must all be applied, of two competing status changes only one must win
+ * and the others must be rejected as conflicts, nothing may be overwritten silently.
+ * The issue is created in a separate schema, which the application context is connected to instead of
+ * the schema from application.properties. The test is skipped when MySQL is not available.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration(classes = {WebConfig.class})
+@WebAppConfiguration
+// history is counted when the changes are made, so it must be written at once
+@TestPropertySource(properties = {"search.index.massIndexOnStartup=false",
+        "hibernate.search.default.directory_provider=ram", "history.writer.async=false"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+public class IssueConcurrentChangesTest {
+
+    private static final String SCHEMA = "bugtrckr_concurrent_changes";
+
+    private static final int THREADS = 16;
+
+    private static final String CHANGED_BY = "admin@ss.com";
+
+    private static final long ISSUE_ID = 1L;
+
+    private static final long ASSIGNEE_ID = 2L;
+
+    private static final long NEW_ASSIGNEE_ID = 3L;
+
+    private static ScratchSchema schema;
+
+    @Autowired
+    private IssueService issueService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeClass
+    public static void createSchema() throws Exception {
+        schema = ScratchSchema.create(SCHEMA);
+        try (Statement statement = schema.getConnection().createStatement()) {
+            statement.execute("INSERT INTO Project (title, guestView, guestCreateIssues, guestAddComment)"
+                    + " VALUES ('Tracker', 1, 1, 1)");
+            statement.execute("INSERT INTO ProjectRelease (projectId, version) VALUES (1, '1.0')");
+            statement.execute("INSERT INTO User (firstName, lastName, email, password, role, projectId) VALUES"
+                    + " ('Admin', 'Admin', '" + CHANGED_BY + "', 'password', 'ROLE_ADMIN', NULL),"
+                    + " ('Anna', 'Smith', 'anna@mail.com', 'password', 'ROLE_DEVELOPER', 1),"
+                    + " ('Andrew', 'Smith', 'andrew@mail.com', 'password', 'ROLE_DEVELOPER', 1)");
+            statement.execute("INSERT INTO Issue (title, type, priority, status, projectReleaseId, projectId,"
+                    + " assigneeId, createdById, estimateTime) VALUES ('Login fails', 'TASK', 'LOW', 'OPEN', 1, 1, "
+                    + ASSIGNEE_ID + ", 1, 8)");
+            statement.execute("INSERT INTO ReleaseProgress (releaseId, status, issueCount, estimateTime)"
+                    + " VALUES (1, 'OPEN', 1, 8)");
+        }
+        // the context is created after this method
+        schema.connectApplication();
+    }
+
+    @AfterClass
+    public static void dropSchema() throws Exception {
+        if (schema != null) {
+            schema.drop();
+        }
+    }
+
+    @Test
+    public void testConcurrentChangesAreMergedOrRejected() throws Exception {
+        long initialVersion = findVersion();
+
+        // half of status changes compete with the other half, all assignee changes are the same
+        List<Callable<Boolean>> changes = new ArrayList<>();
+        CountDownLatch start = new CountDownLatch(1);
+        for (int i = 0; i < THREADS; i++) {
+            switch (i % 4) {
+                case 0:
+                    changes.add(change(start, IssueStatus.IN_PROGRESS.name(), HistoryAction.CHANGE_ISSUE_STATUS,
+                            IssueStatus.OPEN.name()));
+                    break;
+                case 1:
+                    changes.add(change(start, IssueStatus.INVALID.name(), HistoryAction.CHANGE_ISSUE_STATUS,
+                            IssueStatus.OPEN.name()));
+                    break;
+                default:
+                    changes.add(change(start, String.valueOf(NEW_ASSIGNEE_ID), HistoryAction.CHANGE_ISSUE_ASSIGNEE,
+                            String.valueOf(ASSIGNEE_ID)));
+            }
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        List<Future<Boolean>> results = new ArrayList<>();
+        for (Callable<Boolean> change : changes) {
+            results.add(executor.submit(change));
+        }
+        start.countDown();
+        int conflicts = 0;
+        for (Future<Boolean> result : results) {
+            if (!result.get(30, TimeUnit.SECONDS)) {
+                conflicts++;
+            }
+        }
+        executor.shutdown();
+
+        Map<String, Object> issue = jdbcTemplate.queryForMap("SELECT status, assigneeId FROM Issue WHERE id = ?",
+                ISSUE_ID);
+        Assert.assertEquals(NEW_ASSIGNEE_ID, ((Number) issue.get("assigneeId")).longValue());
+        Object status = issue.get("status");
+        Assert.assertTrue(status.equals("IN_PROGRESS") || status.equals("INVALID"));
+        Assert.assertEquals("Losing status changes must be rejected", THREADS / 4, conflicts);
+        Assert.assertEquals("Status and assignee are changed once each", initialVersion + 2, findVersion());
+        Assert.assertEquals("History is written once per applied change", 2L, (long) jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM History WHERE issueId = ?", Long.class, ISSUE_ID));
+        Assert.assertEquals(1L, (long) jdbcTemplate.queryForObject(
+                "SELECT issueCount FROM ReleaseProgress WHERE releaseId = 1 AND status = ?", Long.class, status));
+    }
+
+    private Callable<Boolean> change(CountDownLatch start, String inputData, HistoryAction action,
+                                     String previousData) {
+        return () -> {
+            SecurityContextHolder.getContext()
+                    .setAuthentication(new UsernamePasswordAuthenticationToken(CHANGED_BY, null));
+            start.await();
+            try {
+                issueService.saveIssueChangesFromAjax(ISSUE_ID, inputData, action.name(), previousData);
+                return true;
+            } catch (IssueConflictException e) {
+                return false;
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+        };
+    }
+
+    private long findVersion() {
+        return jdbcTemplate.queryForObject("SELECT version FROM Issue WHERE id = ?", Long.class, ISSUE_ID);
+    }
+}
@@ -1,25 +1,38 @@
 package com.softserverinc.edu.services;
 
 import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.IssueListDto;
+import com.softserverinc.edu.entities.IssueWorkflow;
 import com.softserverinc.edu.entities.Project;
 import com.softserverinc.edu.entities.ProjectRelease;
 import com.softserverinc.edu.entities.User;
 import com.softserverinc.edu.entities.enums.*;
 import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.repositories.KeysetPage;
 import com.softserverinc.edu.repositories.ProjectReleaseRepository;
 import com.softserverinc.edu.repositories.ProjectRepository;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository.IssueState;
+import com.softserverinc.edu.repositories.SeekCursor;
+import com.softserverinc.edu.services.searchServices.SearchIndexEvent;
+import com.softserverinc.edu.services.securityServices.BasicSecurityService;
 import org.junit.Assert;
 import org.junit.Test;
 import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Date;
 import java.util.List;
 
@@ -35,6 +48,23 @@ public class IssueServiceTest {
     @Mock
     private ProjectReleaseRepository projectReleaseRepository;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private ReleaseProgressService releaseProgressService;
+
+    @Mock
+    private HistoryService historyService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BasicSecurityService basicSecurityService;
+
+    @Mock
+    private IssueWorkflowService issueWorkflowService;
 
     @InjectMocks
     private IssueService issueService;
@@ -75,6 +105,19 @@ public class IssueServiceTest {
         Assert.assertEquals(issuePage, retrievedIssue);
     }
 
+    @Test
+    public void testFindListForRelease() throws Exception {
+        id = 3L;
+        projectRelease = createTestRelease(id);
+        IssueListDto row = new IssueListDto(id, "Title", IssueType.BUG, IssuePriority.LOW, IssueStatus.OPEN, 5L,
+                new Date(), 1L, "Project", id, "1.0", 7L, "First", "Last");
+        Page<IssueListDto> rows = new PageImpl<>(Collections.singletonList(row));
+        Mockito.when(issueRepository.findListByProjectRelease(projectRelease, pageable)).thenReturn(rows);
+
+        Assert.assertEquals(rows, issueService.findListForRelease(projectRelease, pageable));
+        Mockito.verify(issueRepository, Mockito.never()).findByProjectRelease(projectRelease, pageable);
+    }
+
     @Test
     public void testFindByReleaseAndIssueTitle() throws Exception {
         id = 4L;
@@ -111,6 +154,39 @@ public class IssueServiceTest {
         Assert.assertEquals(issuePage, retrievedIssue);
     }
 
+    @Test
+    public void testFindAllByKeysetReturnsCursorOfNextPage() throws Exception {
+        List<Issue> issues = new ArrayList<>();
+        for (long i = 3; i > 0; i--) {
+            issues.add(createTestIssue(i));
+        }
+        Mockito.when(issueRepository.findPageAfter(Mockito.any(Date.class), Mockito.eq(Long.MAX_VALUE),
+                Mockito.eq(new PageRequest(0, 3)))).thenReturn(issues);
+
+        KeysetPage<Issue> firstPage = issueService.findAll(null, 2);
+        Assert.assertEquals(2, firstPage.getContent().size());
+        Assert.assertTrue(firstPage.hasNext());
+        Assert.assertFalse(firstPage.hasPrevious());
+        SeekCursor nextCursor = SeekCursor.decode(firstPage.getNextCursor());
+        Assert.assertEquals(Long.valueOf(2L), nextCursor.getId());
+        Assert.assertFalse(nextCursor.isBackward());
+    }
+
+    @Test
+    public void testFindAllByKeysetBackwardKeepsNewestFirst() throws Exception {
+        List<Issue> issues = new ArrayList<>();
+        issues.add(createTestIssue(4L));
+        issues.add(createTestIssue(5L));
+        String token = SeekCursor.before(new Date(), 3L).encode();
+        Mockito.when(issueRepository.findPageBefore(Mockito.any(Date.class), Mockito.eq(3L),
+                Mockito.eq(new PageRequest(0, 3)))).thenReturn(issues);
+
+        KeysetPage<Issue> previousPage = issueService.findAll(token, 2);
+        Assert.assertEquals(Long.valueOf(5L), previousPage.getContent().get(0).getId());
+        Assert.assertTrue(previousPage.hasNext());
+        Assert.assertFalse(previousPage.hasPrevious());
+    }
+
     @Test
     public void testSave() throws Exception {
         id = 1L;
@@ -129,6 +205,42 @@ public class IssueServiceTest {
         Mockito.verify(issueRepository).delete(id);
     }
 
+    @Test
+    public void testSaveMovesIssueInReleaseProgress() throws Exception {
+        id = 1L;
+        issue = createTestIssue(id);
+        IssueState previousState = new IssueState(1L, IssueStatus.OPEN, 10L, 0L);
+        IssueState currentState = new IssueState(1L, IssueStatus.IN_PROGRESS, 10L, 0L);
+        Mockito.when(releaseProgressService.getIssueState(id)).thenReturn(previousState, currentState);
+        issueService.save(issue);
+        InOrder inOrder = Mockito.inOrder(releaseProgressService, issueRepository);
+        inOrder.verify(releaseProgressService).getIssueState(id);
+        inOrder.verify(issueRepository).saveAndFlush(issue);
+        inOrder.verify(releaseProgressService).updateProgress(previousState, currentState);
+    }
+
+    @Test
+    public void testDeleteRemovesIssueFromReleaseProgress() throws Exception {
+        id = 1L;
+        IssueState state = new IssueState(1L, IssueStatus.RESOLVED, 10L, 12L);
+        Mockito.when(releaseProgressService.getIssueState(id)).thenReturn(state);
+        issueService.delete(id);
+        Mockito.verify(releaseProgressService).updateProgress(state, null);
+        Mockito.verify(issueRepository).delete(id);
+    }
+
+    @Test
+    public void testSavePublishesSearchIndexEvent() throws Exception {
+        id = 1L;
+        issue = createTestIssue(id);
+        issueService.save(issue);
+        ArgumentCaptor<SearchIndexEvent> event = ArgumentCaptor.forClass(SearchIndexEvent.class);
+        Mockito.verify(eventPublisher).publishEvent(event.capture());
+        Assert.assertEquals(Issue.class, event.getValue().getEntityClass());
+        Assert.assertEquals(id, event.getValue().getEntityId());
+        Assert.assertFalse(event.getValue().isRemoved());
+    }
+
 
     @Test
     public void testFindByTitleContaining() throws Exception {
@@ -165,6 +277,139 @@ public class IssueServiceTest {
         Assert.assertEquals(issuePage, retrievedIssue);
     }
 
+    @Test
+    public void testSaveIssueChangesFromAjaxUpdatesOnlyChangedField() throws Exception {
+        id = 20L;
+        issue = createTestIssue(id);
+        Mockito.when(issueRepository.findOne(id)).thenReturn(issue);
+        Mockito.when(issueRepository.updateStatus(id, IssueStatus.OPEN, IssueStatus.IN_PROGRESS)).thenReturn(1);
+        Mockito.when(issueWorkflowService.getWorkflow(Mockito.any(Project.class))).thenReturn(IssueWorkflow.DEFAULT);
+        IssueState state = new IssueState(id, IssueStatus.IN_PROGRESS, 5, 0);
+        Mockito.when(releaseProgressService.getIssueState(id)).thenReturn(state);
+
+        issueService.saveIssueChangesFromAjax(id, "IN_PROGRESS", "CHANGE_ISSUE_STATUS", "OPEN");
+
+        Mockito.verify(issueRepository, Mockito.never()).saveAndFlush(Mockito.any(Issue.class));
+        Mockito.verify(releaseProgressService).updateProgress(new IssueState(id, IssueStatus.OPEN, 5, 0), state);
+        Mockito.verify(historyService).writeToHistory(issue, null, "IN_PROGRESS", HistoryAction.CHANGE_ISSUE_STATUS);
+    }
+
+    @Test(expected = IssueConflictException.class)
+    public void testSaveIssueChangesFromAjaxRejectsChangeOfChangedField() throws Exception {
+        id = 21L;
+        issue = createTestIssue(id);
+        issue.setStatus(IssueStatus.IN_PROGRESS);
+        Mockito.when(issueRepository.findOne(id)).thenReturn(issue);
+
+        try {
+            issueService.saveIssueChangesFromAjax(id, "INVALID", "CHANGE_ISSUE_STATUS", "OPEN");
+        } finally {
+            Mockito.verify(issueRepository, Mockito.never()).updateStatus(Mockito.anyLong(),
+                    Mockito.any(IssueStatus.class), Mockito.any(IssueStatus.class));
+            Mockito.verifyZeroInteractions(historyService);
+        }
+    }
+
+    @Test
+    public void testSaveIssueChangesFromAjaxIgnoresAlreadyMadeChange() throws Exception {
+        id = 22L;
+        issue = createTestIssue(id);
+        issue.setStatus(IssueStatus.IN_PROGRESS);
+        Mockito.when(issueRepository.findOne(id)).thenReturn(issue);
+
+        issueService.saveIssueChangesFromAjax(id, "IN_PROGRESS", "CHANGE_ISSUE_STATUS", "OPEN");
+
+        Mockito.verifyZeroInteractions(historyService);
+    }
+
+    @Test(expected = IssueConflictException.class)
+    public void testSaveIssueChangesFromAjaxFailsWhenFieldIsChangedConcurrently() throws Exception {
+        id = 23L;
+        issue = createTestIssue(id);
+        Mockito.when(issueRepository.findOne(id)).thenReturn(issue);
+        Mockito.when(issueRepository.updateStatus(id, IssueStatus.OPEN, IssueStatus.INVALID)).thenReturn(0);
+        Mockito.when(issueWorkflowService.getWorkflow(Mockito.any(Project.class))).thenReturn(IssueWorkflow.DEFAULT);
+
+        try {
+            issueService.saveIssueChangesFromAjax(id, "INVALID", "CHANGE_ISSUE_STATUS", null);
+        } finally {
+            Mockito.verifyZeroInteractions(historyService, releaseProgressService);
+        }
+    }
+
+    @Test(expected = IssueConflictException.class)
+    public void testSaveIssueChangesRejectsStaleVersion() throws Exception {
+        id = 24L;
+        issue = createTestIssue(id);
+        issue.setVersion(3L);
+        ReflectionTestUtils.setField(issueService, "issueService", issueService);
+        Mockito.when(issueRepository.findVersionById(id)).thenReturn(4L);
+
+        try {
+            issueService.saveIssueChanges(issue);
+        } finally {
+            Mockito.verifyZeroInteractions(historyService);
+            Mockito.verify(issueRepository, Mockito.never()).saveAndFlush(issue);
+        }
+    }
+
+    @Test(expected = IssueConflictException.class)
+    public void testSaveIssueChangesRejectsIssueWithoutVersion() throws Exception {
+        id = 28L;
+        issue = createTestIssue(id);
+        issue.setVersion(null);
+        ReflectionTestUtils.setField(issueService, "issueService", issueService);
+        Mockito.when(issueRepository.findVersionById(id)).thenReturn(4L);
+
+        try {
+            issueService.saveIssueChanges(issue);
+        } finally {
+            Mockito.verifyZeroInteractions(historyService);
+            Mockito.verify(issueRepository, Mockito.never()).saveAndFlush(issue);
+        }
+    }
+
+    @Test
+    public void testStatusIsValidatedByWorkflowOfProject() throws Exception {
+        id = 25L;
+        issue = createTestIssue(id);
+        IssueWorkflow workflow = IssueWorkflow.newBuilder().allow(IssueStatus.OPEN, IssueStatus.RESOLVED).build();
+        Mockito.when(issueRepository.findOne(id)).thenReturn(issue);
+        Mockito.when(issueWorkflowService.getWorkflow(issue.getProject())).thenReturn(workflow);
+
+        issueService.saveIssueChangesFromAjax(id, "IN_PROGRESS", "CHANGE_ISSUE_STATUS", "OPEN");
+
+        Mockito.verify(issueRepository, Mockito.never()).updateStatus(Mockito.anyLong(),
+                Mockito.any(IssueStatus.class), Mockito.any(IssueStatus.class));
+        Assert.assertEquals(Collections.singleton(IssueStatus.RESOLVED), issueService.getAvailableStatuses(issue));
+    }
+
+    @Test
+    public void testMapOfIssueStatusesIsTakenFromWorkflowOfIssuesProject() throws Exception {
+        id = 26L;
+        IssueWorkflow workflow = IssueWorkflow.newBuilder().allow(IssueStatus.OPEN, IssueStatus.RESOLVED).build();
+        Mockito.when(issueRepository.findProjectIdById(id)).thenReturn(3L);
+        Mockito.when(issueWorkflowService.getWorkflow(3L)).thenReturn(workflow);
+
+        Assert.assertEquals(Collections.singletonMap(IssueStatus.RESOLVED, "Resolved"),
+                issueService.getMapOfIssueStatuses("OPEN", id));
+    }
+
+    @Test
+    public void testAssigneeIsValidatedWithoutLoadingMembersOfProject() throws Exception {
+        id = 27L;
+        issue = createTestIssue(id);
+        Mockito.when(issueRepository.findOne(id)).thenReturn(issue);
+        Mockito.when(userService.isActiveUserOfProject(10L, id)).thenReturn(false);
+
+        issueService.saveIssueChangesFromAjax(id, "10", "CHANGE_ISSUE_ASSIGNEE", null);
+
+        Mockito.verify(userService).isActiveUserOfProject(10L, id);
+        Mockito.verify(userService, Mockito.never()).findUsersForRelease(Mockito.any(ProjectRelease.class));
+        Mockito.verify(issueRepository, Mockito.never()).updateAssignee(Mockito.anyLong(), Mockito.any(User.class),
+                Mockito.any(User.class));
+    }
+
     private Issue createTestIssue(Long id) {
         Issue issue = new Issue();
         issue.setId(id);
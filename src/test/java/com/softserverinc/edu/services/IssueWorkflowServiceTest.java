@@ -0,0 +1,61 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.IssueWorkflow;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.IssueWorkflowRepository;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class IssueWorkflowServiceTest {
+
+    @Mock
+    private IssueWorkflowRepository issueWorkflowRepository;
+
+    @InjectMocks
+    private IssueWorkflowService issueWorkflowService;
+
+    private Project project;
+
+    @Before
+    public void setup() {
+        project = new Project();
+        project.setId(-1L);
+        issueWorkflowService.resetWorkflow(project);
+    }
+
+    @Test
+    public void testWorkflowIsReadFromDatabaseOnce() throws Exception {
+        IssueWorkflow workflow = IssueWorkflow.newBuilder().allow(IssueStatus.OPEN, IssueStatus.RESOLVED).build();
+        Mockito.when(issueWorkflowRepository.findWorkflow(-1L)).thenReturn(workflow);
+
+        Assert.assertSame(workflow, issueWorkflowService.getWorkflow(project));
+        Assert.assertSame(workflow, issueWorkflowService.getWorkflow(project));
+        Mockito.verify(issueWorkflowRepository).findWorkflow(-1L);
+    }
+
+    @Test
+    public void testProjectWithoutWorkflowUsesDefaultOne() throws Exception {
+        Assert.assertSame(IssueWorkflow.DEFAULT, issueWorkflowService.getWorkflow(project));
+        Assert.assertSame(IssueWorkflow.DEFAULT, issueWorkflowService.getWorkflow(new Project()));
+    }
+
+    @Test
+    public void testSavedWorkflowIsReadAgain() throws Exception {
+        IssueWorkflow workflow = IssueWorkflow.newBuilder().allow(IssueStatus.OPEN, IssueStatus.RESOLVED).build();
+        Assert.assertSame(IssueWorkflow.DEFAULT, issueWorkflowService.getWorkflow(project));
+
+        issueWorkflowService.saveWorkflow(project, workflow);
+        Mockito.when(issueWorkflowRepository.findWorkflow(-1L)).thenReturn(workflow);
+
+        Mockito.verify(issueWorkflowRepository).saveWorkflow(-1L, workflow);
+        Assert.assertSame(workflow, issueWorkflowService.getWorkflow(project));
+    }
+}
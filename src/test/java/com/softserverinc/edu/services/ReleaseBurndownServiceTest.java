@@ -0,0 +1,126 @@
+package com.softserverinc.edu.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.softserverinc.edu.entities.BurndownPointDto;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.ReleaseBurndownRepository;
+import com.softserverinc.edu.repositories.ReleaseBurndownRepository.IssueRecord;
+import com.softserverinc.edu.repositories.ReleaseBurndownRepository.StatusChange;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReleaseBurndownServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2016, 9, 1);
+
+    @Mock
+    private ReleaseBurndownRepository releaseBurndownRepository;
+
+    @InjectMocks
+    private ReleaseBurndownService releaseBurndownService;
+
+    @Before
+    public void setMaxBackfillDays() {
+        ReflectionTestUtils.setField(releaseBurndownService, "maxBackfillDays", 30);
+    }
+
+    @Test
+    public void testBackfillReplaysStatusChangesAndLoggedTime() throws Exception {
+        ProjectRelease release = new ProjectRelease();
+        release.setId(1L);
+        Mockito.when(releaseBurndownRepository.findIssues(1L)).thenReturn(Arrays.asList(
+                new IssueRecord(1L, DAY.minusDays(1).atTime(10, 0), 8L, IssueStatus.RESOLVED),
+                new IssueRecord(2L, DAY.atTime(12, 0), 5L, IssueStatus.OPEN),
+                new IssueRecord(3L, DAY.plusDays(1).atTime(9, 0), 3L, IssueStatus.INVALID)));
+        Mockito.when(releaseBurndownRepository.findStatusChanges(1L)).thenReturn(Arrays.asList(
+                new StatusChange(1L, DAY.atTime(15, 0), IssueStatus.IN_PROGRESS),
+                new StatusChange(1L, DAY.plusDays(2).atTime(11, 0), IssueStatus.RESOLVED)));
+        Map<LocalDate, Long> dailySpentTime = new TreeMap<>();
+        dailySpentTime.put(DAY.minusDays(1), 2L);
+        dailySpentTime.put(DAY.plusDays(2), 6L);
+        Mockito.when(releaseBurndownRepository.findDailySpentTime(1L)).thenReturn(dailySpentTime);
+
+        List<BurndownPointDto> points = releaseBurndownService.backfill(release, DAY, DAY.plusDays(2));
+
+        Assert.assertEquals(3, points.size());
+        assertPoint(points.get(0), DAY, 2L, 13L, 2L);
+        assertPoint(points.get(1), DAY.plusDays(1), 2L, 13L, 2L);
+        assertPoint(points.get(2), DAY.plusDays(2), 1L, 5L, 8L);
+        Mockito.verify(releaseBurndownRepository).savePoints(1L, points);
+    }
+
+    @Test
+    public void testBackfillKeepsStoredPoints() throws Exception {
+        ProjectRelease release = new ProjectRelease();
+        release.setId(1L);
+        Mockito.when(releaseBurndownRepository.findIssues(1L)).thenReturn(Collections.singletonList(
+                new IssueRecord(1L, DAY.minusDays(1).atTime(10, 0), 8L, IssueStatus.OPEN)));
+        Mockito.when(releaseBurndownRepository.findPoints(1L, DAY, DAY.plusDays(2))).thenReturn(
+                Collections.singletonList(new BurndownPointDto(DAY.plusDays(1), 1L, 3L, 5L)));
+
+        List<BurndownPointDto> points = releaseBurndownService.backfill(release, DAY, DAY.plusDays(2));
+
+        Assert.assertEquals(2, points.size());
+        assertPoint(points.get(0), DAY, 1L, 8L, 0L);
+        assertPoint(points.get(1), DAY.plusDays(2), 1L, 8L, 0L);
+        Mockito.verify(releaseBurndownRepository).savePoints(1L, points);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testBackfillRejectsReversedRange() throws Exception {
+        ProjectRelease release = new ProjectRelease();
+        release.setId(1L);
+        releaseBurndownService.backfill(release, DAY, DAY.minusDays(1));
+    }
+
+    @Test
+    public void testBackfillRejectsTooLongRange() throws Exception {
+        ProjectRelease release = new ProjectRelease();
+        release.setId(1L);
+        try {
+            releaseBurndownService.backfill(release, DAY, DAY.plusDays(30));
+            Assert.fail("Range of 31 days is backfilled");
+        } catch (IllegalArgumentException e) {
+            Mockito.verifyZeroInteractions(releaseBurndownRepository);
+        }
+    }
+
+    @Test
+    public void testDailySnapshotIsTakenFromReleaseProgress() throws Exception {
+        releaseBurndownService.takeDailySnapshot();
+        Mockito.verify(releaseBurndownRepository).snapshotProgress(LocalDate.now(),
+                ReleaseBurndownService.CLOSED_STATUSES);
+    }
+
+    @Test
+    public void testPointIsSerializedWithDayOnly() throws Exception {
+        String json = new ObjectMapper().writeValueAsString(new BurndownPointDto(DAY, 2L, 13L, 5L));
+
+        Assert.assertEquals("{\"day\":\"" + DAY + "\",\"openIssues\":2,\"remainingEstimate\":13,\"spentTime\":5}",
+                json);
+    }
+
+    private void assertPoint(BurndownPointDto point, LocalDate day, long openIssues, long remainingEstimate,
+                             long spentTime) {
+        Assert.assertEquals(day.toString(), point.getDay());
+        Assert.assertEquals(openIssues, point.getOpenIssues());
+        Assert.assertEquals(remainingEstimate, point.getRemainingEstimate());
+        Assert.assertEquals(spentTime, point.getSpentTime());
+    }
+}
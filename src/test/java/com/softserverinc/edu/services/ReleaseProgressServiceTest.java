@@ -0,0 +1,59 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.ReleaseProgressDto;
+import com.softserverinc.edu.entities.enums.IssueStatus;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository;
+import com.softserverinc.edu.repositories.ReleaseProgressRepository.IssueState;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReleaseProgressServiceTest {
+
+    @Mock
+    private ReleaseProgressRepository releaseProgressRepository;
+
+    @InjectMocks
+    private ReleaseProgressService releaseProgressService;
+
+    @Test
+    public void testUpdateProgressMovesChangedIssue() throws Exception {
+        IssueState previousState = new IssueState(1L, IssueStatus.QA_VALIDATION, 8L, 5L);
+        IssueState currentState = new IssueState(2L, IssueStatus.RESOLVED, 8L, 5L);
+        releaseProgressService.updateProgress(previousState, currentState);
+        Mockito.verify(releaseProgressRepository).addIssue(previousState, -1);
+        Mockito.verify(releaseProgressRepository).addIssue(currentState, 1);
+    }
+
+    @Test
+    public void testUpdateProgressIgnoresUnchangedIssue() throws Exception {
+        releaseProgressService.updateProgress(new IssueState(1L, IssueStatus.OPEN, 8L, 0L),
+                new IssueState(1L, IssueStatus.OPEN, 8L, 0L));
+        releaseProgressService.updateProgress(null, null);
+        Mockito.verifyZeroInteractions(releaseProgressRepository);
+    }
+
+    @Test
+    public void testNewIssueHasNoStoredState() throws Exception {
+        Assert.assertNull(releaseProgressService.getIssueState(null));
+        Mockito.verifyZeroInteractions(releaseProgressRepository);
+    }
+
+    @Test
+    public void testRemainingTimeIsNotNegative() throws Exception {
+        ReleaseProgressDto progress = new ReleaseProgressDto(1L);
+        progress.add(IssueStatus.OPEN, 2L, 10L, 4L);
+        progress.add(IssueStatus.RESOLVED, 1L, 5L, 15L);
+        Assert.assertEquals(3L, progress.getTotalIssues());
+        Assert.assertEquals(Long.valueOf(2L), progress.getIssueCounts().get(IssueStatus.OPEN));
+        Assert.assertEquals(Long.valueOf(0L), progress.getIssueCounts().get(IssueStatus.INVALID));
+        Assert.assertEquals(0L, progress.getRemainingTime());
+        progress.add(IssueStatus.IN_PROGRESS, 1L, 20L, 0L);
+        Assert.assertEquals(16L, progress.getRemainingTime());
+    }
+}
@@ -0,0 +1,87 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.UserRole;
+import com.softserverinc.edu.repositories.UserRepository;
+import com.softserverinc.edu.services.searchServices.AutocompleteService;
+import com.softserverinc.edu.services.securityServices.DatabaseUserDetailsService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+
+@RunWith(MockitoJUnitRunner.class)
+public class UserServiceTest {
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private DatabaseUserDetailsService userDetailsService;
+
+    @Mock
+    private AutocompleteService autocompleteService;
+
+    @InjectMocks
+    private UserService userService;
+
+    private Project project;
+
+    @Before
+    public void setup() {
+        project = new Project();
+        project.setId(-1L);
+        User user = new User();
+        user.setProject(project);
+        // members of the test project may be cached by another test
+        userService.update(user);
+    }
+
+    @Test
+    public void testMembershipIsCheckedByOneQueryWhenMembersAreNotCached() throws Exception {
+        Mockito.when(userRepository.countActiveByIdAndProjectId(7L, -1L)).thenReturn(1L);
+
+        Assert.assertTrue(userService.isActiveUserOfProject(7L, -1L));
+        Assert.assertFalse(userService.isActiveUserOfProject(8L, -1L));
+        Mockito.verify(userRepository, Mockito.never()).findActiveIdsByProjectId(Mockito.anyLong());
+    }
+
+    @Test
+    public void testMembershipIsCheckedByCachedIds() throws Exception {
+        Mockito.when(userRepository.findActiveIdsByProjectId(-1L)).thenReturn(Arrays.asList(9L, 3L, 7L));
+
+        Assert.assertArrayEquals(new long[]{3L, 7L, 9L}, userService.getActiveUserIdsOfProject(-1L));
+        Assert.assertTrue(userService.isActiveUserOfProject(7L, -1L));
+        Assert.assertFalse(userService.isActiveUserOfProject(8L, -1L));
+        userService.getActiveUserIdsOfProject(-1L);
+        Mockito.verify(userRepository).findActiveIdsByProjectId(-1L);
+        Mockito.verify(userRepository, Mockito.never()).countActiveByIdAndProjectId(Mockito.anyLong(),
+                Mockito.anyLong());
+    }
+
+    @Test
+    public void testCachedMembersAreEvictedWhenUserIsMovedBetweenProjects() throws Exception {
+        Project newProject = new Project();
+        newProject.setId(-2L);
+        User user = new User();
+        user.setProject(project);
+        Mockito.when(userRepository.findActiveIdsByProjectId(-1L)).thenReturn(Arrays.asList(7L),
+                Arrays.<Long>asList());
+        Mockito.when(userRepository.findActiveIdsByProjectId(-2L)).thenReturn(Arrays.<Long>asList(),
+                Arrays.asList(7L));
+        userService.getActiveUserIdsOfProject(-1L);
+        userService.getActiveUserIdsOfProject(-2L);
+
+        userService.userManagementInProject(user, newProject, UserRole.ROLE_DEVELOPER);
+
+        Assert.assertEquals(0, userService.getActiveUserIdsOfProject(-1L).length);
+        Assert.assertArrayEquals(new long[]{7L}, userService.getActiveUserIdsOfProject(-2L));
+    }
+}
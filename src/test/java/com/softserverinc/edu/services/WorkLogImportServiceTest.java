@@ -0,0 +1,139 @@
+package com.softserverinc.edu.services;
+
+import com.softserverinc.edu.entities.Issue;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.WorkLog;
+import com.softserverinc.edu.entities.enums.UserRole;
+import com.softserverinc.edu.forms.WorkLogFormValidator;
+import com.softserverinc.edu.forms.WorkLogIntervalTree;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class WorkLogImportServiceTest {
+
+    @Mock
+    private WorkLogService workLogService;
+
+    @Mock
+    private IssueService issueService;
+
+    @Mock
+    private WorkLogFormValidator workLogFormValidator;
+
+    @InjectMocks
+    private WorkLogImportService workLogImportService;
+
+    private User user;
+
+    @Before
+    public void setUp() {
+        ReflectionTestUtils.setField(workLogImportService, "batchSize", 2);
+        ReflectionTestUtils.setField(workLogImportService, "maxReportedErrors", 10);
+        user = new User();
+        user.setId(1L);
+        user.setRole(UserRole.ROLE_DEVELOPER);
+        Mockito.when(issueService.findIssuesByIds(Matchers.anyCollectionOf(Long.class)))
+                .thenAnswer(invocation -> createTestIssues((Collection<Long>) invocation.getArguments()[0]));
+        Mockito.when(workLogService.getLoggedIntervals(Matchers.eq(user), Matchers.any(Date.class),
+                Matchers.any(Date.class))).thenReturn(new WorkLogIntervalTree());
+        Mockito.when(workLogFormValidator.validateImportedWorklog(Matchers.any(WorkLog.class),
+                Matchers.any(WorkLogIntervalTree.class))).thenReturn(true);
+    }
+
+    @Test
+    public void testImportCsvReportsInvalidRowsAndSavesTheRestByBatches() throws Exception {
+        WorkLogImportReport report = workLogImportService.importCsv(toStream(
+                "amountOfTime,issueId,startDate,endDate\n"
+                        + "4,1,01.09.2016,01.09.2016\n"
+                        + "4,1,2016-09-02,2016-09-02\n"
+                        + "x,1,03.09.2016,03.09.2016\n"
+                        + "\n"
+                        + "4,1,31.09.2016,31.09.2016\n"
+                        + "4,404,05.09.2016,05.09.2016\n"
+                        + "4,2,06.09.2016,06.09.2016\n"), user);
+
+        Assert.assertEquals(6, report.getTotalRows());
+        Assert.assertEquals(3, report.getImportedRows());
+        Assert.assertEquals(3, report.getFailedRows());
+        Assert.assertEquals(4, report.getErrors().get(0).getRow());
+        Assert.assertEquals(6, report.getErrors().get(1).getRow());
+        Assert.assertEquals(7, report.getErrors().get(2).getRow());
+        ArgumentCaptor<List> batches = ArgumentCaptor.forClass(List.class);
+        Mockito.verify(workLogService, Mockito.times(2)).saveInBatch(batches.capture());
+        Assert.assertEquals(2, batches.getAllValues().get(0).size());
+        Assert.assertEquals(1, batches.getAllValues().get(1).size());
+    }
+
+    @Test
+    public void testImportCsvRejectsFileWithoutRequiredColumns() throws Exception {
+        WorkLogImportReport report = workLogImportService.importCsv(toStream("issueId,startDate\n1,01.09.2016\n"),
+                user);
+        Assert.assertEquals(0, report.getImportedRows());
+        Assert.assertEquals(1, report.getFailedRows());
+        Mockito.verify(workLogService, Mockito.never()).saveInBatch(Matchers.anyListOf(WorkLog.class));
+    }
+
+    @Test
+    public void testImportJsonRejectsEntriesOfOtherAssignee() throws Exception {
+        WorkLogImportReport report = workLogImportService.importJson(toStream("["
+                + "{\"issueId\": 1, \"startDate\": \"01.09.2016\", \"endDate\": \"01.09.2016\", \"amountOfTime\": 4},"
+                + "{\"issueId\": 3, \"startDate\": \"02.09.2016\", \"endDate\": \"02.09.2016\", \"amountOfTime\": 4},"
+                + "{\"issueId\": 1, \"startDate\": \"03.09.2016\", \"amountOfTime\": \"four\"}"
+                + "]"), user);
+
+        Assert.assertEquals(3, report.getTotalRows());
+        Assert.assertEquals(1, report.getImportedRows());
+        Assert.assertEquals(2, report.getErrors().get(0).getRow());
+        Assert.assertEquals(3, report.getErrors().get(1).getRow());
+    }
+
+    @Test
+    public void testImportJsonKeepsRowsReadBeforeSyntaxError() throws Exception {
+        WorkLogImportReport report = workLogImportService.importJson(toStream("["
+                + "{\"issueId\": 1, \"startDate\": \"01.09.2016\", \"endDate\": \"01.09.2016\", \"amountOfTime\": 4},"
+                + "{\"issueId\": 1, \"startDate\": "), user);
+
+        Assert.assertEquals(1, report.getImportedRows());
+        Assert.assertEquals(1, report.getFailedRows());
+    }
+
+    private InputStream toStream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Issue 404 doesn't exist, issue 3 is assigned to other user
+     */
+    private Map<Long, Issue> createTestIssues(Collection<Long> ids) {
+        Map<Long, Issue> issues = new HashMap<>();
+        for (Long id : ids) {
+            if (id == 404L) {
+                continue;
+            }
+            Issue issue = new Issue();
+            issue.setId(id);
+            issue.setAssignee(id == 3L ? new User() : user);
+            issues.put(id, issue);
+        }
+        return issues;
+    }
+}
@@ -16,6 +16,7 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Date;
 import java.util.List;
 
@@ -28,6 +29,9 @@ public class WorklogServiceTest {
     @Mock
     private IssueRepository issueRepository;
 
+    @Mock
+    private ReleaseProgressService releaseProgressService;
+
     @InjectMocks
     private WorkLogService workLogService;
 
@@ -99,6 +103,93 @@ public class WorklogServiceTest {
         Mockito.verify(workLogRepository).delete(id);
     }
 
+    @Test
+    public void testSaveNewWorkLogAddsSpentTimeToIssue() throws Exception {
+        workLog = getTestWorklog(null);
+        workLog.setIssue(getTestIssue(2L));
+        workLogService.save(workLog);
+        Mockito.verify(workLogRepository, Mockito.never()).findAmountOfTimeById(Mockito.anyLong());
+        Mockito.verify(issueRepository).addSpentTime(2L, 6L);
+    }
+
+    @Test
+    public void testSaveEditedWorkLogAddsDifferenceOfSpentTime() throws Exception {
+        workLog = getTestWorklog(1L);
+        workLog.setIssue(getTestIssue(2L));
+        Mockito.when(workLogRepository.findAmountOfTimeById(1L)).thenReturn(8L);
+        workLogService.save(workLog);
+        Mockito.verify(issueRepository).addSpentTime(2L, -2L);
+        Mockito.verify(releaseProgressService).addSpentTime(2L, -2L);
+    }
+
+    @Test
+    public void testDeleteSubtractsSpentTimeFromIssue() throws Exception {
+        workLog = getTestWorklog(1L);
+        workLog.setIssue(getTestIssue(2L));
+        Mockito.when(workLogRepository.findOne(1L)).thenReturn(workLog);
+        workLogService.delete(1L);
+        Mockito.verify(workLogRepository).delete(1L);
+        Mockito.verify(issueRepository).addSpentTime(2L, -6L);
+    }
+
+    @Test
+    public void testHasOverlappingWorkLogsExcludesEditedEntry() throws Exception {
+        workLog = getTestWorklog(3L);
+        user = getTestUser(1L);
+        Mockito.when(workLogRepository.countOverlapping(user, workLog.getStartDate(), workLog.getEndDate(), 3L))
+                .thenReturn(0L);
+        Assert.assertFalse(workLogService.hasOverlappingWorkLogs(workLog, user));
+
+        WorkLog newWorkLog = getTestWorklog(null);
+        Mockito.when(workLogRepository.countOverlapping(user, newWorkLog.getStartDate(), newWorkLog.getEndDate(),
+                -1L)).thenReturn(1L);
+        Assert.assertTrue(workLogService.hasOverlappingWorkLogs(newWorkLog, user));
+    }
+
+    @Test
+    public void testGetSpentTimeOfIssue() {
+        issue = getTestIssue(1L);
+        SpentTimeDto total = new SpentTimeDto(12L, 3L);
+        Mockito.when(workLogRepository.findTotalByIssue(issue)).thenReturn(total);
+
+        Assert.assertEquals(total, workLogService.getSpentTime(issue));
+    }
+
+    @Test
+    public void testGetSpentTimeByUsers() {
+        issue = getTestIssue(1L);
+        List<SpentTimeDto> totals = Arrays.asList(new SpentTimeDto(1L, 8L, 2L), new SpentTimeDto(2L, 4L, 1L));
+        Mockito.when(workLogRepository.findTotalsByIssueGroupByUser(issue)).thenReturn(totals);
+
+        Assert.assertEquals(totals, workLogService.getSpentTimeByUsers(issue));
+    }
+
+    @Test
+    public void testGetSpentTimeOfUser() {
+        user = getTestUser(1L);
+        SpentTimeDto total = new SpentTimeDto(20L, 5L);
+        Mockito.when(workLogRepository.findTotalByUser(user)).thenReturn(total);
+
+        Assert.assertEquals(total, workLogService.getSpentTime(user));
+    }
+
+    @Test
+    public void testGetSpentTimeOfRelease() {
+        ProjectRelease release = getTestRelease(1L);
+        SpentTimeDto total = new SpentTimeDto(40L, 10L);
+        Mockito.when(workLogRepository.findTotalByProjectRelease(release)).thenReturn(total);
+
+        Assert.assertEquals(total, workLogService.getSpentTime(release));
+    }
+
+    @Test
+    public void testSpentTimeOfGroupWithoutEntriesIsZero() {
+        SpentTimeDto total = new SpentTimeDto(null, null);
+
+        Assert.assertEquals(Long.valueOf(0L), total.getTotalTime());
+        Assert.assertEquals(Long.valueOf(0L), total.getWorkLogCount());
+    }
+
     private WorkLog getTestWorklog(Long id) {
         WorkLog workLog = new WorkLog();
         workLog.setId(id);
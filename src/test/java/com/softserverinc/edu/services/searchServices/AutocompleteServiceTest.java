@@ -0,0 +1,144 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.entities.AutocompleteDto;
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.UserRole;
+import com.softserverinc.edu.repositories.IssueRepository;
+import com.softserverinc.edu.services.ProjectReleaseService;
+import com.softserverinc.edu.services.ProjectService;
+import com.softserverinc.edu.services.UserService;
+import com.softserverinc.edu.services.securityServices.BasicSecurityService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+@RunWith(MockitoJUnitRunner.class)
+public class AutocompleteServiceTest {
+
+    @Mock
+    private IssueRepository issueRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @Mock
+    private ProjectReleaseService projectReleaseService;
+
+    @Mock
+    private UserService userService;
+
+    @Mock
+    private BasicSecurityService basicSecurityService;
+
+    @InjectMocks
+    private AutocompleteService autocompleteService;
+
+    @Test
+    public void testUsersAreFilteredByProjectMembers() throws Exception {
+        Mockito.when(basicSecurityService.isAuthenticated()).thenReturn(true);
+        Mockito.when(userService.findAll()).thenReturn(Arrays.asList(getUser(1L, "Admin", UserRole.ROLE_ADMIN),
+                getUser(2L, "Anna", UserRole.ROLE_DEVELOPER), getUser(3L, "Andrew", UserRole.ROLE_QA)));
+        Mockito.when(userService.getActiveUserIdsOfProject(5L)).thenReturn(new long[]{1L, 3L});
+
+        Assert.assertEquals(2, autocompleteService.findUsers("a", null).size());
+        List<AutocompleteDto> members = autocompleteService.findUsers("a", 5L);
+        Assert.assertEquals(1, members.size());
+        Assert.assertEquals("Andrew Smith", members.get(0).getText());
+    }
+
+    @Test
+    public void testNotAuthenticatedUserGetsProjectManagerOnly() throws Exception {
+        Mockito.when(projectService.findById(5L)).thenReturn(getProject(5L, "Tracker", true));
+        Mockito.when(userService.getProjectManagerOfProject(5L))
+                .thenReturn(getUser(4L, "Peter", UserRole.ROLE_PROJECT_MANAGER));
+
+        List<AutocompleteDto> managers = autocompleteService.findUsers("", 5L);
+        Assert.assertEquals(1, managers.size());
+        Assert.assertEquals(4L, managers.get(0).getId());
+        Assert.assertTrue(autocompleteService.findUsers("", null).isEmpty());
+        Mockito.verify(userService, Mockito.never()).findAll();
+    }
+
+    @Test
+    public void testNotAuthenticatedUserGetsNothingOfProjectHiddenFromGuests() throws Exception {
+        Project project = getProject(5L, "Tracker internal", false);
+        Mockito.when(projectService.findById(5L)).thenReturn(project);
+        Mockito.when(projectReleaseService.findByProject(project)).thenReturn(
+                Collections.singletonList(getRelease(1L, "1.0")));
+
+        Assert.assertTrue(autocompleteService.findUsers("", 5L).isEmpty());
+        Assert.assertTrue(autocompleteService.findReleases("", 5L).isEmpty());
+        Mockito.verify(userService, Mockito.never()).getProjectManagerOfProject(5L);
+
+        Mockito.when(basicSecurityService.isAuthenticated()).thenReturn(true);
+        Assert.assertEquals(1, autocompleteService.findReleases("1", 5L).size());
+    }
+
+    @Test
+    public void testNotAuthenticatedUserFindsReleasesOfProjectVisibleToGuests() throws Exception {
+        Project project = getProject(5L, "Tracker", true);
+        Mockito.when(projectService.findById(5L)).thenReturn(project);
+        Mockito.when(projectReleaseService.findByProject(project)).thenReturn(
+                Arrays.asList(getRelease(1L, "1.0"), getRelease(2L, "2.0")));
+
+        List<AutocompleteDto> releases = autocompleteService.findReleases("2", 5L);
+        Assert.assertEquals(1, releases.size());
+        Assert.assertEquals(2L, releases.get(0).getId());
+    }
+
+    @Test
+    public void testNotAuthenticatedUserFindsIssuesAndProjectsVisibleToGuests() throws Exception {
+        Mockito.when(issueRepository.findAllIdsAndTitles()).thenReturn(Arrays.asList(
+                new Object[]{1L, "Login fails"}, new Object[]{2L, "Login is slow"}));
+        Mockito.when(issueRepository.findAllGuestIdsAndTitles()).thenReturn(
+                Collections.singletonList(new Object[]{1L, "Login fails"}));
+        Mockito.when(projectService.findAll()).thenReturn(Arrays.asList(getProject(1L, "Tracker", true),
+                getProject(2L, "Tracker internal", false)));
+
+        List<AutocompleteDto> issues = autocompleteService.findIssues("login");
+        List<AutocompleteDto> projects = autocompleteService.findProjects("tracker");
+        Assert.assertEquals(1, issues.size());
+        Assert.assertEquals(1L, issues.get(0).getId());
+        Assert.assertEquals(1, projects.size());
+        Assert.assertEquals(1L, projects.get(0).getId());
+
+        Mockito.when(basicSecurityService.isAuthenticated()).thenReturn(true);
+        Assert.assertEquals(2, autocompleteService.findIssues("login").size());
+        Assert.assertEquals(2, autocompleteService.findProjects("tracker").size());
+    }
+
+    private Project getProject(Long id, String title, boolean guestView) {
+        Project project = new Project();
+        project.setId(id);
+        project.setTitle(title);
+        project.setGuestView(guestView);
+        return project;
+    }
+
+    private ProjectRelease getRelease(Long id, String version) {
+        ProjectRelease release = new ProjectRelease();
+        release.setId(id);
+        release.setVersion(version);
+        return release;
+    }
+
+    private User getUser(Long id, String firstName, UserRole role) {
+        User user = new User();
+        user.setId(id);
+        user.setFirstName(firstName);
+        user.setLastName("Smith");
+        user.setEmail(firstName.toLowerCase() + "@mail.com");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,98 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.entities.AutocompleteDto;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PrefixIndexTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private PrefixIndex index;
+
+    @Before
+    public void setUp() {
+        Map<Long, String[]> entries = new HashMap<>();
+        entries.put(1L, new String[]{"John Smith", "john.smith@mail.com"});
+        entries.put(2L, new String[]{"Jane  Doe", "doe@mail.com"});
+        entries.put(3L, new String[]{"Adam Johnson", "adam@mail.com"});
+        index = new PrefixIndex(() -> {
+            loads.incrementAndGet();
+            return entries;
+        });
+    }
+
+    @Test
+    public void testEntriesAreFoundByPrefixOfTextOrOfAnyWord() throws Exception {
+        Assert.assertEquals(ids(1L, 3L), find("JOHN"));
+        Assert.assertEquals(ids(1L), find("john sm"));
+        Assert.assertEquals(ids(2L), find("jane doe"));
+        Assert.assertEquals(ids(2L), find("doe@"));
+        Assert.assertEquals(ids(3L), find(" johns"));
+        Assert.assertEquals(ids(), find("smith j"));
+        Assert.assertEquals("Jane  Doe", index.find("do", 10, id -> true).get(0).getText());
+    }
+
+    @Test
+    public void testEntryIsFoundOnceAndResultIsLimitedAndFiltered() throws Exception {
+        Assert.assertEquals(ids(1L), find("john.smith"));
+        Assert.assertEquals(3, index.find("", 10, id -> true).size());
+        Assert.assertEquals(2, index.find("", 2, id -> true).size());
+        Assert.assertEquals(ids(3L), toIds(index.find("john", 10, id -> id != 1L)));
+    }
+
+    @Test
+    public void testEntriesAreReplacedAndRemoved() throws Exception {
+        find("");
+        index.put(1L, "Johnny Black");
+        index.put(4L, "Jack Black");
+        index.remove(2L);
+
+        Assert.assertEquals(ids(1L, 4L), find("black"));
+        Assert.assertEquals(ids(), find("smith"));
+        Assert.assertEquals(ids(), find("doe"));
+        Assert.assertEquals(ids(1L, 3L), find("john"));
+        Assert.assertEquals(7, index.size());
+    }
+
+    @Test
+    public void testEntriesAreLoadedOnceOnFirstLookup() throws Exception {
+        index.put(4L, "Jack Black");
+        Assert.assertEquals(0, loads.get());
+
+        Assert.assertEquals(ids(), find("black"));
+        find("john");
+        Assert.assertEquals(1, loads.get());
+
+        index.clear();
+        Assert.assertEquals(ids(1L, 3L), find("john"));
+        Assert.assertEquals(2, loads.get());
+    }
+
+    private List<Long> find(String prefix) {
+        return toIds(index.find(prefix, 10, id -> true));
+    }
+
+    private List<Long> toIds(List<AutocompleteDto> options) {
+        List<Long> result = new ArrayList<>();
+        for (AutocompleteDto option : options) {
+            result.add(option.getId());
+        }
+        return result;
+    }
+
+    private List<Long> ids(Long... ids) {
+        List<Long> result = new ArrayList<>();
+        for (Long id : ids) {
+            result.add(id);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,75 @@
+package com.softserverinc.edu.services.searchServices;
+
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.SearchFacetDto;
+import com.softserverinc.edu.entities.SearchHitDto;
+import com.softserverinc.edu.entities.SearchResultDto;
+import com.softserverinc.edu.entities.enums.SearchMatch;
+import com.softserverinc.edu.entities.enums.SearchType;
+import com.softserverinc.edu.repositories.SearchRepository;
+import com.softserverinc.edu.services.ProjectService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+@RunWith(MockitoJUnitRunner.class)
+public class SearchServiceTest {
+
+    @Mock
+    private SearchRepository searchRepository;
+
+    @Mock
+    private ProjectService projectService;
+
+    @InjectMocks
+    private SearchService searchService;
+
+    @Test
+    public void testOnlyFiltersOfIssueFacetsArePassedToRepository() throws Exception {
+        Pageable pageable = new PageRequest(0, 20);
+        Map<String, String> filters = new HashMap<>();
+        filters.put("status", "OPEN");
+        filters.put("priority", "");
+        filters.put("description", "text");
+        Mockito.when(searchRepository.search(Mockito.eq("bug"), Mockito.eq(SearchType.ISSUE),
+                Mockito.eq(SearchMatch.WORDS), Mockito.anyMapOf(String.class, String.class), Mockito.eq(pageable)))
+                .thenReturn(new SearchResultDto(new PageImpl<SearchHitDto>(Collections.emptyList())));
+
+        searchService.search("bug", SearchType.ISSUE, SearchMatch.WORDS, filters, pageable);
+
+        Mockito.verify(searchRepository).search("bug", SearchType.ISSUE, SearchMatch.WORDS,
+                Collections.singletonMap("status", "OPEN"), pageable);
+    }
+
+    @Test
+    public void testFacetValuesAreNamed() throws Exception {
+        Pageable pageable = new PageRequest(0, 20);
+        SearchResultDto result = new SearchResultDto(new PageImpl<SearchHitDto>(Collections.emptyList()));
+        SearchFacetDto status = new SearchFacetDto("IN_PROGRESS", "IN_PROGRESS", 3);
+        SearchFacetDto project = new SearchFacetDto("5", "5", 2);
+        result.getFacets().put("status", Collections.singletonList(status));
+        result.getFacets().put("projectId", Collections.singletonList(project));
+        Project foundProject = new Project();
+        foundProject.setTitle("Tracker");
+        Mockito.when(searchRepository.search("bug", SearchType.ISSUE, SearchMatch.PHRASE, Collections.emptyMap(),
+                pageable))
+                .thenReturn(result);
+        Mockito.when(projectService.findById(5L)).thenReturn(foundProject);
+
+        searchService.search("bug", SearchType.ISSUE, SearchMatch.PHRASE, Collections.emptyMap(), pageable);
+
+        Assert.assertEquals("In progress", status.getLabel());
+        Assert.assertEquals("Tracker", project.getLabel());
+    }
+}
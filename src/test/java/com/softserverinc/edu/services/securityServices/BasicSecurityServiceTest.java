@@ -0,0 +1,75 @@
+package com.softserverinc.edu.services.securityServices;
+
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.services.UserService;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Matchers;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.Spy;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BasicSecurityServiceTest {
+
+    @Mock
+    private UserService userService;
+
+    @Spy
+    private ActiveUserHolder activeUserHolder;
+
+    @InjectMocks
+    private BasicSecurityService basicSecurityService;
+
+    @After
+    public void tearDown() {
+        activeUserHolder.closeRequestScope();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    public void testGetActiveUserLoadsUserOncePerRequest() throws Exception {
+        User user = login("user@mail.com");
+        activeUserHolder.openRequestScope();
+
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(user, basicSecurityService.getActiveUser());
+        }
+        Mockito.verify(userService, Mockito.times(1)).findByEmailIs(Matchers.anyString());
+        Assert.assertEquals(4L, activeUserHolder.getStatistics().get("savedLookups"));
+    }
+
+    @Test
+    public void testGetActiveUserReloadsUserWhenLoginChanged() throws Exception {
+        login("user@mail.com");
+        activeUserHolder.openRequestScope();
+        basicSecurityService.getActiveUser();
+
+        User anotherUser = login("another@mail.com");
+        Assert.assertEquals(anotherUser, basicSecurityService.getActiveUser());
+        Mockito.verify(userService, Mockito.times(2)).findByEmailIs(Matchers.anyString());
+    }
+
+    @Test
+    public void testGetActiveUserOutsideOfRequestLoadsUserEveryTime() throws Exception {
+        login("user@mail.com");
+
+        basicSecurityService.getActiveUser();
+        basicSecurityService.getActiveUser();
+        Mockito.verify(userService, Mockito.times(2)).findByEmailIs("user@mail.com");
+    }
+
+    private User login(String email) {
+        User user = new User();
+        user.setEmail(email);
+        Mockito.when(userService.findByEmailIs(email)).thenReturn(user);
+        SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(email, "password"));
+        return user;
+    }
+}
@@ -0,0 +1,67 @@
+package com.softserverinc.edu.services.securityServices;
+
+import com.softserverinc.edu.entities.User;
+import com.softserverinc.edu.entities.enums.UserRole;
+import com.softserverinc.edu.repositories.UserRepository;
+import net.sf.ehcache.CacheManager;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.security.core.CredentialsContainer;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+
+@RunWith(MockitoJUnitRunner.class)
+public class DatabaseUserDetailsServiceTest {
+
+    private static final String EMAIL = "user@mail.com";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @InjectMocks
+    private DatabaseUserDetailsService userDetailsService;
+
+    @Before
+    public void setUp() {
+        CacheManager.create().getCache("userDetails").removeAll();
+        User user = new User();
+        user.setEmail(EMAIL);
+        user.setPassword("password");
+        user.setEnabled(1);
+        user.setRole(UserRole.ROLE_DEVELOPER);
+        Mockito.when(userRepository.findByEmailIs(EMAIL)).thenReturn(user);
+    }
+
+    @Test
+    public void testLoadUserByUsernameUsesCache() throws Exception {
+        UserDetails userDetails = userDetailsService.loadUserByUsername(EMAIL);
+        // authentication manager erases credentials of authenticated user
+        ((CredentialsContainer) userDetails).eraseCredentials();
+
+        UserDetails cachedUserDetails = userDetailsService.loadUserByUsername(EMAIL);
+        Assert.assertEquals("password", cachedUserDetails.getPassword());
+        Assert.assertTrue(cachedUserDetails.isEnabled());
+        Assert.assertEquals("ROLE_DEVELOPER", cachedUserDetails.getAuthorities().iterator().next().getAuthority());
+        Mockito.verify(userRepository, Mockito.times(1)).findByEmailIs(EMAIL);
+        Assert.assertEquals(1L, userDetailsService.getStatistics().get("hits"));
+    }
+
+    @Test
+    public void testEvictReloadsUser() throws Exception {
+        userDetailsService.loadUserByUsername(EMAIL);
+        userDetailsService.evict(EMAIL);
+        userDetailsService.loadUserByUsername(EMAIL);
+        Mockito.verify(userRepository, Mockito.times(2)).findByEmailIs(EMAIL);
+    }
+
+    @Test(expected = UsernameNotFoundException.class)
+    public void testLoadUnknownUser() throws Exception {
+        userDetailsService.loadUserByUsername("unknown@mail.com");
+    }
+}
@@ -0,0 +1,44 @@
+package com.softserverinc.edu.services.securityServices;
+
+import com.softserverinc.edu.entities.Project;
+import com.softserverinc.edu.entities.ProjectRelease;
+import com.softserverinc.edu.services.ProjectReleaseService;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ReleaseSecurityServiceTest {
+
+    @Mock
+    private ProjectReleaseService releaseService;
+
+    @Mock
+    private ProjectSecurityService projectSecurityService;
+
+    @InjectMocks
+    private ReleaseSecurityService releaseSecurityService;
+
+    @Test
+    public void testViewOfReleaseIsCheckedByItsProject() throws Exception {
+        Project project = new Project();
+        project.setId(2L);
+        ProjectRelease release = new ProjectRelease();
+        release.setId(1L);
+        release.setProject(project);
+        Mockito.when(releaseService.findById(1L)).thenReturn(release);
+
+        Assert.assertFalse(releaseSecurityService.hasPermissionToViewRelease(1L));
+        Mockito.verify(projectSecurityService).hasPermissionToViewProject(2L);
+    }
+
+    @Test
+    public void testReleaseWhichDoesNotExistIsLeftToController() throws Exception {
+        Assert.assertTrue(releaseSecurityService.hasPermissionToViewRelease(1L));
+        Mockito.verifyZeroInteractions(projectSecurityService);
+    }
+}